@@ -0,0 +1,382 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Etapa de build dos recursos estáticos, executada pelo Maven na fase
+ * prepare-package (ver pom.xml) como programa de arquivo único:
+ *
+ * java src/build/java/PipelineAssets.java &lt;webapp&gt; &lt;saida&gt;
+ *
+ * Para cada pacote de WEB-INF/pacotes.properties concatena os arquivos de
+ * resources na ordem dada, minifica o resultado e o grava em
+ * resources/pacotes/&lt;nome&gt;.&lt;hash&gt;.&lt;extensão&gt;, onde a hash é do
+ * conteúdo final. Ao lado grava a versão .gz e, se o utilitário brotli
+ * estiver no PATH, a .br. O manifesto (WEB-INF/pacotes-manifesto.properties)
+ * liga cada pacote ao arquivo gerado; o diretório de saída entra no WAR.
+ *
+ * A minificação é conservadora: remove comentários e espaços, mas preserva
+ * strings, template strings e regex, e mantém as quebras de linha do
+ * JavaScript para não depender da inserção automática de ponto e vírgula.
+ */
+public class PipelineAssets {
+
+    private static final String DIRETORIO_PACOTES = "resources/pacotes";
+    private static final String MANIFESTO = "WEB-INF/pacotes-manifesto.properties";
+    private static final int TAMANHO_HASH = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: java PipelineAssets.java <webapp> <saida>");
+        }
+        Path webapp = Path.of(args[0]);
+        Path saida = Path.of(args[1]);
+
+        Properties pacotes = new Properties();
+        try (Reader leitor = Files.newBufferedReader(webapp.resolve("WEB-INF/pacotes.properties"), StandardCharsets.UTF_8)) {
+            pacotes.load(leitor);
+        }
+
+        Path destino = saida.resolve(DIRETORIO_PACOTES);
+        limpar(destino);
+        Files.createDirectories(destino);
+        boolean brotli = brotliDisponivel();
+        if (!brotli) {
+            System.out.println("[assets] brotli não encontrado no PATH: gerando apenas .gz");
+        }
+
+        StringBuilder manifesto = new StringBuilder("# Gerado por PipelineAssets; não editar\n");
+        for (String nome : new TreeSet<>(pacotes.stringPropertyNames())) {
+            int ponto = nome.lastIndexOf('.');
+            if (ponto <= 0) {
+                throw new IllegalArgumentException("Pacote sem extensão: " + nome);
+            }
+            String base = nome.substring(0, ponto);
+            String extensao = nome.substring(ponto + 1);
+            if (!extensao.equals("css") && !extensao.equals("js")) {
+                throw new IllegalArgumentException("Extensão não suportada no pacote " + nome + ": " + extensao);
+            }
+
+            long tamanhoOriginal = 0;
+            StringBuilder conteudo = new StringBuilder();
+            for (String arquivo : pacotes.getProperty(nome).split(",")) {
+                Path fonte = webapp.resolve("resources").resolve(arquivo.trim());
+                if (!Files.isRegularFile(fonte)) {
+                    throw new IllegalArgumentException("Arquivo do pacote " + nome + " não encontrado: " + fonte);
+                }
+                tamanhoOriginal += Files.size(fonte);
+                String texto = Files.readString(fonte, StandardCharsets.UTF_8);
+                if (texto.startsWith("\uFEFF")) {
+                    texto = texto.substring(1);
+                }
+                if (extensao.equals("css")) {
+                    conteudo.append(minificarCss(texto)).append('\n');
+                } else {
+                    // Um arquivo sem ponto e vírgula no fim não pode emendar no próximo
+                    conteudo.append(minificarJs(texto)).append(";\n");
+                }
+            }
+
+            byte[] bytes = conteudo.toString().getBytes(StandardCharsets.UTF_8);
+            String gerado = base + "." + hash(bytes) + "." + extensao;
+            Path arquivo = destino.resolve(gerado);
+            Files.write(arquivo, bytes);
+            Path gz = destino.resolve(gerado + ".gz");
+            gzip(bytes, gz);
+            if (brotli) {
+                comprimirBrotli(arquivo);
+            }
+            manifesto.append(nome).append('=').append(gerado).append('\n');
+            System.out.printf("[assets] %s -> %s (%d -> %d bytes, gzip %d)%n",
+                    nome, gerado, tamanhoOriginal, bytes.length, Files.size(gz));
+        }
+
+        Path arquivoManifesto = saida.resolve(MANIFESTO);
+        Files.createDirectories(arquivoManifesto.getParent());
+        Files.writeString(arquivoManifesto, manifesto, StandardCharsets.UTF_8);
+    }
+
+    static String minificarCss(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        int n = css.length();
+        int i = 0;
+        boolean espaco = false;
+        while (i < n) {
+            char c = css.charAt(i);
+            if (c == '/' && i + 1 < n && css.charAt(i + 1) == '*') {
+                int fim = css.indexOf("*/", i + 2);
+                i = fim < 0 ? n : fim + 2;
+                espaco = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                espaco = true;
+                i++;
+                continue;
+            }
+            if (espaco && out.length() > 0
+                    && "{};,>:(".indexOf(out.charAt(out.length() - 1)) < 0
+                    && "{};,>)".indexOf(c) < 0) {
+                out.append(' ');
+            }
+            espaco = false;
+            if (c == '"' || c == '\'') {
+                int fim = fimString(css, i, c);
+                out.append(css, i, fim);
+                i = fim;
+                continue;
+            }
+            if (c == '}' && out.length() > 0 && out.charAt(out.length() - 1) == ';') {
+                out.setLength(out.length() - 1);
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    static String minificarJs(String js) {
+        StringBuilder out = new StringBuilder(js.length());
+        int n = js.length();
+        int i = 0;
+        // 0: nada pendente, 1: espaço, 2: quebra de linha
+        int pendente = 0;
+        while (i < n) {
+            char c = js.charAt(i);
+            char proximo = i + 1 < n ? js.charAt(i + 1) : 0;
+            if (c == '/' && proximo == '/') {
+                while (i < n && js.charAt(i) != '\n') {
+                    i++;
+                }
+                continue;
+            }
+            if (c == '/' && proximo == '*') {
+                int fim = js.indexOf("*/", i + 2);
+                fim = fim < 0 ? n : fim + 2;
+                pendente = Math.max(pendente, js.substring(i, fim).indexOf('\n') >= 0 ? 2 : 1);
+                i = fim;
+                continue;
+            }
+            if (c == '\n' || c == '\r') {
+                pendente = 2;
+                i++;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendente = Math.max(pendente, 1);
+                i++;
+                continue;
+            }
+
+            emitirPendente(out, pendente, c);
+            pendente = 0;
+            int fim;
+            if (c == '"' || c == '\'') {
+                fim = fimString(js, i, c);
+            } else if (c == '`') {
+                fim = fimTemplate(js, i);
+            } else if (c == '/' && regexPossivel(out)) {
+                fim = fimRegex(js, i);
+            } else {
+                fim = i + 1;
+            }
+            out.append(js, i, fim);
+            i = fim;
+        }
+        return out.toString();
+    }
+
+    private static void emitirPendente(StringBuilder out, int pendente, char proximo) {
+        if (pendente == 0 || out.length() == 0) {
+            return;
+        }
+        if (pendente == 2) {
+            out.append('\n');
+            return;
+        }
+        char anterior = out.charAt(out.length() - 1);
+        boolean palavras = identificador(anterior) && identificador(proximo);
+        // "a + +b" e "a - -b" não podem virar "a++b" / "a--b"
+        boolean operadores = (anterior == '+' || anterior == '-') && anterior == proximo;
+        if (palavras || operadores) {
+            out.append(' ');
+        }
+    }
+
+    private static boolean identificador(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c > 127;
+    }
+
+    /**
+     * Uma barra inicia regex, e não divisão, quando não vem depois de um
+     * valor (identificador, número, ")" ou "]")
+     */
+    private static boolean regexPossivel(StringBuilder out) {
+        int j = out.length() - 1;
+        while (j >= 0 && Character.isWhitespace(out.charAt(j))) {
+            j--;
+        }
+        if (j < 0) {
+            return true;
+        }
+        char anterior = out.charAt(j);
+        if ("(,=:[!&|?{};+-*%<>~^".indexOf(anterior) >= 0) {
+            return true;
+        }
+        int inicio = j;
+        while (inicio >= 0 && identificador(out.charAt(inicio))) {
+            inicio--;
+        }
+        String palavra = out.substring(inicio + 1, j + 1);
+        return palavra.equals("return") || palavra.equals("typeof") || palavra.equals("case");
+    }
+
+    private static int fimString(String s, int inicio, char aspas) {
+        int j = inicio + 1;
+        while (j < s.length()) {
+            char c = s.charAt(j);
+            if (c == '\\') {
+                j += 2;
+            } else if (c == aspas) {
+                return j + 1;
+            } else if (c == '\n') {
+                return j;
+            } else {
+                j++;
+            }
+        }
+        return s.length();
+    }
+
+    private static int fimTemplate(String s, int inicio) {
+        int j = inicio + 1;
+        while (j < s.length()) {
+            char c = s.charAt(j);
+            if (c == '\\') {
+                j += 2;
+            } else if (c == '`') {
+                return j + 1;
+            } else if (c == '$' && j + 1 < s.length() && s.charAt(j + 1) == '{') {
+                j = fimExpressao(s, j + 2);
+            } else {
+                j++;
+            }
+        }
+        return s.length();
+    }
+
+    /**
+     * Fim de uma expressão ${...} de template string, a partir do primeiro
+     * caractere depois da chave
+     */
+    private static int fimExpressao(String s, int inicio) {
+        int profundidade = 1;
+        int j = inicio;
+        while (j < s.length()) {
+            char c = s.charAt(j);
+            if (c == '"' || c == '\'') {
+                j = fimString(s, j, c);
+            } else if (c == '`') {
+                j = fimTemplate(s, j);
+            } else if (c == '{') {
+                profundidade++;
+                j++;
+            } else if (c == '}') {
+                j++;
+                if (--profundidade == 0) {
+                    return j;
+                }
+            } else {
+                j++;
+            }
+        }
+        return s.length();
+    }
+
+    private static int fimRegex(String s, int inicio) {
+        int j = inicio + 1;
+        boolean classe = false;
+        while (j < s.length()) {
+            char c = s.charAt(j);
+            if (c == '\\') {
+                j += 2;
+                continue;
+            }
+            if (c == '\n') {
+                return j;
+            }
+            if (c == '[') {
+                classe = true;
+            } else if (c == ']') {
+                classe = false;
+            } else if (c == '/' && !classe) {
+                j++;
+                while (j < s.length() && Character.isLetter(s.charAt(j))) {
+                    j++;
+                }
+                return j;
+            }
+            j++;
+        }
+        return s.length();
+    }
+
+    private static String hash(byte[] bytes) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+        return HexFormat.of().formatHex(digest).substring(0, TAMANHO_HASH);
+    }
+
+    private static void gzip(byte[] bytes, Path destino) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(destino)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(bytes);
+        }
+    }
+
+    private static boolean brotliDisponivel() {
+        try {
+            Process processo = new ProcessBuilder("brotli", "--version").redirectErrorStream(true).start();
+            processo.getInputStream().transferTo(OutputStream.nullOutputStream());
+            return processo.waitFor(10, TimeUnit.SECONDS) && processo.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void comprimirBrotli(Path arquivo) throws IOException, InterruptedException {
+        Process processo = new ProcessBuilder("brotli", "--best", "--force",
+                "--output=" + arquivo + ".br", arquivo.toString()).inheritIO().start();
+        if (processo.waitFor() != 0) {
+            throw new IOException("brotli falhou para " + arquivo);
+        }
+    }
+
+    private static void limpar(Path diretorio) throws IOException {
+        if (!Files.exists(diretorio)) {
+            return;
+        }
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : arquivos.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(arquivo);
+            }
+        }
+    }
+}
@@ -2,8 +2,8 @@ package io.github.scognamiglioo.controllers;
 
 import io.github.scognamiglioo.entities.User;
 import io.github.scognamiglioo.entities.Funcionario;
+import io.github.scognamiglioo.services.CatalogoCache;
 import io.github.scognamiglioo.services.DataServiceLocal;
-import jakarta.annotation.PostConstruct;
 import jakarta.faces.view.ViewScoped;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
@@ -11,9 +11,13 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.ArrayList;
 
+/**
+ * Listagem e edição de usuários e funcionários (área administrativa).
+ * As listas não ficam na sessão: os funcionários vêm do {@link CatalogoCache}
+ * e os usuários são buscados uma vez por requisição.
+ */
 @Named("adminUserBean")
 @ViewScoped
 public class AdminUserController implements Serializable {
@@ -21,9 +25,11 @@ public class AdminUserController implements Serializable {
     @Inject
     private DataServiceLocal dataService;
 
-    private List<User> users;
-    private List<Funcionario> funcionarios;
-    private List<User> plainUsers;
+    @Inject
+    private CatalogoCache catalogo;
+
+    @Inject
+    private CacheRequisicao cacheRequisicao;
 
     // campos para edição (carregados pela página edit-user.xhtml)
     private Long editId;
@@ -40,16 +46,16 @@ public class AdminUserController implements Serializable {
     // opcional: username/role se precisar
     private String editUsername;
 
-    @PostConstruct
-    public void init() {
-        loadAll();
+    // descarta a lista montada nesta requisição (após salvar, por exemplo)
+    public void loadAll() {
+        cacheRequisicao.descartar("adminUser.usuarios");
     }
 
-    public void loadAll() {
-        users = dataService.getAllUsers();
-        funcionarios = dataService.getAllFuncionarios();
+    // Monta lista de usuários "comuns" — aqueles que não estão referenciados por Funcionario.user
+    private List<User> carregarUsuariosComuns() {
+        List<User> users = dataService.getAllUsers();
+        List<Funcionario> funcionarios = getFuncionarios();
 
-        // Monta lista de usuários "comuns" — aqueles que não estão referenciados por Funcionario.user
         Set<Long> funcionarioUserIds = new HashSet<>();
         if (funcionarios != null) {
             for (Funcionario f : funcionarios) {
@@ -59,7 +65,7 @@ public class AdminUserController implements Serializable {
             }
         }
 
-        plainUsers = new ArrayList<>();
+        List<User> plainUsers = new ArrayList<>();
         if (users != null) {
             for (User u : users) {
                 if (u == null) continue;
@@ -68,12 +74,13 @@ public class AdminUserController implements Serializable {
                 }
             }
         }
+        return plainUsers;
     }
     
 
     // --- getters / setters ---
-    public List<User> getUsers() { return plainUsers; }
-    public List<Funcionario> getFuncionarios() { return funcionarios; }
+    public List<User> getUsers() { return cacheRequisicao.obter("adminUser.usuarios", this::carregarUsuariosComuns); }
+    public List<Funcionario> getFuncionarios() { return catalogo.getFuncionarios(); }
 
     public Long getEditId() { return editId; }
     public void setEditId(Long editId) { this.editId = editId; }
@@ -4,13 +4,17 @@ import io.github.scognamiglioo.entities.*;
 import io.github.scognamiglioo.entities.Localizacao;
 import io.github.scognamiglioo.services.AgendamentoMailServiceLocal;
 import io.github.scognamiglioo.services.AgendamentoServiceLocal;
+import io.github.scognamiglioo.services.CatalogoCache;
 import io.github.scognamiglioo.services.DataServiceLocal;
+import io.github.scognamiglioo.services.EstimativaEsperaService;
+import io.github.scognamiglioo.services.EstimativaFila;
 import io.github.scognamiglioo.services.ServicoServiceLocal;
 import jakarta.annotation.PostConstruct;
 import jakarta.ejb.EJB;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.ViewScoped;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
 import java.io.Serializable;
@@ -19,7 +23,9 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -29,6 +35,10 @@ import java.util.logging.Logger;
  * 2. Selecionar Funcionário que presta esse serviço
  * 3. Selecionar Data
  * 4. Selecionar Horário disponível (funcionário livre naquela data/hora)
+ *
+ * A tela guarda apenas seleções e IDs; os agendamentos do usuário e os
+ * funcionários do serviço são buscados uma vez por requisição
+ * ({@link CacheRequisicao}) e os serviços vêm do {@link CatalogoCache}.
  */
 @Named
 @ViewScoped
@@ -48,6 +58,15 @@ public class AgendamentoController implements Serializable {
     @EJB
     private AgendamentoMailServiceLocal agendamentoMailService;
 
+    @EJB
+    private EstimativaEsperaService estimativaEspera;
+
+    @EJB
+    private CatalogoCache catalogo;
+
+    @Inject
+    private CacheRequisicao cacheRequisicao;
+
     // Seleções do usuário (fluxo do agendamento)
     private Long servicoSelecionadoId;
     private Long funcionarioSelecionadoId;
@@ -55,50 +74,30 @@ public class AgendamentoController implements Serializable {
     private String horarioSelecionado;
     private String observacoes;
 
-    // Listas dinâmicas que mudam conforme as seleções
-    private List<Servico> servicosDisponiveis;
-    private List<Funcionario> funcionariosDisponiveis;
+    // Horários livres do funcionário na data selecionada
     private List<String> horariosDisponiveis;
 
-    // Lista de agendamentos do usuário
-    private List<Agendamento> meusAgendamentos;
-
     // Data mínima para o calendário (hoje)
     private Date dataMinima;
 
     // Agendamento selecionado para visualização de detalhes
-    private Agendamento agendamentoSelecionado;
+    private Long agendamentoSelecionadoId;
 
-    // Filtros de pesquisa
+    // Filtros de pesquisa; o resultado é guardado como IDs (null = sem filtro)
     private String filtroCodigo;
     private Date filtroData;
     private String filtroStatus;
-    private List<Agendamento> agendamentosFiltrados;
+    private long[] idsFiltrados;
 
     // Campo para teste de localização
     private Long agendamentoIdTeste;
 
     @PostConstruct
     public void init() {
-        loadServicosDisponiveis();
-        loadMeusAgendamentos();
         dataMinima = new Date();
-        funcionariosDisponiveis = new ArrayList<>();
         horariosDisponiveis = new ArrayList<>();
     }
 
-    /**
-     * Carrega todos os serviços disponíveis para seleção
-     */
-    public void loadServicosDisponiveis() {
-        try {
-            servicosDisponiveis = servicoService.getAllServicos();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar serviços", e);
-            addErrorMessage("Erro ao carregar lista de serviços");
-        }
-    }
-
     /**
      * Quando o usuário seleciona um serviço, carrega os funcionários que prestam esse serviço
      */
@@ -106,7 +105,6 @@ public class AgendamentoController implements Serializable {
         try {
             LOGGER.log(Level.INFO, "onServicoChange chamado. servicoSelecionadoId: {0}", servicoSelecionadoId);
 
-            funcionariosDisponiveis = new ArrayList<>();
             horariosDisponiveis = new ArrayList<>();
             funcionarioSelecionadoId = null;
             dataSelecionada = null;
@@ -114,7 +112,7 @@ public class AgendamentoController implements Serializable {
 
             if (servicoSelecionadoId != null) {
                 // Busca funcionários que prestam este serviço
-                funcionariosDisponiveis = agendamentoService.findFuncionariosDisponiveisParaServico(servicoSelecionadoId);
+                List<Funcionario> funcionariosDisponiveis = getFuncionariosDisponiveis();
 
                 LOGGER.log(Level.INFO, "Funcionários encontrados: {0}", funcionariosDisponiveis.size());
 
@@ -187,23 +185,30 @@ public class AgendamentoController implements Serializable {
     }
 
     /**
-     * Carrega os agendamentos do usuário logado
+     * Descarta os agendamentos já lidos nesta requisição, para que a próxima
+     * leitura reflita as gravações feitas
      */
     public void loadMeusAgendamentos() {
-        try {
-            FacesContext context = FacesContext.getCurrentInstance();
-            String loggedUsername = context.getExternalContext().getRemoteUser();
+        cacheRequisicao.descartar("agendamento.meus");
+        cacheRequisicao.descartar("agendamento.filtrados");
+    }
 
-            if (loggedUsername != null) {
-                meusAgendamentos = agendamentoService.findAgendamentosByUsername(loggedUsername);
-            } else {
-                meusAgendamentos = new ArrayList<>();
+    /**
+     * Agendamentos do usuário logado, buscados uma vez por requisição
+     */
+    public List<Agendamento> getMeusAgendamentos() {
+        return cacheRequisicao.obter("agendamento.meus", () -> {
+            try {
+                String loggedUsername = FacesContext.getCurrentInstance().getExternalContext().getRemoteUser();
+                return loggedUsername != null
+                        ? agendamentoService.findAgendamentosByUsername(loggedUsername)
+                        : new ArrayList<>();
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Erro ao carregar agendamentos do usuário", e);
+                addErrorMessage("Erro ao carregar seus agendamentos");
+                return new ArrayList<>();
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar agendamentos do usuário", e);
-            addErrorMessage("Erro ao carregar seus agendamentos");
-            meusAgendamentos = new ArrayList<>();
-        }
+        });
     }
 
     /**
@@ -266,14 +271,8 @@ public class AgendamentoController implements Serializable {
                 return null;
             }
 
-            // Cria o agendamento COM funcionário já atribuído
-            Agendamento novoAgendamento = agendamentoService.createAgendamento(user, servico, funcionario, data, hora);
-
-            // Adiciona observações se houver
-            if (observacoes != null && !observacoes.trim().isEmpty()) {
-                novoAgendamento.setObservacoes(observacoes.trim());
-                agendamentoService.updateAgendamento(novoAgendamento);
-            }
+            // Cria o agendamento COM funcionário e observações já atribuídos
+            Agendamento novoAgendamento = agendamentoService.createAgendamento(user, servico, funcionario, data, hora, observacoes);
 
             // Envia e-mail de confirmação
             try {
@@ -337,7 +336,7 @@ public class AgendamentoController implements Serializable {
      * Seleciona um agendamento para visualização de detalhes
      */
     public void selecionarAgendamento(Agendamento agendamento) {
-        this.agendamentoSelecionado = agendamento;
+        this.agendamentoSelecionadoId = agendamento != null ? agendamento.getId() : null;
         LOGGER.log(Level.INFO, "Agendamento selecionado para detalhes: {0}", agendamento != null ? agendamento.getId() : "null");
     }
 
@@ -345,18 +344,13 @@ public class AgendamentoController implements Serializable {
      * Aplica os filtros de pesquisa
      */
     public void aplicarFiltros() {
+        List<Agendamento> meusAgendamentos = getMeusAgendamentos();
         try {
-            // Garante que os agendamentos estão carregados
-            if (meusAgendamentos == null || meusAgendamentos.isEmpty()) {
-                loadMeusAgendamentos();
-            }
-
-            LOGGER.log(Level.INFO, "Aplicando filtros. Total de agendamentos: {0}",
-                    meusAgendamentos != null ? meusAgendamentos.size() : 0);
+            LOGGER.log(Level.INFO, "Aplicando filtros. Total de agendamentos: {0}", meusAgendamentos.size());
             LOGGER.log(Level.INFO, "Filtros - Código: {0}, Data: {1}, Status: {2}",
                     new Object[]{filtroCodigo, filtroData, filtroStatus});
 
-            agendamentosFiltrados = new ArrayList<>(meusAgendamentos);
+            List<Agendamento> agendamentosFiltrados = new ArrayList<>(meusAgendamentos);
 
             // Filtro por código
             if (filtroCodigo != null && !filtroCodigo.trim().isEmpty()) {
@@ -393,6 +387,9 @@ public class AgendamentoController implements Serializable {
                 LOGGER.log(Level.INFO, "Após filtro por status: {0} resultados", agendamentosFiltrados.size());
             }
 
+            idsFiltrados = agendamentosFiltrados.stream().mapToLong(Agendamento::getId).toArray();
+            cacheRequisicao.descartar("agendamento.filtrados");
+
             if (agendamentosFiltrados.isEmpty()) {
                 addWarnMessage("Nenhum agendamento encontrado com os filtros aplicados.");
             } else {
@@ -402,7 +399,7 @@ public class AgendamentoController implements Serializable {
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao aplicar filtros", e);
             addErrorMessage("Erro ao filtrar agendamentos: " + e.getMessage());
-            agendamentosFiltrados = meusAgendamentos != null ? new ArrayList<>(meusAgendamentos) : new ArrayList<>();
+            idsFiltrados = null;
         }
     }
 
@@ -413,7 +410,8 @@ public class AgendamentoController implements Serializable {
         filtroCodigo = null;
         filtroData = null;
         filtroStatus = "";
-        agendamentosFiltrados = null;
+        idsFiltrados = null;
+        cacheRequisicao.descartar("agendamento.filtrados");
         addSuccessMessage("Filtros limpos com sucesso!");
     }
 
@@ -421,15 +419,40 @@ public class AgendamentoController implements Serializable {
      * Retorna a lista filtrada ou a lista completa se não houver filtros
      */
     public List<Agendamento> getAgendamentosFiltrados() {
-        // Garante que os agendamentos estão carregados
-        if (meusAgendamentos == null || meusAgendamentos.isEmpty()) {
-            loadMeusAgendamentos();
+        List<Agendamento> meusAgendamentos = getMeusAgendamentos();
+        if (idsFiltrados == null) {
+            return meusAgendamentos;
         }
+        return cacheRequisicao.obter("agendamento.filtrados", () -> {
+            Map<Long, Agendamento> porId = new HashMap<>();
+            for (Agendamento agendamento : meusAgendamentos) {
+                porId.put(agendamento.getId(), agendamento);
+            }
+            List<Agendamento> filtrados = new ArrayList<>(idsFiltrados.length);
+            for (long id : idsFiltrados) {
+                Agendamento agendamento = porId.get(id);
+                if (agendamento != null) {
+                    filtrados.add(agendamento);
+                }
+            }
+            return filtrados;
+        });
+    }
 
-        if (agendamentosFiltrados != null) {
-            return agendamentosFiltrados;
+    /**
+     * Posição e espera estimada de um agendamento que está na fila de hoje,
+     * ou vazio se ele não está na fila
+     */
+    public String getEsperaEstimada(Agendamento agendamento) {
+        if (agendamento == null || agendamento.getId() == null) {
+            return "";
+        }
+        EstimativaFila estimativa = estimativaEspera.getEstimativa();
+        int posicao = estimativa.getPosicao(agendamento.getId());
+        if (posicao == 0) {
+            return "";
         }
-        return meusAgendamentos != null ? meusAgendamentos : new ArrayList<>();
+        return posicao + "º na fila · " + estimativa.getEsperaFormatada(agendamento.getId());
     }
 
     /**
@@ -441,7 +464,6 @@ public class AgendamentoController implements Serializable {
         dataSelecionada = null;
         horarioSelecionado = null;
         observacoes = null;
-        funcionariosDisponiveis = new ArrayList<>();
         horariosDisponiveis = new ArrayList<>();
     }
 
@@ -505,19 +527,19 @@ public class AgendamentoController implements Serializable {
     }
 
     public List<Servico> getServicosDisponiveis() {
-        return servicosDisponiveis;
-    }
-
-    public void setServicosDisponiveis(List<Servico> servicosDisponiveis) {
-        this.servicosDisponiveis = servicosDisponiveis;
+        return catalogo.getServicos();
     }
 
+    /**
+     * Funcionários que prestam o serviço selecionado
+     */
     public List<Funcionario> getFuncionariosDisponiveis() {
-        return funcionariosDisponiveis;
-    }
-
-    public void setFuncionariosDisponiveis(List<Funcionario> funcionariosDisponiveis) {
-        this.funcionariosDisponiveis = funcionariosDisponiveis;
+        if (servicoSelecionadoId == null) {
+            return new ArrayList<>();
+        }
+        Long servicoId = servicoSelecionadoId;
+        return cacheRequisicao.obter("agendamento.funcionarios." + servicoId,
+                () -> agendamentoService.findFuncionariosDisponiveisParaServico(servicoId));
     }
 
     public List<String> getHorariosDisponiveis() {
@@ -528,14 +550,6 @@ public class AgendamentoController implements Serializable {
         this.horariosDisponiveis = horariosDisponiveis;
     }
 
-    public List<Agendamento> getMeusAgendamentos() {
-        return meusAgendamentos;
-    }
-
-    public void setMeusAgendamentos(List<Agendamento> meusAgendamentos) {
-        this.meusAgendamentos = meusAgendamentos;
-    }
-
     public Date getDataMinima() {
         return dataMinima;
     }
@@ -545,11 +559,19 @@ public class AgendamentoController implements Serializable {
     }
 
     public Agendamento getAgendamentoSelecionado() {
-        return agendamentoSelecionado;
+        if (agendamentoSelecionadoId == null) {
+            return null;
+        }
+        for (Agendamento agendamento : getMeusAgendamentos()) {
+            if (agendamentoSelecionadoId.equals(agendamento.getId())) {
+                return agendamento;
+            }
+        }
+        return null;
     }
 
     public void setAgendamentoSelecionado(Agendamento agendamentoSelecionado) {
-        this.agendamentoSelecionado = agendamentoSelecionado;
+        this.agendamentoSelecionadoId = agendamentoSelecionado != null ? agendamentoSelecionado.getId() : null;
     }
 
     public String getFiltroCodigo() {
@@ -576,10 +598,6 @@ public class AgendamentoController implements Serializable {
         this.filtroStatus = filtroStatus;
     }
 
-    public void setAgendamentosFiltrados(List<Agendamento> agendamentosFiltrados) {
-        this.agendamentosFiltrados = agendamentosFiltrados;
-    }
-
     /**
      * EXEMPLO DE USO: Busca e exibe a localização onde o serviço está sendo prestado.
      * Este método demonstra como usar o JOIN: Agendamento -> FuncionarioServico -> Localizacao
@@ -3,6 +3,7 @@ package io.github.scognamiglioo.controllers;
 import io.github.scognamiglioo.entities.Agendamento;
 import io.github.scognamiglioo.entities.Localizacao;
 import io.github.scognamiglioo.services.AgendamentoServiceLocal;
+import io.github.scognamiglioo.services.EstimativaEsperaService;
 import io.github.scognamiglioo.websocket.PainelChamadaService;
 import io.github.scognamiglioo.websocket.ChamadaWebSocketUtil;
 import jakarta.annotation.PostConstruct;
@@ -31,6 +32,9 @@ public class AtendimentoController implements Serializable {
     @EJB
     private AgendamentoServiceLocal agendamentoService;
 
+    @EJB
+    private EstimativaEsperaService estimativaEspera;
+
     @Inject
     private FacesContext facesContext;
 
@@ -60,8 +64,6 @@ public class AtendimentoController implements Serializable {
     public void carregarFilaEspera() {
         try {
             filaEspera = agendamentoService.findAgendamentosFilaEspera();
-            PainelChamadaService.getInstance()
-                .atualizarQuantidadeNaFila(filaEspera.size());
             LOGGER.log(Level.INFO, "Carregados {0} agendamentos na fila de espera", filaEspera.size());
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao carregar fila de espera", e);
@@ -160,21 +162,22 @@ public class AtendimentoController implements Serializable {
                 nomeUsuario = agendamento.getUser().getNome();
             }
 
-            String localizacao = getLocalizacaoAtendimento(agendamento);
+            // O ID da localização define o canal do painel (TVs daquela sala)
+            Localizacao local = agendamentoService.buscarLocalizacaoDoAgendamento(agendamento.getId());
+            Long localizacaoId = local != null ? local.getId() : null;
+            String localizacao = local != null ? local.getNome() : "Não especificada";
             LOGGER.log(Level.INFO, "notificarPainelPublico: localizacao={0}", localizacao);
-            int quantidadeFila = getQuantidadeFilaEspera();
-
             if (isWalkin) {
                 LOGGER.log(Level.INFO, "Enviando walk-in para painel: {0} -> {1}", 
                     new Object[]{nomeUsuario, localizacao});
-                ChamadaWebSocketUtil.enviarChamadaWalkin(nomeUsuario, localizacao, quantidadeFila);
+                ChamadaWebSocketUtil.enviarChamadaWalkin(localizacaoId, nomeUsuario, localizacao);
             } else {
                 PainelChamadaService.getInstance()
-                    .enviarChamada(nomeUsuario, localizacao, quantidadeFila);
+                    .enviarChamada(localizacaoId, nomeUsuario, localizacao);
             }
 
             LOGGER.log(Level.INFO, "Painel público notificado: " + nomeUsuario +
-                " -> " + localizacao + " (fila: " + quantidadeFila + ")");
+                " -> " + localizacao);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao notificar painel público", e);
             // Não bloqueia o fluxo se falhar a notificação
@@ -208,6 +211,16 @@ public class AtendimentoController implements Serializable {
         return filaEspera != null ? filaEspera.size() : 0;
     }
 
+    /**
+     * Espera estimada até o início do atendimento de um agendamento da fila
+     */
+    public String getEsperaEstimada(Agendamento agendamento) {
+        if (agendamento == null || agendamento.getId() == null) {
+            return "";
+        }
+        return estimativaEspera.getEstimativa().getEsperaFormatada(agendamento.getId());
+    }
+
     /**
      * Retorna a quantidade de atendimentos em andamento
      */
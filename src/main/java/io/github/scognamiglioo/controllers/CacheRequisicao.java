@@ -0,0 +1,46 @@
+package io.github.scognamiglioo.controllers;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Guarda, só durante a requisição, listas montadas a partir dos IDs que os
+ * controllers @ViewScoped mantêm na sessão. Assim a tela guarda apenas
+ * identificadores e as entidades são buscadas uma vez por requisição, por
+ * mais que o EL leia a mesma propriedade várias vezes.
+ */
+@RequestScoped
+public class CacheRequisicao {
+
+    private final Map<String, Object> valores = new HashMap<>();
+
+    /**
+     * Devolve o valor já montado nesta requisição ou o monta com o supplier
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obter(String chave, Supplier<T> montar) {
+        if (valores.containsKey(chave)) {
+            return (T) valores.get(chave);
+        }
+        T valor = montar.get();
+        valores.put(chave, valor);
+        return valor;
+    }
+
+    /**
+     * Substitui o valor já montado, quando quem o alterou já tem o resultado
+     */
+    public void guardar(String chave, Object valor) {
+        valores.put(chave, valor);
+    }
+
+    /**
+     * Descarta o valor, para que o próximo acesso o monte de novo (após uma
+     * gravação na mesma requisição, por exemplo)
+     */
+    public void descartar(String chave) {
+        valores.remove(chave);
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.scognamiglioo.controllers;
+
+import io.github.scognamiglioo.services.EstatisticaAgendamentoCache;
+import io.github.scognamiglioo.services.PainelEstatisticas;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.EJB;
+import jakarta.faces.view.ViewScoped;
+import jakarta.inject.Named;
+import java.io.Serializable;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Indicadores do painel administrativo. Apenas lê o
+ * {@link PainelEstatisticas} já calculado; nenhuma consulta é feita ao
+ * renderizar a tela.
+ */
+@Named
+@ViewScoped
+public class EstatisticasController implements Serializable {
+
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm").withZone(ZoneId.systemDefault());
+
+    @EJB
+    private EstatisticaAgendamentoCache estatisticas;
+
+    private PainelEstatisticas painel;
+
+    @PostConstruct
+    public void init() {
+        atualizar();
+    }
+
+    public void atualizar() {
+        painel = estatisticas.getPainel();
+    }
+
+    public PainelEstatisticas getPainel() {
+        return painel;
+    }
+
+    public String getAtualizadoEm() {
+        return HORA.format(painel.getGeradoEm());
+    }
+}
@@ -4,24 +4,28 @@ import io.github.scognamiglioo.entities.FuncionarioServico;
 import io.github.scognamiglioo.entities.Funcionario;
 import io.github.scognamiglioo.entities.Servico;
 import io.github.scognamiglioo.entities.Localizacao;
+import io.github.scognamiglioo.services.CatalogoCache;
 import io.github.scognamiglioo.services.FuncionarioServicoServiceLocal;
-import io.github.scognamiglioo.services.DataServiceLocal;
-import io.github.scognamiglioo.services.ServicoServiceLocal;
-import io.github.scognamiglioo.services.LocalizacaoServiceLocal;
 import jakarta.annotation.PostConstruct;
 import jakarta.ejb.EJB;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.ViewScoped;
+import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * Controller para gerenciamento de associações funcionário-serviço-localização.
+ *
+ * As listas vêm do {@link CatalogoCache}; a tela guarda apenas os filtros
+ * aplicados e filtra as associações uma vez por requisição.
  */
 @Named
 @ViewScoped
@@ -29,17 +33,19 @@ public class FuncionarioServicoController implements Serializable {
 
     private static final Logger LOGGER = Logger.getLogger(FuncionarioServicoController.class.getName());
 
+    private static final Comparator<FuncionarioServico> ORDEM_FILTRADA = Comparator
+            .comparing((FuncionarioServico fs) -> fs.getFuncionario().getNome(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(fs -> fs.getServico().getNome(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(fs -> fs.getLocalizacao().getNome(), Comparator.nullsLast(Comparator.naturalOrder()));
+
     @EJB
     private FuncionarioServicoServiceLocal funcionarioServicoService;
     
     @EJB
-    private DataServiceLocal dataService;
-    
-    @EJB
-    private ServicoServiceLocal servicoService;
+    private CatalogoCache catalogo;
     
-    @EJB
-    private LocalizacaoServiceLocal localizacaoService;
+    @Inject
+    private CacheRequisicao cacheRequisicao;
 
     // Estado do formulário
     private FuncionarioServico associacao = new FuncionarioServico();
@@ -48,17 +54,16 @@ public class FuncionarioServicoController implements Serializable {
     private Long localizacaoId;
     private boolean editMode = false;
     
-    // Dados principais
-    private List<FuncionarioServico> associacoes;
-    private List<Funcionario> funcionarios;
-    private List<Servico> servicos;
-    private List<Localizacao> locais;
-    
     // Filtros
     private Long filterFuncionarioId;
     private Long filterServicoId;
     private Long filterLocalizacaoId;
     
+    // Filtros efetivamente aplicados à listagem
+    private Long funcionarioFiltradoId;
+    private Long servicoFiltradoId;
+    private Long localizacaoFiltradaId;
+    
     // Seleções para nova associação
     private Long selectedFuncionarioId;
     private Long selectedServicoId;
@@ -70,8 +75,6 @@ public class FuncionarioServicoController implements Serializable {
 
     @PostConstruct
     public void init() {
-        loadData();
-        
         // Recupera mensagens do Flash Scope (vindas de redirect)
         FacesContext context = FacesContext.getCurrentInstance();
         if (context != null && context.getExternalContext().getFlash().containsKey("lastMessage")) {
@@ -82,46 +85,12 @@ public class FuncionarioServicoController implements Serializable {
 
     // ========== CARREGAMENTO DE DADOS ==========
     
-    private void loadData() {
-        loadAssociacoes();
-        loadFuncionarios();
-        loadServicos();
-        loadLocalizacoes();
-    }
-
+    /**
+     * Descarta a listagem já montada nesta requisição; o catálogo é
+     * atualizado pelas próprias gravações
+     */
     public void loadAssociacoes() {
-        try {
-            associacoes = funcionarioServicoService.getAllAssociacoes();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar associações", e);
-            addErrorMessage("Erro ao carregar lista de associações");
-        }
-    }
-
-    public void loadFuncionarios() {
-        try {
-            funcionarios = funcionarioServicoService.getAllFuncionariosWithCargo();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar funcionários", e);
-            funcionarios = List.of();
-            addErrorMessage("Erro ao carregar funcionários");
-        }
-    }
-
-    public void loadServicos() {
-        try {
-            servicos = servicoService.getAllServicos();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar serviços", e);
-        }
-    }
-
-    public void loadLocalizacoes() {
-        try {
-            locais = localizacaoService.getAllLocalizacoes();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar localizações", e);
-        }
+        cacheRequisicao.descartar("associacoes");
     }
 
     // ========== CRUD ASSOCIAÇÕES ==========
@@ -300,12 +269,10 @@ public class FuncionarioServicoController implements Serializable {
     
     public void applyFilters() {
         try {
-            if (hasActiveFilters()) {
-                associacoes = funcionarioServicoService.findAssociacoesWithFilters(
-                    filterFuncionarioId, filterServicoId, filterLocalizacaoId);
-            } else {
-                loadAssociacoes();
-            }
+            funcionarioFiltradoId = filterFuncionarioId;
+            servicoFiltradoId = filterServicoId;
+            localizacaoFiltradaId = filterLocalizacaoId;
+            loadAssociacoes();
         } catch (Exception ex) {
             LOGGER.log(Level.SEVERE, "Erro ao aplicar filtros", ex);
             addErrorMessage("Erro ao aplicar filtros: " + ex.getMessage());
@@ -316,12 +283,15 @@ public class FuncionarioServicoController implements Serializable {
         filterFuncionarioId = null;
         filterServicoId = null;
         filterLocalizacaoId = null;
+        funcionarioFiltradoId = null;
+        servicoFiltradoId = null;
+        localizacaoFiltradaId = null;
         loadAssociacoes();
     }
     
     private boolean hasActiveFilters() {
-        return filterFuncionarioId != null || filterServicoId != null || 
-               filterLocalizacaoId != null;
+        return funcionarioFiltradoId != null || servicoFiltradoId != null || 
+               localizacaoFiltradaId != null;
     }
 
     // ========== MÉTODOS AUXILIARES ==========
@@ -410,36 +380,42 @@ public class FuncionarioServicoController implements Serializable {
         this.associacao = associacao;
     }
 
+    /**
+     * Associações do catálogo, restritas aos filtros aplicados
+     */
     public List<FuncionarioServico> getAssociacoes() {
-        return associacoes;
-    }
-
-    public void setAssociacoes(List<FuncionarioServico> associacoes) {
-        this.associacoes = associacoes;
+        return cacheRequisicao.obter("associacoes", () -> {
+            try {
+                if (!hasActiveFilters()) {
+                    return catalogo.getAssociacoes();
+                }
+                return catalogo.getAssociacoes().stream()
+                        .filter(fs -> funcionarioFiltradoId == null
+                                || Objects.equals(fs.getFuncionario().getId(), funcionarioFiltradoId))
+                        .filter(fs -> servicoFiltradoId == null
+                                || Objects.equals(fs.getServico().getId(), servicoFiltradoId))
+                        .filter(fs -> localizacaoFiltradaId == null
+                                || Objects.equals(fs.getLocalizacao().getId(), localizacaoFiltradaId))
+                        .sorted(ORDEM_FILTRADA)
+                        .toList();
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Erro ao carregar associações", e);
+                addErrorMessage("Erro ao carregar lista de associações");
+                return List.of();
+            }
+        });
     }
 
     public List<Funcionario> getFuncionarios() {
-        return funcionarios;
-    }
-
-    public void setFuncionarios(List<Funcionario> funcionarios) {
-        this.funcionarios = funcionarios;
+        return catalogo.getFuncionarios();
     }
 
     public List<Servico> getServicos() {
-        return servicos;
-    }
-
-    public void setServicos(List<Servico> servicos) {
-        this.servicos = servicos;
+        return catalogo.getServicos();
     }
 
     public List<Localizacao> getLocalizacoes() {
-        return locais;
-    }
-
-    public void setLocalizacoes(List<Localizacao> locais) {
-        this.locais = locais;
+        return catalogo.getLocalizacoes();
     }
 
     public Long getFuncionarioId() {
@@ -507,7 +483,7 @@ public class FuncionarioServicoController implements Serializable {
     }
     
     public int getAssociacoesCount() {
-        return associacoes != null ? associacoes.size() : 0;
+        return getAssociacoes().size();
     }
     
     public int getTotalAssociacoes() {
@@ -561,11 +537,11 @@ public class FuncionarioServicoController implements Serializable {
      * Verifica se um funcionário tem associações
      */
     public boolean funcionarioTemAssociacoes(Long funcionarioId) {
-        if (associacoes == null || funcionarioId == null) {
+        if (funcionarioId == null) {
             return false;
         }
         
-        return associacoes.stream()
+        return getAssociacoes().stream()
                 .anyMatch(assoc -> assoc.getFuncionario().getId().equals(funcionarioId));
     }
 }
\ No newline at end of file
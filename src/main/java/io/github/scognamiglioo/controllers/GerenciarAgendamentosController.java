@@ -1,9 +1,12 @@
 package io.github.scognamiglioo.controllers;
 
 import io.github.scognamiglioo.entities.*;
+import io.github.scognamiglioo.services.AgendamentoMailServiceLocal;
 import io.github.scognamiglioo.services.AgendamentoServiceLocal;
-import io.github.scognamiglioo.services.DataServiceLocal;
-import jakarta.annotation.PostConstruct;
+import io.github.scognamiglioo.services.CatalogoCache;
+import io.github.scognamiglioo.services.EstatisticaAgendamentoCache;
+import io.github.scognamiglioo.services.RemanejamentoServiceLocal;
+import io.github.scognamiglioo.services.ResultadoRemanejamento;
 import jakarta.ejb.EJB;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.ExternalContext;
@@ -23,6 +26,10 @@ import java.util.stream.Collectors;
 
 /**
  * Controller para gerenciar todos os agendamentos (área administrativa)
+ *
+ * Sem filtro a tela não guarda a listagem: ela é buscada uma vez por
+ * requisição ({@link CacheRequisicao}). Com filtro, guarda apenas os IDs
+ * encontrados. Os funcionários vêm do {@link CatalogoCache}.
  */
 @Named
 @ViewScoped
@@ -34,15 +41,27 @@ public class GerenciarAgendamentosController implements Serializable {
     private AgendamentoServiceLocal agendamentoService;
 
     @EJB
-    private DataServiceLocal dataService;
+    private CatalogoCache catalogo;
+
+    @EJB
+    private RemanejamentoServiceLocal remanejamentoService;
+
+    @EJB
+    private AgendamentoMailServiceLocal agendamentoMailService;
+
+    @EJB
+    private EstatisticaAgendamentoCache estatisticas;
     
     @Inject
     private FacesContext facesContext;
 
+    @Inject
+    private CacheRequisicao cacheRequisicao;
+
 
-    // Listas
-    private List<Agendamento> agendamentos;
-    private List<Funcionario> funcionariosDisponiveis;
+    // Resultado do último filtro (null = todos os agendamentos ativos)
+    private long[] idsFiltrados;
+    private boolean filtradosComHistorico;
 
     // Filtros
     private Date filtroDataInicio;
@@ -50,45 +69,28 @@ public class GerenciarAgendamentosController implements Serializable {
     private String filtroStatus;
     private String filtroId;
     private String filtroUsuario;
+    private boolean incluirHistorico;
 
     // Seleção/Edição
     private Agendamento agendamentoSelecionado;
     private Long funcionarioSelecionadoId;
     private String statusSelecionado;
 
-    @PostConstruct
-    public void init() {
-        carregarAgendamentos();
-        carregarFuncionarios();
-    }
+    // Remanejamento de funcionário ausente
+    private Long remanejamentoFuncionarioId;
+    private Date remanejamentoDataInicio;
+    private Date remanejamentoDataFim;
 
     /**
-     * Carrega todos os agendamentos
+     * Volta à listagem de todos os agendamentos, sem filtro
      */
     public void carregarAgendamentos() {
-        try {
-            agendamentos = agendamentoService.getAllAgendamentos();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar agendamentos", e);
-            addErrorMessage("Erro ao carregar agendamentos");
-            agendamentos = new ArrayList<>();
-        }
-    }
-
-    /**
-     * Carrega todos os funcionários ativos
-     */
-    private void carregarFuncionarios() {
-        try {
-            funcionariosDisponiveis = dataService.getAllFuncionarios();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Erro ao carregar funcionários", e);
-            funcionariosDisponiveis = new ArrayList<>();
-        }
+        idsFiltrados = null;
+        cacheRequisicao.descartar("gerenciar.agendamentos");
     }
 
     /**
-     * Carrega apenas os funcionários que prestam o serviço do agendamento
+     * Verifica os funcionários que prestam o serviço do agendamento
      * selecionado
      */
     private void carregarFuncionariosDoServico() {
@@ -97,7 +99,7 @@ public class GerenciarAgendamentosController implements Serializable {
                 Long servicoId = agendamentoSelecionado.getServico().getId();
                 LOGGER.log(Level.INFO, "Carregando funcionários para o serviço ID: {0}", servicoId);
 
-                funcionariosDisponiveis = agendamentoService.findFuncionariosDisponiveisParaServico(servicoId);
+                List<Funcionario> funcionariosDisponiveis = getFuncionariosDisponiveis();
 
                 LOGGER.log(Level.INFO, "Funcionários encontrados: {0}", funcionariosDisponiveis.size());
 
@@ -107,12 +109,10 @@ public class GerenciarAgendamentosController implements Serializable {
                 }
             } else {
                 LOGGER.log(Level.WARNING, "Agendamento ou serviço não definido");
-                funcionariosDisponiveis = new ArrayList<>();
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao carregar funcionários do serviço", e);
             addErrorMessage("Erro ao carregar funcionários: " + e.getMessage());
-            funcionariosDisponiveis = new ArrayList<>();
         }
     }
 
@@ -121,10 +121,8 @@ public class GerenciarAgendamentosController implements Serializable {
      */
     public void aplicarFiltros() {
         try {
-            // Carrega todos os agendamentos primeiro
-            agendamentos = agendamentoService.getAllAgendamentos();
-
-            List<Agendamento> resultado = new ArrayList<>(agendamentos);
+            // Carrega todos os agendamentos primeiro (arquivados apenas se solicitado)
+            List<Agendamento> resultado = new ArrayList<>(agendamentoService.getAllAgendamentos(incluirHistorico));
 
             // Filtro por ID
             if (filtroId != null && !filtroId.trim().isEmpty()) {
@@ -178,12 +176,15 @@ public class GerenciarAgendamentosController implements Serializable {
                         .collect(Collectors.toList());
             }
 
-            agendamentos = resultado;
+            idsFiltrados = resultado.stream().mapToLong(Agendamento::getId).toArray();
+            filtradosComHistorico = incluirHistorico;
+            // A listagem desta requisição já está pronta: evita buscá-la de novo pelos IDs
+            cacheRequisicao.guardar("gerenciar.agendamentos", resultado);
 
-            if (agendamentos.isEmpty()) {
+            if (resultado.isEmpty()) {
                 addInfoMessage("Nenhum agendamento encontrado com os filtros aplicados");
             } else {
-                addInfoMessage("Filtros aplicados: " + agendamentos.size() + " agendamento(s) encontrado(s)");
+                addInfoMessage("Filtros aplicados: " + resultado.size() + " agendamento(s) encontrado(s)");
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao aplicar filtros", e);
@@ -269,7 +270,12 @@ public class GerenciarAgendamentosController implements Serializable {
                     StatusAgendamento novoStatus = StatusAgendamento.valueOf(statusSelecionado);
                     LOGGER.log(Level.INFO, "Alterando status de {0} para {1}",
                             new Object[]{statusAtual, novoStatus});
-                    agendamentoService.alterarStatus(agendamentoId, novoStatus);
+                    if (isAdministrador() && !agendamentoSelecionado.getStatus().podeTransicionarPara(novoStatus)) {
+                        // Fora da máquina de estados só o administrador corrige
+                        agendamentoService.corrigirStatus(agendamentoId, novoStatus);
+                    } else {
+                        agendamentoService.alterarStatus(agendamentoId, novoStatus);
+                    }
                 } else {
                     LOGGER.log(Level.INFO, "Status não mudou ({0}), pulando alteração", statusAtual);
                 }
@@ -332,6 +338,49 @@ public class GerenciarAgendamentosController implements Serializable {
         }
     }
 
+    /**
+     * Reatribui ou cancela, de uma vez, os agendamentos do funcionário ausente
+     * no período informado e notifica os pacientes em lote
+     */
+    public void remanejarAgendamentos() {
+        if (remanejamentoFuncionarioId == null || remanejamentoDataInicio == null || remanejamentoDataFim == null) {
+            addWarnMessage("Informe o funcionário e o período");
+            return;
+        }
+        try {
+            LocalDate inicio = new java.sql.Date(remanejamentoDataInicio.getTime()).toLocalDate();
+            LocalDate fim = new java.sql.Date(remanejamentoDataFim.getTime()).toLocalDate();
+
+            ResultadoRemanejamento resultado =
+                    remanejamentoService.remanejarAgendamentos(remanejamentoFuncionarioId, inicio, fim);
+
+            if (resultado.getTotal() == 0) {
+                addInfoMessage("Nenhum agendamento ativo do funcionário no período");
+                return;
+            }
+
+            int falhas = agendamentoMailService.enviarNotificacoesEmLote(
+                    resultado.getReatribuidos(), resultado.getCancelados());
+
+            addSuccessMessage(resultado.getReatribuidos().size() + " agendamento(s) reatribuído(s) e "
+                    + resultado.getCancelados().size() + " cancelado(s)");
+            if (falhas > 0) {
+                addWarnMessage(falhas + " notificação(ões) por e-mail não puderam ser enviadas");
+            }
+
+            remanejamentoFuncionarioId = null;
+            remanejamentoDataInicio = null;
+            remanejamentoDataFim = null;
+            carregarAgendamentos();
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(Level.WARNING, "Validação do remanejamento falhou: {0}", ex.getMessage());
+            addErrorMessage(ex.getMessage());
+        } catch (Exception ex) {
+            LOGGER.log(Level.SEVERE, "Erro ao remanejar agendamentos", ex);
+            addErrorMessage("Erro ao remanejar agendamentos. Tente novamente.");
+        }
+    }
+
     // Métodos auxiliares de mensagens
     private void addErrorMessage(String message) {
         FacesContext.getCurrentInstance().addMessage(null,
@@ -355,48 +404,32 @@ public class GerenciarAgendamentosController implements Serializable {
 
     // Métodos para estatísticas
     /**
-     * Total de agendamentos
+     * Total de agendamentos, incluindo os arquivados. Os indicadores vêm da
+     * consolidação em memória e não dependem da lista carregada na tela
      */
-    public int getTotalAgendamentos() {
-        return agendamentos != null ? agendamentos.size() : 0;
+    public long getTotalAgendamentos() {
+        return estatisticas.getPainel().getTotal();
     }
 
     /**
      * Agendamentos de hoje
      */
     public long getAgendamentosHoje() {
-        if (agendamentos == null) {
-            return 0;
-        }
-        LocalDate hoje = LocalDate.now();
-        return agendamentos.stream()
-                .filter(a -> a.getData() != null && a.getData().equals(hoje))
-                .count();
+        return estatisticas.getPainel().getHoje();
     }
 
     /**
      * Agendamentos pendentes (Agendado + Confirmado)
      */
     public long getAgendamentosPendentes() {
-        if (agendamentos == null) {
-            return 0;
-        }
-        return agendamentos.stream()
-                .filter(a -> a.getStatus() == StatusAgendamento.AGENDADO
-                || a.getStatus() == StatusAgendamento.CONFIRMADO)
-                .count();
+        return estatisticas.getPainel().getPendentes();
     }
 
     /**
      * Agendamentos concluídos
      */
     public long getAgendamentosConcluidos() {
-        if (agendamentos == null) {
-            return 0;
-        }
-        return agendamentos.stream()
-                .filter(a -> a.getStatus() == StatusAgendamento.CONCLUIDO)
-                .count();
+        return estatisticas.getPainel().getConcluidos();
     }
 
     /* logout */
@@ -414,20 +447,41 @@ public class GerenciarAgendamentosController implements Serializable {
     }
 
     // Getters e Setters
-    public List<Agendamento> getAgendamentos() {
-        return agendamentos;
-    }
 
-    public void setAgendamentos(List<Agendamento> agendamentos) {
-        this.agendamentos = agendamentos;
+    /**
+     * Agendamentos exibidos: todos os ativos ou os do último filtro,
+     * buscados uma vez por requisição
+     */
+    public List<Agendamento> getAgendamentos() {
+        return cacheRequisicao.obter("gerenciar.agendamentos", () -> {
+            try {
+                if (idsFiltrados == null) {
+                    return agendamentoService.getAllAgendamentos();
+                }
+                List<Long> ids = new ArrayList<>(idsFiltrados.length);
+                for (long id : idsFiltrados) {
+                    ids.add(id);
+                }
+                return agendamentoService.findAgendamentosByIds(ids, filtradosComHistorico);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Erro ao carregar agendamentos", e);
+                addErrorMessage("Erro ao carregar agendamentos");
+                return new ArrayList<>();
+            }
+        });
     }
 
+    /**
+     * Funcionários que prestam o serviço do agendamento em edição, ou todos
+     * se não houver agendamento selecionado
+     */
     public List<Funcionario> getFuncionariosDisponiveis() {
-        return funcionariosDisponiveis;
-    }
-
-    public void setFuncionariosDisponiveis(List<Funcionario> funcionariosDisponiveis) {
-        this.funcionariosDisponiveis = funcionariosDisponiveis;
+        if (agendamentoSelecionado == null || agendamentoSelecionado.getServico() == null) {
+            return catalogo.getFuncionarios();
+        }
+        Long servicoId = agendamentoSelecionado.getServico().getId();
+        return cacheRequisicao.obter("gerenciar.funcionarios." + servicoId,
+                () -> agendamentoService.findFuncionariosDisponiveisParaServico(servicoId));
     }
 
     public Date getFiltroDataInicio() {
@@ -494,6 +548,42 @@ public class GerenciarAgendamentosController implements Serializable {
         this.filtroUsuario = filtroUsuario;
     }
 
+    public List<Funcionario> getTodosFuncionarios() {
+        return catalogo.getFuncionarios();
+    }
+
+    public Long getRemanejamentoFuncionarioId() {
+        return remanejamentoFuncionarioId;
+    }
+
+    public void setRemanejamentoFuncionarioId(Long remanejamentoFuncionarioId) {
+        this.remanejamentoFuncionarioId = remanejamentoFuncionarioId;
+    }
+
+    public Date getRemanejamentoDataInicio() {
+        return remanejamentoDataInicio;
+    }
+
+    public void setRemanejamentoDataInicio(Date remanejamentoDataInicio) {
+        this.remanejamentoDataInicio = remanejamentoDataInicio;
+    }
+
+    public Date getRemanejamentoDataFim() {
+        return remanejamentoDataFim;
+    }
+
+    public void setRemanejamentoDataFim(Date remanejamentoDataFim) {
+        this.remanejamentoDataFim = remanejamentoDataFim;
+    }
+
+    public boolean isIncluirHistorico() {
+        return incluirHistorico;
+    }
+
+    public void setIncluirHistorico(boolean incluirHistorico) {
+        this.incluirHistorico = incluirHistorico;
+    }
+
     /**
      * Busca o nome da localização onde o serviço do agendamento é prestado. Usa
      * o JOIN: Agendamento -> FuncionarioServico -> Localizacao
@@ -513,7 +603,8 @@ public class GerenciarAgendamentosController implements Serializable {
 
     /**
      * Verifica se o agendamento pode ser editado.
-     * Agendamentos com status CONCLUIDO ou CANCELADO não podem ser editados.
+     * Agendamentos com status CONCLUIDO ou CANCELADO só podem ser editados
+     * (corrigidos) por administradores.
      *
      * @return true se pode editar, false se é somente leitura
      */
@@ -522,7 +613,11 @@ public class GerenciarAgendamentosController implements Serializable {
             return false;
         }
         StatusAgendamento status = agendamentoSelecionado.getStatus();
-        return status != StatusAgendamento.CONCLUIDO && status != StatusAgendamento.CANCELADO;
+        return !status.isFinal() || isAdministrador();
+    }
+
+    private boolean isAdministrador() {
+        return FacesContext.getCurrentInstance().getExternalContext().isUserInRole("admin");
     }
 
     /**
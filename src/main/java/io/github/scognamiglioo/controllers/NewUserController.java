@@ -72,7 +72,7 @@ public class NewUserController {
     
     public void checkCpf() {
         String cpfNorm = user.getCpf() == null ? "" : user.getCpf().replaceAll("\\D+", "");
-        if (!cpfNorm.isEmpty() && dataService.cpfExists(cpfNorm)) {
+        if (!cpfNorm.isEmpty() && dataService.cpfExists(cpfNorm) && !dataService.cadastroExpirado(cpfNorm)) {
             FacesContext.getCurrentInstance().addMessage("createAccountForm:cpf",
                 new FacesMessage(FacesMessage.SEVERITY_ERROR, "CPF já cadastrado", null));
         }
@@ -0,0 +1,102 @@
+package io.github.scognamiglioo.controllers;
+
+import io.github.scognamiglioo.services.ProdutividadeAtendenteServiceLocal;
+import io.github.scognamiglioo.services.ResumoProdutividade;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.EJB;
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.view.ViewScoped;
+import jakarta.inject.Named;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Tela de produtividade dos atendentes: tempo em cada situação por período
+ * e detalhamento diário de um atendente.
+ */
+@Named
+@ViewScoped
+public class ProdutividadeController implements Serializable {
+
+    @EJB
+    private ProdutividadeAtendenteServiceLocal produtividadeService;
+
+    private Date dataInicio;
+    private Date dataFim;
+    private List<ResumoProdutividade> resumos = new ArrayList<>();
+
+    private ResumoProdutividade atendenteSelecionado;
+    private List<ResumoProdutividade> resumoDiario = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        dataInicio = java.sql.Date.valueOf(LocalDate.now());
+        dataFim = dataInicio;
+        pesquisar();
+    }
+
+    public void pesquisar() {
+        if (dataInicio == null || dataFim == null) {
+            addWarnMessage("Informe as datas de início e fim.");
+            return;
+        }
+        try {
+            resumos = produtividadeService.resumoPorPeriodo(inicio(), fim());
+            atendenteSelecionado = null;
+            resumoDiario = new ArrayList<>();
+        } catch (IllegalArgumentException e) {
+            addWarnMessage(e.getMessage());
+        }
+    }
+
+    public void detalhar(ResumoProdutividade resumo) {
+        atendenteSelecionado = resumo;
+        resumoDiario = produtividadeService.resumoDiario(resumo.getFuncionarioId(), inicio(), fim());
+    }
+
+    private LocalDate inicio() {
+        return new java.sql.Date(dataInicio.getTime()).toLocalDate();
+    }
+
+    private LocalDate fim() {
+        return new java.sql.Date(dataFim.getTime()).toLocalDate();
+    }
+
+    private void addWarnMessage(String msg) {
+        FacesContext.getCurrentInstance().addMessage(null,
+                new FacesMessage(FacesMessage.SEVERITY_WARN, "Atenção", msg));
+    }
+
+    // Getters e Setters
+    public Date getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(Date dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public Date getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(Date dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public List<ResumoProdutividade> getResumos() {
+        return resumos;
+    }
+
+    public ResumoProdutividade getAtendenteSelecionado() {
+        return atendenteSelecionado;
+    }
+
+    public List<ResumoProdutividade> getResumoDiario() {
+        return resumoDiario;
+    }
+}
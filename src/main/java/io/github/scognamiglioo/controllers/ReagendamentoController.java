@@ -296,10 +296,7 @@ public class ReagendamentoController implements Serializable {
                 agendamentoService.cancelarAgendamento(agendamentoOriginal.getId());
             }
 
-            // Cria o novo agendamento
-            Agendamento novoAgendamento = agendamentoService.createAgendamento(user, servico, novoFuncionario, data, hora);
-
-            // Adiciona observações do reagendamento
+            // Monta as observações do reagendamento
             String observacoesCompletas = "REAGENDAMENTO - Agendamento #" + agendamentoOriginal.getId() +
                                          " (Data: " + agendamentoOriginal.getDataFormatada() +
                                          " às " + agendamentoOriginal.getHoraFormatada() + ")";
@@ -312,8 +309,9 @@ public class ReagendamentoController implements Serializable {
                 observacoesCompletas += "\nObservações originais: " + agendamentoOriginal.getObservacoes();
             }
 
-            novoAgendamento.setObservacoes(observacoesCompletas);
-            agendamentoService.updateAgendamento(novoAgendamento);
+            // Cria o novo agendamento já com as observações
+            Agendamento novoAgendamento = agendamentoService.createAgendamento(
+                    user, servico, novoFuncionario, data, hora, observacoesCompletas);
 
             // Envia e-mail de reagendamento
             try {
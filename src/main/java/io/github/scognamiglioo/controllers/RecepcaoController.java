@@ -6,9 +6,9 @@ package io.github.scognamiglioo.controllers;
 
 import io.github.scognamiglioo.entities.Agendamento;
 import io.github.scognamiglioo.entities.StatusAgendamento;
-import io.github.scognamiglioo.entities.StatusAtendenteAtual;
 import io.github.scognamiglioo.services.AgendamentoServiceLocal;
-import io.github.scognamiglioo.services.AtendenteServiceLocal;
+import io.github.scognamiglioo.services.CacheStatusAtendentes;
+import io.github.scognamiglioo.services.SituacaoAtendente;
 import jakarta.annotation.PostConstruct;
 import jakarta.ejb.EJB;
 import jakarta.faces.application.FacesMessage;
@@ -31,7 +31,7 @@ public class RecepcaoController implements Serializable {
     private AgendamentoServiceLocal agendamentoService;
     
     @EJB
-    private AtendenteServiceLocal atendenteService;
+    private CacheStatusAtendentes cacheStatusAtendentes;
 
 
     // === Check-in ===
@@ -43,7 +43,7 @@ public class RecepcaoController implements Serializable {
     private String walkCpf;
     
     //=== Lista de Status dos atendentes===
-    private List<StatusAtendenteAtual> statusAtendentes;
+    private List<SituacaoAtendente> statusAtendentes;
 
     @PostConstruct
     public void init() {
@@ -54,9 +54,9 @@ public class RecepcaoController implements Serializable {
     // -----------------------------
     // LISTA DE STATUS DE ATENDENTES
     // -----------------------------    
-    // === Método para atualizar lista no clique do botão ===
+    // === Lida do cache em memória; as mudanças chegam à tela via WebSocket ===
     public void carregarStatusAtendentes() {
-        statusAtendentes = atendenteService.buscarTodosStatusAtendentes();
+        statusAtendentes = cacheStatusAtendentes.listar();
     }
     
     // -----------------------------
@@ -116,7 +116,12 @@ public class RecepcaoController implements Serializable {
         }
 
         Agendamento agendamento = agendamentos.get(0);
-        agendamentoService.alterarStatus(agendamento.getId(), StatusAgendamento.CONFIRMADO);
+        try {
+            agendamentoService.alterarStatus(agendamento.getId(), StatusAgendamento.CONFIRMADO);
+        } catch (IllegalArgumentException e) {
+            addWarnMessage(e.getMessage());
+            return;
+        }
         addSuccessMessage("Presença confirmada para " + agendamento.getUser().getNome());
 
         walkCpf = null;
@@ -150,7 +155,7 @@ public class RecepcaoController implements Serializable {
     public List<Agendamento> getResultadosBusca() { return resultadosBusca; }
     public Agendamento getAgendamentoSelecionado() { return agendamentoSelecionado; }
     public void setAgendamentoSelecionado(Agendamento agendamentoSelecionado) { this.agendamentoSelecionado = agendamentoSelecionado; }
-    public List<StatusAtendenteAtual> getStatusAtendentes() {
+    public List<SituacaoAtendente> getStatusAtendentes() {
         return statusAtendentes;
     }
     public String getWalkCpf() { return walkCpf; }
@@ -9,8 +9,10 @@ import io.github.scognamiglioo.entities.Funcionario;
 import io.github.scognamiglioo.entities.Localizacao;
 import io.github.scognamiglioo.entities.Servico;
 import io.github.scognamiglioo.services.AgendamentoServiceLocal;
+import io.github.scognamiglioo.services.CandidatoAtendimento;
+import io.github.scognamiglioo.services.CatalogoCache;
 import io.github.scognamiglioo.services.DataServiceLocal;
-import io.github.scognamiglioo.services.FuncionarioServicoServiceLocal;
+import io.github.scognamiglioo.services.RoteamentoAtendimentoService;
 import io.github.scognamiglioo.services.ServicoServiceLocal;
 import io.github.scognamiglioo.websocket.ChamadaWebSocketUtil;
 import jakarta.annotation.PostConstruct;
@@ -22,13 +24,15 @@ import jakarta.inject.Named;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Controlador para gerenciar atendimentos walk-in (presenciais sem agendamento)
+ *
+ * A tela guarda apenas os IDs selecionados; as listas de serviços,
+ * localizações e profissionais vêm do {@link CatalogoCache} a cada requisição.
  * @author Sistema Agendamento
  */
 @Named
@@ -45,11 +49,14 @@ public class WalkinController implements Serializable {
     private ServicoServiceLocal servicoService;
 
     @EJB
-    private FuncionarioServicoServiceLocal funcionarioServicoService;
+    private CatalogoCache catalogo;
 
     @EJB
     private DataServiceLocal dataService;
 
+    @EJB
+    private RoteamentoAtendimentoService roteamento;
+
     // ===== DADOS DO FORMULÁRIO =====
     private String nomeCliente;
     private String cpfCliente;
@@ -57,29 +64,19 @@ public class WalkinController implements Serializable {
     private Long servicoSelecionadoId;
     private Long localizacaoSelecionadaId;
     private Long funcionarioSelecionadoId;
-    private List<Servico> servicosList;
-    private List<Localizacao> localizacoesList;
-    private List<Funcionario> funcionariosList;
+
+    // Atendente sugerido pelo roteamento; a recepção pode trocar manualmente
+    private CandidatoAtendimento sugestao;
 
     @PostConstruct
     public void init() {
         try {
-            servicosList = servicoService.getAllServicos();
-            LOGGER.log(Level.INFO, "Serviços carregados: {0}", servicosList.size());
-            
-            if (servicosList == null || servicosList.isEmpty()) {
+            if (catalogo.getServicos().isEmpty()) {
                 addWarnMessage("Nenhum serviço disponível no momento.");
-                servicosList = new ArrayList<>();
             }
-            
-            localizacoesList = new ArrayList<>();
-            funcionariosList = new ArrayList<>();
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao carregar serviços", e);
             addErrorMessage("Erro ao carregar lista de serviços: " + e.getMessage());
-            servicosList = new ArrayList<>();
-            localizacoesList = new ArrayList<>();
-            funcionariosList = new ArrayList<>();
         }
     }
 
@@ -90,23 +87,46 @@ public class WalkinController implements Serializable {
         try {
             LOGGER.log(Level.INFO, "onServicoChange chamado. servicoSelecionadoId: {0}", servicoSelecionadoId);
             
-            localizacoesList = new ArrayList<>();
             localizacaoSelecionadaId = null;
-            funcionariosList = new ArrayList<>();
             funcionarioSelecionadoId = null;
+            sugestao = null;
             
             if (servicoSelecionadoId != null) {
-                localizacoesList = funcionarioServicoService.findLocalizacoesByServico(servicoSelecionadoId);
-                LOGGER.log(Level.INFO, "Localizações encontradas: {0}", localizacoesList.size());
+                List<Localizacao> localizacoes = getLocalizacoesList();
+                LOGGER.log(Level.INFO, "Localizações encontradas: {0}", localizacoes.size());
                 
-                if (localizacoesList.isEmpty()) {
+                if (localizacoes.isEmpty()) {
                     addWarnMessage("Nenhuma localização disponível para este serviço.");
+                } else {
+                    aplicarSugestao();
                 }
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao carregar localizações do serviço", e);
             addErrorMessage("Erro ao carregar localizações: " + e.getMessage());
-            localizacoesList = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Seleciona localização e profissional sugeridos pelo roteamento
+     * (atendente disponível com menor fila)
+     */
+    public void aplicarSugestao() {
+        if (servicoSelecionadoId == null) {
+            addWarnMessage("Selecione um serviço.");
+            return;
+        }
+        try {
+            sugestao = roteamento.sugerir(servicoSelecionadoId).orElse(null);
+            if (sugestao == null) {
+                addWarnMessage("Nenhum profissional apto no momento. Selecione manualmente.");
+                return;
+            }
+            localizacaoSelecionadaId = sugestao.getLocalizacaoId();
+            funcionarioSelecionadoId = sugestao.getFuncionarioId();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao sugerir profissional", e);
+            sugestao = null;
         }
     }
 
@@ -117,22 +137,19 @@ public class WalkinController implements Serializable {
         try {
             LOGGER.log(Level.INFO, "onLocalizacaoChange chamado. localizacaoSelecionadaId: {0}", localizacaoSelecionadaId);
             
-            funcionariosList = new ArrayList<>();
             funcionarioSelecionadoId = null;
             
             if (servicoSelecionadoId != null && localizacaoSelecionadaId != null) {
-                funcionariosList = funcionarioServicoService.findFuncionariosByServicoAndLocalizacao(
-                    servicoSelecionadoId, localizacaoSelecionadaId);
-                LOGGER.log(Level.INFO, "Funcionários encontrados: {0}", funcionariosList.size());
+                List<Funcionario> funcionarios = getFuncionariosList();
+                LOGGER.log(Level.INFO, "Funcionários encontrados: {0}", funcionarios.size());
                 
-                if (funcionariosList.isEmpty()) {
+                if (funcionarios.isEmpty()) {
                     addWarnMessage("Nenhum funcionário disponível para este serviço e localização.");
                 }
             }
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao carregar funcionários", e);
             addErrorMessage("Erro ao carregar funcionários: " + e.getMessage());
-            funcionariosList = new ArrayList<>();
         }
     }
 
@@ -222,19 +239,18 @@ public class WalkinController implements Serializable {
                 return;
             }
 
-            // Cria agendamento walk-in usando o novo método do serviço
+            // Cria agendamento walk-in já atribuído ao funcionário (um único INSERT)
             Agendamento agendamento = agendamentoService.createWalkinAgendamento(
                 nomeCliente.trim(),
                 cpfCliente.trim(),
                 telefoneCliente.trim(),
                 servico,
+                funcionario,
                 LocalDate.now(),
                 LocalTime.of(23, 59) // horário mascarado para não acionar chamada automática por horário
             );
 
-            // Atribui o funcionário ao agendamento
-            agendamento.setFuncionario(funcionario);
-            agendamentoService.updateAgendamento(agendamento);
+            roteamento.registrarAtribuicao(funcionario.getId(), servico.getId());
 
             LOGGER.log(Level.INFO, "Atendimento walk-in registrado: {0} com funcionário: {1}", 
                 new Object[]{agendamento.getId(), funcionario.getNome()});
@@ -262,8 +278,7 @@ public class WalkinController implements Serializable {
         servicoSelecionadoId = null;
         localizacaoSelecionadaId = null;
         funcionarioSelecionadoId = null;
-        localizacoesList = new ArrayList<>();
-        funcionariosList = new ArrayList<>();
+        sugestao = null;
     }
 
     /**
@@ -325,11 +340,7 @@ public class WalkinController implements Serializable {
     }
 
     public List<Servico> getServicosList() {
-        return servicosList;
-    }
-
-    public void setServicosList(List<Servico> servicosList) {
-        this.servicosList = servicosList;
+        return catalogo.getServicos();
     }
 
     public Long getLocalizacaoSelecionadaId() {
@@ -340,12 +351,11 @@ public class WalkinController implements Serializable {
         this.localizacaoSelecionadaId = localizacaoSelecionadaId;
     }
 
+    /**
+     * Localizações onde o serviço selecionado é prestado
+     */
     public List<Localizacao> getLocalizacoesList() {
-        return localizacoesList;
-    }
-
-    public void setLocalizacoesList(List<Localizacao> localizacoesList) {
-        this.localizacoesList = localizacoesList;
+        return catalogo.getLocalizacoesPorServico(servicoSelecionadoId);
     }
 
     public Long getFuncionarioSelecionadoId() {
@@ -356,11 +366,15 @@ public class WalkinController implements Serializable {
         this.funcionarioSelecionadoId = funcionarioSelecionadoId;
     }
 
+    /**
+     * Profissionais ativos que prestam o serviço selecionado na localização
+     * selecionada
+     */
     public List<Funcionario> getFuncionariosList() {
-        return funcionariosList;
+        return catalogo.getFuncionariosPorServicoELocalizacao(servicoSelecionadoId, localizacaoSelecionadaId);
     }
 
-    public void setFuncionariosList(List<Funcionario> funcionariosList) {
-        this.funcionariosList = funcionariosList;
+    public CandidatoAtendimento getSugestao() {
+        return sugestao;
     }
 }
@@ -2,17 +2,24 @@ package io.github.scognamiglioo.entities;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
+import io.github.scognamiglioo.services.AgendamentoEstatisticaListener;
+
 /**
  * Entidade que representa um agendamento no sistema.
  * Um agendamento relaciona um usuário, um serviço, um funcionário e um horário.
  */
 @Entity
-@Table(name = "agendamento")
+@Table(name = "agendamento", indexes = {
+        @Index(name = "idx_agendamento_data_status", columnList = "data, status"),
+        @Index(name = "idx_agendamento_atualizado_em", columnList = "atualizado_em")
+})
+@EntityListeners(AgendamentoEstatisticaListener.class)
 @NamedQueries({
         @NamedQuery(name = "Agendamento.findAll",
                 query = "SELECT a FROM Agendamento a ORDER BY a.data DESC, a.hora DESC"),
@@ -26,6 +33,11 @@ import jakarta.validation.constraints.*;
                 query = "SELECT a FROM Agendamento a WHERE a.data = :data AND a.funcionario.id = :funcionarioId"),
         @NamedQuery(name = "Agendamento.findByStatus",
                 query = "SELECT a FROM Agendamento a WHERE a.status = :status ORDER BY a.data, a.hora"),
+        @NamedQuery(name = "Agendamento.findByIds",
+                query = "SELECT a FROM Agendamento a LEFT JOIN FETCH a.user JOIN FETCH a.servico "
+                        + "LEFT JOIN FETCH a.funcionario WHERE a.id IN :ids ORDER BY a.data, a.hora"),
+        @NamedQuery(name = "Agendamento.liberarLembretes",
+                query = "UPDATE Agendamento a SET a.lembreteEnviadoEm = NULL WHERE a.id IN :ids"),
         @NamedQuery(name = "Agendamento.findByDataBetween",
                 query = "SELECT a FROM Agendamento a WHERE a.data BETWEEN :dataInicio AND :dataFim ORDER BY a.data, a.hora"),
         @NamedQuery(name = "Agendamento.countByDataHoraFuncionario",
@@ -34,6 +46,44 @@ import jakarta.validation.constraints.*;
                 query = "SELECT fs.localizacao FROM Agendamento a " +
                         "JOIN FuncionarioServico fs ON fs.funcionario.id = a.funcionario.id AND fs.servico.id = a.servico.id " +
                         "WHERE a.id = :agendamentoId"),
+        @NamedQuery(name = "Agendamento.transicionarStatus",
+                query = "UPDATE Agendamento a SET a.status = :status, a.atualizadoEm = :atualizadoEm " +
+                        "WHERE a.id = :id AND a.status IN :origens"),
+        @NamedQuery(name = "Agendamento.cancelarComAntecedencia",
+                query = "UPDATE Agendamento a SET a.status = :status, a.atualizadoEm = :atualizadoEm " +
+                        "WHERE a.id = :id AND a.status IN :origens " +
+                        "AND (a.data > :dataLimite OR (a.data = :dataLimite AND a.hora >= :horaLimite))"),
+        // AGENDADO vence após a tolerância; CONFIRMADO (paciente já na fila) só em dias anteriores
+        @NamedQuery(name = "Agendamento.findIdsVencidos",
+                query = "SELECT a.id FROM Agendamento a WHERE " +
+                        "(a.status = :agendado AND (a.data < :dataLimite OR (a.data = :dataLimite AND a.hora < :horaLimite))) " +
+                        "OR (a.status = :confirmado AND a.data < :hoje) ORDER BY a.id"),
+        @NamedQuery(name = "Agendamento.marcarNaoComparecimento",
+                query = "UPDATE Agendamento a SET a.status = :status, a.atualizadoEm = :atualizadoEm " +
+                        "WHERE a.id IN :ids AND ((a.status = :agendado " +
+                        "AND (a.data < :dataLimite OR (a.data = :dataLimite AND a.hora < :horaLimite))) " +
+                        "OR (a.status = :confirmado AND a.data < :hoje))"),
+        @NamedQuery(name = "Agendamento.reatribuirFuncionarioEmLote",
+                query = "UPDATE Agendamento a SET a.funcionario = :funcionario, a.atualizadoEm = :atualizadoEm " +
+                        "WHERE a.id IN :ids AND a.funcionario.id = :funcionarioAtualId AND a.status IN :origens"),
+        @NamedQuery(name = "Agendamento.findDiasByIds",
+                query = "SELECT DISTINCT a.data FROM Agendamento a WHERE a.id IN :ids"),
+        @NamedQuery(name = "Agendamento.findDiasAlteradosDesde",
+                query = "SELECT DISTINCT a.data FROM Agendamento a WHERE a.atualizadoEm >= :desde"),
+        @NamedQuery(name = "Agendamento.registrarInicioAtendimento",
+                query = "UPDATE Agendamento a SET a.inicioAtendimento = :inicio WHERE a.id = :id"),
+        @NamedQuery(name = "Agendamento.findDuracoesAtendimento",
+                query = "SELECT a.servico.id, f.id, a.inicioAtendimento, a.fimAtendimento FROM Agendamento a " +
+                        "LEFT JOIN a.funcionario f WHERE a.fimAtendimento >= :desde " +
+                        "AND a.inicioAtendimento IS NOT NULL ORDER BY a.fimAtendimento"),
+        @NamedQuery(name = "Agendamento.findFilaEstimativa",
+                query = "SELECT a.id, a.servico.id, f.id, a.status, a.inicioAtendimento FROM Agendamento a " +
+                        "LEFT JOIN a.funcionario f WHERE a.data = :data " +
+                        "AND (a.status IN :status OR (a.status = :agendado AND a.isWalkin = true)) " +
+                        "ORDER BY a.hora, a.id"),
+        @NamedQuery(name = "Agendamento.transicionarStatusEmLote",
+                query = "UPDATE Agendamento a SET a.status = :status, a.atualizadoEm = :atualizadoEm " +
+                        "WHERE a.id IN :ids AND a.status IN :origens"),
 })
 public class Agendamento implements Serializable {
 
@@ -92,6 +142,17 @@ public class Agendamento implements Serializable {
     @Column(name = "atualizado_em")
     private LocalDate atualizadoEm;
 
+    // Marcado quando o lembrete do dia anterior é reservado para envio
+    @Column(name = "lembrete_enviado_em")
+    private LocalDateTime lembreteEnviadoEm;
+
+    // Início e fim efetivos do atendimento (transições EM_ATENDIMENTO e CONCLUIDO)
+    @Column(name = "inicio_atendimento")
+    private LocalDateTime inicioAtendimento;
+
+    @Column(name = "fim_atendimento")
+    private LocalDateTime fimAtendimento;
+
     @PrePersist
     protected void onCreate() {
         criadoEm = LocalDate.now();
@@ -197,6 +258,30 @@ public class Agendamento implements Serializable {
         this.atualizadoEm = atualizadoEm;
     }
 
+    public LocalDateTime getLembreteEnviadoEm() {
+        return lembreteEnviadoEm;
+    }
+
+    public void setLembreteEnviadoEm(LocalDateTime lembreteEnviadoEm) {
+        this.lembreteEnviadoEm = lembreteEnviadoEm;
+    }
+
+    public LocalDateTime getInicioAtendimento() {
+        return inicioAtendimento;
+    }
+
+    public void setInicioAtendimento(LocalDateTime inicioAtendimento) {
+        this.inicioAtendimento = inicioAtendimento;
+    }
+
+    public LocalDateTime getFimAtendimento() {
+        return fimAtendimento;
+    }
+
+    public void setFimAtendimento(LocalDateTime fimAtendimento) {
+        this.fimAtendimento = fimAtendimento;
+    }
+
     // Métodos auxiliares
     public String getNomeUsuario() {
         if (isWalkin && walkinNome != null) {
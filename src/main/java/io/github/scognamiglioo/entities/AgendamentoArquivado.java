@@ -0,0 +1,203 @@
+package io.github.scognamiglioo.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Agendamento finalizado movido para o armazenamento histórico.
+ *
+ * A tabela agendamento_historico tem as mesmas colunas de agendamento e
+ * preserva o id original. Os registros são escritos apenas pelo
+ * arquivamento noturno e são somente leitura para a aplicação.
+ */
+@Entity
+@Table(name = "agendamento_historico", indexes = {
+        @Index(name = "idx_agendamento_historico_data", columnList = "data"),
+        @Index(name = "idx_agendamento_historico_user", columnList = "user_id")
+})
+@NamedQueries({
+        @NamedQuery(name = "AgendamentoArquivado.findAll",
+                query = "SELECT a FROM AgendamentoArquivado a ORDER BY a.data DESC, a.hora DESC"),
+        @NamedQuery(name = "AgendamentoArquivado.findByUser",
+                query = "SELECT a FROM AgendamentoArquivado a WHERE a.user.id = :userId ORDER BY a.data DESC, a.hora DESC"),
+        @NamedQuery(name = "AgendamentoArquivado.findByUsername",
+                query = "SELECT a FROM AgendamentoArquivado a WHERE a.user.username = :username ORDER BY a.data DESC, a.hora DESC"),
+        @NamedQuery(name = "AgendamentoArquivado.findByStatus",
+                query = "SELECT a FROM AgendamentoArquivado a WHERE a.status = :status ORDER BY a.data, a.hora"),
+        @NamedQuery(name = "AgendamentoArquivado.findByDataBetween",
+                query = "SELECT a FROM AgendamentoArquivado a WHERE a.data BETWEEN :dataInicio AND :dataFim ORDER BY a.data, a.hora"),
+        @NamedQuery(name = "AgendamentoArquivado.findByIds",
+                query = "SELECT a FROM AgendamentoArquivado a LEFT JOIN FETCH a.user JOIN FETCH a.servico "
+                        + "LEFT JOIN FETCH a.funcionario WHERE a.id IN :ids"),
+})
+public class AgendamentoArquivado implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "servico_id", nullable = false)
+    private Servico servico;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "funcionario_id")
+    private Funcionario funcionario;
+
+    @Column(name = "is_walkin", nullable = false)
+    private Boolean isWalkin = false;
+
+    @Column(name = "walkin_nome", length = 255)
+    private String walkinNome;
+
+    @Column(name = "walkin_cpf", length = 14)
+    private String walkinCpf;
+
+    @Column(name = "walkin_telefone", length = 20)
+    private String walkinTelefone;
+
+    @Column(nullable = false)
+    private LocalDate data;
+
+    @Column(nullable = false)
+    private LocalTime hora;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusAgendamento status;
+
+    @Column(length = 500)
+    private String observacoes;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDate criadoEm;
+
+    @Column(name = "atualizado_em")
+    private LocalDate atualizadoEm;
+
+    @Column(name = "inicio_atendimento")
+    private LocalDateTime inicioAtendimento;
+
+    @Column(name = "fim_atendimento")
+    private LocalDateTime fimAtendimento;
+
+    @Column(name = "arquivado_em", nullable = false)
+    private LocalDate arquivadoEm;
+
+    public AgendamentoArquivado() {
+    }
+
+    /**
+     * Converte para um Agendamento desanexado, para que as telas exibam
+     * registros históricos com os mesmos componentes dos ativos
+     */
+    public Agendamento toAgendamento() {
+        Agendamento agendamento = new Agendamento();
+        agendamento.setId(id);
+        agendamento.setUser(user);
+        agendamento.setServico(servico);
+        agendamento.setFuncionario(funcionario);
+        agendamento.setIsWalkin(isWalkin);
+        agendamento.setWalkinNome(walkinNome);
+        agendamento.setWalkinCpf(walkinCpf);
+        agendamento.setWalkinTelefone(walkinTelefone);
+        agendamento.setData(data);
+        agendamento.setHora(hora);
+        agendamento.setStatus(status);
+        agendamento.setObservacoes(observacoes);
+        agendamento.setCriadoEm(criadoEm);
+        agendamento.setAtualizadoEm(atualizadoEm);
+        agendamento.setInicioAtendimento(inicioAtendimento);
+        agendamento.setFimAtendimento(fimAtendimento);
+        return agendamento;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Servico getServico() {
+        return servico;
+    }
+
+    public Funcionario getFuncionario() {
+        return funcionario;
+    }
+
+    public Boolean getIsWalkin() {
+        return isWalkin;
+    }
+
+    public String getWalkinNome() {
+        return walkinNome;
+    }
+
+    public String getWalkinCpf() {
+        return walkinCpf;
+    }
+
+    public String getWalkinTelefone() {
+        return walkinTelefone;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public LocalTime getHora() {
+        return hora;
+    }
+
+    public StatusAgendamento getStatus() {
+        return status;
+    }
+
+    public String getObservacoes() {
+        return observacoes;
+    }
+
+    public LocalDate getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDate getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public LocalDateTime getInicioAtendimento() {
+        return inicioAtendimento;
+    }
+
+    public LocalDateTime getFimAtendimento() {
+        return fimAtendimento;
+    }
+
+    public LocalDate getArquivadoEm() {
+        return arquivadoEm;
+    }
+
+    @Override
+    public String toString() {
+        return "AgendamentoArquivado{" +
+                "id=" + id +
+                ", data=" + data +
+                ", hora=" + hora +
+                ", status=" + status +
+                ", arquivadoEm=" + arquivadoEm +
+                '}';
+    }
+}
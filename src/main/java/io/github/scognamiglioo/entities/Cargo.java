@@ -7,6 +7,8 @@ import java.io.Serializable;
 import java.util.List;
 import java.util.Objects;
 
+import io.github.scognamiglioo.services.CatalogoListener;
+
 /**
  * Entidade que representa um cargo na organização.
  * Um cargo pode ser associado a múltiplos funcionários,
@@ -14,6 +16,7 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "cargo")
+@EntityListeners(CatalogoListener.class)
 @NamedQueries({
     @NamedQuery(name = "Cargo.findAll", 
                 query = "SELECT c FROM Cargo c ORDER BY c.nome"),
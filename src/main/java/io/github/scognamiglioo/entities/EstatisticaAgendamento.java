@@ -0,0 +1,102 @@
+package io.github.scognamiglioo.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Quantidade de agendamentos por dia, serviço, localização e status.
+ *
+ * Tabela de consolidação recalculada por dia a partir de agendamento e
+ * agendamento_historico; os indicadores leem apenas estas linhas. A
+ * localização é a da associação funcionário/serviço e fica vazia quando o
+ * agendamento não tem funcionário.
+ */
+@Entity
+@Table(name = "estatistica_agendamento", indexes = {
+        @Index(name = "idx_estatistica_agendamento_dia", columnList = "dia, status")
+})
+@NamedQueries({
+        @NamedQuery(name = "EstatisticaAgendamento.excluirDias",
+                query = "DELETE FROM EstatisticaAgendamento e WHERE e.dia IN :dias"),
+        @NamedQuery(name = "EstatisticaAgendamento.contar",
+                query = "SELECT COUNT(e) FROM EstatisticaAgendamento e"),
+        @NamedQuery(name = "EstatisticaAgendamento.totaisPorStatus",
+                query = "SELECT e.status, SUM(e.quantidade) FROM EstatisticaAgendamento e GROUP BY e.status"),
+        @NamedQuery(name = "EstatisticaAgendamento.totaisPorStatusNoDia",
+                query = "SELECT e.status, SUM(e.quantidade) FROM EstatisticaAgendamento e " +
+                        "WHERE e.dia = :dia GROUP BY e.status"),
+        @NamedQuery(name = "EstatisticaAgendamento.totaisPorDia",
+                query = "SELECT e.dia, SUM(e.quantidade) FROM EstatisticaAgendamento e " +
+                        "WHERE e.status = :status AND e.dia BETWEEN :inicio AND :fim " +
+                        "GROUP BY e.dia ORDER BY e.dia"),
+        @NamedQuery(name = "EstatisticaAgendamento.totaisPorServico",
+                query = "SELECT e.servico.nome, SUM(e.quantidade) FROM EstatisticaAgendamento e " +
+                        "WHERE e.dia BETWEEN :inicio AND :fim GROUP BY e.servico.nome " +
+                        "ORDER BY SUM(e.quantidade) DESC"),
+        @NamedQuery(name = "EstatisticaAgendamento.totaisPorLocalizacao",
+                query = "SELECT l.nome, SUM(e.quantidade) FROM EstatisticaAgendamento e JOIN e.localizacao l " +
+                        "WHERE e.dia BETWEEN :inicio AND :fim GROUP BY l.nome " +
+                        "ORDER BY SUM(e.quantidade) DESC")
+})
+public class EstatisticaAgendamento implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "servico_id", nullable = false)
+    private Servico servico;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "localizacao_id")
+    private Localizacao localizacao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusAgendamento status;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public Servico getServico() {
+        return servico;
+    }
+
+    public Localizacao getLocalizacao() {
+        return localizacao;
+    }
+
+    public StatusAgendamento getStatus() {
+        return status;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+}
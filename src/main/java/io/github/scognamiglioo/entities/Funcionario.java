@@ -7,8 +7,11 @@ import java.util.Objects;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
+import io.github.scognamiglioo.services.CatalogoListener;
+
 @Entity
 @Table(name = "funcionario")
+@EntityListeners(CatalogoListener.class)
 @NamedQueries({
     @NamedQuery(name = "Funcionario.byCpf", query = "SELECT e FROM Funcionario e WHERE e.user.cpf = :cpf"),
     @NamedQuery(name = "Funcionario.byUsername", query = "SELECT e FROM Funcionario e WHERE e.user.username = :username"),
@@ -5,12 +5,15 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import jakarta.persistence.*;
 
+import io.github.scognamiglioo.services.CatalogoListener;
+
 /**
  * Entidade que representa a tabela funcionario_servico
  * Tabela associativa entre Funcionario, Servico e Localizacao
  */
 @Entity
 @Table(name = "funcionario_servico")
+@EntityListeners(CatalogoListener.class)
 @IdClass(FuncionarioServicoId.class)
 @NamedQueries({
     @NamedQuery(name = "FuncionarioServico.findAll", 
@@ -5,11 +5,14 @@ import java.util.Objects;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
+import io.github.scognamiglioo.services.CatalogoListener;
+
 /**
  * Entidade Localizacao - representa os locais onde os serviços podem ser executados
  */
 @Entity
 @Table(name = "localizacao")
+@EntityListeners(CatalogoListener.class)
 @NamedQueries({
     @NamedQuery(name = "Localizacao.findAll", query = "SELECT l FROM Localizacao l ORDER BY l.nome"),
     @NamedQuery(name = "Localizacao.findByNome", query = "SELECT l FROM Localizacao l WHERE l.nome = :nome"),
@@ -6,8 +6,11 @@ import java.util.List;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
+import io.github.scognamiglioo.services.CatalogoListener;
+
 @Entity
 @Table(name = "servico")
+@EntityListeners(CatalogoListener.class)
 @NamedQueries({
     @NamedQuery(name = "Servico.findAll", query = "SELECT s FROM Servico s ORDER BY s.nome"),
     @NamedQuery(name = "Servico.findByNome", query = "SELECT s FROM Servico s WHERE s.nome = :nome"),
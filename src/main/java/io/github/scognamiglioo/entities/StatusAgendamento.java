@@ -1,7 +1,16 @@
 package io.github.scognamiglioo.entities;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
- * Enum que representa os possíveis status de um agendamento
+ * Enum que representa os possíveis status de um agendamento.
+ *
+ * Também define a máquina de estados do agendamento: cada status conhece
+ * os status para os quais pode transicionar. CONCLUIDO e CANCELADO são finais.
  */
 public enum StatusAgendamento {
     AGENDADO("Agendado"),
@@ -11,6 +20,27 @@ public enum StatusAgendamento {
     CANCELADO("Cancelado"),
     NAO_COMPARECEU("Não Compareceu");
 
+    private static final Map<StatusAgendamento, Set<StatusAgendamento>> DESTINOS = new EnumMap<>(StatusAgendamento.class);
+    private static final Map<StatusAgendamento, Set<StatusAgendamento>> ORIGENS = new EnumMap<>(StatusAgendamento.class);
+
+    static {
+        DESTINOS.put(AGENDADO, EnumSet.of(CONFIRMADO, EM_ATENDIMENTO, CANCELADO, NAO_COMPARECEU));
+        DESTINOS.put(CONFIRMADO, EnumSet.of(EM_ATENDIMENTO, CANCELADO, NAO_COMPARECEU));
+        DESTINOS.put(EM_ATENDIMENTO, EnumSet.of(CONCLUIDO));
+        // Paciente que chega atrasado ainda pode ser atendido
+        DESTINOS.put(NAO_COMPARECEU, EnumSet.of(CONFIRMADO, EM_ATENDIMENTO, CANCELADO));
+        DESTINOS.put(CONCLUIDO, EnumSet.noneOf(StatusAgendamento.class));
+        DESTINOS.put(CANCELADO, EnumSet.noneOf(StatusAgendamento.class));
+
+        for (StatusAgendamento status : values()) {
+            ORIGENS.put(status, EnumSet.noneOf(StatusAgendamento.class));
+        }
+        DESTINOS.forEach((origem, destinos) -> destinos.forEach(destino -> ORIGENS.get(destino).add(origem)));
+
+        DESTINOS.replaceAll((status, destinos) -> Collections.unmodifiableSet(destinos));
+        ORIGENS.replaceAll((status, origens) -> Collections.unmodifiableSet(origens));
+    }
+
     private final String descricao;
 
     StatusAgendamento(String descricao) {
@@ -21,9 +51,29 @@ public enum StatusAgendamento {
         return descricao;
     }
 
+    /**
+     * Verifica se a máquina de estados permite sair deste status para o destino
+     */
+    public boolean podeTransicionarPara(StatusAgendamento destino) {
+        return destino != null && DESTINOS.get(this).contains(destino);
+    }
+
+    /**
+     * Status a partir dos quais é permitido chegar a este
+     */
+    public Set<StatusAgendamento> getOrigensPermitidas() {
+        return ORIGENS.get(this);
+    }
+
+    /**
+     * Indica se o status é final (não admite novas transições)
+     */
+    public boolean isFinal() {
+        return DESTINOS.get(this).isEmpty();
+    }
+
     @Override
     public String toString() {
         return descricao;
     }
 }
-
@@ -11,6 +11,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -24,7 +25,8 @@ import java.time.format.DateTimeFormatter;
  * @author PABLO DANIEL
  */
 @Entity
-@Table(name = "status_atendente")
+@Table(name = "status_atendente",
+        indexes = @Index(name = "idx_status_atendente_funcionario", columnList = "id_funcionario, atualizacao"))
 public class StatusAtendente implements Serializable {
 
     public enum Situacao { DISPONIVEL, OCUPADO, INDISPONIVEL, PAUSA }
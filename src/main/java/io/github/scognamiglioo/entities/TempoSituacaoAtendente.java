@@ -0,0 +1,70 @@
+package io.github.scognamiglioo.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Tempo total (em segundos) que um atendente passou em cada situação em um
+ * dia. Mantido incrementalmente a partir das mudanças de status, para que
+ * relatórios de produtividade não precisem percorrer o histórico.
+ */
+@Entity
+@Table(name = "tempo_situacao_atendente",
+        uniqueConstraints = @UniqueConstraint(name = "uk_tempo_situacao_atendente",
+                columnNames = {"dia", "id_funcionario", "situacao"}))
+@NamedQueries({
+    @NamedQuery(
+            name = "TempoSituacaoAtendente.totaisPorPeriodo",
+            query = "SELECT t.funcionario.id, t.situacao, SUM(t.segundos) FROM TempoSituacaoAtendente t "
+            + "WHERE t.dia BETWEEN :inicio AND :fim "
+            + "GROUP BY t.funcionario.id, t.situacao"),
+    @NamedQuery(
+            name = "TempoSituacaoAtendente.diasPorFuncionario",
+            query = "SELECT t.dia, t.situacao, t.segundos FROM TempoSituacaoAtendente t "
+            + "WHERE t.funcionario.id = :funcionarioId AND t.dia BETWEEN :inicio AND :fim "
+            + "ORDER BY t.dia")
+})
+public class TempoSituacaoAtendente implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_funcionario", nullable = false)
+    private Funcionario funcionario;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusAtendente.Situacao situacao;
+
+    @Column(nullable = false)
+    private long segundos;
+
+    public Long getId() { return id; }
+    public Funcionario getFuncionario() { return funcionario; }
+    public void setFuncionario(Funcionario funcionario) { this.funcionario = funcionario; }
+    public LocalDate getDia() { return dia; }
+    public void setDia(LocalDate dia) { this.dia = dia; }
+    public StatusAtendente.Situacao getSituacao() { return situacao; }
+    public void setSituacao(StatusAtendente.Situacao situacao) { this.situacao = situacao; }
+    public long getSegundos() { return segundos; }
+    public void setSegundos(long segundos) { this.segundos = segundos; }
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
 import jakarta.persistence.Table;
@@ -18,7 +19,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users",
-        uniqueConstraints = @UniqueConstraint(columnNames = "cpf"))
+        uniqueConstraints = @UniqueConstraint(columnNames = "cpf"),
+        indexes = @Index(name = "idx_users_activation_token", columnList = "activationToken"))
 @NamedQueries({
     @NamedQuery(
             name = "User.all",
@@ -27,7 +29,34 @@ import java.time.LocalDateTime;
     @NamedQuery(
             name = "User.byUsername",
             query = "select us from User us "
-            + "where us.username = :username")
+            + "where us.username = :username"),
+    @NamedQuery(
+            name = "User.byActivationToken",
+            query = "select us from User us "
+            + "where us.activationToken = :hash"),
+    @NamedQuery(
+            name = "User.activate",
+            query = "update User us set us.active = true, "
+            + "us.activationToken = null, us.activationTokenExpiration = null "
+            + "where us.activationToken = :hash and us.active = false "
+            + "and us.activationTokenExpiration > :agora"),
+    @NamedQuery(
+            name = "User.countValidResetToken",
+            query = "select count(us) from User us "
+            + "where us.resetToken = :hash and us.resetTokenExpiration > :agora"),
+    @NamedQuery(
+            name = "User.resetPassword",
+            query = "update User us set us.userPassword = :senha, "
+            + "us.resetToken = null, us.resetTokenExpiration = null "
+            + "where us.resetToken = :hash and us.resetTokenExpiration > :agora"),
+    @NamedQuery(
+            name = "User.purgeExpiredActivationTokens",
+            query = "update User us set us.activationToken = null "
+            + "where us.activationToken is not null and us.activationTokenExpiration < :agora"),
+    @NamedQuery(
+            name = "User.purgeExpiredResetTokens",
+            query = "update User us set us.resetToken = null, us.resetTokenExpiration = null "
+            + "where us.resetTokenExpiration < :agora")
 })
 public class User
         implements Serializable {
@@ -72,10 +101,15 @@ public class User
     @Column(nullable = false)
     private boolean active = false;
 
-    @Column
+    // SHA-256 do token enviado por e-mail (ver TokenSeguranca)
+    @Column(length = 64)
     private String activationToken;
 
-    @Column(unique = true)
+    @Column
+    private LocalDateTime activationTokenExpiration;
+
+    // SHA-256 do token enviado por e-mail; a restrição unique já cria o índice
+    @Column(unique = true, length = 64)
     private String resetToken;
 
     @Column
@@ -97,6 +131,14 @@ public class User
         this.activationToken = activationToken;
     }
 
+    public LocalDateTime getActivationTokenExpiration() {
+        return activationTokenExpiration;
+    }
+
+    public void setActivationTokenExpiration(LocalDateTime activationTokenExpiration) {
+        this.activationTokenExpiration = activationTokenExpiration;
+    }
+
     public String getResetToken() {
         return resetToken;
     }
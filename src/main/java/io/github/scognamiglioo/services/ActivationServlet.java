@@ -1,6 +1,5 @@
 package io.github.scognamiglioo.services;
 
-import io.github.scognamiglioo.entities.User;
 import jakarta.inject.Inject;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -30,15 +29,7 @@ public class ActivationServlet extends HttpServlet {
             return;
         }
 
-        // obtém o usuário pelo token
-        User user = dataService.getUserByToken(token);
-
-        if (user == null) {
-            response.sendRedirect("activation_error.xhtml");
-            return;
-        }
-
-        // Ativa o usuário no banco
+        // Um único UPDATE condicional valida e ativa
         boolean success = dataService.activateUser(token);
 
         if (success) {
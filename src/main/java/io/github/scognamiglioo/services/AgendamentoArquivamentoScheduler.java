@@ -0,0 +1,90 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rotina noturna que arquiva agendamentos finalizados há mais de N meses,
+ * mantendo a tabela agendamento restrita aos registros do dia a dia.
+ *
+ * Configuração (.env):
+ * ARQUIVAMENTO_MESES (padrão 6) e ARQUIVAMENTO_TAMANHO_LOTE (padrão 1000).
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class AgendamentoArquivamentoScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(AgendamentoArquivamentoScheduler.class.getName());
+
+    @EJB
+    private AgendamentoArquivamentoServiceLocal arquivamentoService;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private int meses;
+    private int tamanhoLote;
+
+    private final AtomicBoolean executando = new AtomicBoolean(false);
+
+    private final AtomicLong totalArquivados = new AtomicLong();
+    private final AtomicLong ultimaQuantidade = new AtomicLong();
+    private final AtomicLong ultimaDuracaoMs = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        meses = Math.max(1, configuracao.getInt("ARQUIVAMENTO_MESES", 6));
+        tamanhoLote = Math.max(1, configuracao.getInt("ARQUIVAMENTO_TAMANHO_LOTE", 1000));
+    }
+
+    @Schedule(hour = "3", minute = "0", persistent = false)
+    public void arquivar() {
+        if (!executando.compareAndSet(false, true)) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        long arquivados = 0;
+        try {
+            LocalDate limite = LocalDate.now().minusMonths(meses);
+            int lote;
+            do {
+                lote = arquivamentoService.arquivarLote(limite, tamanhoLote);
+                arquivados += lote;
+            } while (lote > 0);
+
+            LOGGER.log(Level.INFO, "Arquivamento concluído: {0} agendamento(s) anteriores a {1}",
+                    new Object[]{arquivados, limite});
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro no arquivamento de agendamentos", e);
+        } finally {
+            totalArquivados.addAndGet(arquivados);
+            ultimaQuantidade.set(arquivados);
+            ultimaDuracaoMs.set(System.currentTimeMillis() - inicio);
+            executando.set(false);
+        }
+    }
+
+    public long getTotalArquivados() {
+        return totalArquivados.get();
+    }
+
+    public long getUltimaQuantidade() {
+        return ultimaQuantidade.get();
+    }
+
+    public long getUltimaDuracaoMs() {
+        return ultimaDuracaoMs.get();
+    }
+}
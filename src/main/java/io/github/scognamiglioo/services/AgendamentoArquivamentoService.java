@@ -0,0 +1,65 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serviço EJB que move agendamentos finalizados da tabela agendamento
+ * (quente) para agendamento_historico (fria).
+ *
+ * A cópia e a remoção são feitas no banco (INSERT ... SELECT seguido de
+ * DELETE) sobre o mesmo conjunto de ids, sem carregar entidades.
+ */
+@Stateless
+@LocalBean
+public class AgendamentoArquivamentoService implements AgendamentoArquivamentoServiceLocal {
+
+    private static final Set<StatusAgendamento> STATUS_ARQUIVAVEIS = EnumSet.of(
+            StatusAgendamento.CONCLUIDO, StatusAgendamento.CANCELADO, StatusAgendamento.NAO_COMPARECEU);
+
+    private static final String COLUNAS = "id, user_id, servico_id, funcionario_id, is_walkin, walkin_nome, "
+            + "walkin_cpf, walkin_telefone, data, hora, status, observacoes, criado_em, atualizado_em, "
+            + "inicio_atendimento, fim_atendimento";
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public int arquivarLote(LocalDate dataLimite, int tamanhoLote) {
+        if (dataLimite == null) {
+            throw new IllegalArgumentException("Data limite é obrigatória");
+        }
+
+        List<Long> ids = em.createQuery(
+                "SELECT a.id FROM Agendamento a WHERE a.status IN :status AND a.data < :dataLimite ORDER BY a.id",
+                Long.class)
+                .setParameter("status", STATUS_ARQUIVAVEIS)
+                .setParameter("dataLimite", dataLimite)
+                .setMaxResults(tamanhoLote)
+                .getResultList();
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        em.createNativeQuery("INSERT INTO agendamento_historico (" + COLUNAS + ", arquivado_em) "
+                + "SELECT " + COLUNAS + ", :arquivadoEm FROM agendamento WHERE id IN (:ids)")
+                .setParameter("arquivadoEm", LocalDate.now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        return em.createQuery("DELETE FROM Agendamento a WHERE a.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+}
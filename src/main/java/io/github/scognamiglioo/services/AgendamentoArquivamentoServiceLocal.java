@@ -0,0 +1,20 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.Local;
+import java.time.LocalDate;
+
+/**
+ * Interface local para o arquivamento de agendamentos finalizados
+ */
+@Local
+public interface AgendamentoArquivamentoServiceLocal {
+
+    /**
+     * Move um lote de agendamentos CONCLUIDO, CANCELADO ou NAO_COMPARECEU
+     * com data anterior ao limite para a tabela agendamento_historico.
+     * Cada lote roda em transação própria.
+     *
+     * @return quantidade de agendamentos arquivados neste lote
+     */
+    int arquivarLote(LocalDate dataLimite, int tamanhoLote);
+}
@@ -0,0 +1,26 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Agendamento;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA que avisa as estatísticas sobre agendamentos gravados pelo
+ * EntityManager. UPDATEs em lote não passam por aqui; quem os executa
+ * dispara {@link AgendamentosAlterados} com os IDs afetados.
+ */
+public class AgendamentoEstatisticaListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoGravar(Agendamento agendamento) {
+        if (agendamento.getData() != null) {
+            CDI.current().getBeanManager().getEvent()
+                    .select(AgendamentosAlterados.class)
+                    .fire(AgendamentosAlterados.porDia(agendamento.getData()));
+        }
+    }
+}
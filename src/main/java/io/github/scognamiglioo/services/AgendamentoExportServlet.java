@@ -0,0 +1,65 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Exportação de agendamentos para faturamento (CSV ou JSON).
+ * Parâmetros opcionais: dataInicio, dataFim (yyyy-MM-dd), servicoId, localizacaoId e formato.
+ */
+@WebServlet(name = "AgendamentoExport", urlPatterns = {"/app/admin/agendamentos/exportar"})
+public class AgendamentoExportServlet extends HttpServlet {
+
+    @Inject
+    private AgendamentoImportExportServiceLocal importExportService;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        LocalDate dataInicio;
+        LocalDate dataFim;
+        Long servicoId;
+        Long localizacaoId;
+        try {
+            dataInicio = parseData(request.getParameter("dataInicio"));
+            dataFim = parseData(request.getParameter("dataFim"));
+            servicoId = parseId(request.getParameter("servicoId"));
+            localizacaoId = parseId(request.getParameter("localizacaoId"));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Parâmetros de filtro inválidos");
+            return;
+        }
+
+        boolean json = "json".equalsIgnoreCase(request.getParameter("formato"));
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType(json ? "application/json" : "text/csv");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"agendamentos." + (json ? "json" : "csv") + "\"");
+
+        Writer writer = response.getWriter();
+        if (json) {
+            importExportService.exportarJson(writer, dataInicio, dataFim, servicoId, localizacaoId);
+        } else {
+            importExportService.exportarCsv(writer, dataInicio, dataFim, servicoId, localizacaoId);
+        }
+        writer.flush();
+    }
+
+    private static LocalDate parseData(String valor) {
+        return valor == null || valor.isBlank() ? null : LocalDate.parse(valor.trim());
+    }
+
+    private static Long parseId(String valor) {
+        return valor == null || valor.isBlank() ? null : Long.valueOf(valor.trim());
+    }
+}
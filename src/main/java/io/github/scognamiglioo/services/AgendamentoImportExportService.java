@@ -0,0 +1,665 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.annotation.Resource;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+/**
+ * Serviço EJB para importação e exportação em lote de agendamentos.
+ *
+ * A importação lê o arquivo linha a linha e grava em lotes JDBC, com um commit
+ * por lote, para não depender do fluxo createAgendamento (um flush por linha).
+ * A exportação percorre o resultado com um cursor (getResultStream) sobre uma
+ * projeção, mantendo memória constante independente do período exportado.
+ */
+@Stateless
+@LocalBean
+public class AgendamentoImportExportService implements AgendamentoImportExportServiceLocal {
+
+    private static final Logger LOGGER = Logger.getLogger(AgendamentoImportExportService.class.getName());
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private static final String[] CABECALHO_EXPORTACAO = {
+        "id", "cpf", "nome", "telefone", "servico_id", "servico_nome",
+        "funcionario_id", "funcionario_nome", "data", "hora", "status", "observacoes"
+    };
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final String SQL_INSERT =
+            "INSERT INTO agendamento (user_id, servico_id, funcionario_id, is_walkin, walkin_nome, "
+            + "walkin_cpf, walkin_telefone, data, hora, status, observacoes, criado_em, atualizado_em) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @Resource(lookup = "java:/SecureDS")
+    private DataSource dataSource;
+
+    @Inject
+    private Event<AgendamentosAlterados> alteradosEvent;
+
+    // ----------------------------------IMPORTAÇÃO--------------------------------------------
+    @Override
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public ResultadoImportacao importarCsv(Reader reader) throws IOException {
+        // Conta as linhas físicas, para os erros apontarem a linha do arquivo
+        LineNumberReader in = new LineNumberReader(reader);
+        String cabecalho = lerRegistroCsv(in);
+        if (cabecalho == null) {
+            return new ResultadoImportacao();
+        }
+
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        List<String> colunas = new ArrayList<>();
+        for (String coluna : parseLinhaCsv(cabecalho, separador)) {
+            colunas.add(coluna.trim().toLowerCase());
+        }
+
+        return importar(() -> {
+            String linha;
+            long inicio;
+            do {
+                inicio = in.getLineNumber() + 1;
+                linha = lerRegistroCsv(in);
+            } while (linha != null && linha.isBlank());
+
+            if (linha == null) {
+                return null;
+            }
+
+            List<String> valores = parseLinhaCsv(linha, separador);
+            Map<String, String> campos = new HashMap<>();
+            for (int i = 0; i < colunas.size() && i < valores.size(); i++) {
+                campos.put(colunas.get(i), valores.get(i));
+            }
+            return new Registro(inicio, campos);
+        });
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public ResultadoImportacao importarJson(Reader reader) throws IOException {
+        try (JsonParser parser = Json.createParser(reader)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new IllegalArgumentException("O arquivo JSON deve conter um array de agendamentos");
+            }
+
+            return importar(() -> {
+                while (parser.hasNext()) {
+                    JsonParser.Event evento = parser.next();
+                    if (evento == JsonParser.Event.END_ARRAY) {
+                        return null;
+                    }
+                    if (evento == JsonParser.Event.START_OBJECT) {
+                        long inicio = parser.getLocation().getLineNumber();
+                        Map<String, String> campos = new HashMap<>();
+                        String chave = null;
+                        while (parser.hasNext()) {
+                            JsonParser.Event e = parser.next();
+                            if (e == JsonParser.Event.END_OBJECT) {
+                                break;
+                            }
+                            switch (e) {
+                                case KEY_NAME -> chave = parser.getString().toLowerCase();
+                                case VALUE_STRING, VALUE_NUMBER -> campos.put(chave, parser.getString());
+                                default -> {
+                                    // null, booleanos e estruturas aninhadas são ignorados
+                                }
+                            }
+                        }
+                        return new Registro(inicio, campos);
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Fonte de registros lidos de forma incremental (CSV ou JSON)
+     */
+    @FunctionalInterface
+    private interface FonteRegistros {
+
+        /**
+         * @return próximo registro ou null ao fim do arquivo
+         */
+        Registro proximo() throws IOException;
+    }
+
+    /**
+     * Campos de um registro e a linha física do arquivo em que ele começa
+     * (um registro CSV com campo entre aspas pode ocupar várias)
+     */
+    private record Registro(long linha, Map<String, String> campos) {
+    }
+
+    private ResultadoImportacao importar(FonteRegistros fonte) throws IOException {
+        ResultadoImportacao resultado = new ResultadoImportacao();
+
+        try (Connection con = dataSource.getConnection()) {
+            con.setAutoCommit(false);
+
+            Set<Long> servicos = carregarIds(con, "SELECT id FROM servico");
+            Set<Long> funcionarios = carregarIds(con, "SELECT id FROM funcionario WHERE ativo = true");
+
+            // CPF -> id do usuário (null quando não há cadastro: vira walk-in)
+            Map<String, Long> usuariosPorCpf = new HashMap<>();
+            // Horários já ocupados por linhas anteriores deste mesmo arquivo
+            Set<String> ocupadosNoArquivo = new HashSet<>();
+
+            List<LinhaImportacao> lote = new ArrayList<>(TAMANHO_LOTE);
+            Registro registro;
+            while ((registro = fonte.proximo()) != null) {
+                resultado.registrarLeitura();
+
+                LinhaImportacao linha = validar(registro.campos(), registro.linha(), servicos, funcionarios, resultado);
+                if (linha == null) {
+                    continue;
+                }
+
+                lote.add(linha);
+                if (lote.size() >= TAMANHO_LOTE) {
+                    gravarLote(con, lote, usuariosPorCpf, ocupadosNoArquivo, resultado);
+                    lote.clear();
+                }
+            }
+
+            if (!lote.isEmpty()) {
+                gravarLote(con, lote, usuariosPorCpf, ocupadosNoArquivo, resultado);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, "Erro de banco durante a importação de agendamentos", e);
+            throw new IOException("Erro de banco durante a importação: " + e.getMessage(), e);
+        }
+
+        LOGGER.log(Level.INFO, "Importação de agendamentos concluída: {0}", resultado);
+        return resultado;
+    }
+
+    private LinhaImportacao validar(Map<String, String> registro, long numeroLinha,
+            Set<Long> servicos, Set<Long> funcionarios, ResultadoImportacao resultado) {
+
+        LinhaImportacao linha = new LinhaImportacao();
+        linha.numero = numeroLinha;
+
+        String cpf = valor(registro, "cpf");
+        linha.cpf = cpf != null ? cpf.replaceAll("\\D", "") : null;
+        linha.nome = valor(registro, "nome");
+        linha.telefone = valor(registro, "telefone");
+        linha.observacoes = valor(registro, "observacoes");
+
+        if (linha.cpf == null || linha.cpf.length() != 11) {
+            resultado.registrarRejeicao(numeroLinha, "CPF inválido");
+            return null;
+        }
+
+        try {
+            linha.servicoId = Long.valueOf(valor(registro, "servico_id"));
+        } catch (NumberFormatException | NullPointerException e) {
+            resultado.registrarRejeicao(numeroLinha, "servico_id inválido");
+            return null;
+        }
+        if (!servicos.contains(linha.servicoId)) {
+            resultado.registrarRejeicao(numeroLinha, "Serviço " + linha.servicoId + " não encontrado");
+            return null;
+        }
+
+        String funcionarioId = valor(registro, "funcionario_id");
+        if (funcionarioId != null) {
+            try {
+                linha.funcionarioId = Long.valueOf(funcionarioId);
+            } catch (NumberFormatException e) {
+                resultado.registrarRejeicao(numeroLinha, "funcionario_id inválido");
+                return null;
+            }
+            if (!funcionarios.contains(linha.funcionarioId)) {
+                resultado.registrarRejeicao(numeroLinha, "Funcionário " + linha.funcionarioId + " não encontrado ou inativo");
+                return null;
+            }
+        }
+
+        try {
+            linha.data = parseData(valor(registro, "data"));
+            linha.hora = LocalTime.parse(valor(registro, "hora"));
+        } catch (DateTimeParseException | NullPointerException e) {
+            resultado.registrarRejeicao(numeroLinha, "Data ou hora inválida");
+            return null;
+        }
+
+        String status = valor(registro, "status");
+        try {
+            linha.status = status != null
+                    ? StatusAgendamento.valueOf(status.toUpperCase())
+                    : StatusAgendamento.AGENDADO;
+        } catch (IllegalArgumentException e) {
+            resultado.registrarRejeicao(numeroLinha, "Status inválido: " + status);
+            return null;
+        }
+
+        if (linha.observacoes != null && linha.observacoes.length() > 500) {
+            linha.observacoes = linha.observacoes.substring(0, 500);
+        }
+
+        return linha;
+    }
+
+    private void gravarLote(Connection con, List<LinhaImportacao> lote, Map<String, Long> usuariosPorCpf,
+            Set<String> ocupadosNoArquivo, ResultadoImportacao resultado) throws SQLException {
+
+        resolverUsuarios(con, lote, usuariosPorCpf);
+        Set<String> ocupadosNoBanco = carregarHorariosOcupados(con, lote);
+        LocalDate hoje = LocalDate.now();
+        int inseridosNoLote = 0;
+        Set<LocalDate> diasInseridos = new HashSet<>();
+
+        try (PreparedStatement ps = con.prepareStatement(SQL_INSERT)) {
+            for (LinhaImportacao linha : lote) {
+                Long userId = usuariosPorCpf.get(linha.cpf);
+                boolean walkin = userId == null;
+
+                if (walkin && (linha.nome == null || linha.nome.isBlank())) {
+                    resultado.registrarRejeicao(linha.numero, "CPF sem cadastro exige o nome do paciente");
+                    continue;
+                }
+
+                if (linha.funcionarioId != null && linha.status != StatusAgendamento.CANCELADO) {
+                    String chave = chaveHorario(linha.funcionarioId, linha.data, linha.hora);
+                    if (ocupadosNoBanco.contains(chave) || !ocupadosNoArquivo.add(chave)) {
+                        resultado.registrarConflito(linha.numero, "Funcionário " + linha.funcionarioId
+                                + " já possui agendamento em " + linha.data.format(DATA_BR)
+                                + " às " + linha.hora.format(HORA));
+                        continue;
+                    }
+                }
+
+                ps.setObject(1, userId);
+                ps.setLong(2, linha.servicoId);
+                ps.setObject(3, linha.funcionarioId);
+                ps.setBoolean(4, walkin);
+                ps.setString(5, walkin ? linha.nome.trim() : null);
+                ps.setString(6, walkin ? linha.cpf : null);
+                ps.setString(7, walkin ? linha.telefone : null);
+                ps.setObject(8, linha.data);
+                ps.setObject(9, linha.hora);
+                ps.setString(10, linha.status.name());
+                ps.setString(11, linha.observacoes);
+                ps.setObject(12, hoje);
+                ps.setObject(13, hoje);
+                ps.addBatch();
+                inseridosNoLote++;
+                diasInseridos.add(linha.data);
+            }
+
+            if (inseridosNoLote > 0) {
+                ps.executeBatch();
+            }
+            con.commit();
+            resultado.registrarInseridos(inseridosNoLote);
+            if (!diasInseridos.isEmpty()) {
+                alteradosEvent.fire(AgendamentosAlterados.porDias(diasInseridos));
+            }
+        } catch (SQLException e) {
+            con.rollback();
+            LOGGER.log(Level.WARNING, "Lote de importação descartado", e);
+            for (LinhaImportacao linha : lote) {
+                if (linha.funcionarioId != null) {
+                    ocupadosNoArquivo.remove(chaveHorario(linha.funcionarioId, linha.data, linha.hora));
+                }
+            }
+            resultado.registrarRejeicao(lote.get(0).numero,
+                    "Lote de " + lote.size() + " linhas descartado: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Busca, em uma única consulta por lote, os usuários cadastrados para os CPFs ainda desconhecidos
+     */
+    private void resolverUsuarios(Connection con, List<LinhaImportacao> lote,
+            Map<String, Long> usuariosPorCpf) throws SQLException {
+
+        Set<String> pendentes = new HashSet<>();
+        for (LinhaImportacao linha : lote) {
+            if (!usuariosPorCpf.containsKey(linha.cpf)) {
+                pendentes.add(linha.cpf);
+            }
+        }
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        String sql = "SELECT cpf, id FROM users WHERE cpf IN (" + placeholders(pendentes.size()) + ")";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            int i = 1;
+            for (String cpf : pendentes) {
+                ps.setString(i++, cpf);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    usuariosPorCpf.put(rs.getString(1), rs.getLong(2));
+                    pendentes.remove(rs.getString(1));
+                }
+            }
+        }
+
+        for (String cpf : pendentes) {
+            usuariosPorCpf.put(cpf, null);
+        }
+    }
+
+    /**
+     * Carrega os horários já ocupados pelos funcionários do lote, no intervalo de datas do lote
+     */
+    private Set<String> carregarHorariosOcupados(Connection con, List<LinhaImportacao> lote) throws SQLException {
+        Set<Long> funcionarioIds = new HashSet<>();
+        LocalDate menor = null;
+        LocalDate maior = null;
+
+        for (LinhaImportacao linha : lote) {
+            if (linha.funcionarioId == null) {
+                continue;
+            }
+            funcionarioIds.add(linha.funcionarioId);
+            menor = menor == null || linha.data.isBefore(menor) ? linha.data : menor;
+            maior = maior == null || linha.data.isAfter(maior) ? linha.data : maior;
+        }
+
+        Set<String> ocupados = new HashSet<>();
+        if (funcionarioIds.isEmpty()) {
+            return ocupados;
+        }
+
+        String sql = "SELECT funcionario_id, data, hora FROM agendamento "
+                + "WHERE status <> 'CANCELADO' AND data BETWEEN ? AND ? "
+                + "AND funcionario_id IN (" + placeholders(funcionarioIds.size()) + ")";
+
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setObject(1, menor);
+            ps.setObject(2, maior);
+            int i = 3;
+            for (Long id : funcionarioIds) {
+                ps.setLong(i++, id);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ocupados.add(chaveHorario(rs.getLong(1),
+                            rs.getObject(2, LocalDate.class),
+                            rs.getObject(3, LocalTime.class)));
+                }
+            }
+        }
+        return ocupados;
+    }
+
+    private Set<Long> carregarIds(Connection con, String sql) throws SQLException {
+        Set<Long> ids = new HashSet<>();
+        try (PreparedStatement ps = con.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    // ----------------------------------EXPORTAÇÃO--------------------------------------------
+    @Override
+    public long exportarCsv(Writer writer, LocalDate dataInicio, LocalDate dataFim,
+            Long servicoId, Long localizacaoId) throws IOException {
+
+        writer.write(String.join(";", CABECALHO_EXPORTACAO));
+        writer.write('\n');
+
+        long total = 0;
+        try (Stream<Object[]> linhas = consultaExportacao(dataInicio, dataFim, servicoId, localizacaoId).getResultStream()) {
+            for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                for (int i = 0; i < linha.length; i++) {
+                    if (i > 0) {
+                        writer.write(';');
+                    }
+                    writer.write(escaparCsv(formatar(linha[i])));
+                }
+                writer.write('\n');
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long exportarJson(Writer writer, LocalDate dataInicio, LocalDate dataFim,
+            Long servicoId, Long localizacaoId) throws IOException {
+
+        long total = 0;
+        JsonGenerator json = Json.createGenerator(writer);
+        json.writeStartArray();
+
+        try (Stream<Object[]> linhas = consultaExportacao(dataInicio, dataFim, servicoId, localizacaoId).getResultStream()) {
+            for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                json.writeStartObject();
+                for (int i = 0; i < linha.length; i++) {
+                    if (linha[i] == null) {
+                        json.writeNull(CABECALHO_EXPORTACAO[i]);
+                    } else if (linha[i] instanceof Long numero) {
+                        json.write(CABECALHO_EXPORTACAO[i], numero);
+                    } else {
+                        json.write(CABECALHO_EXPORTACAO[i], formatar(linha[i]));
+                    }
+                }
+                json.writeEnd();
+                total++;
+            }
+        }
+
+        json.writeEnd();
+        json.flush();
+        return total;
+    }
+
+    /**
+     * Projeção usada na exportação. Por não retornar entidades, nada é
+     * acumulado no contexto de persistência enquanto o cursor avança.
+     */
+    private TypedQuery<Object[]> consultaExportacao(LocalDate dataInicio, LocalDate dataFim,
+            Long servicoId, Long localizacaoId) {
+
+        StringBuilder jpql = new StringBuilder(
+                "SELECT a.id, COALESCE(u.cpf, a.walkinCpf), COALESCE(u.nome, a.walkinNome), "
+                + "COALESCE(u.telefone, a.walkinTelefone), s.id, s.nome, f.id, fu.nome, "
+                + "a.data, a.hora, a.status, a.observacoes "
+                + "FROM Agendamento a JOIN a.servico s LEFT JOIN a.user u "
+                + "LEFT JOIN a.funcionario f LEFT JOIN f.user fu WHERE 1 = 1");
+
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        if (dataInicio != null) {
+            jpql.append(" AND a.data >= :dataInicio");
+            parametros.put("dataInicio", dataInicio);
+        }
+        if (dataFim != null) {
+            jpql.append(" AND a.data <= :dataFim");
+            parametros.put("dataFim", dataFim);
+        }
+        if (servicoId != null) {
+            jpql.append(" AND s.id = :servicoId");
+            parametros.put("servicoId", servicoId);
+        }
+        if (localizacaoId != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM FuncionarioServico fs WHERE fs.funcionario = a.funcionario "
+                    + "AND fs.servico = a.servico AND fs.localizacao.id = :localizacaoId)");
+            parametros.put("localizacaoId", localizacaoId);
+        }
+        jpql.append(" ORDER BY a.data, a.hora, a.id");
+
+        TypedQuery<Object[]> query = em.createQuery(jpql.toString(), Object[].class)
+                .setHint("org.hibernate.fetchSize", TAMANHO_LOTE)
+                .setHint("org.hibernate.readOnly", true);
+        parametros.forEach(query::setParameter);
+        return query;
+    }
+
+    // ----------------------------------AUXILIARES--------------------------------------------
+    private static String formatar(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof LocalDate data) {
+            return data.toString();
+        }
+        if (valor instanceof LocalTime hora) {
+            return hora.format(HORA);
+        }
+        if (valor instanceof StatusAgendamento status) {
+            return status.name();
+        }
+        return valor.toString();
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.indexOf(';') < 0 && valor.indexOf('"') < 0
+                && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Lê um registro CSV, que ocupa várias linhas físicas quando um campo
+     * entre aspas contém quebras de linha (como as observações exportadas
+     * por {@link #escaparCsv})
+     *
+     * @return registro sem a quebra final, ou null ao fim do arquivo
+     */
+    private static String lerRegistroCsv(BufferedReader in) throws IOException {
+        String linha = in.readLine();
+        if (linha == null) {
+            return null;
+        }
+        StringBuilder registro = new StringBuilder(linha);
+        // Aspas escapadas vêm duplicadas: com total ímpar, um campo segue aberto
+        int aspas = contarAspas(linha);
+        while (aspas % 2 != 0 && (linha = in.readLine()) != null) {
+            registro.append('\n').append(linha);
+            aspas += contarAspas(linha);
+        }
+        return registro.toString();
+    }
+
+    private static int contarAspas(String linha) {
+        int total = 0;
+        for (int i = 0; i < linha.length(); i++) {
+            if (linha.charAt(i) == '"') {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Divide um registro CSV respeitando campos entre aspas
+     */
+    private static List<String> parseLinhaCsv(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static LocalDate parseData(String valor) {
+        if (valor != null && valor.indexOf('/') > 0) {
+            return LocalDate.parse(valor, DATA_BR);
+        }
+        return LocalDate.parse(valor);
+    }
+
+    private static String valor(Map<String, String> registro, String chave) {
+        String v = registro.get(chave);
+        return v == null || v.isBlank() ? null : v.trim();
+    }
+
+    private static String chaveHorario(Long funcionarioId, LocalDate data, LocalTime hora) {
+        return funcionarioId + "|" + data + "|" + hora.format(HORA);
+    }
+
+    private static String placeholders(int quantidade) {
+        return String.join(",", Collections.nCopies(quantidade, "?"));
+    }
+
+    /**
+     * Linha já validada aguardando gravação no lote
+     */
+    private static final class LinhaImportacao {
+
+        long numero;
+        String cpf;
+        String nome;
+        String telefone;
+        Long servicoId;
+        Long funcionarioId;
+        LocalDate data;
+        LocalTime hora;
+        StatusAgendamento status;
+        String observacoes;
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.Local;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Interface local para importação e exportação em lote de agendamentos
+ */
+@Local
+public interface AgendamentoImportExportServiceLocal {
+
+    /**
+     * Importa agendamentos de um CSV (separador ';' ou ',') com cabeçalho
+     * cpf;nome;telefone;servico_id;funcionario_id;data;hora;status;observacoes
+     */
+    ResultadoImportacao importarCsv(Reader reader) throws IOException;
+
+    /**
+     * Importa agendamentos de um array JSON cujos objetos usam as mesmas
+     * chaves do cabeçalho CSV
+     */
+    ResultadoImportacao importarJson(Reader reader) throws IOException;
+
+    /**
+     * Exporta agendamentos em CSV sem carregar o resultado inteiro em memória.
+     * Filtros nulos são ignorados.
+     *
+     * @return quantidade de linhas exportadas
+     */
+    long exportarCsv(Writer writer, LocalDate dataInicio, LocalDate dataFim,
+            Long servicoId, Long localizacaoId) throws IOException;
+
+    /**
+     * Exporta agendamentos em JSON (array) sem carregar o resultado inteiro em memória.
+     *
+     * @return quantidade de objetos exportados
+     */
+    long exportarJson(Writer writer, LocalDate dataInicio, LocalDate dataFim,
+            Long servicoId, Long localizacaoId) throws IOException;
+}
@@ -0,0 +1,71 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.EJBException;
+import jakarta.inject.Inject;
+import jakarta.json.JsonException;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Importação em lote de agendamentos vindos de outras clínicas.
+ * Recebe um arquivo CSV ou JSON no campo multipart "arquivo" e responde com o resumo.
+ */
+@WebServlet(name = "AgendamentoImport", urlPatterns = {"/app/admin/agendamentos/importar"})
+@MultipartConfig(fileSizeThreshold = 1024 * 1024)
+public class AgendamentoImportServlet extends HttpServlet {
+
+    @Inject
+    private AgendamentoImportExportServiceLocal importExportService;
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Part arquivo = request.getPart("arquivo");
+        if (arquivo == null || arquivo.getSize() == 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Nenhum arquivo enviado");
+            return;
+        }
+
+        String nome = arquivo.getSubmittedFileName();
+        boolean json = "json".equalsIgnoreCase(request.getParameter("formato"))
+                || (nome != null && nome.toLowerCase().endsWith(".json"));
+
+        ResultadoImportacao resultado;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+            resultado = json
+                    ? importExportService.importarJson(reader)
+                    : importExportService.importarCsv(reader);
+        } catch (EJBException e) {
+            // O contêiner embrulha as exceções de runtime do serviço
+            Throwable causa = e.getCause();
+            if (causa instanceof IllegalArgumentException || causa instanceof JsonException) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, causa.getMessage());
+                return;
+            }
+            throw e;
+        }
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("text/plain");
+        PrintWriter out = response.getWriter();
+        out.println("Registros lidos: " + resultado.getRegistrosLidos());
+        out.println("Inseridos: " + resultado.getInseridos());
+        out.println("Rejeitados: " + resultado.getRejeitados());
+        out.println("Conflitos de horário: " + resultado.getConflitos());
+        for (String erro : resultado.getErros()) {
+            out.println(erro);
+        }
+    }
+}
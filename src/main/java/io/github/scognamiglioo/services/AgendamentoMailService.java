@@ -1,17 +1,18 @@
 package io.github.scognamiglioo.services;
 
 import io.github.scognamiglioo.entities.Agendamento;
-import io.github.cdimascio.dotenv.Dotenv;
-import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
 import jakarta.ejb.Stateless;
 import jakarta.mail.*;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
-import java.io.UnsupportedEncodingException;
 import java.time.format.DateTimeFormatter;
-import java.util.Properties;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,73 +21,27 @@ public class AgendamentoMailService implements AgendamentoMailServiceLocal {
 
     private static final Logger LOGGER = Logger.getLogger(AgendamentoMailService.class.getName());
 
-    @Resource(name = "java:/MailGun")
-    private Session mailSession;
+    private static final DateTimeFormatter DATA_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter HORA_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
-    @Override
-    public void sendConfirmacaoAgendamento(Agendamento agendamento) throws MessagingException {
-        try {
-            // Tenta usar a sessão do servidor primeiro
-            if (mailSession == null) {
-                LOGGER.log(Level.WARNING, "Mail Session não encontrada, criando manualmente...");
-                mailSession = createManualSession();
-            }
+    @EJB
+    private ConfiguracaoEmail configuracaoEmail;
 
-            MimeMessage mail = new MimeMessage(mailSession);
-            Dotenv dotenv = Dotenv.load();
+    @EJB
+    private EnvioEmailService envioEmail;
 
-            String email = dotenv.get("EMAIL");
-            
-            if (email == null || email.isEmpty()) {
-                throw new MessagingException("EMAIL não configurado no arquivo .env");
-            }
+    @EJB
+    private TemplateEmailService templateService;
 
+    @Override
+    public void sendConfirmacaoAgendamento(Agendamento agendamento) throws MessagingException {
+        try {
             LOGGER.log(Level.INFO, "Enviando e-mail de: {0} para: {1}", 
-                new Object[]{email, agendamento.getUser().getEmail()});
-
-            try {
-                mail.setFrom(new InternetAddress(email, "Sistema de Agendamento"));
-            } catch (UnsupportedEncodingException ex) {
-                mail.setFrom(new InternetAddress(email));
-            }
-
-            mail.setSubject("Confirmação de Agendamento");
-            mail.setRecipient(Message.RecipientType.TO, 
-                new InternetAddress(agendamento.getUser().getEmail()));
-
-            MimeMultipart content = new MimeMultipart();
-            MimeBodyPart body = new MimeBodyPart();
-
-            // Formatação de data e hora
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-            String dataFormatada = agendamento.getData().format(dateFormatter);
-            String horaFormatada = agendamento.getHora().format(timeFormatter);
-
-            // Informações do funcionário
-            String nomeFuncionario = agendamento.getFuncionario() != null 
-                ? agendamento.getFuncionario().getNome() 
-                : "A definir";
+                new Object[]{configuracaoEmail.getRemetente().getAddress(), agendamento.getUser().getEmail()});
 
+            envioEmail.enviarEmSegundoPlano(criarMensagemConfirmacao(agendamento));
             
-
-            body.setContent(buildEmailContent(
-                agendamento.getUser().getNome(),
-                dataFormatada,
-                horaFormatada,
-                agendamento.getId(),
-                agendamento.getServico().getNome(),
-                nomeFuncionario,
-                agendamento.getStatus().getDescricao()
-            ), "text/html; charset=utf-8");
-
-            content.addBodyPart(body);
-            mail.setContent(content);
-
-            Transport.send(mail);
-            
-            LOGGER.log(Level.INFO, "E-mail enviado com sucesso para: {0}", 
+            LOGGER.log(Level.INFO, "E-mail enfileirado para: {0}", 
                 agendamento.getUser().getEmail());
 
         } catch (MessagingException ex) {
@@ -98,259 +53,59 @@ public class AgendamentoMailService implements AgendamentoMailServiceLocal {
         }
     }
 
-    /**
-     * Cria uma sessão de e-mail manual caso o recurso do servidor não esteja disponível
-     */
-    private Session createManualSession() {
-        Dotenv dotenv = Dotenv.load();
-        
-        String smtpHost = dotenv.get("SMTP_HOST");
-        String smtpPort = dotenv.get("SMTP_PORT");
-        String smtpUsername = dotenv.get("SMTP_USERNAME");
-        String smtpPassword = dotenv.get("SMTP_PASSWORD");
-        String smtpAuth = dotenv.get("SMTP_AUTH");
-        String smtpStartTls = dotenv.get("SMTP_STARTTLS");
-
-        Properties props = new Properties();
-        props.put("mail.smtp.host", smtpHost != null ? smtpHost : "smtp.gmail.com");
-        props.put("mail.smtp.port", smtpPort != null ? smtpPort : "587");
-        props.put("mail.smtp.auth", smtpAuth != null ? smtpAuth : "true");
-        props.put("mail.smtp.starttls.enable", smtpStartTls != null ? smtpStartTls : "true");
-
-        LOGGER.log(Level.INFO, "Configuração SMTP: host={0}, port={1}", 
-            new Object[]{props.get("mail.smtp.host"), props.get("mail.smtp.port")});
-
-        return Session.getInstance(props, new Authenticator() {
-            @Override
-            protected PasswordAuthentication getPasswordAuthentication() {
-                return new PasswordAuthentication(smtpUsername, smtpPassword);
-            }
-        });
+    private MimeMessage criarMensagemConfirmacao(Agendamento agendamento) throws MessagingException {
+        String nomeFuncionario = agendamento.getFuncionario() != null 
+            ? agendamento.getFuncionario().getNome() 
+            : "A definir";
+
+        return criarMensagem("Confirmação de Agendamento", agendamento.getUser().getEmail(),
+            buildEmailContent(
+                agendamento.getUser().getNome(),
+                agendamento.getData().format(DATA_FORMATTER),
+                agendamento.getHora().format(HORA_FORMATTER),
+                agendamento.getId(),
+                agendamento.getServico().getNome(),
+                nomeFuncionario,
+                agendamento.getStatus().getDescricao()
+            ));
+    }
+
+    private MimeMessage criarMensagem(String assunto, String destinatario, String html) throws MessagingException {
+        MimeMessage mail = new MimeMessage(configuracaoEmail.getSession());
+        mail.setFrom(configuracaoEmail.getRemetente());
+        mail.setSubject(assunto);
+        mail.setRecipient(Message.RecipientType.TO, new InternetAddress(destinatario));
+
+        MimeMultipart content = new MimeMultipart();
+        MimeBodyPart body = new MimeBodyPart();
+        body.setContent(html, "text/html; charset=utf-8");
+        content.addBodyPart(body);
+        mail.setContent(content);
+        return mail;
     }
 
-    private String buildEmailContent(String nomeUsuario, String data, String hora, 
-                                     Long codigo, String servico, String funcionario, 
+    private String buildEmailContent(String nomeUsuario, String data, String hora,
+                                     Long codigo, String servico, String funcionario,
                                     String status) {
-        return String.format("""
-            <html>
-            <head>
-                <style>
-                    body {
-                        font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
-                        background-color: #f5f5f5;
-                        margin: 0;
-                        padding: 20px;
-                    }
-                    .container {
-                        max-width: 600px;
-                        margin: 0 auto;
-                        background: white;
-                        border-radius: 15px;
-                        overflow: hidden;
-                        box-shadow: 0 10px 30px rgba(0, 0, 0, 0.1);
-                    }
-                    .header {
-                        background: linear-gradient(135deg, #495057 0%%, #343a40 100%%);
-                        color: white;
-                        padding: 30px;
-                        text-align: center;
-                    }
-                    .header h1 {
-                        margin: 0;
-                        font-size: 28px;
-                        font-weight: 700;
-                    }
-                    .header p {
-                        margin: 10px 0 0 0;
-                        opacity: 0.9;
-                    }
-                    .content {
-                        padding: 30px;
-                    }
-                    .greeting {
-                        color: #212529;
-                        font-size: 18px;
-                        margin-bottom: 20px;
-                    }
-                    .info-card {
-                        background: #f8f9fa;
-                        border-left: 4px solid #343a40;
-                        border-radius: 8px;
-                        padding: 20px;
-                        margin: 15px 0;
-                    }
-                    .info-row {
-                        display: flex;
-                        margin: 12px 0;
-                        align-items: center;
-                    }
-                    .info-label {
-                        color: #6c757d;
-                        font-weight: 600;
-                        text-transform: uppercase;
-                        font-size: 12px;
-                        letter-spacing: 0.5px;
-                        min-width: 120px;
-                    }
-                    .info-value {
-                        color: #212529;
-                        font-weight: 600;
-                        font-size: 16px;
-                    }
-                    .highlight {
-                        background: linear-gradient(135deg, #212529 0%%, #000000 100%%);
-                        color: white;
-                        padding: 20px;
-                        border-radius: 8px;
-                        text-align: center;
-                        margin: 20px 0;
-                    }
-                    .highlight h2 {
-                        margin: 0 0 10px 0;
-                        font-size: 32px;
-                    }
-                    .highlight p {
-                        margin: 0;
-                        opacity: 0.9;
-                    }
-                    .message {
-                        background: #e9ecef;
-                        border-radius: 8px;
-                        padding: 15px;
-                        margin: 20px 0;
-                        color: #495057;
-                        line-height: 1.6;
-                    }
-                    .footer {
-                        background: #f8f9fa;
-                        padding: 20px;
-                        text-align: center;
-                        border-top: 2px solid #e9ecef;
-                        color: #6c757d;
-                        font-size: 14px;
-                    }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Agendamento Confirmado</h1>
-                        <p>Seu agendamento foi confirmado com sucesso!</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p class="greeting">Olá, <strong>%s</strong>!</p>
-                        
-                        <p>Confirmamos seu agendamento. Confira os detalhes abaixo:</p>
-                        
-                        <div class="highlight">
-                            <h2> %s</h2>
-                            <p> %s</p>
-                        </div>
-                        
-                        <div class="info-card">
-                            <div class="info-row">
-                                <span class="info-label"> Código:</span>
-                                <span class="info-value">#%d</span>
-                            </div>
-                            <div class="info-row">
-                                <span class="info-label"> Serviço:</span>
-                                <span class="info-value">%s</span>
-                            </div>
-                            <div class="info-row">
-                                <span class="info-label"> Profissional:</span>
-                                <span class="info-value">%s</span>
-                            </div>
-                            
-                            <div class="info-row">
-                                <span class="info-label"> Status:</span>
-                                <span class="info-value">%s</span>
-                            </div>
-                        </div>
-                        
-                        <div class="message">
-                            <strong> Informações Importantes:</strong><br/>
-                            • Chegue com 10 minutos de antecedência<br/>
-                            • Traga documento de identidade<br/>
-                            • Em caso de impossibilidade de comparecimento, cancele com antecedência<br/>
-                            • Guarde o código do agendamento para consultas
-                        </div>
-                        
-                        <p style="color: #6c757d; font-size: 14px; margin-top: 20px;">
-                            Caso precise cancelar ou reagendar, acesse o sistema com suas credenciais.
-                        </p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p><strong>Sistema de Agendamento</strong></p>
-                        <p>Este é um e-mail automático, por favor não responda.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            nomeUsuario, data, hora, codigo, servico, funcionario, status
-        );
+        return templateService.renderizar(TemplateEmailService.CONFIRMACAO, Map.of(
+                "nome", nomeUsuario,
+                "data", data,
+                "hora", hora,
+                "codigo", codigo,
+                "servico", servico,
+                "funcionario", funcionario,
+                "status", status));
     }
 
     @Override
     public void sendCancelamentoAgendamento(Agendamento agendamento) throws MessagingException {
         try {
-            if (mailSession == null) {
-                LOGGER.log(Level.WARNING, "Mail Session não encontrada, criando manualmente...");
-                mailSession = createManualSession();
-            }
-
-            MimeMessage mail = new MimeMessage(mailSession);
-            Dotenv dotenv = Dotenv.load();
-
-            String email = dotenv.get("EMAIL");
-            
-            if (email == null || email.isEmpty()) {
-                throw new MessagingException("EMAIL não configurado no arquivo .env");
-            }
-
             LOGGER.log(Level.INFO, "Enviando e-mail de cancelamento de: {0} para: {1}", 
-                new Object[]{email, agendamento.getUser().getEmail()});
-
-            try {
-                mail.setFrom(new InternetAddress(email, "Sistema de Agendamento"));
-            } catch (UnsupportedEncodingException ex) {
-                mail.setFrom(new InternetAddress(email));
-            }
+                new Object[]{configuracaoEmail.getRemetente().getAddress(), agendamento.getUser().getEmail()});
 
-            mail.setSubject("Cancelamento de Agendamento");
-            mail.setRecipient(Message.RecipientType.TO, 
-                new InternetAddress(agendamento.getUser().getEmail()));
-
-            MimeMultipart content = new MimeMultipart();
-            MimeBodyPart body = new MimeBodyPart();
-
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-            String dataFormatada = agendamento.getData().format(dateFormatter);
-            String horaFormatada = agendamento.getHora().format(timeFormatter);
-
-            String nomeFuncionario = agendamento.getFuncionario() != null 
-                ? agendamento.getFuncionario().getNome() 
-                : "A definir";
-
-            body.setContent(buildCancelamentoEmailContent(
-                agendamento.getUser().getNome(),
-                dataFormatada,
-                horaFormatada,
-                agendamento.getId(),
-                agendamento.getServico().getNome(),
-                nomeFuncionario
-            ), "text/html; charset=utf-8");
-
-            content.addBodyPart(body);
-            mail.setContent(content);
-
-            Transport.send(mail);
+            envioEmail.enviarEmSegundoPlano(criarMensagemCancelamento(agendamento));
             
-            LOGGER.log(Level.INFO, "E-mail de cancelamento enviado com sucesso para: {0}", 
+            LOGGER.log(Level.INFO, "E-mail de cancelamento enfileirado para: {0}", 
                 agendamento.getUser().getEmail());
 
         } catch (MessagingException ex) {
@@ -362,31 +117,105 @@ public class AgendamentoMailService implements AgendamentoMailServiceLocal {
         }
     }
 
+    private MimeMessage criarMensagemCancelamento(Agendamento agendamento) throws MessagingException {
+        String nomeFuncionario = agendamento.getFuncionario() != null 
+            ? agendamento.getFuncionario().getNome() 
+            : "A definir";
+
+        return criarMensagem("Cancelamento de Agendamento", agendamento.getUser().getEmail(),
+            buildCancelamentoEmailContent(
+                agendamento.getUser().getNome(),
+                agendamento.getData().format(DATA_FORMATTER),
+                agendamento.getHora().format(HORA_FORMATTER),
+                agendamento.getId(),
+                agendamento.getServico().getNome(),
+                nomeFuncionario
+            ));
+    }
+
     @Override
-    public void sendReagendamento(Agendamento agendamentoOriginal, Agendamento novoAgendamento) throws MessagingException {
-        try {
-            if (mailSession == null) {
-                LOGGER.log(Level.WARNING, "Mail Session não encontrada, criando manualmente...");
-                mailSession = createManualSession();
+    public int enviarNotificacoesEmLote(List<Agendamento> confirmados, List<Agendamento> cancelados) {
+        List<MimeMessage> mensagens = new ArrayList<>(confirmados.size() + cancelados.size());
+        int falhas = 0;
+        for (Agendamento agendamento : confirmados) {
+            if (possuiEmail(agendamento)) {
+                try {
+                    mensagens.add(criarMensagemConfirmacao(agendamento));
+                } catch (MessagingException ex) {
+                    LOGGER.log(Level.WARNING, "E-mail inválido no agendamento " + agendamento.getId(), ex);
+                    falhas++;
+                }
             }
+        }
+        for (Agendamento agendamento : cancelados) {
+            if (possuiEmail(agendamento)) {
+                try {
+                    mensagens.add(criarMensagemCancelamento(agendamento));
+                } catch (MessagingException ex) {
+                    LOGGER.log(Level.WARNING, "E-mail inválido no agendamento " + agendamento.getId(), ex);
+                    falhas++;
+                }
+            }
+        }
+        return falhas + envioEmail.enviarLote(mensagens).size();
+    }
 
-            MimeMessage mail = new MimeMessage(mailSession);
-            Dotenv dotenv = Dotenv.load();
-
-            String email = dotenv.get("EMAIL");
-            
-            if (email == null || email.isEmpty()) {
-                throw new MessagingException("EMAIL não configurado no arquivo .env");
+    @Override
+    public List<Long> enviarLembretes(List<Agendamento> agendamentos) {
+        List<MimeMessage> mensagens = new ArrayList<>(agendamentos.size());
+        Map<MimeMessage, Long> idsPorMensagem = new IdentityHashMap<>();
+        for (Agendamento agendamento : agendamentos) {
+            if (possuiEmail(agendamento)) {
+                try {
+                    MimeMessage mensagem = criarMensagemLembrete(agendamento);
+                    mensagens.add(mensagem);
+                    idsPorMensagem.put(mensagem, agendamento.getId());
+                } catch (MessagingException ex) {
+                    // Endereço inválido não melhora com nova tentativa
+                    LOGGER.log(Level.WARNING, "E-mail inválido no agendamento " + agendamento.getId(), ex);
+                }
             }
+        }
 
-            LOGGER.log(Level.INFO, "Enviando e-mail de reagendamento de: {0} para: {1}", 
-                new Object[]{email, novoAgendamento.getUser().getEmail()});
+        List<Long> naoEnviados = new ArrayList<>();
+        for (MimeMessage falha : envioEmail.enviarLote(mensagens)) {
+            naoEnviados.add(idsPorMensagem.get(falha));
+        }
+        return naoEnviados;
+    }
 
-            try {
-                mail.setFrom(new InternetAddress(email, "Sistema de Agendamento"));
-            } catch (UnsupportedEncodingException ex) {
-                mail.setFrom(new InternetAddress(email));
-            }
+    private MimeMessage criarMensagemLembrete(Agendamento agendamento) throws MessagingException {
+        String nomeFuncionario = agendamento.getFuncionario() != null
+            ? agendamento.getFuncionario().getNome()
+            : "A definir";
+
+        return criarMensagem("Lembrete de Agendamento", agendamento.getUser().getEmail(),
+            templateService.renderizar(TemplateEmailService.LEMBRETE, Map.of(
+                "nome", agendamento.getUser().getNome(),
+                "data", agendamento.getData().format(DATA_FORMATTER),
+                "hora", agendamento.getHora().format(HORA_FORMATTER),
+                "codigo", agendamento.getId(),
+                "servico", agendamento.getServico().getNome(),
+                "funcionario", nomeFuncionario)));
+    }
+
+    /**
+     * Walk-ins e usuários sem e-mail não recebem notificações
+     */
+    private static boolean possuiEmail(Agendamento agendamento) {
+        return agendamento.getUser() != null
+                && agendamento.getUser().getEmail() != null
+                && !agendamento.getUser().getEmail().isBlank();
+    }
+
+    @Override
+    public void sendReagendamento(Agendamento agendamentoOriginal, Agendamento novoAgendamento) throws MessagingException {
+        try {
+            MimeMessage mail = new MimeMessage(configuracaoEmail.getSession());
+            mail.setFrom(configuracaoEmail.getRemetente());
+
+            LOGGER.log(Level.INFO, "Enviando e-mail de reagendamento de: {0} para: {1}", 
+                new Object[]{configuracaoEmail.getRemetente().getAddress(), novoAgendamento.getUser().getEmail()});
 
             mail.setSubject("Reagendamento Confirmado");
             mail.setRecipient(Message.RecipientType.TO, 
@@ -395,19 +224,16 @@ public class AgendamentoMailService implements AgendamentoMailServiceLocal {
             MimeMultipart content = new MimeMultipart();
             MimeBodyPart body = new MimeBodyPart();
 
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
             // Dados do agendamento original
-            String dataOriginal = agendamentoOriginal.getData().format(dateFormatter);
-            String horaOriginal = agendamentoOriginal.getHora().format(timeFormatter);
+            String dataOriginal = agendamentoOriginal.getData().format(DATA_FORMATTER);
+            String horaOriginal = agendamentoOriginal.getHora().format(HORA_FORMATTER);
             String funcionarioOriginal = agendamentoOriginal.getFuncionario() != null 
                 ? agendamentoOriginal.getFuncionario().getNome() 
                 : "A definir";
 
             // Dados do novo agendamento
-            String dataNova = novoAgendamento.getData().format(dateFormatter);
-            String horaNova = novoAgendamento.getHora().format(timeFormatter);
+            String dataNova = novoAgendamento.getData().format(DATA_FORMATTER);
+            String horaNova = novoAgendamento.getHora().format(HORA_FORMATTER);
             String funcionarioNovo = novoAgendamento.getFuncionario() != null 
                 ? novoAgendamento.getFuncionario().getNome() 
                 : "A definir";
@@ -428,9 +254,9 @@ public class AgendamentoMailService implements AgendamentoMailServiceLocal {
             content.addBodyPart(body);
             mail.setContent(content);
 
-            Transport.send(mail);
+            envioEmail.enviarEmSegundoPlano(mail);
             
-            LOGGER.log(Level.INFO, "E-mail de reagendamento enviado com sucesso para: {0}", 
+            LOGGER.log(Level.INFO, "E-mail de reagendamento enfileirado para: {0}", 
                 novoAgendamento.getUser().getEmail());
 
         } catch (MessagingException ex) {
@@ -442,442 +268,31 @@ public class AgendamentoMailService implements AgendamentoMailServiceLocal {
         }
     }
 
-    private String buildCancelamentoEmailContent(String nomeUsuario, String data, String hora, 
+    private String buildCancelamentoEmailContent(String nomeUsuario, String data, String hora,
                                              Long codigo, String servico, String funcionario) {
-        return String.format("""
-            <html>
-            <head>
-                <style>
-                    body {
-                        font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
-                        background-color: #f5f5f5;
-                        margin: 0;
-                        padding: 20px;
-                    }
-                    .container {
-                        max-width: 600px;
-                        margin: 0 auto;
-                        background: white;
-                        border-radius: 15px;
-                        overflow: hidden;
-                        box-shadow: 0 10px 30px rgba(0, 0, 0, 0.1);
-                    }
-                    .header {
-                        background: linear-gradient(135deg, #dc3545 0%%, #c82333 100%%);
-                        color: white;
-                        padding: 30px;
-                        text-align: center;
-                    }
-                    .header h1 {
-                        margin: 0;
-                        font-size: 28px;
-                        font-weight: 700;
-                    }
-                    .header p {
-                        margin: 10px 0 0 0;
-                        opacity: 0.9;
-                    }
-                    .content {
-                        padding: 30px;
-                    }
-                    .greeting {
-                        color: #212529;
-                        font-size: 18px;
-                        margin-bottom: 20px;
-                    }
-                    .alert-box {
-                        background: #f8d7da;
-                        border-left: 4px solid #dc3545;
-                        border-radius: 8px;
-                        padding: 20px;
-                        margin: 20px 0;
-                        color: #721c24;
-                    }
-                    .alert-box strong {
-                        display: block;
-                        font-size: 18px;
-                        margin-bottom: 10px;
-                    }
-                    .info-card {
-                        background: #f8f9fa;
-                        border-left: 4px solid #6c757d;
-                        border-radius: 8px;
-                        padding: 20px;
-                        margin: 15px 0;
-                    }
-                    .info-row {
-                        display: flex;
-                        margin: 12px 0;
-                        align-items: center;
-                    }
-                    .info-label {
-                        color: #6c757d;
-                        font-weight: 600;
-                        text-transform: uppercase;
-                        font-size: 12px;
-                        letter-spacing: 0.5px;
-                        min-width: 120px;
-                    }
-                    .info-value {
-                        color: #212529;
-                        font-weight: 600;
-                        font-size: 16px;
-                    }
-                    .cancelled-badge {
-                        background: #dc3545;
-                        color: white;
-                        padding: 20px;
-                        border-radius: 8px;
-                        text-align: center;
-                        margin: 20px 0;
-                    }
-                    .cancelled-badge h2 {
-                        margin: 0 0 10px 0;
-                        font-size: 32px;
-                    }
-                    .cancelled-badge p {
-                        margin: 0;
-                        opacity: 0.9;
-                    }
-                    .message {
-                        background: #e9ecef;
-                        border-radius: 8px;
-                        padding: 15px;
-                        margin: 20px 0;
-                        color: #495057;
-                        line-height: 1.6;
-                    }
-                    .button-container {
-                        text-align: center;
-                        margin: 30px 0;
-                    }
-                    .btn-new {
-                        display: inline-block;
-                        background: linear-gradient(135deg, #212529 0%%, #000000 100%%);
-                        color: white;
-                        padding: 15px 40px;
-                        border-radius: 8px;
-                        text-decoration: none;
-                        font-weight: 700;
-                        font-size: 16px;
-                        box-shadow: 0 4px 15px rgba(0, 0, 0, 0.2);
-                    }
-                    .footer {
-                        background: #f8f9fa;
-                        padding: 20px;
-                        text-align: center;
-                        border-top: 2px solid #e9ecef;
-                        color: #6c757d;
-                        font-size: 14px;
-                    }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Agendamento Cancelado</h1>
-                        <p>Seu agendamento foi cancelado</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p class="greeting">Olá, <strong>%s</strong>!</p>
-                        
-                        <div class="alert-box">
-                            <strong>Cancelamento Confirmado</strong>
-                            <p style="margin: 5px 0 0 0;">
-                                Seu agendamento foi cancelado com sucesso. Confira os detalhes abaixo:
-                            </p>
-                        </div>
-                        
-                        <div class="cancelled-badge">
-                            <h2>%s</h2>
-                            <p>%s</p>
-                        </div>
-                        
-                        <div class="info-card">
-                            <div class="info-row">
-                                <span class="info-label">Código:</span>
-                                <span class="info-value">#%d</span>
-                            </div>
-                            <div class="info-row">
-                                <span class="info-label">Serviço:</span>
-                                <span class="info-value">%s</span>
-                            </div>
-                            <div class="info-row">
-                                <span class="info-label">Profissional:</span>
-                                <span class="info-value">%s</span>
-                            </div>
-                            <div class="info-row">
-                                <span class="info-label">Status:</span>
-                                <span class="info-value" style="color: #dc3545;">CANCELADO</span>
-                            </div>
-                        </div>
-                        
-                        <div class="message">
-                            <strong>Gostaria de fazer um novo agendamento?</strong><br/>
-                            Acesse o sistema e escolha um novo horário que melhor se adeque à sua agenda.
-                        </div>
-                        
-                        <p style="color: #6c757d; font-size: 14px; margin-top: 20px;">
-                            Se você não solicitou este cancelamento ou tem alguma dúvida, 
-                            entre em contato conosco através do sistema.
-                        </p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p><strong>Sistema de Agendamento</strong></p>
-                        <p>Este é um e-mail automático, por favor não responda.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            nomeUsuario, data, hora, codigo, servico, funcionario
-        );
+        return templateService.renderizar(TemplateEmailService.CANCELAMENTO, Map.of(
+                "nome", nomeUsuario,
+                "data", data,
+                "hora", hora,
+                "codigo", codigo,
+                "servico", servico,
+                "funcionario", funcionario));
     }
 
     private String buildReagendamentoEmailContent(String nomeUsuario, Long codigoOriginal,
                                               String dataOriginal, String horaOriginal, String funcionarioOriginal,
                                               Long codigoNovo, String dataNova, String horaNova,
                                               String servico, String funcionarioNovo) {
-        return String.format("""
-            <html>
-            <head>
-                <style>
-                    body {
-                        font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
-                        background-color: #f5f5f5;
-                        margin: 0;
-                        padding: 20px;
-                    }
-                    .container {
-                        max-width: 600px;
-                        margin: 0 auto;
-                        background: white;
-                        border-radius: 15px;
-                        overflow: hidden;
-                        box-shadow: 0 10px 30px rgba(0, 0, 0, 0.1);
-                    }
-                    .header {
-                        background: linear-gradient(135deg, #17a2b8 0%%, #117a8b 100%%);
-                        color: white;
-                        padding: 30px;
-                        text-align: center;
-                    }
-                    .header h1 {
-                        margin: 0;
-                        font-size: 28px;
-                        font-weight: 700;
-                    }
-                    .header p {
-                        margin: 10px 0 0 0;
-                        opacity: 0.9;
-                    }
-                    .content {
-                        padding: 30px;
-                    }
-                    .greeting {
-                        color: #212529;
-                        font-size: 18px;
-                        margin-bottom: 20px;
-                    }
-                    .comparison-box {
-                        display: flex;
-                        gap: 15px;
-                        margin: 20px 0;
-                    }
-                    .old-info, .new-info {
-                        flex: 1;
-                        border-radius: 8px;
-                        padding: 20px;
-                    }
-                    .old-info {
-                        background: #f8d7da;
-                        border-left: 4px solid #dc3545;
-                    }
-                    .new-info {
-                        background: #d4edda;
-                        border-left: 4px solid #28a745;
-                    }
-                    .comparison-title {
-                        font-weight: 700;
-                        font-size: 14px;
-                        text-transform: uppercase;
-                        letter-spacing: 0.5px;
-                        margin-bottom: 15px;
-                        display: flex;
-                        align-items: center;
-                        gap: 8px;
-                    }
-                    .old-info .comparison-title {
-                        color: #721c24;
-                    }
-                    .new-info .comparison-title {
-                        color: #155724;
-                    }
-                    .comparison-item {
-                        margin: 10px 0;
-                    }
-                    .comparison-label {
-                        color: #6c757d;
-                        font-size: 12px;
-                        text-transform: uppercase;
-                        font-weight: 600;
-                        display: block;
-                        margin-bottom: 4px;
-                    }
-                    .comparison-value {
-                        color: #212529;
-                        font-size: 16px;
-                        font-weight: 600;
-                    }
-                    .highlight {
-                        background: linear-gradient(135deg, #212529 0%%, #000000 100%%);
-                        color: white;
-                        padding: 20px;
-                        border-radius: 8px;
-                        text-align: center;
-                        margin: 20px 0;
-                    }
-                    .highlight h2 {
-                        margin: 0 0 10px 0;
-                        font-size: 32px;
-                    }
-                    .highlight p {
-                        margin: 0;
-                        opacity: 0.9;
-                    }
-                    .info-card {
-                        background: #f8f9fa;
-                        border-left: 4px solid #343a40;
-                        border-radius: 8px;
-                        padding: 20px;
-                        margin: 15px 0;
-                    }
-                    .message {
-                        background: #e9ecef;
-                        border-radius: 8px;
-                        padding: 15px;
-                        margin: 20px 0;
-                        color: #495057;
-                        line-height: 1.6;
-                    }
-                    .footer {
-                        background: #f8f9fa;
-                        padding: 20px;
-                        text-align: center;
-                        border-top: 2px solid #e9ecef;
-                        color: #6c757d;
-                        font-size: 14px;
-                    }
-                    @media (max-width: 600px) {
-                        .comparison-box {
-                            flex-direction: column;
-                        }
-                    }
-                </style>
-            </head>
-            <body>
-                <div class="container">
-                    <div class="header">
-                        <h1>Reagendamento Confirmado</h1>
-                        <p>Seu agendamento foi alterado com sucesso!</p>
-                    </div>
-                    
-                    <div class="content">
-                        <p class="greeting">Olá, <strong>%s</strong>!</p>
-                        
-                        <p>Seu reagendamento foi confirmado. Confira as alterações:</p>
-                        
-                        <div class="comparison-box">
-                            <div class="old-info">
-                                <div class="comparison-title">
-                                    ANTERIOR
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Código</span>
-                                    <span class="comparison-value">#%d</span>
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Data</span>
-                                    <span class="comparison-value">%s</span>
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Horário</span>
-                                    <span class="comparison-value">%s</span>
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Profissional</span>
-                                    <span class="comparison-value">%s</span>
-                                </div>
-                            </div>
-                            
-                            <div class="new-info">
-                                <div class="comparison-title">
-                                    NOVO
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Código</span>
-                                    <span class="comparison-value">#%d</span>
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Data</span>
-                                    <span class="comparison-value">%s</span>
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Horário</span>
-                                    <span class="comparison-value">%s</span>
-                                </div>
-                                <div class="comparison-item">
-                                    <span class="comparison-label">Profissional</span>
-                                    <span class="comparison-value">%s</span>
-                                </div>
-                            </div>
-                        </div>
-                        
-                        <div class="highlight">
-                            <h2>%s</h2>
-                            <p>%s</p>
-                        </div>
-                        
-                        <div class="info-card">
-                            <div style="text-align: center;">
-                                <div style="margin: 10px 0;">
-                                    <span style="color: #6c757d; font-size: 12px; text-transform: uppercase; font-weight: 600;">Serviço</span>
-                                    <div style="color: #212529; font-size: 18px; font-weight: 700; margin-top: 5px;">%s</div>
-                                </div>
-                            </div>
-                        </div>
-                        
-                        <div class="message">
-                            <strong>Informações Importantes:</strong><br/>
-                            • Chegue com 10 minutos de antecedência<br/>
-                            • Traga documento de identidade<br/>
-                            • Guarde o novo código do agendamento (#%d)<br/>
-                            • Em caso de nova impossibilidade, cancele com antecedência
-                        </div>
-                        
-                        <p style="color: #6c757d; font-size: 14px; margin-top: 20px;">
-                            O agendamento anterior (#%d) foi automaticamente cancelado. 
-                            Caso precise fazer novas alterações, acesse o sistema com suas credenciais.
-                        </p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p><strong>Sistema de Agendamento</strong></p>
-                        <p>Este é um e-mail automático, por favor não responda.</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """,
-            nomeUsuario, 
-            codigoOriginal, dataOriginal, horaOriginal, funcionarioOriginal,
-            codigoNovo, dataNova, horaNova, funcionarioNovo,
-            dataNova, horaNova,
-            servico,
-            codigoNovo,
-            codigoOriginal
-        );
+        return templateService.renderizar(TemplateEmailService.REAGENDAMENTO, Map.of(
+                "nome", nomeUsuario,
+                "codigoOriginal", codigoOriginal,
+                "dataOriginal", dataOriginal,
+                "horaOriginal", horaOriginal,
+                "funcionarioOriginal", funcionarioOriginal,
+                "codigoNovo", codigoNovo,
+                "dataNova", dataNova,
+                "horaNova", horaNova,
+                "funcionarioNovo", funcionarioNovo,
+                "servico", servico));
     }
 }
@@ -3,6 +3,7 @@ package io.github.scognamiglioo.services;
 import io.github.scognamiglioo.entities.Agendamento;
 import jakarta.ejb.Local;
 import jakarta.mail.MessagingException;
+import java.util.List;
 
 @Local
 public interface AgendamentoMailServiceLocal {
@@ -12,4 +13,20 @@ public interface AgendamentoMailServiceLocal {
     void sendCancelamentoAgendamento(Agendamento agendamento) throws MessagingException;
     
     void sendReagendamento(Agendamento agendamentoOriginal, Agendamento novoAgendamento) throws MessagingException;
+
+    /**
+     * Envia em lote confirmações (com o profissional atual) e cancelamentos,
+     * reaproveitando conexões SMTP. Agendamentos sem e-mail são ignorados.
+     *
+     * @return quantidade de mensagens que não puderam ser enviadas
+     */
+    int enviarNotificacoesEmLote(List<Agendamento> confirmados, List<Agendamento> cancelados);
+
+    /**
+     * Envia lembretes do agendamento em lote. Agendamentos sem e-mail ou com
+     * endereço inválido são ignorados.
+     *
+     * @return IDs dos agendamentos cujo lembrete não pôde ser enviado
+     */
+    List<Long> enviarLembretes(List<Agendamento> agendamentos);
 }
@@ -1,18 +1,25 @@
 package io.github.scognamiglioo.services;
 
 import io.github.scognamiglioo.entities.*;
+import jakarta.ejb.EJB;
 import jakarta.ejb.LocalBean;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,12 +32,66 @@ public class AgendamentoService implements AgendamentoServiceLocal {
 
     private static final Logger LOGGER = Logger.getLogger(AgendamentoService.class.getName());
 
+    private static final Comparator<Agendamento> MAIS_ANTIGOS_PRIMEIRO =
+            Comparator.comparing(Agendamento::getData).thenComparing(Agendamento::getHora);
+
+    private static final Comparator<Agendamento> MAIS_RECENTES_PRIMEIRO = MAIS_ANTIGOS_PRIMEIRO.reversed();
+
+    // Limite de parâmetros por cláusula IN
+    private static final int TAMANHO_LOTE = 1000;
+
     @PersistenceContext(unitName = "SecureAppPU")
     private EntityManager em;
 
+    @EJB
+    private AgendamentoStatusServiceLocal statusService;
+
+    @Inject
+    private Event<AgendamentosAlterados> alteradosEvent;
+
+    @Inject
+    private Event<AtendimentoConcluido> concluidoEvent;
+
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public Agendamento createAgendamento(User user, Servico servico, LocalDate data, LocalTime hora) {
+        Agendamento agendamento = novoAgendamento(user, servico, data, hora);
+        em.persist(agendamento);
+
+        LOGGER.log(Level.INFO, "Agendamento criado: {0}", agendamento);
+        return agendamento;
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public Agendamento createAgendamento(User user, Servico servico, Funcionario funcionario, LocalDate data, LocalTime hora) {
+        return createAgendamento(user, servico, funcionario, data, hora, null);
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public Agendamento createAgendamento(User user, Servico servico, Funcionario funcionario,
+                                         LocalDate data, LocalTime hora, String observacoes) {
+        if (funcionario != null && !isHorarioDisponivel(data, hora, funcionario.getId())) {
+            throw new IllegalArgumentException("O horário selecionado não está disponível para este funcionário");
+        }
+
+        // Funcionário e observações entram antes do persist: um único INSERT, sem merge posterior
+        Agendamento agendamento = novoAgendamento(user, servico, data, hora);
+        agendamento.setFuncionario(funcionario);
+        if (observacoes != null && !observacoes.trim().isEmpty()) {
+            agendamento.setObservacoes(observacoes.trim());
+        }
+        em.persist(agendamento);
+
+        LOGGER.log(Level.INFO, "Agendamento criado: {0}", agendamento);
+        return agendamento;
+    }
+
+    /**
+     * Valida os dados obrigatórios e monta um agendamento ainda não persistido
+     */
+    private Agendamento novoAgendamento(User user, Servico servico, LocalDate data, LocalTime hora) {
         if (user == null) {
             throw new IllegalArgumentException("Usuário é obrigatório");
         }
@@ -47,31 +108,19 @@ public class AgendamentoService implements AgendamentoServiceLocal {
             throw new IllegalArgumentException("A data do agendamento não pode ser anterior à data atual");
         }
 
-        Agendamento agendamento = new Agendamento(user, servico, data, hora);
-        em.persist(agendamento);
-        em.flush();
-
-        LOGGER.log(Level.INFO, "Agendamento criado: {0}", agendamento);
-        return agendamento;
+        return new Agendamento(user, servico, data, hora);
     }
 
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
-    public Agendamento createAgendamento(User user, Servico servico, Funcionario funcionario, LocalDate data, LocalTime hora) {
-        if (funcionario != null && !isHorarioDisponivel(data, hora, funcionario.getId())) {
-            throw new IllegalArgumentException("O horário selecionado não está disponível para este funcionário");
-        }
-
-        Agendamento agendamento = createAgendamento(user, servico, data, hora);
-        agendamento.setFuncionario(funcionario);
-        em.merge(agendamento);
-        em.flush();
-
-        return agendamento;
+    public Agendamento createWalkinAgendamento(String nome, String cpf, String telefone, Servico servico, LocalDate data, LocalTime hora) {
+        return createWalkinAgendamento(nome, cpf, telefone, servico, null, data, hora);
     }
 
+    @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
-    public Agendamento createWalkinAgendamento(String nome, String cpf, String telefone, Servico servico, LocalDate data, LocalTime hora) {
+    public Agendamento createWalkinAgendamento(String nome, String cpf, String telefone, Servico servico,
+                                               Funcionario funcionario, LocalDate data, LocalTime hora) {
         if (nome == null || nome.trim().isEmpty()) {
             throw new IllegalArgumentException("Nome do cliente é obrigatório");
         }
@@ -92,6 +141,7 @@ public class AgendamentoService implements AgendamentoServiceLocal {
         Agendamento agendamento = new Agendamento();
         agendamento.setUser(null); // Sem usuário para walk-in
         agendamento.setServico(servico);
+        agendamento.setFuncionario(funcionario);
         agendamento.setIsWalkin(true);
         agendamento.setWalkinNome(nome.trim());
         agendamento.setWalkinCpf(cpf.replaceAll("\\D", "")); // Remove caracteres não numéricos
@@ -103,7 +153,6 @@ public class AgendamentoService implements AgendamentoServiceLocal {
         agendamento.setAtualizadoEm(LocalDate.now());
 
         em.persist(agendamento);
-        em.flush();
 
         LOGGER.log(Level.INFO, "Agendamento walk-in criado para: {0}", nome);
         return agendamento;
@@ -116,45 +165,50 @@ public class AgendamentoService implements AgendamentoServiceLocal {
             throw new IllegalArgumentException("Agendamento inválido");
         }
 
+        // Remarcação: o dia antigo também precisa ser recontado nas estatísticas
+        Agendamento atual = em.find(Agendamento.class, agendamento.getId());
+        if (atual != null && atual.getData() != null && !atual.getData().equals(agendamento.getData())) {
+            alteradosEvent.fire(AgendamentosAlterados.porDia(atual.getData()));
+        }
+
         em.merge(agendamento);
-        em.flush();
         LOGGER.log(Level.INFO, "Agendamento atualizado: {0}", agendamento.getId());
     }
 
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void cancelarAgendamento(Long agendamentoId) {
-        Agendamento agendamento = findAgendamentoById(agendamentoId);
-        if (agendamento == null) {
-            throw new IllegalArgumentException("Agendamento não encontrado");
-        }
-
-        // Verifica se o cancelamento está sendo feito com pelo menos 24 horas de antecedência
-        LocalDate dataAgendamento = agendamento.getData();
-        LocalTime horaAgendamento = agendamento.getHora();
-
-        // Combina data e hora do agendamento
-        java.time.LocalDateTime dataHoraAgendamento = java.time.LocalDateTime.of(dataAgendamento, horaAgendamento);
-
-        // Obtém data/hora atual
-        java.time.LocalDateTime agora = java.time.LocalDateTime.now();
-
-        // Calcula diferença em horas
-        long horasRestantes = java.time.Duration.between(agora, dataHoraAgendamento).toHours();
-
-        // Valida se há pelo menos 24 horas de antecedência
-        if (horasRestantes < 24) {
+        // O cancelamento só é permitido com pelo menos 24 horas de antecedência:
+        // a regra vai no WHERE para que o caso comum seja um único UPDATE
+        java.time.LocalDateTime limite = java.time.LocalDateTime.now().plusHours(24);
+
+        int atualizados = em.createNamedQuery("Agendamento.cancelarComAntecedencia")
+                .setParameter("status", StatusAgendamento.CANCELADO)
+                .setParameter("atualizadoEm", LocalDate.now())
+                .setParameter("id", agendamentoId)
+                .setParameter("origens", StatusAgendamento.CANCELADO.getOrigensPermitidas())
+                .setParameter("dataLimite", limite.toLocalDate())
+                .setParameter("horaLimite", limite.toLocalTime())
+                .executeUpdate();
+
+        if (atualizados == 0) {
+            // Caminho de erro: carrega o agendamento apenas para montar a mensagem
+            Agendamento agendamento = findAgendamentoById(agendamentoId);
+            if (agendamento == null) {
+                throw new IllegalArgumentException("Agendamento não encontrado");
+            }
+            if (!agendamento.getStatus().podeTransicionarPara(StatusAgendamento.CANCELADO)) {
+                throw new IllegalArgumentException("Agendamento " + agendamento.getStatus().getDescricao().toLowerCase()
+                        + " não pode ser cancelado");
+            }
             throw new IllegalArgumentException(
                     "Não é possível cancelar o agendamento com menos de 24 horas de antecedência. " +
                             "Agendamento marcado para " + agendamento.getDataFormatada() + " às " + agendamento.getHoraFormatada() + "."
             );
         }
 
-        agendamento.setStatus(StatusAgendamento.CANCELADO);
-        em.merge(agendamento);
-        em.flush();
-        LOGGER.log(Level.INFO, "Agendamento {0} cancelado com {1} horas de antecedência",
-                new Object[]{agendamentoId, horasRestantes});
+        alteradosEvent.fire(AgendamentosAlterados.porIds(List.of(agendamentoId)));
+        LOGGER.log(Level.INFO, "Agendamento {0} cancelado", agendamentoId);
     }
 
     @Override
@@ -163,7 +217,6 @@ public class AgendamentoService implements AgendamentoServiceLocal {
         Agendamento agendamento = findAgendamentoById(agendamentoId);
         if (agendamento != null) {
             em.remove(agendamento);
-            em.flush();
             LOGGER.log(Level.INFO, "Agendamento deletado: {0}", agendamentoId);
         }
     }
@@ -182,6 +235,57 @@ public class AgendamentoService implements AgendamentoServiceLocal {
                 .getResultList();
     }
 
+    @Override
+    public List<Agendamento> getAllAgendamentos(boolean incluirHistorico) {
+        List<Agendamento> agendamentos = getAllAgendamentos();
+        if (!incluirHistorico) {
+            return agendamentos;
+        }
+        return comHistorico(agendamentos,
+                em.createNamedQuery("AgendamentoArquivado.findAll", AgendamentoArquivado.class), MAIS_RECENTES_PRIMEIRO);
+    }
+
+    @Override
+    public List<Agendamento> findAgendamentosByIds(List<Long> ids, boolean incluirHistorico) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Agendamento> encontrados = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i += TAMANHO_LOTE) {
+            for (Agendamento agendamento : em.createNamedQuery("Agendamento.findByIds", Agendamento.class)
+                    .setParameter("ids", ids.subList(i, Math.min(i + TAMANHO_LOTE, ids.size())))
+                    .getResultList()) {
+                encontrados.put(agendamento.getId(), agendamento);
+            }
+        }
+
+        if (incluirHistorico && encontrados.size() < ids.size()) {
+            List<Long> restantes = new ArrayList<>();
+            for (Long id : ids) {
+                if (!encontrados.containsKey(id)) {
+                    restantes.add(id);
+                }
+            }
+            for (int i = 0; i < restantes.size(); i += TAMANHO_LOTE) {
+                for (AgendamentoArquivado arquivado : em.createNamedQuery("AgendamentoArquivado.findByIds", AgendamentoArquivado.class)
+                        .setParameter("ids", restantes.subList(i, Math.min(i + TAMANHO_LOTE, restantes.size())))
+                        .getResultList()) {
+                    encontrados.put(arquivado.getId(), arquivado.toAgendamento());
+                }
+            }
+        }
+
+        List<Agendamento> resultado = new ArrayList<>(encontrados.size());
+        for (Long id : ids) {
+            Agendamento agendamento = encontrados.get(id);
+            if (agendamento != null) {
+                resultado.add(agendamento);
+            }
+        }
+        return resultado;
+    }
+
     @Override
     public List<Agendamento> findAgendamentosByUser(Long userId) {
         if (userId == null) {
@@ -193,6 +297,17 @@ public class AgendamentoService implements AgendamentoServiceLocal {
                 .getResultList();
     }
 
+    @Override
+    public List<Agendamento> findAgendamentosByUser(Long userId, boolean incluirHistorico) {
+        List<Agendamento> agendamentos = findAgendamentosByUser(userId);
+        if (!incluirHistorico) {
+            return agendamentos;
+        }
+        return comHistorico(agendamentos,
+                em.createNamedQuery("AgendamentoArquivado.findByUser", AgendamentoArquivado.class)
+                        .setParameter("userId", userId), MAIS_RECENTES_PRIMEIRO);
+    }
+
     @Override
     public List<Agendamento> findAgendamentosByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
@@ -204,6 +319,17 @@ public class AgendamentoService implements AgendamentoServiceLocal {
                 .getResultList();
     }
 
+    @Override
+    public List<Agendamento> findAgendamentosByUsername(String username, boolean incluirHistorico) {
+        List<Agendamento> agendamentos = findAgendamentosByUsername(username);
+        if (!incluirHistorico || username == null || username.trim().isEmpty()) {
+            return agendamentos;
+        }
+        return comHistorico(agendamentos,
+                em.createNamedQuery("AgendamentoArquivado.findByUsername", AgendamentoArquivado.class)
+                        .setParameter("username", username.trim()), MAIS_RECENTES_PRIMEIRO);
+    }
+
     @Override
     public List<Agendamento> findAgendamentosByFuncionario(Long funcionarioId) {
         if (funcionarioId == null) {
@@ -226,6 +352,17 @@ public class AgendamentoService implements AgendamentoServiceLocal {
                 .getResultList();
     }
 
+    @Override
+    public List<Agendamento> findAgendamentosByStatus(StatusAgendamento status, boolean incluirHistorico) {
+        List<Agendamento> agendamentos = findAgendamentosByStatus(status);
+        if (!incluirHistorico) {
+            return agendamentos;
+        }
+        return comHistorico(agendamentos,
+                em.createNamedQuery("AgendamentoArquivado.findByStatus", AgendamentoArquivado.class)
+                        .setParameter("status", status), MAIS_ANTIGOS_PRIMEIRO);
+    }
+
     @Override
     public List<Agendamento> findAgendamentosByDataBetween(LocalDate dataInicio, LocalDate dataFim) {
         if (dataInicio == null || dataFim == null) {
@@ -238,6 +375,32 @@ public class AgendamentoService implements AgendamentoServiceLocal {
                 .getResultList();
     }
 
+    @Override
+    public List<Agendamento> findAgendamentosByDataBetween(LocalDate dataInicio, LocalDate dataFim, boolean incluirHistorico) {
+        List<Agendamento> agendamentos = findAgendamentosByDataBetween(dataInicio, dataFim);
+        if (!incluirHistorico) {
+            return agendamentos;
+        }
+        return comHistorico(agendamentos,
+                em.createNamedQuery("AgendamentoArquivado.findByDataBetween", AgendamentoArquivado.class)
+                        .setParameter("dataInicio", dataInicio)
+                        .setParameter("dataFim", dataFim), MAIS_ANTIGOS_PRIMEIRO);
+    }
+
+    /**
+     * Junta os agendamentos ativos com os arquivados da consulta informada,
+     * na ordem pedida. Os arquivados são convertidos em Agendamento desanexado.
+     */
+    private List<Agendamento> comHistorico(List<Agendamento> ativos,
+            TypedQuery<AgendamentoArquivado> consultaHistorico, Comparator<Agendamento> ordem) {
+        List<Agendamento> resultado = new ArrayList<>(ativos);
+        for (AgendamentoArquivado arquivado : consultaHistorico.getResultList()) {
+            resultado.add(arquivado.toAgendamento());
+        }
+        resultado.sort(ordem);
+        return resultado;
+    }
+
     @Override
     public List<Agendamento> findAgendamentosByDataAndFuncionario(LocalDate data, Long funcionarioId) {
         if (data == null) {
@@ -296,9 +459,8 @@ public class AgendamentoService implements AgendamentoServiceLocal {
             throw new IllegalArgumentException("Funcionário não disponível neste horário");
         }
 
+        // Entidade gerenciada: a alteração é gravada no commit, sem merge/flush explícitos
         agendamento.setFuncionario(funcionario);
-        em.merge(agendamento);
-        em.flush();
         LOGGER.log(Level.INFO, "Funcionário {0} atribuído ao agendamento {1}",
                 new Object[]{funcionarioId, agendamentoId});
     }
@@ -307,21 +469,56 @@ public class AgendamentoService implements AgendamentoServiceLocal {
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void alterarStatus(Long agendamentoId, StatusAgendamento novoStatus) {
-        Agendamento agendamento = findAgendamentoById(agendamentoId);
-        if (agendamento == null) {
-            throw new IllegalArgumentException("Agendamento não encontrado");
-        }
         if (novoStatus == null) {
             throw new IllegalArgumentException("Novo status é obrigatório");
         }
 
-        agendamento.setStatus(novoStatus);
-        em.merge(agendamento);
-        em.flush();
+        if (!statusService.transicionar(agendamentoId, novoStatus)) {
+            throw falhaTransicao(agendamentoId, novoStatus);
+        }
         LOGGER.log(Level.INFO, "Status do agendamento {0} alterado para {1}",
                 new Object[]{agendamentoId, novoStatus});
     }
 
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public void corrigirStatus(Long agendamentoId, StatusAgendamento novoStatus) {
+        if (!statusService.corrigir(agendamentoId, novoStatus)) {
+            Agendamento agendamento = findAgendamentoById(agendamentoId);
+            if (agendamento == null) {
+                throw new IllegalArgumentException("Agendamento não encontrado");
+            }
+            // Já estava no status pedido: nada a corrigir
+        }
+    }
+
+    /**
+     * Monta a exceção para uma transição que não foi aplicada. Só é chamado no
+     * caminho de falha, quando vale a pena ler o status atual para explicar o motivo.
+     */
+    private IllegalArgumentException falhaTransicao(Long agendamentoId, StatusAgendamento novoStatus) {
+        Agendamento agendamento = findAgendamentoById(agendamentoId);
+        if (agendamento == null) {
+            return new IllegalArgumentException("Agendamento não encontrado");
+        }
+
+        StatusAgendamento atual = agendamento.getStatus();
+        if (atual == novoStatus && novoStatus == StatusAgendamento.EM_ATENDIMENTO) {
+            return new IllegalArgumentException("Agendamento já está em atendimento");
+        }
+        if (atual == StatusAgendamento.CONCLUIDO) {
+            return new IllegalArgumentException("Agendamento já foi concluído");
+        }
+        if (atual == StatusAgendamento.CANCELADO) {
+            return new IllegalArgumentException("Agendamento está cancelado");
+        }
+        if (novoStatus == StatusAgendamento.CONCLUIDO) {
+            return new IllegalArgumentException("Agendamento não está em atendimento");
+        }
+        return new IllegalArgumentException("Não é possível alterar o status de "
+                + atual.getDescricao() + " para " + novoStatus.getDescricao());
+    }
+
     @Override
     public List<Funcionario> findFuncionariosDisponiveisParaServico(Long servicoId) {
         if (servicoId == null) {
@@ -513,48 +710,72 @@ public class AgendamentoService implements AgendamentoServiceLocal {
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void iniciarAtendimento(Long agendamentoId) {
-        Agendamento agendamento = findAgendamentoById(agendamentoId);
-        if (agendamento == null) {
-            throw new IllegalArgumentException("Agendamento não encontrado");
-        }
-
-        if (agendamento.getStatus() == StatusAgendamento.EM_ATENDIMENTO) {
-            throw new IllegalArgumentException("Agendamento já está em atendimento");
-        }
-
-        if (agendamento.getStatus() == StatusAgendamento.CONCLUIDO) {
-            throw new IllegalArgumentException("Agendamento já foi concluído");
+        if (!statusService.transicionar(agendamentoId, StatusAgendamento.EM_ATENDIMENTO)) {
+            throw falhaTransicao(agendamentoId, StatusAgendamento.EM_ATENDIMENTO);
         }
-
-        if (agendamento.getStatus() == StatusAgendamento.CANCELADO) {
-            throw new IllegalArgumentException("Agendamento está cancelado");
-        }
-
-        agendamento.setStatus(StatusAgendamento.EM_ATENDIMENTO);
-        em.merge(agendamento);
-        em.flush();
+        em.createNamedQuery("Agendamento.registrarInicioAtendimento")
+                .setParameter("inicio", LocalDateTime.now())
+                .setParameter("id", agendamentoId)
+                .executeUpdate();
         LOGGER.log(Level.INFO, "Atendimento iniciado para o agendamento {0}", agendamentoId);
     }
 
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public void finalizarAtendimento(Long agendamentoId) {
-        Agendamento agendamento = findAgendamentoById(agendamentoId);
-        if (agendamento == null) {
-            throw new IllegalArgumentException("Agendamento não encontrado");
+        if (!statusService.transicionar(agendamentoId, StatusAgendamento.EM_ATENDIMENTO, StatusAgendamento.CONCLUIDO)) {
+            throw falhaTransicao(agendamentoId, StatusAgendamento.CONCLUIDO);
         }
 
-        if (agendamento.getStatus() != StatusAgendamento.EM_ATENDIMENTO) {
-            throw new IllegalArgumentException("Agendamento não está em atendimento");
+        LocalDateTime fim = LocalDateTime.now();
+        @SuppressWarnings("unchecked")
+        List<Object[]> linhas = em.createNativeQuery(
+                "UPDATE agendamento SET fim_atendimento = ?1 WHERE id = ?2 "
+                + "RETURNING servico_id, funcionario_id, inicio_atendimento")
+                .setParameter(1, fim)
+                .setParameter(2, agendamentoId)
+                .getResultList();
+        // Atendimentos iniciados antes do registro do início não entram na estimativa
+        if (!linhas.isEmpty() && linhas.get(0)[2] != null) {
+            Object[] linha = linhas.get(0);
+            concluidoEvent.fire(new AtendimentoConcluido(((Number) linha[0]).longValue(),
+                    linha[1] != null ? ((Number) linha[1]).longValue() : null,
+                    paraLocalDateTime(linha[2]), fim));
         }
-
-        agendamento.setStatus(StatusAgendamento.CONCLUIDO);
-        em.merge(agendamento);
-        em.flush();
         LOGGER.log(Level.INFO, "Atendimento finalizado para o agendamento {0}", agendamentoId);
     }
 
 
+    @Override
+    public List<AtendimentoConcluido> buscarDuracoesAtendimento(LocalDateTime desde) {
+        List<AtendimentoConcluido> duracoes = new ArrayList<>();
+        for (Object[] linha : em.createNamedQuery("Agendamento.findDuracoesAtendimento", Object[].class)
+                .setParameter("desde", desde)
+                .getResultList()) {
+            duracoes.add(new AtendimentoConcluido((Long) linha[0], (Long) linha[1],
+                    (LocalDateTime) linha[2], (LocalDateTime) linha[3]));
+        }
+        return duracoes;
+    }
+
+    @Override
+    public List<ItemFilaEstimativa> buscarFilaEstimativa() {
+        List<ItemFilaEstimativa> itens = new ArrayList<>();
+        for (Object[] linha : em.createNamedQuery("Agendamento.findFilaEstimativa", Object[].class)
+                .setParameter("data", LocalDate.now())
+                .setParameter("status", List.of(StatusAgendamento.EM_ATENDIMENTO, StatusAgendamento.CONFIRMADO))
+                .setParameter("agendado", StatusAgendamento.AGENDADO)
+                .getResultList()) {
+            itens.add(new ItemFilaEstimativa((Long) linha[0], (Long) linha[1], (Long) linha[2],
+                    linha[3] == StatusAgendamento.EM_ATENDIMENTO, (LocalDateTime) linha[4]));
+        }
+        return itens;
+    }
+
+    private static LocalDateTime paraLocalDateTime(Object valor) {
+        return valor instanceof java.sql.Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) valor;
+    }
+
     @Override
     public List<Agendamento> searchByCpfOrProtocoloOrName(String termo) {
         if (termo == null || termo.isBlank()) return new ArrayList<>();
@@ -7,6 +7,7 @@ import io.github.scognamiglioo.entities.StatusAgendamento;
 import io.github.scognamiglioo.entities.User;
 import jakarta.ejb.Local;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -26,11 +27,21 @@ public interface AgendamentoServiceLocal {
      */
     Agendamento createAgendamento(User user, Servico servico, Funcionario funcionario, LocalDate data, LocalTime hora);
 
+    /**
+     * Cria um novo agendamento com funcionário e observações em um único INSERT
+     */
+    Agendamento createAgendamento(User user, Servico servico, Funcionario funcionario, LocalDate data, LocalTime hora, String observacoes);
+
     /**
      * Cria um novo agendamento walk-in (atendimento presencial sem usuário registrado)
      */
     Agendamento createWalkinAgendamento(String nome, String cpf, String telefone, Servico servico, LocalDate data, LocalTime hora);
 
+    /**
+     * Cria um novo agendamento walk-in já atribuído a um funcionário
+     */
+    Agendamento createWalkinAgendamento(String nome, String cpf, String telefone, Servico servico, Funcionario funcionario, LocalDate data, LocalTime hora);
+
     /**
      * Atualiza um agendamento existente
      */
@@ -56,16 +67,38 @@ public interface AgendamentoServiceLocal {
      */
     List<Agendamento> getAllAgendamentos();
 
+    /**
+     * Lista todos os agendamentos, incluindo os arquivados se solicitado
+     */
+    List<Agendamento> getAllAgendamentos(boolean incluirHistorico);
+
+    /**
+     * Busca agendamentos pelos IDs, na ordem dos IDs informados. IDs que não
+     * existem mais são ignorados; os arquivados só são procurados se
+     * solicitado
+     */
+    List<Agendamento> findAgendamentosByIds(List<Long> ids, boolean incluirHistorico);
+
     /**
      * Lista agendamentos de um usuário específico
      */
     List<Agendamento> findAgendamentosByUser(Long userId);
 
+    /**
+     * Lista agendamentos de um usuário, incluindo os arquivados se solicitado
+     */
+    List<Agendamento> findAgendamentosByUser(Long userId, boolean incluirHistorico);
+
     /**
      * Lista agendamentos por username
      */
     List<Agendamento> findAgendamentosByUsername(String username);
 
+    /**
+     * Lista agendamentos por username, incluindo os arquivados se solicitado
+     */
+    List<Agendamento> findAgendamentosByUsername(String username, boolean incluirHistorico);
+
     /**
      * Lista agendamentos de um funcionário específico
      */
@@ -76,11 +109,21 @@ public interface AgendamentoServiceLocal {
      */
     List<Agendamento> findAgendamentosByStatus(StatusAgendamento status);
 
+    /**
+     * Lista agendamentos por status, incluindo os arquivados se solicitado
+     */
+    List<Agendamento> findAgendamentosByStatus(StatusAgendamento status, boolean incluirHistorico);
+
     /**
      * Lista agendamentos entre duas datas
      */
     List<Agendamento> findAgendamentosByDataBetween(LocalDate dataInicio, LocalDate dataFim);
 
+    /**
+     * Lista agendamentos entre duas datas, incluindo os arquivados se solicitado
+     */
+    List<Agendamento> findAgendamentosByDataBetween(LocalDate dataInicio, LocalDate dataFim, boolean incluirHistorico);
+
     /**
      * Lista agendamentos de um funcionário em uma data específica
      */
@@ -102,6 +145,13 @@ public interface AgendamentoServiceLocal {
      */
     void alterarStatus(Long agendamentoId, StatusAgendamento novoStatus);
 
+    /**
+     * Correção administrativa do status, sem a máquina de estados (reabre
+     * um agendamento concluído ou cancelado por engano). Quem chama deve
+     * garantir que o usuário é administrador.
+     */
+    void corrigirStatus(Long agendamentoId, StatusAgendamento novoStatus);
+
     /**
      * Lista funcionários disponíveis para um serviço
      */
@@ -151,14 +201,29 @@ public interface AgendamentoServiceLocal {
     List<Agendamento> findAgendamentosEmAtendimento();
 
     /**
-     * Inicia o atendimento de um agendamento (muda status para EM_ATENDIMENTO)
+     * Inicia o atendimento de um agendamento (muda status para EM_ATENDIMENTO
+     * e registra o horário de início)
      */
     void iniciarAtendimento(Long agendamentoId);
 
     /**
-     * Finaliza o atendimento de um agendamento (muda status para CONCLUIDO)
+     * Finaliza o atendimento de um agendamento (muda status para CONCLUIDO,
+     * registra o horário de fim e dispara {@link AtendimentoConcluido})
      */
     void finalizarAtendimento(Long agendamentoId);
+
+    /**
+     * Durações dos atendimentos finalizados a partir do momento informado,
+     * do mais antigo ao mais recente
+     */
+    List<AtendimentoConcluido> buscarDuracoesAtendimento(LocalDateTime desde);
+
+    /**
+     * Agendamentos de hoje em atendimento e na fila de espera, por horário,
+     * com apenas os campos usados na estimativa de espera. Walk-ins contam
+     * desde o registro (status AGENDADO): o paciente já está na unidade
+     */
+    List<ItemFilaEstimativa> buscarFilaEstimativa();
     
     public List<Agendamento> searchByCpfOrProtocoloOrName(String trim);
 }
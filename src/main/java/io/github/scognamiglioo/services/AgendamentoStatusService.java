@@ -0,0 +1,131 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serviço EJB que aplica as transições de status da máquina de estados
+ * definida em {@link StatusAgendamento}.
+ *
+ * Cada transição é um UPDATE ... WHERE id = ? AND status IN (...): quando dois
+ * atendentes clicam ao mesmo tempo, o banco serializa as duas escritas e apenas
+ * uma encontra o status de origem, sem locks na aplicação.
+ */
+@Stateless
+@LocalBean
+public class AgendamentoStatusService implements AgendamentoStatusServiceLocal {
+
+    private static final Logger LOGGER = Logger.getLogger(AgendamentoStatusService.class.getName());
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @Inject
+    private Event<AgendamentosAlterados> alteradosEvent;
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public boolean transicionar(Long agendamentoId, StatusAgendamento novoStatus) {
+        if (novoStatus == null) {
+            throw new IllegalArgumentException("Novo status é obrigatório");
+        }
+        return executar(agendamentoId, novoStatus.getOrigensPermitidas(), novoStatus);
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public boolean transicionar(Long agendamentoId, StatusAgendamento statusEsperado, StatusAgendamento novoStatus) {
+        if (statusEsperado == null || novoStatus == null) {
+            throw new IllegalArgumentException("Status esperado e novo status são obrigatórios");
+        }
+        if (!statusEsperado.podeTransicionarPara(novoStatus)) {
+            throw new IllegalArgumentException("Transição de " + statusEsperado.getDescricao()
+                    + " para " + novoStatus.getDescricao() + " não é permitida");
+        }
+        return executar(agendamentoId, Set.of(statusEsperado), novoStatus);
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public boolean corrigir(Long agendamentoId, StatusAgendamento novoStatus) {
+        if (novoStatus == null) {
+            throw new IllegalArgumentException("Novo status é obrigatório");
+        }
+        boolean corrigido = executar(agendamentoId, EnumSet.complementOf(EnumSet.of(novoStatus)), novoStatus);
+        if (corrigido) {
+            LOGGER.log(Level.WARNING, "Status do agendamento {0} corrigido para {1} fora da máquina de estados",
+                    new Object[]{agendamentoId, novoStatus});
+        }
+        return corrigido;
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public int marcarNaoComparecimento(LocalDateTime limite, int tamanhoLote) {
+        // Não usa as origens da máquina de estados: CONFIRMADO é o paciente que
+        // fez check-in e aguarda na fila do dia, e só vence em dias anteriores
+        LocalDate hoje = LocalDate.now();
+        List<Long> ids = em.createNamedQuery("Agendamento.findIdsVencidos", Long.class)
+                .setParameter("agendado", StatusAgendamento.AGENDADO)
+                .setParameter("confirmado", StatusAgendamento.CONFIRMADO)
+                .setParameter("dataLimite", limite.toLocalDate())
+                .setParameter("horaLimite", limite.toLocalTime())
+                .setParameter("hoje", hoje)
+                .setMaxResults(tamanhoLote)
+                .getResultList();
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // O filtro é repetido no UPDATE: um agendamento confirmado ou iniciado
+        // entre a seleção e a escrita não é sobrescrito
+        int atualizados = em.createNamedQuery("Agendamento.marcarNaoComparecimento")
+                .setParameter("status", StatusAgendamento.NAO_COMPARECEU)
+                .setParameter("atualizadoEm", hoje)
+                .setParameter("ids", ids)
+                .setParameter("agendado", StatusAgendamento.AGENDADO)
+                .setParameter("confirmado", StatusAgendamento.CONFIRMADO)
+                .setParameter("dataLimite", limite.toLocalDate())
+                .setParameter("horaLimite", limite.toLocalTime())
+                .setParameter("hoje", hoje)
+                .executeUpdate();
+        alteradosEvent.fire(AgendamentosAlterados.porIds(ids));
+        return atualizados;
+    }
+
+    private boolean executar(Long agendamentoId, Set<StatusAgendamento> origens, StatusAgendamento novoStatus) {
+        if (agendamentoId == null || origens.isEmpty()) {
+            return false;
+        }
+
+        int atualizados = em.createNamedQuery("Agendamento.transicionarStatus")
+                .setParameter("status", novoStatus)
+                .setParameter("atualizadoEm", LocalDate.now())
+                .setParameter("id", agendamentoId)
+                .setParameter("origens", origens)
+                .executeUpdate();
+
+        if (atualizados == 1) {
+            alteradosEvent.fire(AgendamentosAlterados.porIds(List.of(agendamentoId)));
+            LOGGER.log(Level.INFO, "Agendamento {0} transicionado para {1}",
+                    new Object[]{agendamentoId, novoStatus});
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.ejb.Local;
+import java.time.LocalDateTime;
+
+/**
+ * Interface local para as transições de status de agendamentos
+ */
+@Local
+public interface AgendamentoStatusServiceLocal {
+
+    /**
+     * Aplica a transição para o novo status se o status atual for uma origem
+     * permitida pela máquina de estados. A verificação e a escrita acontecem
+     * em um único UPDATE condicional.
+     *
+     * @return true se esta chamada realizou a transição, false se o
+     * agendamento não existe ou já estava em um status incompatível
+     */
+    boolean transicionar(Long agendamentoId, StatusAgendamento novoStatus);
+
+    /**
+     * Aplica a transição somente se o agendamento ainda estiver no status
+     * esperado (compare-and-set)
+     *
+     * @return true se esta chamada realizou a transição
+     */
+    boolean transicionar(Long agendamentoId, StatusAgendamento statusEsperado, StatusAgendamento novoStatus);
+
+    /**
+     * Correção administrativa: grava o novo status a partir de qualquer
+     * outro, inclusive CONCLUIDO e CANCELADO, ignorando a máquina de
+     * estados. Para desfazer um registro errado, não para o fluxo normal.
+     *
+     * @return true se esta chamada alterou o status
+     */
+    boolean corrigir(Long agendamentoId, StatusAgendamento novoStatus);
+
+    /**
+     * Marca como NAO_COMPARECEU um lote de agendamentos AGENDADO cujo horário
+     * é anterior ao limite e de CONFIRMADO de dias anteriores (os de hoje
+     * estão na fila de espera). Cada lote roda em transação própria.
+     *
+     * @return quantidade de agendamentos marcados neste lote
+     */
+    int marcarNaoComparecimento(LocalDateTime limite, int tamanhoLote);
+}
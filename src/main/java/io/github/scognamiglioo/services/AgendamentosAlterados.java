@@ -0,0 +1,41 @@
+package io.github.scognamiglioo.services;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evento CDI disparado quando agendamentos são criados, alterados ou
+ * removidos. Identifica os agendamentos pelo ID ou diretamente pelo dia,
+ * quando ele já é conhecido; as estatísticas recalculam apenas esses dias.
+ */
+public class AgendamentosAlterados {
+
+    private final Set<Long> ids;
+    private final Set<LocalDate> dias;
+
+    private AgendamentosAlterados(Set<Long> ids, Set<LocalDate> dias) {
+        this.ids = ids;
+        this.dias = dias;
+    }
+
+    public static AgendamentosAlterados porIds(Collection<Long> ids) {
+        return new AgendamentosAlterados(Set.copyOf(ids), Set.of());
+    }
+
+    public static AgendamentosAlterados porDia(LocalDate dia) {
+        return new AgendamentosAlterados(Set.of(), Set.of(dia));
+    }
+
+    public static AgendamentosAlterados porDias(Collection<LocalDate> dias) {
+        return new AgendamentosAlterados(Set.of(), Set.copyOf(dias));
+    }
+
+    public Set<Long> getIds() {
+        return ids;
+    }
+
+    public Set<LocalDate> getDias() {
+        return dias;
+    }
+}
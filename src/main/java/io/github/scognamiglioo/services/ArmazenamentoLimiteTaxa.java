@@ -0,0 +1,22 @@
+package io.github.scognamiglioo.services;
+
+/**
+ * Armazenamento dos baldes de tokens usados pelo {@link LimitadorTaxa}.
+ *
+ * A implementação padrão ({@link ArmazenamentoLimiteTaxaMemoria}) mantém os
+ * baldes na memória de cada nó. Para um limite compartilhado entre nós basta
+ * fornecer outro bean CDI desta interface marcado com @Alternative e
+ * @Priority; o consumo precisa ser atômico no armazenamento compartilhado.
+ */
+public interface ArmazenamentoLimiteTaxa {
+
+    /**
+     * Tenta consumir um token do balde da chave, criando-o cheio se não existir
+     *
+     * @param chave identificador do balde (regra + cliente)
+     * @param capacidade máximo de tokens acumulados (rajada permitida)
+     * @param tokensPorSegundo taxa de reposição
+     * @return true se havia token disponível
+     */
+    boolean consumir(String chave, int capacidade, double tokensPorSegundo);
+}
@@ -0,0 +1,76 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Baldes de tokens mantidos em memória, válidos apenas para este nó.
+ *
+ * Um balde que ficou ocioso tempo suficiente para encher equivale a um balde
+ * inexistente; esses são descartados periodicamente para que o mapa não
+ * cresça com clientes que não voltaram.
+ */
+@ApplicationScoped
+public class ArmazenamentoLimiteTaxaMemoria implements ArmazenamentoLimiteTaxa {
+
+    // Operações entre duas limpezas dos baldes ociosos
+    private static final int INTERVALO_LIMPEZA = 4096;
+
+    private final Map<String, Balde> baldes = new ConcurrentHashMap<>();
+    private final AtomicInteger operacoes = new AtomicInteger();
+
+    @Override
+    public boolean consumir(String chave, int capacidade, double tokensPorSegundo) {
+        long agora = System.nanoTime();
+        if (operacoes.incrementAndGet() % INTERVALO_LIMPEZA == 0) {
+            baldes.values().removeIf(balde -> balde.cheio(agora));
+        }
+
+        boolean[] permitido = new boolean[1];
+        baldes.compute(chave, (k, balde) -> {
+            Balde atual = balde != null ? balde : new Balde(capacidade, tokensPorSegundo, agora);
+            permitido[0] = atual.consumir(agora);
+            return atual;
+        });
+        return permitido[0];
+    }
+
+    public int getQuantidadeBaldes() {
+        return baldes.size();
+    }
+
+    /**
+     * Estado de um balde; só é alterado dentro de compute, que já serializa
+     * o acesso por chave
+     */
+    private static final class Balde {
+
+        private final int capacidade;
+        private final double tokensPorNano;
+        private double tokens;
+        private long ultimaReposicao;
+
+        private Balde(int capacidade, double tokensPorSegundo, long agora) {
+            this.capacidade = capacidade;
+            this.tokensPorNano = tokensPorSegundo / 1_000_000_000d;
+            this.tokens = capacidade;
+            this.ultimaReposicao = agora;
+        }
+
+        private boolean consumir(long agora) {
+            tokens = Math.min(capacidade, tokens + (agora - ultimaReposicao) * tokensPorNano);
+            ultimaReposicao = agora;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        private boolean cheio(long agora) {
+            return tokens + (agora - ultimaReposicao) * tokensPorNano >= capacidade;
+        }
+    }
+}
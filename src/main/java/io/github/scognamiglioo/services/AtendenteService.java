@@ -7,11 +7,19 @@ package io.github.scognamiglioo.services;
 import io.github.scognamiglioo.entities.Funcionario;
 import io.github.scognamiglioo.entities.StatusAtendente;
 import io.github.scognamiglioo.entities.StatusAtendenteAtual;
+import jakarta.ejb.EJB;
 import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.transaction.Transactional;
+import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 /**
@@ -21,38 +29,122 @@ import java.util.List;
 @Stateless
 public class AtendenteService implements AtendenteServiceLocal {
 
+    // Atualiza e devolve a situação anterior na mesma instrução (PostgreSQL)
+    private static final String ATUALIZAR_SITUACAO =
+            "UPDATE status_atendente_atual s SET situacao = ?1, atualizacao = ?2 "
+            + "FROM status_atendente_atual anterior "
+            + "WHERE s.id = anterior.id AND s.id_funcionario = ?3 "
+            + "RETURNING anterior.situacao, anterior.atualizacao";
+
     @PersistenceContext
     private EntityManager em;
 
+    @EJB
+    private CacheStatusAtendentes cacheStatus;
+
+    @EJB
+    private HistoricoStatusAtendenteBuffer historicoBuffer;
+
+    @EJB
+    private ProdutividadeAtendenteServiceLocal produtividadeService;
+
+    @Inject
+    private Event<StatusAtendenteAlterado> statusAlteradoEvent;
+
+    /**
+     * Atualiza o status atual com um único UPDATE; a linha só é criada na
+     * primeira mudança do atendente. O histórico não é gravado aqui: o evento
+     * disparado após o commit atualiza o cache e entra no lote do
+     * {@link HistoricoStatusAtendenteBuffer}.
+     */
     @Override
     @Transactional
+    @SuppressWarnings("unchecked")
     public void alterarStatusAtendente(Long idFuncionario, StatusAtendente novoStatus) {
-        Funcionario funcionario = em.find(Funcionario.class, idFuncionario);
-        if (funcionario == null) {
-            throw new IllegalArgumentException("Funcionário não encontrado: " + idFuncionario);
+        Instant agora = Instant.now();
+
+        List<Object[]> anteriores = em.createNativeQuery(ATUALIZAR_SITUACAO)
+                .setParameter(1, novoStatus.getSituacao().name())
+                .setParameter(2, agora)
+                .setParameter(3, idFuncionario)
+                .getResultList();
+
+        if (!anteriores.isEmpty()) {
+            Object[] anterior = anteriores.get(0);
+            statusAlteradoEvent.fire(new StatusAtendenteAlterado(idFuncionario, novoStatus.getSituacao(), agora,
+                    StatusAtendente.Situacao.valueOf((String) anterior[0]), paraInstant(anterior[1])));
+        } else {
+            Funcionario funcionario = em.find(Funcionario.class, idFuncionario);
+            if (funcionario == null) {
+                throw new IllegalArgumentException("Funcionário não encontrado: " + idFuncionario);
+            }
+            StatusAtendenteAtual atual = new StatusAtendenteAtual();
+            atual.setFuncionario(funcionario);
+            atual.setSituacao(novoStatus.getSituacao());
+            atual.setAtualizacao(agora);
+            em.persist(atual);
+            statusAlteradoEvent.fire(new StatusAtendenteAlterado(idFuncionario, novoStatus.getSituacao(), agora));
+        }
+    }
+
+    private static Instant paraInstant(Object valor) {
+        if (valor instanceof Instant instante) {
+            return instante;
+        }
+        if (valor instanceof OffsetDateTime dataHora) {
+            return dataHora.toInstant();
+        }
+        return ((Timestamp) valor).toInstant();
+    }
+
+    /**
+     * Grava um lote de mudanças no histórico com um único INSERT de várias
+     * linhas e acumula, na mesma transação, os tempos por situação
+     */
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public void gravarHistorico(List<StatusAtendenteAlterado> mudancas) {
+        if (mudancas.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO status_atendente (situacao, atualizacao, id_funcionario) VALUES ");
+        for (int i = 0; i < mudancas.size(); i++) {
+            int base = i * 3;
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(?").append(base + 1)
+                    .append(", ?").append(base + 2)
+                    .append(", ?").append(base + 3).append(')');
         }
 
-        // --- Persistir histórico ---
-        novoStatus.setFuncionario(funcionario);
-        novoStatus.setAtualizacao(Instant.now());
-        em.persist(novoStatus);
+        Query insert = em.createNativeQuery(sql.toString());
+        for (int i = 0; i < mudancas.size(); i++) {
+            StatusAtendenteAlterado mudanca = mudancas.get(i);
+            int base = i * 3;
+            insert.setParameter(base + 1, mudanca.getSituacao().name());
+            insert.setParameter(base + 2, mudanca.getAtualizacao());
+            insert.setParameter(base + 3, mudanca.getFuncionarioId());
+        }
+        insert.executeUpdate();
+
+        produtividadeService.acumular(mudancas);
+    }
 
-        // --- Atualizar status atual ---
-        StatusAtendenteAtual atual = em.createQuery(
-                "SELECT s FROM StatusAtendenteAtual s WHERE s.funcionario.id = :id",
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public SituacaoAtendente buscarSituacaoAtendente(Long idFuncionario) {
+        return em.createQuery(
+                "SELECT s FROM StatusAtendenteAtual s " +
+                "JOIN FETCH s.funcionario " +
+                "JOIN FETCH s.funcionario.user " +
+                "LEFT JOIN FETCH s.funcionario.cargo " +
+                "WHERE s.funcionario.id = :id",
                 StatusAtendenteAtual.class)
                 .setParameter("id", idFuncionario)
                 .getResultStream()
                 .findFirst()
-                .orElseGet(() -> {
-                    StatusAtendenteAtual s = new StatusAtendenteAtual();
-                    s.setFuncionario(funcionario);
-                    return s;
-                });
-
-        atual.setSituacao(novoStatus.getSituacao());
-        atual.setAtualizacao(Instant.now());
-        em.merge(atual); // merge insere ou atualiza
+                .map(SituacaoAtendente::de)
+                .orElse(null);
     }
 
     @Override
@@ -70,17 +162,13 @@ public class AtendenteService implements AtendenteServiceLocal {
     
     @Override
     public StatusAtendente.Situacao buscarStatusAtual(Long idFuncionario) {
-        return em.createQuery(
-                "SELECT s.situacao FROM StatusAtendenteAtual s WHERE s.funcionario.id = :id",
-                StatusAtendente.Situacao.class)
-                .setParameter("id", idFuncionario)
-                .getResultStream()
-                .findFirst()
-                .orElse(StatusAtendente.Situacao.INDISPONIVEL);
+        return cacheStatus.obterSituacao(idFuncionario);
     }
     
     @Override
     public List<StatusAtendente> buscarHistorico(Long idFuncionario) {
+        // Inclui as mudanças que ainda estão na fila de gravação
+        historicoBuffer.descarregar();
         return em.createQuery(
                 "SELECT s FROM StatusAtendente s WHERE s.funcionario.id = :id ORDER BY s.atualizacao DESC",
                 StatusAtendente.class)
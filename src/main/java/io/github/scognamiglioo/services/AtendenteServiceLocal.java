@@ -25,6 +25,17 @@ public interface AtendenteServiceLocal {
     List<StatusAtendente> buscarHistorico(Long idFuncionario); 
     
     public List<StatusAtendenteAtual> buscarTodosStatusAtendentes();
+
+    /**
+     * Situação atual de um atendente com nome e cargo, ou null se ele
+     * ainda não tiver status registrado
+     */
+    SituacaoAtendente buscarSituacaoAtendente(Long idFuncionario);
+
+    /**
+     * Grava no histórico um lote de mudanças de situação
+     */
+    void gravarHistorico(List<StatusAtendenteAlterado> mudancas);
 }
 
 
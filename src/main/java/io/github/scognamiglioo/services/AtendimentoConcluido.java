@@ -0,0 +1,37 @@
+package io.github.scognamiglioo.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Evento CDI disparado quando um atendimento é finalizado, com a duração
+ * efetiva (de EM_ATENDIMENTO a CONCLUIDO). Também é usado para carregar as
+ * durações recentes na subida do {@link EstimativaEsperaService}.
+ */
+public class AtendimentoConcluido {
+
+    private final Long servicoId;
+    private final Long funcionarioId;
+    private final Duration duracao;
+
+    public AtendimentoConcluido(Long servicoId, Long funcionarioId, LocalDateTime inicio, LocalDateTime fim) {
+        this.servicoId = servicoId;
+        this.funcionarioId = funcionarioId;
+        this.duracao = Duration.between(inicio, fim);
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    /**
+     * Pode ser nulo para agendamentos sem funcionário atribuído
+     */
+    public Long getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public Duration getDuracao() {
+        return duracao;
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import io.github.scognamiglioo.entities.StatusAtendenteAtual;
+import io.github.scognamiglioo.websocket.PainelAtendentesService;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Situação atual de todos os atendentes, em memória.
+ *
+ * Carregada uma vez na subida e atualizada pelos eventos
+ * {@link StatusAtendenteAlterado} após cada commit; as leituras (tela da
+ * recepção, painel dos atendentes) não vão ao banco. A cada 10 minutos o
+ * mapa é conferido com a tabela status_atendente_atual, o que cobre
+ * mudanças feitas por outros nós e alterações de nome ou cargo.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class CacheStatusAtendentes {
+
+    private static final Logger LOGGER = Logger.getLogger(CacheStatusAtendentes.class.getName());
+
+    private static final Comparator<SituacaoAtendente> POR_NOME =
+            Comparator.comparing(SituacaoAtendente::getNome, String.CASE_INSENSITIVE_ORDER);
+
+    @EJB
+    private AtendenteServiceLocal atendenteService;
+
+    private final Map<Long, SituacaoAtendente> situacoes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        recarregar();
+    }
+
+    @Schedule(hour = "*", minute = "*/10", persistent = false)
+    public void recarregar() {
+        Instant inicio = Instant.now();
+        try {
+            List<StatusAtendenteAtual> todos = atendenteService.buscarTodosStatusAtendentes();
+            List<Long> ids = new ArrayList<>(todos.size());
+            for (StatusAtendenteAtual status : todos) {
+                SituacaoAtendente lida = SituacaoAtendente.de(status);
+                ids.add(lida.getFuncionarioId());
+                // Um evento processado durante a leitura pode ser mais novo que o banco
+                situacoes.merge(lida.getFuncionarioId(), lida,
+                        (atual, nova) -> nova.maisRecenteQue(atual) ? nova : atual);
+            }
+            situacoes.values().removeIf(s -> !ids.contains(s.getFuncionarioId())
+                    && s.getAtualizacao().isBefore(inicio));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao recarregar situação dos atendentes", e);
+        }
+    }
+
+    public void aoAlterarStatus(@Observes(during = TransactionPhase.AFTER_SUCCESS) StatusAtendenteAlterado evento) {
+        SituacaoAtendente atualizada = situacoes.computeIfPresent(evento.getFuncionarioId(),
+                (id, anterior) -> evento.getAtualizacao().isBefore(anterior.getAtualizacao())
+                        ? anterior
+                        : anterior.comSituacao(evento.getSituacao(), evento.getAtualizacao()));
+
+        if (atualizada == null) {
+            // Primeiro status do atendente: busca nome e cargo uma única vez
+            atualizada = atendenteService.buscarSituacaoAtendente(evento.getFuncionarioId());
+            if (atualizada == null) {
+                return;
+            }
+            situacoes.merge(atualizada.getFuncionarioId(), atualizada,
+                    (atual, nova) -> nova.maisRecenteQue(atual) ? nova : atual);
+        }
+
+        PainelAtendentesService.getInstance().publicar(atualizada);
+    }
+
+    public StatusAtendente.Situacao obterSituacao(Long funcionarioId) {
+        SituacaoAtendente situacao = situacoes.get(funcionarioId);
+        return situacao != null ? situacao.getSituacao() : StatusAtendente.Situacao.INDISPONIVEL;
+    }
+
+    public SituacaoAtendente obter(Long funcionarioId) {
+        return situacoes.get(funcionarioId);
+    }
+
+    /**
+     * Todos os atendentes, ordenados por nome
+     */
+    public List<SituacaoAtendente> listar() {
+        List<SituacaoAtendente> lista = new ArrayList<>(situacoes.values());
+        lista.sort(POR_NOME);
+        return lista;
+    }
+}
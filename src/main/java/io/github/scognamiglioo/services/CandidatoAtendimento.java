@@ -0,0 +1,94 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Atendente apto a receber um atendimento, com a situação e a carga usadas
+ * para ordená-lo. Imutável.
+ */
+public final class CandidatoAtendimento implements Serializable {
+
+    /**
+     * Disponível antes de ocupado; atendentes sem situação registrada vêm
+     * depois dos ocupados e os em pausa por último. Empate: quem fica livre
+     * primeiro
+     */
+    public static final Comparator<CandidatoAtendimento> MELHOR_PRIMEIRO =
+            Comparator.comparingInt(CandidatoAtendimento::getPrioridade)
+                    .thenComparingInt(CandidatoAtendimento::getMinutosParaLivre)
+                    .thenComparing(CandidatoAtendimento::getFuncionarioId);
+
+    private final QualificacaoAtendente qualificacao;
+    private final StatusAtendente.Situacao situacao;
+    private final int minutosParaLivre;
+
+    public CandidatoAtendimento(QualificacaoAtendente qualificacao, StatusAtendente.Situacao situacao,
+            int minutosParaLivre) {
+        this.qualificacao = qualificacao;
+        this.situacao = situacao;
+        this.minutosParaLivre = minutosParaLivre;
+    }
+
+    /**
+     * Indica se o atendente pode receber atendimentos (não está indisponível)
+     */
+    public static boolean apto(StatusAtendente.Situacao situacao) {
+        return situacao != StatusAtendente.Situacao.INDISPONIVEL;
+    }
+
+    int getPrioridade() {
+        if (situacao == null) {
+            return 2;
+        }
+        return switch (situacao) {
+            case DISPONIVEL -> 0;
+            case OCUPADO -> 1;
+            case PAUSA -> 3;
+            case INDISPONIVEL -> 4;
+        };
+    }
+
+    public Long getFuncionarioId() {
+        return qualificacao.getFuncionarioId();
+    }
+
+    public String getNome() {
+        return qualificacao.getNome();
+    }
+
+    public Long getLocalizacaoId() {
+        return qualificacao.getLocalizacaoId();
+    }
+
+    public String getLocalizacaoNome() {
+        return qualificacao.getLocalizacaoNome();
+    }
+
+    public StatusAtendente.Situacao getSituacao() {
+        return situacao;
+    }
+
+    public int getMinutosParaLivre() {
+        return minutosParaLivre;
+    }
+
+    /**
+     * Resumo para exibição: "Ana (Disponível, livre agora) - Sala 2"
+     */
+    public String getDescricao() {
+        String estado = situacao != null ? descricao(situacao) : "Sem status";
+        String livre = minutosParaLivre == 0 ? "livre agora" : "livre em ~" + minutosParaLivre + " min";
+        return getNome() + " (" + estado + ", " + livre + ") - " + getLocalizacaoNome();
+    }
+
+    private static String descricao(StatusAtendente.Situacao situacao) {
+        return switch (situacao) {
+            case DISPONIVEL -> "Disponível";
+            case OCUPADO -> "Ocupado";
+            case PAUSA -> "Em pausa";
+            case INDISPONIVEL -> "Indisponível";
+        };
+    }
+}
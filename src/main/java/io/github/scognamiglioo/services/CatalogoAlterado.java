@@ -0,0 +1,19 @@
+package io.github.scognamiglioo.services;
+
+/**
+ * Evento CDI disparado quando serviços, localizações, cargos, funcionários
+ * ou associações funcionário-serviço-localização são gravados, para que o
+ * {@link CatalogoCache} seja descartado
+ */
+public class CatalogoAlterado {
+
+    private final Class<?> tipo;
+
+    public CatalogoAlterado(Class<?> tipo) {
+        this.tipo = tipo;
+    }
+
+    public Class<?> getTipo() {
+        return tipo;
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Funcionario;
+import io.github.scognamiglioo.entities.FuncionarioServico;
+import io.github.scognamiglioo.entities.Localizacao;
+import io.github.scognamiglioo.entities.Servico;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cadastros de referência compartilhados por todas as telas: serviços,
+ * localizações, funcionários (com usuário e cargo) e associações
+ * funcionário-serviço-localização.
+ *
+ * Antes cada controller @ViewScoped carregava a própria cópia dessas listas
+ * e a guardava na sessão. Aqui há uma única cópia imutável, recarregada sob
+ * demanda quando expira (CATALOGO_VALIDADE_SEGUNDOS, padrão 300) ou quando
+ * alguma dessas entidades é gravada ({@link CatalogoAlterado}). As
+ * entidades devolvidas são compartilhadas entre sessões e não devem ser
+ * alteradas; para editar, busque-as pelo serviço correspondente.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class CatalogoCache {
+
+    private static final Logger LOGGER = Logger.getLogger(CatalogoCache.class.getName());
+
+    private static final Comparator<Localizacao> POR_NOME_LOCALIZACAO =
+            Comparator.comparing(Localizacao::getNome, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private static final Comparator<Funcionario> POR_NOME_FUNCIONARIO =
+            Comparator.comparing(Funcionario::getNome, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    @EJB
+    private ServicoServiceLocal servicoService;
+
+    @EJB
+    private LocalizacaoServiceLocal localizacaoService;
+
+    @EJB
+    private FuncionarioServicoServiceLocal funcionarioServicoService;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private volatile Catalogo catalogo;
+    private volatile long validadeMs;
+
+    private final AtomicLong totalCarregamentos = new AtomicLong();
+    private final AtomicLong totalInvalidacoes = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        carregarConfiguracao();
+    }
+
+    public void aoRecarregarConfiguracao(@Observes ConfiguracaoRecarregada evento) {
+        carregarConfiguracao();
+    }
+
+    public void aoAlterarCatalogo(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogoAlterado evento) {
+        invalidar();
+    }
+
+    /**
+     * Descarta o catálogo; o próximo acesso o recarrega do banco
+     */
+    public void invalidar() {
+        catalogo = null;
+        totalInvalidacoes.incrementAndGet();
+    }
+
+    public List<Servico> getServicos() {
+        return atual().servicos;
+    }
+
+    public List<Localizacao> getLocalizacoes() {
+        return atual().localizacoes;
+    }
+
+    /**
+     * Todos os funcionários, ativos ou não, ordenados pelo nome
+     */
+    public List<Funcionario> getFuncionarios() {
+        return atual().funcionarios;
+    }
+
+    public List<FuncionarioServico> getAssociacoes() {
+        return atual().associacoes;
+    }
+
+    /**
+     * Localizações onde o serviço é prestado, ordenadas pelo nome
+     */
+    public List<Localizacao> getLocalizacoesPorServico(Long servicoId) {
+        if (servicoId == null) {
+            return List.of();
+        }
+        return atual().localizacoesPorServico.getOrDefault(servicoId, List.of());
+    }
+
+    /**
+     * Funcionários ativos que prestam o serviço na localização, ordenados
+     * pelo nome
+     */
+    public List<Funcionario> getFuncionariosPorServicoELocalizacao(Long servicoId, Long localizacaoId) {
+        if (servicoId == null || localizacaoId == null) {
+            return List.of();
+        }
+        return atual().funcionariosPorServicoELocalizacao
+                .getOrDefault(chave(servicoId, localizacaoId), List.of());
+    }
+
+    public long getTotalCarregamentos() {
+        return totalCarregamentos.get();
+    }
+
+    public long getTotalInvalidacoes() {
+        return totalInvalidacoes.get();
+    }
+
+    private Catalogo atual() {
+        Catalogo atual = catalogo;
+        if (atual != null && System.currentTimeMillis() - atual.carregadoEm < validadeMs) {
+            return atual;
+        }
+        synchronized (this) {
+            atual = catalogo;
+            if (atual == null || System.currentTimeMillis() - atual.carregadoEm >= validadeMs) {
+                // Uma gravação durante a carga pode tê-la tornado obsoleta:
+                // nesse caso ela atende só este acesso e não fica em cache
+                long invalidacoes = totalInvalidacoes.get();
+                atual = carregar();
+                if (totalInvalidacoes.get() == invalidacoes) {
+                    catalogo = atual;
+                }
+            }
+            return atual;
+        }
+    }
+
+    private Catalogo carregar() {
+        long inicio = System.currentTimeMillis();
+        Catalogo novo = new Catalogo(
+                servicoService.getAllServicos(),
+                localizacaoService.getAllLocalizacoes(),
+                funcionarioServicoService.getAllFuncionariosWithCargo(),
+                funcionarioServicoService.getAllAssociacoes());
+        totalCarregamentos.incrementAndGet();
+        LOGGER.log(Level.FINE, "Catálogo carregado em {0} ms ({1} associações)",
+                new Object[]{System.currentTimeMillis() - inicio, novo.associacoes.size()});
+        return novo;
+    }
+
+    private void carregarConfiguracao() {
+        validadeMs = Math.max(1, configuracao.getInt("CATALOGO_VALIDADE_SEGUNDOS", 300)) * 1000L;
+    }
+
+    private static String chave(Long servicoId, Long localizacaoId) {
+        return servicoId + "|" + localizacaoId;
+    }
+
+    /**
+     * Uma carga completa do catálogo, com os índices derivados das associações
+     */
+    private static final class Catalogo {
+
+        private final long carregadoEm = System.currentTimeMillis();
+        private final List<Servico> servicos;
+        private final List<Localizacao> localizacoes;
+        private final List<Funcionario> funcionarios;
+        private final List<FuncionarioServico> associacoes;
+        private final Map<Long, List<Localizacao>> localizacoesPorServico;
+        private final Map<String, List<Funcionario>> funcionariosPorServicoELocalizacao;
+
+        private Catalogo(List<Servico> servicos, List<Localizacao> localizacoes,
+                List<Funcionario> funcionarios, List<FuncionarioServico> associacoes) {
+            this.servicos = List.copyOf(servicos);
+            this.localizacoes = List.copyOf(localizacoes);
+            this.funcionarios = List.copyOf(funcionarios);
+            this.associacoes = List.copyOf(associacoes);
+
+            Map<Long, Map<Long, Localizacao>> locais = new HashMap<>();
+            Map<String, Map<Long, Funcionario>> profissionais = new HashMap<>();
+            for (FuncionarioServico associacao : associacoes) {
+                Long servicoId = associacao.getServico().getId();
+                Localizacao localizacao = associacao.getLocalizacao();
+                locais.computeIfAbsent(servicoId, id -> new LinkedHashMap<>())
+                        .putIfAbsent(localizacao.getId(), localizacao);
+
+                Funcionario funcionario = associacao.getFuncionario();
+                if (funcionario.isAtivo()) {
+                    profissionais.computeIfAbsent(chave(servicoId, localizacao.getId()), c -> new LinkedHashMap<>())
+                            .putIfAbsent(funcionario.getId(), funcionario);
+                }
+            }
+
+            Map<Long, List<Localizacao>> porServico = new HashMap<>();
+            locais.forEach((servicoId, mapa) -> porServico.put(servicoId, ordenado(mapa.values(), POR_NOME_LOCALIZACAO)));
+            this.localizacoesPorServico = Map.copyOf(porServico);
+
+            Map<String, List<Funcionario>> porServicoELocal = new HashMap<>();
+            profissionais.forEach((chave, mapa) -> porServicoELocal.put(chave, ordenado(mapa.values(), POR_NOME_FUNCIONARIO)));
+            this.funcionariosPorServicoELocalizacao = Map.copyOf(porServicoELocal);
+        }
+
+        private static <T> List<T> ordenado(Collection<T> valores, Comparator<T> ordem) {
+            List<T> lista = new ArrayList<>(valores);
+            lista.sort(ordem);
+            return List.copyOf(lista);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA das entidades guardadas no {@link CatalogoCache}. DELETEs em
+ * lote não passam por aqui; quem os executa dispara {@link CatalogoAlterado}.
+ */
+public class CatalogoListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aoGravar(Object entidade) {
+        CDI.current().getBeanManager().getEvent()
+                .select(CatalogoAlterado.class)
+                .fire(new CatalogoAlterado(entidade.getClass()));
+    }
+}
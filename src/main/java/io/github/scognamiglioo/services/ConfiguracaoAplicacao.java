@@ -0,0 +1,58 @@
+package io.github.scognamiglioo.services;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parâmetros operacionais da aplicação lidos do arquivo .env (ou das
+ * variáveis de ambiente). O arquivo é carregado uma única vez na subida;
+ * chaves ausentes ou inválidas usam o valor padrão informado.
+ *
+ * {@link #recarregar()} relê o arquivo e notifica os interessados com o
+ * evento {@link ConfiguracaoRecarregada}.
+ */
+@ApplicationScoped
+public class ConfiguracaoAplicacao {
+
+    private static final Logger LOGGER = Logger.getLogger(ConfiguracaoAplicacao.class.getName());
+
+    @Inject
+    private Event<ConfiguracaoRecarregada> recarregadaEvent;
+
+    private volatile Dotenv dotenv;
+
+    @PostConstruct
+    public void init() {
+        dotenv = Dotenv.configure().ignoreIfMissing().load();
+    }
+
+    public void recarregar() {
+        dotenv = Dotenv.configure().ignoreIfMissing().load();
+        LOGGER.log(Level.INFO, "Configuração recarregada do arquivo .env");
+        recarregadaEvent.fire(new ConfiguracaoRecarregada());
+    }
+
+    public String get(String chave, String padrao) {
+        String valor = dotenv.get(chave);
+        return (valor == null || valor.isBlank()) ? padrao : valor.trim();
+    }
+
+    public int getInt(String chave, int padrao) {
+        String valor = dotenv.get(chave);
+        if (valor == null || valor.isBlank()) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Valor inválido para {0}: {1}. Usando {2}",
+                    new Object[]{chave, valor, padrao});
+            return padrao;
+        }
+    }
+}
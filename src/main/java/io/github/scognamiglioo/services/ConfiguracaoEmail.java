@@ -0,0 +1,125 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.mail.Authenticator;
+import jakarta.mail.PasswordAuthentication;
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import java.io.UnsupportedEncodingException;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Configuração de envio de e-mail, carregada e validada uma única vez.
+ *
+ * Usa a sessão java:/MailGun do servidor quando disponível; caso contrário
+ * monta uma sessão SMTP a partir das chaves SMTP_* do .env. Com
+ * EMAIL_SESSAO=manual a sessão do .env é usada mesmo havendo a do servidor,
+ * o que permite apontar o envio para um servidor SMTP local. A sessão e o
+ * remetente ficam em cache e são refeitos apenas em {@link #recarregar()}
+ * ou quando a configuração da aplicação é recarregada.
+ *
+ * A ausência de EMAIL impede o deploy, em vez de falhar a cada envio.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ConfiguracaoEmail {
+
+    private static final Logger LOGGER = Logger.getLogger(ConfiguracaoEmail.class.getName());
+
+    private static final String NOME_REMETENTE = "Sistema de Agendamento";
+
+    @Resource(name = "java:/MailGun")
+    private Session sessaoServidor;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private volatile Session sessao;
+    private volatile InternetAddress remetente;
+
+    @PostConstruct
+    public void init() {
+        carregar();
+    }
+
+    /**
+     * Relê as configurações de e-mail. Se a nova configuração for inválida,
+     * a anterior é mantida e o erro é propagado.
+     */
+    public void recarregar() {
+        carregar();
+        LOGGER.log(Level.INFO, "Configuração de e-mail recarregada");
+    }
+
+    public void aoRecarregarConfiguracao(@Observes ConfiguracaoRecarregada evento) {
+        recarregar();
+    }
+
+    public Session getSession() {
+        return sessao;
+    }
+
+    public InternetAddress getRemetente() {
+        return remetente;
+    }
+
+    private void carregar() {
+        String email = configuracao.get("EMAIL", null);
+        if (email == null) {
+            throw new IllegalStateException("EMAIL não configurado no arquivo .env");
+        }
+
+        InternetAddress novoRemetente;
+        try {
+            novoRemetente = new InternetAddress(email, NOME_REMETENTE, "UTF-8");
+            novoRemetente.validate();
+        } catch (UnsupportedEncodingException | AddressException e) {
+            throw new IllegalStateException("EMAIL inválido no arquivo .env: " + email, e);
+        }
+
+        boolean manual = "manual".equalsIgnoreCase(configuracao.get("EMAIL_SESSAO", "servidor"));
+        Session novaSessao = manual ? null : sessaoServidor;
+        if (novaSessao == null && !manual) {
+            LOGGER.log(Level.WARNING, "Mail Session java:/MailGun não encontrada, usando SMTP_* do .env");
+        }
+        if (novaSessao == null) {
+            novaSessao = criarSessaoManual();
+        }
+
+        sessao = novaSessao;
+        remetente = novoRemetente;
+        LOGGER.log(Level.INFO, "E-mails serão enviados por {0}", email);
+    }
+
+    private Session criarSessaoManual() {
+        String smtpUsername = configuracao.get("SMTP_USERNAME", null);
+        String smtpPassword = configuracao.get("SMTP_PASSWORD", null);
+
+        Properties props = new Properties();
+        props.put("mail.smtp.host", configuracao.get("SMTP_HOST", "smtp.gmail.com"));
+        props.put("mail.smtp.port", configuracao.get("SMTP_PORT", "587"));
+        props.put("mail.smtp.auth", configuracao.get("SMTP_AUTH", "true"));
+        props.put("mail.smtp.starttls.enable", configuracao.get("SMTP_STARTTLS", "true"));
+
+        LOGGER.log(Level.INFO, "Configuração SMTP: host={0}, port={1}",
+                new Object[]{props.get("mail.smtp.host"), props.get("mail.smtp.port")});
+
+        return Session.getInstance(props, new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(smtpUsername, smtpPassword);
+            }
+        });
+    }
+}
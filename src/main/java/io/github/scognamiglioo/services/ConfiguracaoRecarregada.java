@@ -0,0 +1,8 @@
+package io.github.scognamiglioo.services;
+
+/**
+ * Evento CDI disparado depois que o arquivo .env é relido, para que os
+ * componentes que guardam valores derivados da configuração se atualizem
+ */
+public class ConfiguracaoRecarregada {
+}
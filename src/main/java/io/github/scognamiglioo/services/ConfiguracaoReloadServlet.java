@@ -0,0 +1,41 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.EJBException;
+import jakarta.inject.Inject;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Relê o arquivo .env sem reiniciar a aplicação. Os componentes que
+ * guardam configuração derivada (como a sessão de e-mail) são notificados.
+ */
+@WebServlet(name = "ConfiguracaoReload", urlPatterns = {"/app/admin/configuracao/recarregar"})
+public class ConfiguracaoReloadServlet extends HttpServlet {
+
+    private static final Logger LOGGER = Logger.getLogger(ConfiguracaoReloadServlet.class.getName());
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        try {
+            configuracao.recarregar();
+        } catch (IllegalStateException | EJBException e) {
+            LOGGER.log(Level.WARNING, "Configuração inválida ao recarregar", e);
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("text/plain");
+        response.getWriter().println("Configuração recarregada");
+    }
+}
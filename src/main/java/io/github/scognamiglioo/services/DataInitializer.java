@@ -459,29 +459,23 @@ public class DataInitializer {
                     // Agendamento 1: Status AGENDADO para hoje
                     if (consultaMedica != null && drRoberto != null) {
                         io.github.scognamiglioo.entities.Agendamento ag1 =
-                            agendamentoService.createAgendamento(guisso, consultaMedica, drRoberto, hoje, hora1);
-                        ag1.setObservacoes("Consulta de rotina");
-                        agendamentoService.updateAgendamento(ag1);
+                            agendamentoService.createAgendamento(guisso, consultaMedica, drRoberto, hoje, hora1, "Consulta de rotina");
                         System.out.println(">>> Agendamento 1 criado: AGENDADO (Consulta Médica Geral)");
                     }
 
                     // Agendamento 2: Status CONFIRMADO para amanhã
                     if (consultaCardio != null && draPatricia != null) {
                         io.github.scognamiglioo.entities.Agendamento ag2 =
-                            agendamentoService.createAgendamento(guisso, consultaCardio, draPatricia, amanha, hora2);
+                            agendamentoService.createAgendamento(guisso, consultaCardio, draPatricia, amanha, hora2, "Retorno cardiológico");
                         agendamentoService.alterarStatus(ag2.getId(), io.github.scognamiglioo.entities.StatusAgendamento.CONFIRMADO);
-                        ag2.setObservacoes("Retorno cardiológico");
-                        agendamentoService.updateAgendamento(ag2);
                         System.out.println(">>> Agendamento 2 criado: CONFIRMADO (Consulta Cardiológica)");
                     }
 
                     // Agendamento 3: Status EM_ATENDIMENTO para daqui a 2 dias
                     if (consultaDermo != null && draFernanda != null) {
                         io.github.scognamiglioo.entities.Agendamento ag3 =
-                            agendamentoService.createAgendamento(guisso, consultaDermo, draFernanda, doisDias, hora3);
+                            agendamentoService.createAgendamento(guisso, consultaDermo, draFernanda, doisDias, hora3, "Avaliação dermatológica");
                         agendamentoService.alterarStatus(ag3.getId(), io.github.scognamiglioo.entities.StatusAgendamento.EM_ATENDIMENTO);
-                        ag3.setObservacoes("Avaliação dermatológica");
-                        agendamentoService.updateAgendamento(ag3);
                         System.out.println(">>> Agendamento 3 criado: EM_ATENDIMENTO (Consulta Dermatológica)");
                     }
 
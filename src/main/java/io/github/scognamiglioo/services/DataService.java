@@ -12,6 +12,7 @@ import java.util.Optional;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.mail.MessagingException;
 import jakarta.persistence.EntityManager;
@@ -20,7 +21,6 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import jakarta.security.enterprise.identitystore.Pbkdf2PasswordHash;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Stateless
 @LocalBean
@@ -39,16 +39,18 @@ public class DataService
     @Inject
     private MailServiceResetLocal mailServiceReset;
 
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    @Inject
+    private Event<CatalogoAlterado> catalogoEvent;
+
     @Override
     public User createUser(String nome, String cpf, String email, String telefone,
             String username, String userPassword, String userGroup) {
 
-        TypedQuery<Long> query = em.createQuery(
-                "SELECT COUNT(u) FROM User u WHERE u.cpf = :cpf", Long.class
-        );
-        query.setParameter("cpf", cpf);
-
-        if (query.getSingleResult() > 0) {
+        User existente = findUserByCpf(cpf);
+        if (existente != null && !cadastroVencido(existente)) {
             throw new IllegalArgumentException("O CPF informado já está cadastrado.");
         }
 
@@ -60,22 +62,41 @@ public class DataService
 
         String hashedPassword = passwordHasher.generate(userPassword.toCharArray());
 
-        String token = UUID.randomUUID().toString();
-
-        User newUser = new User(
-                nome,
-                cpf,
-                email,
-                telefone,
-                username,
-                hashedPassword,
-                userGroup
-        );
+        String token = TokenSeguranca.gerar();
+
+        User newUser;
+        if (existente != null) {
+            // Refaz o cadastro vencido no mesmo registro: agendamentos já ligados ao CPF continuam com ele
+            newUser = existente;
+            newUser.setNome(nome);
+            newUser.setEmail(email);
+            newUser.setTelefone(telefone);
+            newUser.setUsername(username);
+            newUser.setUserPassword(hashedPassword);
+            newUser.setUserGroup(userGroup);
+            newUser.setResetToken(null);
+            newUser.setResetTokenExpiration(null);
+        } else {
+            newUser = new User(
+                    nome,
+                    cpf,
+                    email,
+                    telefone,
+                    username,
+                    hashedPassword,
+                    userGroup
+            );
+        }
 
-        newUser.setActivationToken(token);
+        // Só o hash é gravado; o token em claro vai apenas no link do e-mail
+        newUser.setActivationToken(TokenSeguranca.hash(token));
+        newUser.setActivationTokenExpiration(LocalDateTime.now()
+                .plusHours(Math.max(1, configuracao.getInt("ATIVACAO_VALIDADE_HORAS", 48))));
         newUser.setActive(false);
 
-        em.persist(newUser);
+        if (existente == null) {
+            em.persist(newUser);
+        }
 
         // Envia e-mail de ativação
         String link = "http://localhost:8080/secureapp/activation?token=" + token;
@@ -100,6 +121,7 @@ public class DataService
         // força ativação
         u.setActive(true);
         u.setActivationToken(null);
+        u.setActivationTokenExpiration(null);
 
         em.merge(u);  // salva no DB
 
@@ -150,56 +172,32 @@ public class DataService
     // ----------------------------------TOKEN E ATIVAÇÃO--------------------------------------------
     @Override
     public User getUserByToken(String token) {
-        try {
-            return em.createQuery(
-                    "SELECT u FROM User u WHERE u.activationToken = :token",
-                    User.class
-            )
-                    .setParameter("token", token)
-                    .getSingleResult();
-        } catch (Exception e) {
+        if (token == null || token.isBlank()) {
             return null;
         }
+        return em.createNamedQuery("User.byActivationToken", User.class)
+                .setParameter("hash", TokenSeguranca.hash(token))
+                .getResultList()
+                .stream()
+                .findFirst()
+                .orElse(null);
     }
 
+    /**
+     * Ativa a conta com um único UPDATE condicional: token válido, não
+     * expirado e conta ainda inativa. Duas ativações simultâneas com o mesmo
+     * link resultam em uma só.
+     */
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     @Override
     public boolean activateUser(String token) {
-
-        try {
-            User user = em.createQuery(
-                    "SELECT u FROM User u WHERE u.activationToken = :token AND u.active = false",
-                    User.class
-            )
-                    .setParameter("token", token)
-                    .getSingleResult();
-
-            user.setActive(true);
-            user.setActivationToken(null);
-
-            em.merge(user);
-            em.flush();
-            return true;
-
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    @Override
-    public boolean canActivate(String token) {
-        try {
-            Long count = em.createQuery(
-                    "SELECT COUNT(u) FROM User u WHERE u.activationToken = :token AND u.active = false",
-                    Long.class
-            )
-                    .setParameter("token", token)
-                    .getSingleResult();
-
-            return count == 1;
-        } catch (Exception e) {
+        if (token == null || token.isBlank()) {
             return false;
         }
+        return em.createNamedQuery("User.activate")
+                .setParameter("hash", TokenSeguranca.hash(token))
+                .setParameter("agora", LocalDateTime.now())
+                .executeUpdate() == 1;
     }
 
     @Override
@@ -251,10 +249,10 @@ public class DataService
                     .setParameter("email", email)
                     .getSingleResult();
 
-            String token = UUID.randomUUID().toString();
+            String token = TokenSeguranca.gerar();
             LocalDateTime expiration = LocalDateTime.now().plusHours(1);
 
-            user.setResetToken(token);
+            user.setResetToken(TokenSeguranca.hash(token));
             user.setResetTokenExpiration(expiration);
 
             em.merge(user);
@@ -276,55 +274,51 @@ public class DataService
 
     @Override
     public boolean validateResetToken(String token) {
-        try {
-            User user = em.createQuery(
-                    "SELECT u FROM User u WHERE u.resetToken = :token",
-                    User.class)
-                    .setParameter("token", token)
-                    .getSingleResult();
-
-            return user.getResetTokenExpiration().isAfter(LocalDateTime.now());
-
-        } catch (Exception e) {
+        if (token == null || token.isBlank()) {
             return false;
         }
+        return em.createNamedQuery("User.countValidResetToken", Long.class)
+                .setParameter("hash", TokenSeguranca.hash(token))
+                .setParameter("agora", LocalDateTime.now())
+                .getSingleResult() == 1;
     }
 
+    /**
+     * Troca a senha e invalida o token no mesmo UPDATE condicional; um token
+     * expirado ou já usado simplesmente não altera nenhuma linha
+     */
     @Override
     public boolean resetPassword(String token, String newPassword) {
+        if (token == null || token.isBlank() || newPassword == null || newPassword.isEmpty()) {
+            return false;
+        }
 
-        try {
-            User user = em.createQuery(
-                    "SELECT u FROM User u WHERE u.resetToken = :token",
-                    User.class)
-                    .setParameter("token", token)
-                    .getSingleResult();
-
-            if (user.getResetTokenExpiration().isBefore(LocalDateTime.now())) {
-                return false; // token expirado
-            }
-
-            // gerar hash
-            Map<String, String> parameters = new HashMap<>();
-            parameters.put("Pbkdf2PasswordHash.Iterations", "3071");
-            parameters.put("Pbkdf2PasswordHash.Algorithm", "PBKDF2WithHmacSHA512");
-            parameters.put("Pbkdf2PasswordHash.SaltSizeBytes", "64");
-            passwordHasher.initialize(parameters);
-
-            String hashed = passwordHasher.generate(newPassword.toCharArray());
-            user.setUserPassword(hashed);
-
-            // limpar token
-            user.setResetToken(null);
-            user.setResetTokenExpiration(null);
+        // gerar hash
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("Pbkdf2PasswordHash.Iterations", "3071");
+        parameters.put("Pbkdf2PasswordHash.Algorithm", "PBKDF2WithHmacSHA512");
+        parameters.put("Pbkdf2PasswordHash.SaltSizeBytes", "64");
+        passwordHasher.initialize(parameters);
 
-            em.merge(user);
+        String hashed = passwordHasher.generate(newPassword.toCharArray());
 
-            return true;
+        return em.createNamedQuery("User.resetPassword")
+                .setParameter("senha", hashed)
+                .setParameter("hash", TokenSeguranca.hash(token))
+                .setParameter("agora", LocalDateTime.now())
+                .executeUpdate() == 1;
+    }
 
-        } catch (Exception e) {
-            return false;
-        }
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    @Override
+    public int purgeExpiredTokens() {
+        LocalDateTime agora = LocalDateTime.now();
+        return em.createNamedQuery("User.purgeExpiredActivationTokens")
+                .setParameter("agora", agora)
+                .executeUpdate()
+                + em.createNamedQuery("User.purgeExpiredResetTokens")
+                        .setParameter("agora", agora)
+                        .executeUpdate();
     }
 
 // ----------------------------------------------------------------------------------------------------------
@@ -340,6 +334,30 @@ public class DataService
         }
     }
 
+    @Override
+    public boolean cadastroExpirado(String cpf) {
+        User user = findUserByCpf(cpf);
+        return user != null && cadastroVencido(user);
+    }
+
+    private User findUserByCpf(String cpf) {
+        return em.createQuery("SELECT u FROM User u WHERE u.cpf = :cpf", User.class)
+                .setParameter("cpf", cpf)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Cadastro nunca ativado cujo link venceu. Contas ativadas (ou criadas já
+     * ativas) têm a validade nula, então uma conta desativada pelo
+     * administrador não entra aqui.
+     */
+    private static boolean cadastroVencido(User user) {
+        return !user.isActive() && user.getActivationTokenExpiration() != null
+                && user.getActivationTokenExpiration().isBefore(LocalDateTime.now());
+    }
+
     @Override
     public boolean cpfExists(String cpf) {
 
@@ -445,6 +463,8 @@ public class DataService
     @Override
     public void updateUser(User u) {
         em.merge(u);
+        // O nome exibido dos funcionários vem do User
+        catalogoEvent.fire(new CatalogoAlterado(User.class));
     }
 
     @Override
@@ -26,8 +26,6 @@ public interface DataServiceLocal {
 
     User getUserByToken(String token);
 
-    public boolean canActivate(String token);
-
     public boolean activateUser(String token);
 
     boolean isUserActive(String email);
@@ -38,6 +36,13 @@ public interface DataServiceLocal {
 
     public boolean validateResetToken(String token);
 
+    /**
+     * Remove tokens de ativação e de redefinição já expirados
+     *
+     * @return quantidade de tokens removidos
+     */
+    int purgeExpiredTokens();
+
     public Funcionario createFuncionario(String nome, String cpf, String email, String telefone,
             String username, String password, Role role,
             Long cargoId, boolean ativo,
@@ -54,6 +59,12 @@ public interface DataServiceLocal {
 
     public boolean cpfExists(String cpfNorm);
 
+    /**
+     * O CPF tem um cadastro que nunca foi ativado e cujo link de ativação
+     * venceu; um novo cadastro com o mesmo CPF substitui esse
+     */
+    boolean cadastroExpirado(String cpf);
+
     // -------------------------------------------------------
     List<Funcionario> getAllFuncionarios();
 
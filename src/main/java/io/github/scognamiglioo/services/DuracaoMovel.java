@@ -0,0 +1,56 @@
+package io.github.scognamiglioo.services;
+
+/**
+ * Média e variância móveis exponenciais (EWMA) de durações, em minutos.
+ *
+ * Cada amostra atualiza o estado em O(1) e sem guardar histórico; o peso
+ * das amostras antigas decai, de modo que a estimativa acompanha mudanças
+ * de ritmo ao longo do dia. Durações fora de [MINIMO, MAXIMO] são
+ * descartadas (atendimentos esquecidos abertos, cliques duplos).
+ */
+public class DuracaoMovel {
+
+    private static final double MINIMO_MINUTOS = 0.5;
+    private static final double MAXIMO_MINUTOS = 240;
+
+    private final double alfa;
+
+    private double media;
+    private double variancia;
+    private long amostras;
+
+    public DuracaoMovel(double alfa) {
+        if (alfa <= 0 || alfa > 1) {
+            throw new IllegalArgumentException("Alfa deve estar entre 0 e 1");
+        }
+        this.alfa = alfa;
+    }
+
+    public synchronized void registrar(double minutos) {
+        if (minutos < MINIMO_MINUTOS || minutos > MAXIMO_MINUTOS) {
+            return;
+        }
+        if (amostras == 0) {
+            media = minutos;
+            variancia = 0;
+        } else {
+            double diferenca = minutos - media;
+            double incremento = alfa * diferenca;
+            media += incremento;
+            variancia = (1 - alfa) * (variancia + diferenca * incremento);
+        }
+        amostras++;
+    }
+
+    public synchronized double getMedia() {
+        return media;
+    }
+
+    public synchronized double getDesvioPadrao() {
+        return Math.sqrt(variancia);
+    }
+
+    public synchronized long getAmostras() {
+        return amostras;
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ponto único de envio de e-mails da aplicação, sobre um
+ * {@link PoolTransporteEmail}.
+ *
+ * Se a sessão de e-mail mudar (configuração recarregada), o pool é
+ * recriado no próximo envio e as conexões antigas são fechadas.
+ *
+ * Os envios em lote e os de {@link #enviarEmSegundoPlano} rodam em threads
+ * virtuais ({@link ExecutorBloqueante}), fora das threads de requisição. Os
+ * trabalhadores de um lote formam um escopo: vencido o prazo, os envios em
+ * andamento são cancelados e as mensagens restantes voltam como falha.
+ *
+ * Configuração (.env):
+ * EMAIL_POOL_CONEXOES (padrão 4), EMAIL_POOL_OCIOSO_SEGUNDOS (padrão 30) e
+ * EMAIL_LOTE_PRAZO_SEGUNDOS (padrão 600).
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class EnvioEmailService {
+
+    private static final Logger LOGGER = Logger.getLogger(EnvioEmailService.class.getName());
+
+    @EJB
+    private ConfiguracaoEmail configuracaoEmail;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    @EJB
+    private ExecutorBloqueante executor;
+
+    private volatile PoolTransporteEmail pool;
+
+    @PostConstruct
+    public void init() {
+        pool = criarPool(configuracaoEmail.getSession());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.close();
+    }
+
+    public void enviar(MimeMessage mensagem) throws MessagingException {
+        poolAtual().enviar(mensagem);
+    }
+
+    /**
+     * Envia a mensagem sem bloquear o chamador; falhas são registradas no log
+     */
+    public Future<Void> enviarEmSegundoPlano(MimeMessage mensagem) {
+        return executor.submeter("email", () -> {
+            try {
+                poolAtual().enviar(mensagem);
+            } catch (MessagingException e) {
+                LOGGER.log(Level.WARNING, "Falha ao enviar e-mail em segundo plano", e);
+                throw e;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Envia várias mensagens reaproveitando conexões, com concorrência
+     * limitada ao tamanho do pool
+     *
+     * @return mensagens que não puderam ser enviadas
+     */
+    public List<MimeMessage> enviarLote(List<MimeMessage> mensagens) {
+        if (mensagens.isEmpty()) {
+            return List.of();
+        }
+        PoolTransporteEmail.Lote lote = poolAtual().novoLote(mensagens);
+        int prazoSegundos = Math.max(1, configuracao.getInt("EMAIL_LOTE_PRAZO_SEGUNDOS", 600));
+        try (ExecutorBloqueante.Escopo escopo = executor.abrirEscopo("email-lote")) {
+            for (int i = 0; i < lote.getTrabalhadores(); i++) {
+                escopo.submeter(() -> {
+                    lote.trabalhar();
+                    return null;
+                });
+            }
+            if (!escopo.aguardar(Duration.ofSeconds(prazoSegundos))) {
+                LOGGER.log(Level.WARNING, "Lote de e-mails passou de {0}s; envios restantes cancelados", prazoSegundos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Só aqui, com todos os trabalhadores parados, a lista de falhas é definitiva
+        List<MimeMessage> falhas = lote.getFalhas();
+        LOGGER.log(Level.INFO, "Lote de e-mails: {0} enviados, {1} falhas",
+                new Object[]{mensagens.size() - falhas.size(), falhas.size()});
+        return falhas;
+    }
+
+    public long getMensagensEnviadas() {
+        return pool.getMensagensEnviadas();
+    }
+
+    public long getConexoesAbertas() {
+        return pool.getConexoesAbertas();
+    }
+
+    private PoolTransporteEmail poolAtual() {
+        PoolTransporteEmail atual = pool;
+        Session session = configuracaoEmail.getSession();
+        if (atual.getSession() == session) {
+            return atual;
+        }
+        synchronized (this) {
+            if (pool.getSession() != session) {
+                PoolTransporteEmail antigo = pool;
+                pool = criarPool(session);
+                antigo.close();
+                LOGGER.log(Level.INFO, "Pool de conexões SMTP recriado após mudança de configuração");
+            }
+            return pool;
+        }
+    }
+
+    private PoolTransporteEmail criarPool(Session session) {
+        int conexoes = Math.max(1, configuracao.getInt("EMAIL_POOL_CONEXOES", 4));
+        int ociosoSegundos = Math.max(1, configuracao.getInt("EMAIL_POOL_OCIOSO_SEGUNDOS", 30));
+        return new PoolTransporteEmail(session, conexoes, ociosoSegundos * 1000L);
+    }
+}
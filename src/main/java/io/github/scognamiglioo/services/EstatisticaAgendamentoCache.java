@@ -0,0 +1,146 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mantém a tabela estatistica_agendamento em dia e guarda em memória os
+ * indicadores já calculados ({@link PainelEstatisticas}).
+ *
+ * Cada {@link AgendamentosAlterados} marca dias (ou IDs) como pendentes; a
+ * cada minuto só esses dias são recalculados e o painel é refeito. Uma
+ * varredura de hora em hora pelos agendamentos alterados hoje cobre
+ * qualquer caminho de escrita que não dispare o evento. Na subida, se a
+ * tabela estiver vazia, ela é reconstruída por completo.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class EstatisticaAgendamentoCache {
+
+    private static final Logger LOGGER = Logger.getLogger(EstatisticaAgendamentoCache.class.getName());
+
+    private static final int DIAS_SERIE = 30;
+    private static final int DIAS_POR_LOTE_RECONSTRUCAO = 100;
+
+    @EJB
+    private EstatisticaAgendamentoServiceLocal estatisticaService;
+
+    private final Set<LocalDate> diasPendentes = ConcurrentHashMap.newKeySet();
+    private final Set<Long> idsPendentes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicReference<PainelEstatisticas> painel = new AtomicReference<>(PainelEstatisticas.vazio());
+    private final AtomicBoolean executando = new AtomicBoolean(false);
+
+    private final AtomicLong totalDiasRecalculados = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        try {
+            if (estatisticaService.isVazia()) {
+                reconstruir();
+            } else {
+                atualizarPainel();
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao carregar estatísticas de agendamento", e);
+        }
+    }
+
+    public void aoAlterarAgendamentos(@Observes(during = TransactionPhase.AFTER_SUCCESS) AgendamentosAlterados evento) {
+        diasPendentes.addAll(evento.getDias());
+        idsPendentes.addAll(evento.getIds());
+    }
+
+    @Schedule(hour = "*", minute = "*", persistent = false)
+    public void processarPendentes() {
+        if (!executando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Set<LocalDate> dias = retirar(diasPendentes);
+            Set<Long> ids = retirar(idsPendentes);
+            boolean mudouDia = !painel.get().getDia().equals(LocalDate.now());
+
+            if (!dias.isEmpty() || !ids.isEmpty()) {
+                try {
+                    totalDiasRecalculados.addAndGet(estatisticaService.recalcularDias(dias, ids));
+                } catch (Exception e) {
+                    // Devolve para a próxima execução
+                    diasPendentes.addAll(dias);
+                    idsPendentes.addAll(ids);
+                    throw e;
+                }
+                atualizarPainel();
+            } else if (mudouDia) {
+                atualizarPainel();
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao atualizar estatísticas de agendamento", e);
+        } finally {
+            executando.set(false);
+        }
+    }
+
+    @Schedule(hour = "*", minute = "40", persistent = false)
+    public void varrerAlteracoes() {
+        try {
+            diasPendentes.addAll(estatisticaService.diasAlteradosDesde(LocalDate.now()));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro na varredura de agendamentos alterados", e);
+        }
+    }
+
+    /**
+     * Refaz toda a tabela de estatísticas, em lotes de dias
+     */
+    public void reconstruir() {
+        List<LocalDate> dias = estatisticaService.listarTodosDias();
+        for (int i = 0; i < dias.size(); i += DIAS_POR_LOTE_RECONSTRUCAO) {
+            estatisticaService.recalcularDias(
+                    new HashSet<>(dias.subList(i, Math.min(i + DIAS_POR_LOTE_RECONSTRUCAO, dias.size()))), Set.of());
+        }
+        totalDiasRecalculados.addAndGet(dias.size());
+        atualizarPainel();
+        LOGGER.log(Level.INFO, "Estatísticas de agendamento reconstruídas ({0} dias)", dias.size());
+    }
+
+    public PainelEstatisticas getPainel() {
+        return painel.get();
+    }
+
+    public long getTotalDiasRecalculados() {
+        return totalDiasRecalculados.get();
+    }
+
+    private void atualizarPainel() {
+        painel.set(estatisticaService.carregarPainel(LocalDate.now(), DIAS_SERIE));
+    }
+
+    private static <T> Set<T> retirar(Set<T> pendentes) {
+        Set<T> retirados = new HashSet<>();
+        for (T item : pendentes) {
+            if (pendentes.remove(item)) {
+                retirados.add(item);
+            }
+        }
+        return retirados;
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serviço EJB que mantém a tabela estatistica_agendamento.
+ *
+ * O recálculo é feito por dia: as linhas do dia são apagadas e refeitas com
+ * um INSERT ... SELECT agrupado sobre agendamento e agendamento_historico.
+ * Refazer o dia inteiro, em vez de somar e subtrair contadores, deixa o
+ * resultado correto mesmo quando a mesma alteração é notificada duas vezes.
+ */
+@Stateless
+@LocalBean
+public class EstatisticaAgendamentoService implements EstatisticaAgendamentoServiceLocal {
+
+    private static final DateTimeFormatter ROTULO_DIA = DateTimeFormatter.ofPattern("dd/MM");
+
+    // Arquivados continuam contando: a consolidação de um dia antigo não muda ao arquivar
+    private static final String RECALCULAR =
+            "INSERT INTO estatistica_agendamento (dia, servico_id, localizacao_id, status, quantidade) "
+            + "SELECT a.data, a.servico_id, a.localizacao_id, a.status, COUNT(*) FROM ("
+            + "  SELECT t.data, t.servico_id, t.status, "
+            + "    (SELECT MIN(fs.localizacao_id) FROM funcionario_servico fs "
+            + "      WHERE fs.funcionario_id = t.funcionario_id AND fs.servico_id = t.servico_id) AS localizacao_id "
+            + "  FROM (SELECT data, servico_id, funcionario_id, status FROM agendamento WHERE data IN (:dias) "
+            + "        UNION ALL "
+            + "        SELECT data, servico_id, funcionario_id, status FROM agendamento_historico WHERE data IN (:dias)) t"
+            + ") a GROUP BY a.data, a.servico_id, a.localizacao_id, a.status";
+
+    private static final String TODOS_DIAS =
+            "SELECT data FROM agendamento UNION SELECT data FROM agendamento_historico";
+
+    // Limite de parâmetros por cláusula IN
+    private static final int TAMANHO_LOTE = 500;
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public int recalcularDias(Set<LocalDate> dias, Set<Long> agendamentoIds) {
+        Set<LocalDate> todos = new HashSet<>(dias);
+        List<Long> ids = new ArrayList<>(agendamentoIds);
+        for (int i = 0; i < ids.size(); i += TAMANHO_LOTE) {
+            todos.addAll(em.createNamedQuery("Agendamento.findDiasByIds", LocalDate.class)
+                    .setParameter("ids", ids.subList(i, Math.min(i + TAMANHO_LOTE, ids.size())))
+                    .getResultList());
+        }
+        if (todos.isEmpty()) {
+            return 0;
+        }
+
+        List<LocalDate> lista = new ArrayList<>(todos);
+        for (int i = 0; i < lista.size(); i += TAMANHO_LOTE) {
+            List<LocalDate> lote = lista.subList(i, Math.min(i + TAMANHO_LOTE, lista.size()));
+            em.createNamedQuery("EstatisticaAgendamento.excluirDias")
+                    .setParameter("dias", lote)
+                    .executeUpdate();
+            em.createNativeQuery(RECALCULAR)
+                    .setParameter("dias", lote)
+                    .executeUpdate();
+        }
+        return lista.size();
+    }
+
+    @Override
+    public List<LocalDate> diasAlteradosDesde(LocalDate desde) {
+        return em.createNamedQuery("Agendamento.findDiasAlteradosDesde", LocalDate.class)
+                .setParameter("desde", desde)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<LocalDate> listarTodosDias() {
+        List<Object> linhas = em.createNativeQuery(TODOS_DIAS).getResultList();
+        List<LocalDate> dias = new ArrayList<>(linhas.size());
+        for (Object linha : linhas) {
+            dias.add(linha instanceof java.sql.Date data ? data.toLocalDate() : (LocalDate) linha);
+        }
+        return dias;
+    }
+
+    @Override
+    public boolean isVazia() {
+        return em.createNamedQuery("EstatisticaAgendamento.contar", Long.class).getSingleResult() == 0;
+    }
+
+    @Override
+    public PainelEstatisticas carregarPainel(LocalDate hoje, int diasSerie) {
+        Map<StatusAgendamento, Long> totais = porStatus(
+                em.createNamedQuery("EstatisticaAgendamento.totaisPorStatus", Object[].class).getResultList());
+        Map<StatusAgendamento, Long> doDia = porStatus(
+                em.createNamedQuery("EstatisticaAgendamento.totaisPorStatusNoDia", Object[].class)
+                        .setParameter("dia", hoje)
+                        .getResultList());
+
+        LocalDate inicio = hoje.minusDays(diasSerie - 1L);
+
+        // Série contínua: dias sem atendimento aparecem com zero
+        Map<LocalDate, Long> concluidos = new java.util.TreeMap<>();
+        for (LocalDate dia = inicio; !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+            concluidos.put(dia, 0L);
+        }
+        for (Object[] linha : em.createNamedQuery("EstatisticaAgendamento.totaisPorDia", Object[].class)
+                .setParameter("status", StatusAgendamento.CONCLUIDO)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", hoje)
+                .getResultList()) {
+            concluidos.put((LocalDate) linha[0], ((Number) linha[1]).longValue());
+        }
+        long maximo = concluidos.values().stream().mapToLong(Long::longValue).max().orElse(0);
+        List<PainelEstatisticas.Ponto> serie = new ArrayList<>(concluidos.size());
+        concluidos.forEach((dia, quantidade) ->
+                serie.add(new PainelEstatisticas.Ponto(dia.format(ROTULO_DIA), quantidade, maximo)));
+
+        return new PainelEstatisticas(hoje, totais, doDia, serie,
+                pontos(em.createNamedQuery("EstatisticaAgendamento.totaisPorServico", Object[].class)
+                        .setParameter("inicio", inicio)
+                        .setParameter("fim", hoje)
+                        .getResultList()),
+                pontos(em.createNamedQuery("EstatisticaAgendamento.totaisPorLocalizacao", Object[].class)
+                        .setParameter("inicio", inicio)
+                        .setParameter("fim", hoje)
+                        .getResultList()));
+    }
+
+    private static Map<StatusAgendamento, Long> porStatus(List<Object[]> linhas) {
+        Map<StatusAgendamento, Long> totais = new EnumMap<>(StatusAgendamento.class);
+        for (Object[] linha : linhas) {
+            totais.put((StatusAgendamento) linha[0], ((Number) linha[1]).longValue());
+        }
+        return totais;
+    }
+
+    /**
+     * Linhas (rótulo, quantidade) já ordenadas da maior para a menor
+     */
+    private static List<PainelEstatisticas.Ponto> pontos(List<Object[]> linhas) {
+        long maximo = linhas.isEmpty() ? 0 : ((Number) linhas.get(0)[1]).longValue();
+        List<PainelEstatisticas.Ponto> pontos = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            pontos.add(new PainelEstatisticas.Ponto((String) linha[0], ((Number) linha[1]).longValue(), maximo));
+        }
+        return pontos;
+    }
+}
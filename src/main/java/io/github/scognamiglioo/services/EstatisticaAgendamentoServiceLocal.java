@@ -0,0 +1,35 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.Local;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Interface local para a consolidação das estatísticas de agendamento
+ */
+@Local
+public interface EstatisticaAgendamentoServiceLocal {
+
+    /**
+     * Recalcula as linhas de estatística dos dias informados e dos dias dos
+     * agendamentos informados
+     *
+     * @return quantidade de dias recalculados
+     */
+    int recalcularDias(Set<LocalDate> dias, Set<Long> agendamentoIds);
+
+    /**
+     * Dias que têm agendamentos alterados a partir da data informada
+     */
+    List<LocalDate> diasAlteradosDesde(LocalDate desde);
+
+    /**
+     * Todos os dias com agendamentos, incluindo os arquivados
+     */
+    List<LocalDate> listarTodosDias();
+
+    boolean isVazia();
+
+    PainelEstatisticas carregarPainel(LocalDate hoje, int diasSerie);
+}
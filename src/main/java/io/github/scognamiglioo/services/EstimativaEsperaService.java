@@ -0,0 +1,245 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import io.github.scognamiglioo.websocket.PainelChamadaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Estimativa do tempo de espera da fila do dia.
+ *
+ * Mantém médias móveis ({@link DuracaoMovel}) da duração real dos
+ * atendimentos por serviço e por funcionário/serviço, alimentadas pelo
+ * evento {@link AtendimentoConcluido}. O resultado fica em um
+ * {@link EstimativaFila} imutável, e o painel público recebe a nova espera
+ * quando ela muda.
+ *
+ * A fila do dia só é lida do banco quando algum agendamento de hoje muda,
+ * por projeção ({@link ItemFilaEstimativa}), e fica em memória. A cada 30
+ * segundos a estimativa é refeita sobre essa cópia, sem consulta: o tempo
+ * restante dos atendimentos em andamento diminui sozinho e os atendentes
+ * mudam de situação sem que nenhum agendamento mude. Cada cálculo percorre
+ * a fila inteira em vez de ajustar só o item alterado: é linear no tamanho
+ * da fila do dia (algumas dezenas de itens), não acumula erro entre eventos
+ * e mantém uma única regra de distribuição.
+ *
+ * Cada funcionário atende sua fila em sequência; agendamentos sem
+ * funcionário entram na fila de quem ficar livre primeiro, contando como
+ * livres agora os atendentes DISPONIVEL em {@link CacheStatusAtendentes}.
+ *
+ * Configuração (.env): ESPERA_DURACAO_PADRAO_MINUTOS (padrão 15), usada
+ * enquanto não há atendimentos concluídos para o serviço.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class EstimativaEsperaService {
+
+    private static final Logger LOGGER = Logger.getLogger(EstimativaEsperaService.class.getName());
+
+    private static final double ALFA = 0.2;
+    private static final int DIAS_AQUECIMENTO = 14;
+
+    // Abaixo disso a média do par funcionário/serviço ainda oscila demais
+    private static final int MINIMO_AMOSTRAS_FUNCIONARIO = 3;
+
+    @EJB
+    private AgendamentoServiceLocal agendamentoService;
+
+    @EJB
+    private CacheStatusAtendentes cacheStatus;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private final Map<Long, DuracaoMovel> porServico = new ConcurrentHashMap<>();
+    private final Map<String, DuracaoMovel> porFuncionarioServico = new ConcurrentHashMap<>();
+
+    private final AtomicReference<EstimativaFila> estimativa = new AtomicReference<>(EstimativaFila.vazia());
+    private volatile List<ItemFilaEstimativa> filaCarregada = List.of();
+    private volatile Instant filaLidaEm = Instant.EPOCH;
+    private final AtomicBoolean pendente = new AtomicBoolean(true);
+    private final AtomicBoolean executando = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void init() {
+        try {
+            List<AtendimentoConcluido> recentes =
+                    agendamentoService.buscarDuracoesAtendimento(LocalDateTime.now().minusDays(DIAS_AQUECIMENTO));
+            recentes.forEach(this::registrar);
+            LOGGER.log(Level.INFO, "Estimativa de espera iniciada com {0} atendimento(s) recente(s)", recentes.size());
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao carregar durações de atendimento", e);
+        }
+        recalcular(true);
+    }
+
+    public void aoConcluirAtendimento(@Observes(during = TransactionPhase.AFTER_SUCCESS) AtendimentoConcluido evento) {
+        registrar(evento);
+        pendente.set(true);
+    }
+
+    public void aoAlterarAgendamentos(@Observes(during = TransactionPhase.AFTER_SUCCESS) AgendamentosAlterados evento) {
+        // Alterações só de outros dias não mexem na fila de hoje
+        if (!evento.getIds().isEmpty() || evento.getDias().contains(LocalDate.now())) {
+            pendente.set(true);
+        }
+    }
+
+    @Schedule(hour = "*", minute = "*", second = "*/30", persistent = false)
+    public void atualizar() {
+        recalcular(pendente.get());
+    }
+
+    public EstimativaFila getEstimativa() {
+        return estimativa.get();
+    }
+
+    /**
+     * Duração esperada, em minutos, de um atendimento do serviço com o
+     * funcionário informado (que pode ser nulo)
+     */
+    public double duracaoEsperada(Long servicoId, Long funcionarioId) {
+        if (funcionarioId != null) {
+            DuracaoMovel par = porFuncionarioServico.get(chave(funcionarioId, servicoId));
+            if (par != null && par.getAmostras() >= MINIMO_AMOSTRAS_FUNCIONARIO) {
+                return par.getMedia();
+            }
+        }
+        DuracaoMovel servico = porServico.get(servicoId);
+        if (servico != null && servico.getAmostras() > 0) {
+            return servico.getMedia();
+        }
+        return Math.max(1, configuracao.getInt("ESPERA_DURACAO_PADRAO_MINUTOS", 15));
+    }
+
+    private void registrar(AtendimentoConcluido concluido) {
+        double minutos = concluido.getDuracao().toMillis() / 60000.0;
+        porServico.computeIfAbsent(concluido.getServicoId(), id -> new DuracaoMovel(ALFA)).registrar(minutos);
+        if (concluido.getFuncionarioId() != null) {
+            porFuncionarioServico.computeIfAbsent(chave(concluido.getFuncionarioId(), concluido.getServicoId()),
+                    c -> new DuracaoMovel(ALFA)).registrar(minutos);
+        }
+    }
+
+    /**
+     * @param recarregar lê a fila do banco em vez de reaproveitar a última
+     */
+    private void recalcular(boolean recarregar) {
+        if (!executando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (recarregar) {
+                pendente.set(false);
+                Instant leitura = Instant.now();
+                filaCarregada = agendamentoService.buscarFilaEstimativa();
+                filaLidaEm = leitura;
+            }
+            EstimativaFila anterior = estimativa.get();
+            EstimativaFila nova = calcular(filaCarregada, filaLidaEm);
+            estimativa.set(nova);
+
+            if (nova.getQuantidade() != anterior.getQuantidade()
+                    || nova.getEsperaNovoAtendimento() != anterior.getEsperaNovoAtendimento()) {
+                PainelChamadaService.getInstance()
+                        .atualizarFila(nova.getQuantidade(), nova.getEsperaNovoAtendimento());
+            }
+        } catch (Exception e) {
+            pendente.set(true);
+            LOGGER.log(Level.WARNING, "Erro ao recalcular estimativa de espera", e);
+        } finally {
+            executando.set(false);
+        }
+    }
+
+    private EstimativaFila calcular(List<ItemFilaEstimativa> itens, Instant lidaEm) {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Minutos até cada funcionário ficar livre; quem está disponível já está livre
+        Map<Long, Double> livreEm = new HashMap<>();
+        for (SituacaoAtendente atendente : cacheStatus.listar()) {
+            if (atendente.getSituacao() == StatusAtendente.Situacao.DISPONIVEL) {
+                livreEm.put(atendente.getFuncionarioId(), 0.0);
+            }
+        }
+        for (ItemFilaEstimativa item : itens) {
+            if (!item.isEmAtendimento() || item.getFuncionarioId() == null) {
+                continue;
+            }
+            double esperada = duracaoEsperada(item.getServicoId(), item.getFuncionarioId());
+            double decorrido = item.getInicioAtendimento() != null
+                    ? Duration.between(item.getInicioAtendimento(), agora).toMillis() / 60000.0
+                    : esperada / 2;
+            livreEm.merge(item.getFuncionarioId(), Math.max(0, esperada - decorrido), Double::sum);
+        }
+
+        Map<Long, Integer> espera = new HashMap<>();
+        Map<Long, Integer> posicao = new HashMap<>();
+        int proxima = 1;
+        for (ItemFilaEstimativa item : itens) {
+            if (item.isEmAtendimento()) {
+                continue;
+            }
+            Long funcionarioId = item.getFuncionarioId();
+            double duracao = duracaoEsperada(item.getServicoId(), funcionarioId);
+            Long destino = funcionarioId != null ? funcionarioId : primeiroLivre(livreEm);
+
+            double inicio = livreEm.getOrDefault(destino, 0.0);
+            livreEm.put(destino, inicio + duracao);
+
+            espera.put(item.getAgendamentoId(), (int) Math.round(inicio));
+            posicao.put(item.getAgendamentoId(), proxima++);
+        }
+
+        double novoAtendimento = livreEm.isEmpty() ? 0 : livreEm.get(primeiroLivre(livreEm));
+
+        Map<Long, Integer> livreEmPorFuncionario = new HashMap<>();
+        livreEm.forEach((funcionarioId, minutos) -> {
+            if (funcionarioId != 0L) {
+                livreEmPorFuncionario.put(funcionarioId, (int) Math.round(minutos));
+            }
+        });
+        return new EstimativaFila(espera, posicao, livreEmPorFuncionario, (int) Math.round(novoAtendimento), lidaEm);
+    }
+
+    /**
+     * Funcionário que fica livre primeiro; sem nenhum em atividade, usa uma
+     * fila geral (chave 0)
+     */
+    private static Long primeiroLivre(Map<Long, Double> livreEm) {
+        Long escolhido = 0L;
+        double menor = Double.MAX_VALUE;
+        for (Map.Entry<Long, Double> entrada : livreEm.entrySet()) {
+            if (entrada.getValue() < menor) {
+                escolhido = entrada.getKey();
+                menor = entrada.getValue();
+            }
+        }
+        return escolhido;
+    }
+
+    private static String chave(Long funcionarioId, Long servicoId) {
+        return funcionarioId + "|" + servicoId;
+    }
+}
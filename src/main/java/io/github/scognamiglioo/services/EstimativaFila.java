@@ -0,0 +1,95 @@
+package io.github.scognamiglioo.services;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Tempo de espera estimado de cada agendamento da fila do dia. Imutável:
+ * o {@link EstimativaEsperaService} troca a instância inteira quando a fila
+ * ou as durações mudam, e as leituras são consultas em mapa.
+ */
+public final class EstimativaFila implements Serializable {
+
+    private final Map<Long, Integer> esperaPorAgendamento;
+    private final Map<Long, Integer> posicaoPorAgendamento;
+    private final Map<Long, Integer> livreEmPorFuncionario;
+    private final int quantidade;
+    private final int esperaNovoAtendimento;
+    private final Instant geradaEm;
+    private final Instant filaLidaEm;
+
+    public EstimativaFila(Map<Long, Integer> esperaPorAgendamento, Map<Long, Integer> posicaoPorAgendamento,
+            Map<Long, Integer> livreEmPorFuncionario, int esperaNovoAtendimento, Instant filaLidaEm) {
+        this.esperaPorAgendamento = Map.copyOf(esperaPorAgendamento);
+        this.posicaoPorAgendamento = Map.copyOf(posicaoPorAgendamento);
+        this.livreEmPorFuncionario = Map.copyOf(livreEmPorFuncionario);
+        this.quantidade = posicaoPorAgendamento.size();
+        this.esperaNovoAtendimento = esperaNovoAtendimento;
+        this.geradaEm = Instant.now();
+        this.filaLidaEm = filaLidaEm;
+    }
+
+    public static EstimativaFila vazia() {
+        return new EstimativaFila(Map.of(), Map.of(), Map.of(), 0, Instant.EPOCH);
+    }
+
+    /**
+     * Minutos estimados até o início do atendimento, ou -1 se o agendamento
+     * não está na fila
+     */
+    public int getEsperaMinutos(Long agendamentoId) {
+        return esperaPorAgendamento.getOrDefault(agendamentoId, -1);
+    }
+
+    /**
+     * Espera para exibição ("Em instantes", "~12 min"), ou vazio se o
+     * agendamento não está na fila
+     */
+    public String getEsperaFormatada(Long agendamentoId) {
+        int minutos = getEsperaMinutos(agendamentoId);
+        if (minutos < 0) {
+            return "";
+        }
+        return minutos == 0 ? "Em instantes" : "~" + minutos + " min";
+    }
+
+    /**
+     * Posição na fila (1 = próximo), ou 0 se o agendamento não está na fila
+     */
+    public int getPosicao(Long agendamentoId) {
+        return posicaoPorAgendamento.getOrDefault(agendamentoId, 0);
+    }
+
+    /**
+     * Minutos até o funcionário terminar o atendimento atual e a sua fila
+     * (0 se ele não tem ninguém aguardando)
+     */
+    public int getMinutosParaLivre(Long funcionarioId) {
+        return livreEmPorFuncionario.getOrDefault(funcionarioId, 0);
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Minutos até o primeiro profissional ficar livre depois de atender toda
+     * a fila atual (exibido no painel público)
+     */
+    public int getEsperaNovoAtendimento() {
+        return esperaNovoAtendimento;
+    }
+
+    public Instant getGeradaEm() {
+        return geradaEm;
+    }
+
+    /**
+     * Momento em que a fila usada no cálculo foi lida do banco; agendamentos
+     * criados depois disso ainda não estão na estimativa
+     */
+    public Instant getFilaLidaEm() {
+        return filaLidaEm;
+    }
+}
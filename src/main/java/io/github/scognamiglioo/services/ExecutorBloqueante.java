@@ -0,0 +1,294 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.concurrent.ContextService;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Executa em threads virtuais o trabalho que passa a maior parte do tempo
+ * esperando por I/O (envio SMTP, chamadas a serviços externos), para que
+ * rajadas dessas operações não ocupem as threads de requisição do servidor.
+ *
+ * O Jakarta EE 10 não tem ManagedThreadFactory virtual; as threads são
+ * criadas pelo JDK e cada tarefa roda com o contexto do chamador (class
+ * loader, JNDI, segurança) capturado pelo ContextService padrão. Transações
+ * não são propagadas: a tarefa não deve depender da transação de quem a
+ * submeteu.
+ *
+ * Tarefas que formam um grupo (os trabalhadores de um lote de e-mails, por
+ * exemplo) são submetidas por um {@link Escopo}: ao fechá-lo, as que não
+ * terminaram são canceladas e o fechamento espera que parem.
+ *
+ * Trabalho de CPU (hash de senha, por exemplo) não ganha nada aqui e deve
+ * continuar na thread do chamador.
+ *
+ * Configuração (.env):
+ * TAREFAS_BLOQUEANTES_MAX (padrão 256): tarefas em execução ao mesmo tempo;
+ * as demais esperam numa thread virtual, sem ocupar thread da plataforma.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ExecutorBloqueante {
+
+    private static final Logger LOGGER = Logger.getLogger(ExecutorBloqueante.class.getName());
+
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    @Resource
+    private ContextService contexto;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private ExecutorService executor;
+    private Semaphore permissoes;
+
+    // Contadores por tipo de tarefa
+    private final Map<String, Metricas> metricas = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        int maximo = Math.max(1, configuracao.getInt("TAREFAS_BLOQUEANTES_MAX", 256));
+        permissoes = new Semaphore(maximo);
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bloqueante-", 0).factory());
+        LOGGER.log(Level.INFO, "Executor de tarefas bloqueantes em threads virtuais, até {0} simultâneas", maximo);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+                List<Runnable> pendentes = executor.shutdownNow();
+                LOGGER.log(Level.WARNING, "Tarefas bloqueantes interrompidas no desligamento ({0} pendentes)",
+                        pendentes.size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Submete uma tarefa; {@code cancel(true)} no Future interrompe a thread
+     *
+     * @param tipo agrupa as métricas (ex.: "email")
+     */
+    public <T> Future<T> submeter(String tipo, Callable<T> tarefa) {
+        Metricas m = metricas.computeIfAbsent(tipo, t -> new Metricas());
+        Callable<T> contextual = contexto.contextualCallable(tarefa);
+        m.submetidas.incrementAndGet();
+        return executor.submit(() -> executar(m, contextual));
+    }
+
+    /**
+     * Abre um escopo para um grupo de tarefas, a ser usado em
+     * try-with-resources pela thread que o abriu
+     *
+     * @param tipo agrupa as métricas (ex.: "email-lote")
+     */
+    public Escopo abrirEscopo(String tipo) {
+        return new Escopo(tipo);
+    }
+
+    public Map<String, Metricas> getMetricas() {
+        return Map.copyOf(metricas);
+    }
+
+    private <T> T executar(Metricas m, Callable<T> tarefa) throws Exception {
+        // A espera pela permissão acontece na thread virtual, não no chamador
+        try {
+            permissoes.acquire();
+        } catch (InterruptedException e) {
+            m.canceladas.incrementAndGet();
+            throw e;
+        }
+        m.emExecucao.incrementAndGet();
+        long inicio = System.nanoTime();
+        try {
+            T resultado = tarefa.call();
+            m.concluidas.incrementAndGet();
+            return resultado;
+        } catch (InterruptedException | CancellationException e) {
+            m.canceladas.incrementAndGet();
+            throw e;
+        } catch (Exception e) {
+            m.falhas.incrementAndGet();
+            throw e;
+        } finally {
+            m.tempoTotalMs.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+            m.emExecucao.decrementAndGet();
+            permissoes.release();
+        }
+    }
+
+    /**
+     * Grupo de tarefas com cancelamento conjunto: nenhuma tarefa do grupo
+     * continua rodando depois de {@link #close}. As tarefas devem responder
+     * à interrupção (I/O bloqueante em thread virtual responde).
+     */
+    public final class Escopo implements AutoCloseable {
+
+        private final String tipo;
+        private final List<TarefaEscopo<?>> tarefas = new ArrayList<>();
+
+        private Escopo(String tipo) {
+            this.tipo = tipo;
+        }
+
+        public <T> Future<T> submeter(Callable<T> tarefa) {
+            TarefaEscopo<T> tarefaEscopo = new TarefaEscopo<>(tarefa);
+            tarefaEscopo.futuro = ExecutorBloqueante.this.submeter(tipo, tarefaEscopo);
+            tarefas.add(tarefaEscopo);
+            return tarefaEscopo.futuro;
+        }
+
+        /**
+         * Espera as tarefas terminarem (com sucesso, falha ou cancelamento)
+         *
+         * @return false se o prazo acabou antes
+         */
+        public boolean aguardar(Duration prazo) throws InterruptedException {
+            long limite = System.nanoTime() + prazo.toNanos();
+            for (TarefaEscopo<?> tarefa : tarefas) {
+                try {
+                    tarefa.futuro.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | CancellationException e) {
+                    // Falha da tarefa: o resultado fica com quem a submeteu
+                } catch (TimeoutException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Cancela as tarefas que não terminaram e espera que parem
+         */
+        @Override
+        public void close() {
+            boolean interrompido = false;
+            for (TarefaEscopo<?> tarefa : tarefas) {
+                if (tarefa.estado.compareAndSet(TarefaEscopo.PENDENTE, TarefaEscopo.ENCERRADA)) {
+                    // Ainda não começou (pode estar esperando permissão) e não vai começar
+                    tarefa.futuro.cancel(true);
+                    continue;
+                }
+                if (tarefa.estado.get() == TarefaEscopo.ENCERRADA) {
+                    continue;
+                }
+                tarefa.futuro.cancel(true);
+                try {
+                    if (!tarefa.fim.await(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+                        LOGGER.log(Level.WARNING, "Tarefa {0} não respondeu ao cancelamento", tipo);
+                    }
+                } catch (InterruptedException e) {
+                    interrompido = true;
+                }
+            }
+            if (interrompido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Tarefa de um escopo; o estado impede que ela comece depois de
+     * cancelada e indica se é preciso esperar que pare
+     */
+    private static final class TarefaEscopo<T> implements Callable<T> {
+
+        private static final int PENDENTE = 0;
+        private static final int EXECUTANDO = 1;
+        private static final int ENCERRADA = 2;
+
+        private final Callable<T> tarefa;
+        private final AtomicInteger estado = new AtomicInteger(PENDENTE);
+        private final CountDownLatch fim = new CountDownLatch(1);
+        private Future<T> futuro;
+
+        private TarefaEscopo(Callable<T> tarefa) {
+            this.tarefa = tarefa;
+        }
+
+        @Override
+        public T call() throws Exception {
+            if (!estado.compareAndSet(PENDENTE, EXECUTANDO)) {
+                throw new CancellationException("Escopo encerrado antes do início da tarefa");
+            }
+            try {
+                return tarefa.call();
+            } finally {
+                estado.set(ENCERRADA);
+                fim.countDown();
+            }
+        }
+    }
+
+    /**
+     * Contadores de um tipo de tarefa
+     */
+    public static class Metricas {
+
+        private final AtomicLong submetidas = new AtomicLong();
+        private final AtomicLong concluidas = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private final AtomicLong canceladas = new AtomicLong();
+        private final AtomicLong emExecucao = new AtomicLong();
+        private final AtomicLong tempoTotalMs = new AtomicLong();
+
+        public long getSubmetidas() {
+            return submetidas.get();
+        }
+
+        public long getConcluidas() {
+            return concluidas.get();
+        }
+
+        public long getFalhas() {
+            return falhas.get();
+        }
+
+        public long getCanceladas() {
+            return canceladas.get();
+        }
+
+        public long getEmExecucao() {
+            return emExecucao.get();
+        }
+
+        /**
+         * Tempo médio de execução, sem contar a espera por permissão
+         */
+        public long getTempoMedioMs() {
+            long total = concluidas.get() + falhas.get() + canceladas.get();
+            return total == 0 ? 0 : tempoTotalMs.get() / total;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remove de hora em hora os tokens de ativação e de redefinição de senha
+ * expirados, mantendo os índices de token pequenos. A validade do token de
+ * ativação é mantida: ela marca o cadastro como vencido, e um novo cadastro
+ * com o mesmo CPF o substitui ({@link DataService#createUser}).
+ *
+ * Configuração (.env): ATIVACAO_VALIDADE_HORAS (padrão 48) define a validade
+ * do link de ativação; o de redefinição vale uma hora.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ExpurgoTokensScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(ExpurgoTokensScheduler.class.getName());
+
+    @EJB
+    private DataServiceLocal dataService;
+
+    private final AtomicLong totalExpurgados = new AtomicLong();
+
+    @Schedule(hour = "*", minute = "15", persistent = false)
+    public void expurgar() {
+        try {
+            int expurgados = dataService.purgeExpiredTokens();
+            totalExpurgados.addAndGet(expurgados);
+            if (expurgados > 0) {
+                LOGGER.log(Level.INFO, "{0} token(s) expirados removidos", expurgados);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro ao remover tokens expirados", e);
+        }
+    }
+
+    public long getTotalExpurgados() {
+        return totalExpurgados.get();
+    }
+}
@@ -7,6 +7,8 @@ import io.github.scognamiglioo.entities.Servico;
 import io.github.scognamiglioo.entities.Localizacao;
 
 import jakarta.ejb.Stateless;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
@@ -25,6 +27,9 @@ public class FuncionarioServicoService implements FuncionarioServicoServiceLocal
     @PersistenceContext
     private EntityManager em;
 
+    @Inject
+    private Event<CatalogoAlterado> catalogoEvent;
+
     // ========== CRIAÇÃO ==========
     @Override
     public FuncionarioServico createAssociacao(Funcionario funcionario, Servico servico, Localizacao localizacao) {
@@ -354,6 +359,7 @@ public class FuncionarioServicoService implements FuncionarioServicoServiceLocal
             em.createQuery("DELETE FROM FuncionarioServico fs WHERE fs.funcionario.id = :funcionarioId")
                 .setParameter("funcionarioId", funcionarioId)
                 .executeUpdate();
+            catalogoEvent.fire(new CatalogoAlterado(FuncionarioServico.class));
             LOGGER.log(Level.INFO, "Associações do funcionário {0} removidas", funcionarioId);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao deletar associações por funcionário: " + funcionarioId, e);
@@ -367,6 +373,7 @@ public class FuncionarioServicoService implements FuncionarioServicoServiceLocal
             em.createQuery("DELETE FROM FuncionarioServico fs WHERE fs.servico.id = :servicoId")
                 .setParameter("servicoId", servicoId)
                 .executeUpdate();
+            catalogoEvent.fire(new CatalogoAlterado(FuncionarioServico.class));
             LOGGER.log(Level.INFO, "Associações do serviço {0} removidas", servicoId);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao deletar associações por serviço: " + servicoId, e);
@@ -380,6 +387,7 @@ public class FuncionarioServicoService implements FuncionarioServicoServiceLocal
             em.createQuery("DELETE FROM FuncionarioServico fs WHERE fs.localizacao.id = :localizacaoId")
                 .setParameter("localizacaoId", localizacaoId)
                 .executeUpdate();
+            catalogoEvent.fire(new CatalogoAlterado(FuncionarioServico.class));
             LOGGER.log(Level.INFO, "Associações da localização {0} removidas", localizacaoId);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Erro ao deletar associações por localização: " + localizacaoId, e);
@@ -440,4 +448,25 @@ public class FuncionarioServicoService implements FuncionarioServicoServiceLocal
             throw new RuntimeException("Erro ao buscar funcionários", e);
         }
     }
+
+    // ========== ROTEAMENTO ==========
+    @Override
+    public List<QualificacaoAtendente> findQualificacoesAtivas() {
+        try {
+            return em.createQuery(
+                "SELECT NEW io.github.scognamiglioo.services.QualificacaoAtendente(" +
+                "fs.servico.id, f.id, u.nome, l.id, l.nome) " +
+                "FROM FuncionarioServico fs " +
+                "JOIN fs.funcionario f " +
+                "JOIN f.user u " +
+                "JOIN fs.localizacao l " +
+                "WHERE f.ativo = true " +
+                "ORDER BY fs.servico.id, f.id, l.id",
+                QualificacaoAtendente.class)
+                .getResultList();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro ao buscar qualificações ativas", e);
+            throw new RuntimeException("Erro ao buscar qualificações", e);
+        }
+    }
 }
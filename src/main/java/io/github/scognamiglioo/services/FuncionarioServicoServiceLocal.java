@@ -66,4 +66,7 @@ public interface FuncionarioServicoServiceLocal {
     
     // ========== BUSCA DE FUNCIONÁRIOS COM RELACIONAMENTOS ==========
     List<Funcionario> getAllFuncionariosWithCargo();
+
+    // ========== ROTEAMENTO ==========
+    List<QualificacaoAtendente> findQualificacoesAtivas();
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.websocket.PainelChamadaService;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Heartbeat das TVs do painel público.
+ *
+ * A cada 15 segundos envia um ping para cada sessão e remove as que não
+ * responderam dentro do timeout. Sem isso uma conexão meio aberta só sai do
+ * painel quando um envio falha.
+ *
+ * Configuração (.env):
+ * PAINEL_HEARTBEAT_TIMEOUT_SEGUNDOS (padrão 45, no mínimo 2 intervalos de
+ * ping) e PAINEL_MAX_SESSOES (padrão 200).
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class HeartbeatPainelScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(HeartbeatPainelScheduler.class.getName());
+
+    private static final int INTERVALO_SEGUNDOS = 15;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private final AtomicBoolean executando = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void init() {
+        carregar();
+    }
+
+    public void aoRecarregarConfiguracao(@Observes ConfiguracaoRecarregada evento) {
+        carregar();
+    }
+
+    private void carregar() {
+        int timeoutSegundos = Math.max(2 * INTERVALO_SEGUNDOS,
+                configuracao.getInt("PAINEL_HEARTBEAT_TIMEOUT_SEGUNDOS", 45));
+        int maxSessoes = Math.max(1, configuracao.getInt("PAINEL_MAX_SESSOES", 200));
+        PainelChamadaService.getInstance().configurar(maxSessoes, timeoutSegundos * 1000L);
+        LOGGER.log(Level.INFO, "Painel: timeout de heartbeat {0}s, até {1} sessões",
+                new Object[]{timeoutSegundos, maxSessoes});
+    }
+
+    @Schedule(hour = "*", minute = "*", second = "*/15", persistent = false)
+    public void verificar() {
+        if (!executando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            PainelChamadaService painel = PainelChamadaService.getInstance();
+            int removidas = painel.verificarSessoes();
+            if (removidas > 0) {
+                LOGGER.log(Level.INFO, "Painel: {0} sessão(ões) sem resposta removida(s); {1} conectada(s)",
+                        new Object[]{removidas, painel.obterQuantidadeConectados()});
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro no heartbeat do painel", e);
+        } finally {
+            executando.set(false);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Acumula as mudanças de situação dos atendentes e grava o histórico em
+ * lote, fora da requisição que fez a mudança.
+ *
+ * A fila é esvaziada a cada 5 segundos, ao consultar o histórico e no
+ * desligamento da aplicação. Se um lote falha, suas entradas são gravadas
+ * uma a uma, para que uma entrada inválida não prenda as demais; a que
+ * falhar volta para a fila e é descartada após MAX_TENTATIVAS. Se o banco
+ * estiver indisponível as entradas voltam para a fila, até o limite de
+ * MAX_PENDENTES.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class HistoricoStatusAtendenteBuffer {
+
+    private static final Logger LOGGER = Logger.getLogger(HistoricoStatusAtendenteBuffer.class.getName());
+
+    private static final int TAMANHO_LOTE = 500;
+    private static final int MAX_PENDENTES = 10_000;
+    private static final int MAX_TENTATIVAS = 12;
+
+    @EJB
+    private AtendenteServiceLocal atendenteService;
+
+    private final Queue<Pendente> pendentes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger quantidadePendentes = new AtomicInteger();
+
+    private final AtomicLong totalGravados = new AtomicLong();
+    private final AtomicLong totalDescartados = new AtomicLong();
+
+    public void aoAlterarStatus(@Observes(during = TransactionPhase.AFTER_SUCCESS) StatusAtendenteAlterado evento) {
+        enfileirar(new Pendente(evento, 0));
+    }
+
+    @Schedule(hour = "*", minute = "*", second = "*/5", persistent = false)
+    public void gravarPendentes() {
+        descarregar();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+    }
+
+    /**
+     * Grava tudo o que estiver na fila
+     */
+    public synchronized void descarregar() {
+        List<Pendente> lote = new ArrayList<>(TAMANHO_LOTE);
+        Pendente pendente;
+        while (true) {
+            while (lote.size() < TAMANHO_LOTE && (pendente = pendentes.poll()) != null) {
+                quantidadePendentes.decrementAndGet();
+                lote.add(pendente);
+            }
+            if (lote.isEmpty()) {
+                return;
+            }
+            try {
+                atendenteService.gravarHistorico(lote.stream().map(Pendente::evento).toList());
+                totalGravados.addAndGet(lote.size());
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Erro ao gravar lote do histórico de status; gravando uma a uma", e);
+                if (!gravarUmaAUma(lote)) {
+                    return;
+                }
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * Grava individualmente as entradas de um lote que falhou. Se a primeira
+     * já falha, o banco provavelmente está indisponível: o lote volta para a
+     * fila, com a entrada que falhou no fim, e o ciclo termina.
+     *
+     * @return false se o ciclo deve parar
+     */
+    private boolean gravarUmaAUma(List<Pendente> lote) {
+        boolean algumaGravada = false;
+        for (int i = 0; i < lote.size(); i++) {
+            Pendente pendente = lote.get(i);
+            try {
+                atendenteService.gravarHistorico(List.of(pendente.evento()));
+                totalGravados.incrementAndGet();
+                algumaGravada = true;
+            } catch (Exception e) {
+                if (!algumaGravada) {
+                    lote.subList(i + 1, lote.size()).forEach(this::enfileirar);
+                    novaTentativa(pendente, e);
+                    return false;
+                }
+                novaTentativa(pendente, e);
+            }
+        }
+        return true;
+    }
+
+    private void novaTentativa(Pendente pendente, Exception erro) {
+        int tentativas = pendente.tentativas() + 1;
+        if (tentativas >= MAX_TENTATIVAS) {
+            StatusAtendenteAlterado evento = pendente.evento();
+            totalDescartados.incrementAndGet();
+            LOGGER.log(Level.SEVERE, "Mudança do funcionário " + evento.getFuncionarioId() + " para "
+                    + evento.getSituacao() + " em " + evento.getAtualizacao()
+                    + " descartada após " + tentativas + " tentativas", erro);
+            return;
+        }
+        enfileirar(new Pendente(pendente.evento(), tentativas));
+    }
+
+    public int getPendentes() {
+        return quantidadePendentes.get();
+    }
+
+    public long getTotalGravados() {
+        return totalGravados.get();
+    }
+
+    public long getTotalDescartados() {
+        return totalDescartados.get();
+    }
+
+    private void enfileirar(Pendente pendente) {
+        if (quantidadePendentes.incrementAndGet() > MAX_PENDENTES) {
+            quantidadePendentes.decrementAndGet();
+            totalDescartados.incrementAndGet();
+            LOGGER.log(Level.WARNING, "Fila do histórico de status cheia; mudança do funcionário {0} descartada",
+                    pendente.evento().getFuncionarioId());
+            return;
+        }
+        pendentes.offer(pendente);
+    }
+
+    /**
+     * Mudança aguardando gravação e quantas vezes ela já falhou sozinha
+     */
+    private record Pendente(StatusAtendenteAlterado evento, int tentativas) {
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.scognamiglioo.services;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agendamento do dia reduzido ao que o {@link EstimativaEsperaService}
+ * precisa, lido por projeção (sem carregar usuário, serviço e funcionário).
+ */
+public class ItemFilaEstimativa {
+
+    private final Long agendamentoId;
+    private final Long servicoId;
+    private final Long funcionarioId;
+    private final boolean emAtendimento;
+    private final LocalDateTime inicioAtendimento;
+
+    public ItemFilaEstimativa(Long agendamentoId, Long servicoId, Long funcionarioId,
+                              boolean emAtendimento, LocalDateTime inicioAtendimento) {
+        this.agendamentoId = agendamentoId;
+        this.servicoId = servicoId;
+        this.funcionarioId = funcionarioId;
+        this.emAtendimento = emAtendimento;
+        this.inicioAtendimento = inicioAtendimento;
+    }
+
+    public Long getAgendamentoId() {
+        return agendamentoId;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    /**
+     * Pode ser nulo para agendamentos sem funcionário atribuído
+     */
+    public Long getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public boolean isEmAtendimento() {
+        return emAtendimento;
+    }
+
+    /**
+     * Nulo enquanto o atendimento não começou (ou em registros antigos)
+     */
+    public LocalDateTime getInicioAtendimento() {
+        return inicioAtendimento;
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Agendamento;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Envia lembretes por e-mail para os agendamentos do dia seguinte.
+ *
+ * Roda de hora em hora no horário comercial; cada execução reserva lotes
+ * de agendamentos ainda sem lembrete e os envia respeitando a taxa máxima
+ * configurada. Como a reserva fica gravada no agendamento, reinícios e
+ * execuções em outros nós não repetem lembretes.
+ *
+ * Configuração (.env):
+ * LEMBRETE_TAXA_POR_MINUTO (padrão 60) e LEMBRETE_TAMANHO_LOTE (padrão 50).
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class LembreteScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(LembreteScheduler.class.getName());
+
+    @EJB
+    private LembreteServiceLocal lembreteService;
+
+    @EJB
+    private AgendamentoMailServiceLocal agendamentoMailService;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private int taxaPorMinuto;
+    private int tamanhoLote;
+
+    private final AtomicBoolean executando = new AtomicBoolean(false);
+
+    private final AtomicLong totalEnviados = new AtomicLong();
+    private final AtomicLong totalFalhas = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        taxaPorMinuto = Math.max(1, configuracao.getInt("LEMBRETE_TAXA_POR_MINUTO", 60));
+        tamanhoLote = Math.max(1, Math.min(taxaPorMinuto, configuracao.getInt("LEMBRETE_TAMANHO_LOTE", 50)));
+    }
+
+    @Schedule(hour = "8-20", minute = "0", persistent = false)
+    public void enviarLembretes() {
+        if (!executando.compareAndSet(false, true)) {
+            return;
+        }
+        long enviados = 0;
+        long falhas = 0;
+        try {
+            LocalDate amanha = LocalDate.now().plusDays(1);
+            // Intervalo mínimo entre lotes para não passar da taxa configurada
+            long intervaloLoteMs = TimeUnit.MINUTES.toMillis(1) * tamanhoLote / taxaPorMinuto;
+
+            List<Agendamento> lote;
+            while (!(lote = lembreteService.reservarLembretes(amanha, tamanhoLote)).isEmpty()) {
+                long inicioLote = System.currentTimeMillis();
+
+                List<Long> naoEnviados;
+                try {
+                    naoEnviados = agendamentoMailService.enviarLembretes(lote);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Falha ao enviar lote de lembretes", e);
+                    naoEnviados = lote.stream().map(Agendamento::getId).toList();
+                }
+                if (!naoEnviados.isEmpty()) {
+                    lembreteService.liberarLembretes(naoEnviados);
+                }
+                enviados += lote.size() - naoEnviados.size();
+                falhas += naoEnviados.size();
+
+                // Se nada sai, o provedor está fora: tenta de novo na próxima hora
+                if (naoEnviados.size() == lote.size()) {
+                    break;
+                }
+
+                long espera = intervaloLoteMs - (System.currentTimeMillis() - inicioLote);
+                if (espera > 0) {
+                    Thread.sleep(espera);
+                }
+            }
+
+            if (enviados > 0 || falhas > 0) {
+                LOGGER.log(Level.INFO, "Lembretes para {0}: {1} enviados, {2} falhas",
+                        new Object[]{amanha, enviados, falhas});
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro no envio de lembretes", e);
+        } finally {
+            totalEnviados.addAndGet(enviados);
+            totalFalhas.addAndGet(falhas);
+            executando.set(false);
+        }
+    }
+
+    public long getTotalEnviados() {
+        return totalEnviados.get();
+    }
+
+    public long getTotalFalhas() {
+        return totalFalhas.get();
+    }
+}
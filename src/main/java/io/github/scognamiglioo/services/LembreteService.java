@@ -0,0 +1,72 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Agendamento;
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serviço EJB que reserva agendamentos para o envio de lembretes.
+ *
+ * A reserva é um único UPDATE ... RETURNING sobre um SELECT com
+ * FOR UPDATE SKIP LOCKED (PostgreSQL): cada linha é marcada por exatamente
+ * uma execução, mesmo com vários nós rodando o agendador ao mesmo tempo, e a
+ * marca persiste entre reinicializações.
+ */
+@Stateless
+@LocalBean
+public class LembreteService implements LembreteServiceLocal {
+
+    private static final String RESERVAR =
+            "UPDATE agendamento SET lembrete_enviado_em = :agora WHERE id IN ("
+            + "SELECT id FROM agendamento WHERE data = :data AND status = :status "
+            + "AND lembrete_enviado_em IS NULL AND user_id IS NOT NULL "
+            + "ORDER BY id LIMIT :limite FOR UPDATE SKIP LOCKED) "
+            + "RETURNING id";
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    @SuppressWarnings("unchecked")
+    public List<Agendamento> reservarLembretes(LocalDate data, int tamanhoLote) {
+        List<Number> reservados = em.createNativeQuery(RESERVAR)
+                .setParameter("agora", LocalDateTime.now())
+                .setParameter("data", data)
+                .setParameter("status", StatusAgendamento.AGENDADO.name())
+                .setParameter("limite", tamanhoLote)
+                .getResultList();
+
+        if (reservados.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(reservados.size());
+        for (Number id : reservados) {
+            ids.add(id.longValue());
+        }
+        return em.createNamedQuery("Agendamento.findByIds", Agendamento.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public void liberarLembretes(List<Long> agendamentoIds) {
+        if (agendamentoIds == null || agendamentoIds.isEmpty()) {
+            return;
+        }
+        em.createNamedQuery("Agendamento.liberarLembretes")
+                .setParameter("ids", agendamentoIds)
+                .executeUpdate();
+    }
+}
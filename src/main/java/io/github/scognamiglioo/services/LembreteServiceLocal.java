@@ -0,0 +1,28 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Agendamento;
+import jakarta.ejb.Local;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface local para a reserva de lembretes de agendamento
+ */
+@Local
+public interface LembreteServiceLocal {
+
+    /**
+     * Reserva até tamanhoLote agendamentos AGENDADO da data informada que
+     * ainda não tiveram lembrete, marcando lembrete_enviado_em. Linhas já
+     * reservadas por outra execução (ou outro nó) são ignoradas.
+     *
+     * @return agendamentos reservados, prontos para o envio
+     */
+    List<Agendamento> reservarLembretes(LocalDate data, int tamanhoLote);
+
+    /**
+     * Desfaz a reserva dos lembretes que não puderam ser enviados, para que
+     * a próxima execução tente novamente
+     */
+    void liberarLembretes(List<Long> agendamentoIds);
+}
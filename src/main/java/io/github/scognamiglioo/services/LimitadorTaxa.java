@@ -0,0 +1,112 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Limite de taxa (token bucket) para os pontos de entrada públicos: login,
+ * ativação de conta, recuperação de senha e o painel de chamadas.
+ *
+ * Há três regras independentes:
+ * por endereço IP, para todas as requisições públicas;
+ * por conta (CPF ou e-mail), para tentativas de login e pedidos de redefinição;
+ * global, para novas conexões WebSocket do painel.
+ *
+ * Configuração (.env):
+ * LIMITE_IP_POR_MINUTO (padrão 60), LIMITE_CONTA_POR_HORA (padrão 10),
+ * LIMITE_PAINEL_CONEXOES_POR_SEGUNDO (padrão 20) e LIMITE_PROXY_CONFIAVEL
+ * (padrão false; com true o IP vem do cabeçalho X-Forwarded-For).
+ */
+@ApplicationScoped
+public class LimitadorTaxa {
+
+    private static final Logger LOGGER = Logger.getLogger(LimitadorTaxa.class.getName());
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    @Inject
+    private ArmazenamentoLimiteTaxa armazenamento;
+
+    private volatile int ipPorMinuto;
+    private volatile int contaPorHora;
+    private volatile int painelPorSegundo;
+    private volatile boolean proxyConfiavel;
+
+    private final AtomicLong rejeitadas = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        carregar();
+    }
+
+    public void aoRecarregarConfiguracao(@Observes ConfiguracaoRecarregada evento) {
+        carregar();
+    }
+
+    private void carregar() {
+        ipPorMinuto = Math.max(1, configuracao.getInt("LIMITE_IP_POR_MINUTO", 60));
+        contaPorHora = Math.max(1, configuracao.getInt("LIMITE_CONTA_POR_HORA", 10));
+        painelPorSegundo = Math.max(1, configuracao.getInt("LIMITE_PAINEL_CONEXOES_POR_SEGUNDO", 20));
+        proxyConfiavel = Boolean.parseBoolean(configuracao.get("LIMITE_PROXY_CONFIAVEL", "false"));
+        LOGGER.log(Level.INFO, "Limites: {0}/min por IP, {1}/h por conta, {2}/s conexões do painel",
+                new Object[]{ipPorMinuto, contaPorHora, painelPorSegundo});
+    }
+
+    public boolean permitirIp(String ip) {
+        return registrar(armazenamento.consumir("ip|" + ip, ipPorMinuto, ipPorMinuto / 60d));
+    }
+
+    /**
+     * @param acao separa os baldes de login e de redefinição de senha
+     * @param conta CPF ou e-mail informado pelo cliente
+     */
+    public boolean permitirConta(String acao, String conta) {
+        return registrar(armazenamento.consumir("conta|" + acao + "|" + conta.toLowerCase(Locale.ROOT),
+                contaPorHora, contaPorHora / 3600d));
+    }
+
+    public boolean permitirConexaoPainel() {
+        return registrar(armazenamento.consumir("painel", painelPorSegundo, painelPorSegundo));
+    }
+
+    /**
+     * Endereço do cliente; atrás de um proxy confiável usa o primeiro
+     * endereço de X-Forwarded-For
+     */
+    public String enderecoCliente(String enderecoRemoto, String encaminhadoPara) {
+        if (proxyConfiavel && encaminhadoPara != null && !encaminhadoPara.isBlank()) {
+            int virgula = encaminhadoPara.indexOf(',');
+            return (virgula < 0 ? encaminhadoPara : encaminhadoPara.substring(0, virgula)).trim();
+        }
+        return enderecoRemoto;
+    }
+
+    /**
+     * Segundos sugeridos no cabeçalho Retry-After
+     */
+    public int getEsperaIpSegundos() {
+        return (int) Math.ceil(60d / ipPorMinuto);
+    }
+
+    public int getEsperaContaSegundos() {
+        return (int) Math.ceil(3600d / contaPorHora);
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.get();
+    }
+
+    private boolean registrar(boolean permitido) {
+        if (!permitido) {
+            rejeitadas.incrementAndGet();
+        }
+        return permitido;
+    }
+}
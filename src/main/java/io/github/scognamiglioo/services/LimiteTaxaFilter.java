@@ -0,0 +1,93 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Aplica o {@link LimitadorTaxa} às páginas e servlets públicos. Requisições
+ * acima do limite recebem 429 aqui mesmo, sem chegar ao JSF nem aos EJBs.
+ *
+ * O handshake do WebSocket do painel não passa por filtros da aplicação: o
+ * Undertow faz o upgrade num filtro próprio, à frente destes, sem seguir a
+ * cadeia. Por isso o limite por IP cobre a página do painel, mas não a
+ * conexão (ver {@link io.github.scognamiglioo.websocket.LimiteTaxaConfigurator}).
+ */
+@WebFilter(filterName = "LimiteTaxa", urlPatterns = {
+    "/login.xhtml", "/request-reset", "/activation", "/reset-password", "/painel-chamadas.xhtml"
+})
+public class LimiteTaxaFilter extends HttpFilter {
+
+    private static final Logger LOGGER = Logger.getLogger(LimiteTaxaFilter.class.getName());
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    // Campo CPF do formulário de login (form "login", input "cpf")
+    private static final String PARAMETRO_CPF_LOGIN = "login:cpf";
+
+    @Inject
+    private LimitadorTaxa limitador;
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        String ip = limitador.enderecoCliente(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+        if (!limitador.permitirIp(ip)) {
+            rejeitar(response, limitador.getEsperaIpSegundos());
+            LOGGER.log(Level.FINE, "Limite por IP excedido: {0} {1}", new Object[]{ip, request.getServletPath()});
+            return;
+        }
+
+        if ("POST".equals(request.getMethod())) {
+            String acao = request.getServletPath();
+            String conta = conta(request, acao);
+            if (conta != null && !limitador.permitirConta(acao, conta)) {
+                rejeitar(response, limitador.getEsperaContaSegundos());
+                LOGGER.log(Level.INFO, "Limite por conta excedido em {0} (IP {1})", new Object[]{acao, ip});
+                return;
+            }
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Conta alvo da requisição, quando a ação é por conta
+     */
+    private static String conta(HttpServletRequest request, String acao) throws IOException {
+        String parametro = switch (acao) {
+            case "/login.xhtml" -> PARAMETRO_CPF_LOGIN;
+            case "/request-reset" -> "email";
+            default -> null;
+        };
+        if (parametro == null) {
+            return null;
+        }
+        // Ler parâmetros fixa a codificação; garante a mesma que o JSF usaria
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        String valor = request.getParameter(parametro);
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return "/login.xhtml".equals(acao) ? valor.replaceAll("\\D", "") : valor.trim();
+    }
+
+    private static void rejeitar(HttpServletResponse response, int esperaSegundos) throws IOException {
+        response.setStatus(TOO_MANY_REQUESTS);
+        response.setHeader("Retry-After", String.valueOf(esperaSegundos));
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("text/plain");
+        response.getWriter().print("Muitas requisições. Tente novamente em instantes.");
+    }
+}
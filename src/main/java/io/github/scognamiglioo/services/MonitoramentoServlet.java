@@ -0,0 +1,107 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.websocket.PainelChamadaService;
+import jakarta.ejb.EJB;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Contadores dos agendadores, caches e filas internas, em texto com uma
+ * linha "nome=valor" por contador, para consulta de um administrador ou
+ * coleta por uma ferramenta de monitoramento. Os valores são deste nó e
+ * acumulados desde a subida do servidor.
+ */
+@WebServlet(name = "Monitoramento", urlPatterns = {"/app/admin/monitoramento"})
+public class MonitoramentoServlet extends HttpServlet {
+
+    @EJB
+    private NaoComparecimentoScheduler naoComparecimento;
+
+    @EJB
+    private AgendamentoArquivamentoScheduler arquivamento;
+
+    @EJB
+    private EnvioEmailService envioEmail;
+
+    @EJB
+    private LembreteScheduler lembretes;
+
+    @EJB
+    private ExpurgoTokensScheduler expurgoTokens;
+
+    @EJB
+    private HistoricoStatusAtendenteBuffer historicoStatus;
+
+    @EJB
+    private EstatisticaAgendamentoCache estatisticas;
+
+    @EJB
+    private ExecutorBloqueante executor;
+
+    @EJB
+    private CatalogoCache catalogo;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("text/plain");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter saida = response.getWriter();
+
+        linha(saida, "nao_comparecimento.total_marcados", naoComparecimento.getTotalMarcados());
+        linha(saida, "nao_comparecimento.total_execucoes", naoComparecimento.getTotalExecucoes());
+        linha(saida, "nao_comparecimento.ultima_quantidade", naoComparecimento.getUltimaQuantidade());
+        linha(saida, "nao_comparecimento.ultima_duracao_ms", naoComparecimento.getUltimaDuracaoMs());
+
+        linha(saida, "arquivamento.total_arquivados", arquivamento.getTotalArquivados());
+        linha(saida, "arquivamento.ultima_quantidade", arquivamento.getUltimaQuantidade());
+        linha(saida, "arquivamento.ultima_duracao_ms", arquivamento.getUltimaDuracaoMs());
+
+        linha(saida, "email.mensagens_enviadas", envioEmail.getMensagensEnviadas());
+        linha(saida, "email.conexoes_abertas", envioEmail.getConexoesAbertas());
+
+        linha(saida, "lembretes.total_enviados", lembretes.getTotalEnviados());
+        linha(saida, "lembretes.total_falhas", lembretes.getTotalFalhas());
+
+        linha(saida, "tokens.total_expurgados", expurgoTokens.getTotalExpurgados());
+
+        linha(saida, "historico_status.pendentes", historicoStatus.getPendentes());
+        linha(saida, "historico_status.total_gravados", historicoStatus.getTotalGravados());
+        linha(saida, "historico_status.total_descartados", historicoStatus.getTotalDescartados());
+
+        linha(saida, "estatisticas.total_dias_recalculados", estatisticas.getTotalDiasRecalculados());
+
+        PainelChamadaService painel = PainelChamadaService.getInstance();
+        linha(saida, "painel.conectados", painel.obterQuantidadeConectados());
+        linha(saida, "painel.conexoes_aceitas", painel.getConexoesAceitas());
+        linha(saida, "painel.conexoes_recusadas", painel.getConexoesRecusadas());
+        linha(saida, "painel.sessoes_expiradas", painel.getSessoesExpiradas());
+        linha(saida, "painel.falhas_envio", painel.getFalhasEnvio());
+
+        for (Map.Entry<String, ExecutorBloqueante.Metricas> tipo : new TreeMap<>(executor.getMetricas()).entrySet()) {
+            String prefixo = "executor." + tipo.getKey() + ".";
+            ExecutorBloqueante.Metricas m = tipo.getValue();
+            linha(saida, prefixo + "submetidas", m.getSubmetidas());
+            linha(saida, prefixo + "concluidas", m.getConcluidas());
+            linha(saida, prefixo + "falhas", m.getFalhas());
+            linha(saida, prefixo + "canceladas", m.getCanceladas());
+            linha(saida, prefixo + "em_execucao", m.getEmExecucao());
+            linha(saida, prefixo + "tempo_medio_ms", m.getTempoMedioMs());
+        }
+
+        linha(saida, "catalogo.total_carregamentos", catalogo.getTotalCarregamentos());
+        linha(saida, "catalogo.total_invalidacoes", catalogo.getTotalInvalidacoes());
+    }
+
+    private static void linha(PrintWriter saida, String nome, Object valor) {
+        saida.println(nome + "=" + valor);
+    }
+}
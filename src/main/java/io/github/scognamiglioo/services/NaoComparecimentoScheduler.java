@@ -0,0 +1,106 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Rotina periódica que marca como NAO_COMPARECEU os agendamentos AGENDADO
+ * cujo horário já passou há mais que a tolerância configurada. CONFIRMADO
+ * significa que o paciente fez check-in e aguarda na fila: esses só são
+ * marcados a partir do dia seguinte.
+ *
+ * Sem ela esses registros ficam "ativos" para sempre e entram em toda
+ * consulta de fila e de status do dia.
+ *
+ * Configuração (.env):
+ * NAO_COMPARECIMENTO_TOLERANCIA_MINUTOS (padrão 30) e
+ * NAO_COMPARECIMENTO_TAMANHO_LOTE (padrão 500).
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class NaoComparecimentoScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(NaoComparecimentoScheduler.class.getName());
+
+    @EJB
+    private AgendamentoStatusServiceLocal statusService;
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private int toleranciaMinutos;
+    private int tamanhoLote;
+
+    private final AtomicBoolean executando = new AtomicBoolean(false);
+
+    private final AtomicLong totalMarcados = new AtomicLong();
+    private final AtomicLong totalExecucoes = new AtomicLong();
+    private final AtomicLong ultimaQuantidade = new AtomicLong();
+    private final AtomicLong ultimaDuracaoMs = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        toleranciaMinutos = Math.max(0, configuracao.getInt("NAO_COMPARECIMENTO_TOLERANCIA_MINUTOS", 30));
+        tamanhoLote = Math.max(1, configuracao.getInt("NAO_COMPARECIMENTO_TAMANHO_LOTE", 500));
+        LOGGER.log(Level.INFO, "Varredura de não comparecimento ativa (tolerância {0} min, lote {1})",
+                new Object[]{toleranciaMinutos, tamanhoLote});
+    }
+
+    @Schedule(hour = "*", minute = "*/5", persistent = false)
+    public void varrer() {
+        // Evita duas varreduras simultâneas caso uma execução atrase
+        if (!executando.compareAndSet(false, true)) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        long marcados = 0;
+        try {
+            LocalDateTime limite = LocalDateTime.now().minusMinutes(toleranciaMinutos);
+            int lote;
+            do {
+                lote = statusService.marcarNaoComparecimento(limite, tamanhoLote);
+                marcados += lote;
+            } while (lote > 0);
+
+            if (marcados > 0) {
+                LOGGER.log(Level.INFO, "{0} agendamento(s) marcados como não comparecimento", marcados);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Erro na varredura de não comparecimento", e);
+        } finally {
+            totalExecucoes.incrementAndGet();
+            totalMarcados.addAndGet(marcados);
+            ultimaQuantidade.set(marcados);
+            ultimaDuracaoMs.set(System.currentTimeMillis() - inicio);
+            executando.set(false);
+        }
+    }
+
+    public long getTotalMarcados() {
+        return totalMarcados.get();
+    }
+
+    public long getTotalExecucoes() {
+        return totalExecucoes.get();
+    }
+
+    public long getUltimaQuantidade() {
+        return ultimaQuantidade.get();
+    }
+
+    public long getUltimaDuracaoMs() {
+        return ultimaDuracaoMs.get();
+    }
+}
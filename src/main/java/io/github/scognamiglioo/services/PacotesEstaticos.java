@@ -0,0 +1,117 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.servlet.ServletContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * URLs dos pacotes de CSS/JS definidos em WEB-INF/pacotes.properties, para
+ * as páginas: #{pacotes.css('cargos')} e #{pacotes.js('cargos')}.
+ *
+ * No WAR empacotado pelo Maven cada pacote é um único arquivo minificado com
+ * a hash do conteúdo no nome (WEB-INF/pacotes-manifesto.properties, gerado
+ * por src/build/java/PipelineAssets.java), servido por
+ * {@link PacotesEstaticosFilter} com cache imutável. Sem o manifesto (deploy
+ * direto das fontes) a URL não tem hash e o filtro monta o pacote a cada
+ * requisição concatenando os arquivos originais de /resources.
+ */
+@Named("pacotes")
+@ApplicationScoped
+public class PacotesEstaticos {
+
+    private static final Logger LOGGER = Logger.getLogger(PacotesEstaticos.class.getName());
+
+    static final String CAMINHO_PACOTES = "/resources/pacotes/";
+
+    private static final String DEFINICOES = "/WEB-INF/pacotes.properties";
+    private static final String MANIFESTO = "/WEB-INF/pacotes-manifesto.properties";
+
+    @Inject
+    private ServletContext contexto;
+
+    private Properties definicoes;
+    private Map<String, String> urls;
+
+    @PostConstruct
+    public void init() {
+        definicoes = ler(DEFINICOES);
+        Properties manifesto = ler(MANIFESTO);
+        String raiz = contexto.getContextPath();
+
+        Map<String, String> mapa = new HashMap<>();
+        for (String nome : definicoes.stringPropertyNames()) {
+            mapa.put(nome, raiz + CAMINHO_PACOTES + manifesto.getProperty(nome, nome));
+        }
+        urls = Map.copyOf(mapa);
+
+        if (manifesto.isEmpty()) {
+            LOGGER.log(Level.INFO, "Manifesto de pacotes ausente: pacotes montados a partir dos arquivos originais");
+        }
+    }
+
+    public String css(String pacote) {
+        return url(pacote + ".css");
+    }
+
+    public String js(String pacote) {
+        return url(pacote + ".js");
+    }
+
+    /**
+     * Concatenação dos arquivos originais do pacote, sem minificar
+     *
+     * @return null se o nome não é de um pacote definido
+     */
+    public byte[] montar(String nome) throws IOException {
+        String arquivos = definicoes.getProperty(nome);
+        if (arquivos == null) {
+            return null;
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        for (String arquivo : arquivos.split(",")) {
+            try (InputStream entrada = contexto.getResourceAsStream("/resources/" + arquivo.trim())) {
+                if (entrada == null) {
+                    throw new IOException("Arquivo do pacote " + nome + " não encontrado: " + arquivo.trim());
+                }
+                entrada.transferTo(saida);
+            }
+            saida.write((nome.endsWith(".js") ? ";\n" : "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return saida.toByteArray();
+    }
+
+    private String url(String nome) {
+        String url = urls.get(nome);
+        if (url == null) {
+            throw new IllegalArgumentException("Pacote estático desconhecido: " + nome);
+        }
+        return url;
+    }
+
+    private Properties ler(String caminho) {
+        Properties propriedades = new Properties();
+        try (InputStream entrada = contexto.getResourceAsStream(caminho)) {
+            if (entrada != null) {
+                try (Reader leitor = new InputStreamReader(entrada, StandardCharsets.UTF_8)) {
+                    propriedades.load(leitor);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Falha ao ler " + caminho, e);
+        }
+        return propriedades;
+    }
+}
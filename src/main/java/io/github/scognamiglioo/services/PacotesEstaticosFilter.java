@@ -0,0 +1,147 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.inject.Inject;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serve os pacotes gerados no build ({@link PacotesEstaticos}). Como o nome
+ * de cada arquivo traz a hash do conteúdo, a resposta pode ficar em cache
+ * por um ano sem revalidação: uma mudança gera outro nome.
+ *
+ * Quando o navegador aceita, envia a versão pré-comprimida gerada no build
+ * (.br, se houver, ou .gz), sem comprimir nada por requisição. Os bytes de
+ * cada arquivo ficam em memória após o primeiro acesso.
+ *
+ * Sem o build, as páginas apontam para o nome do pacote sem hash; ele é
+ * montado aqui a partir dos originais, sem cache, para que alterações nos
+ * arquivos apareçam de imediato.
+ */
+@WebFilter(filterName = "PacotesEstaticos", urlPatterns = {"/resources/pacotes/*"})
+public class PacotesEstaticosFilter extends HttpFilter {
+
+    private static final String CACHE_IMUTAVEL = "public, max-age=31536000, immutable";
+
+    @Inject
+    private PacotesEstaticos pacotes;
+
+    private final Map<String, Variantes> arquivos = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        String metodo = request.getMethod();
+        // Caminho já decodificado e normalizado pelo contêiner
+        String caminho = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        if ((!"GET".equals(metodo) && !"HEAD".equals(metodo))
+                || !caminho.startsWith(PacotesEstaticos.CAMINHO_PACOTES)
+                || caminho.endsWith(".gz") || caminho.endsWith(".br")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Variantes variantes = arquivos.computeIfAbsent(caminho, this::carregar);
+        if (variantes.original == null) {
+            arquivos.remove(caminho);
+            String tipo = getServletContext().getMimeType(caminho);
+            byte[] montado = pacotes.montar(caminho.substring(PacotesEstaticos.CAMINHO_PACOTES.length()));
+            if (montado == null || tipo == null) {
+                // Nem gerado no build nem definido: o servlet padrão responde 404
+                chain.doFilter(request, response);
+                return;
+            }
+            response.setHeader("Cache-Control", "no-cache");
+            response.setContentType(tipo);
+            response.setCharacterEncoding("UTF-8");
+            response.setContentLength(montado.length);
+            if ("GET".equals(metodo)) {
+                response.getOutputStream().write(montado);
+            }
+            return;
+        }
+
+        String aceitas = request.getHeader("Accept-Encoding");
+        String codificacao = null;
+        byte[] corpo = variantes.original;
+        if (variantes.brotli != null && aceita(aceitas, "br")) {
+            codificacao = "br";
+            corpo = variantes.brotli;
+        } else if (variantes.gzip != null && aceita(aceitas, "gzip")) {
+            codificacao = "gzip";
+            corpo = variantes.gzip;
+        }
+
+        String etag = "\"" + caminho.substring(caminho.lastIndexOf('/') + 1)
+                + (codificacao != null ? "-" + codificacao : "") + "\"";
+        response.setHeader("Cache-Control", CACHE_IMUTAVEL);
+        response.setHeader("Vary", "Accept-Encoding");
+        response.setHeader("ETag", etag);
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String tipo = getServletContext().getMimeType(caminho);
+        response.setContentType(tipo != null ? tipo : "application/octet-stream");
+        response.setCharacterEncoding("UTF-8");
+        if (codificacao != null) {
+            response.setHeader("Content-Encoding", codificacao);
+        }
+        response.setContentLength(corpo.length);
+        if ("GET".equals(metodo)) {
+            response.getOutputStream().write(corpo);
+        }
+    }
+
+    private Variantes carregar(String caminho) {
+        return new Variantes(ler(caminho), ler(caminho + ".gz"), ler(caminho + ".br"));
+    }
+
+    private byte[] ler(String caminho) {
+        try (InputStream entrada = getServletContext().getResourceAsStream(caminho)) {
+            return entrada != null ? entrada.readAllBytes() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A codificação consta em Accept-Encoding sem q=0
+     */
+    private static boolean aceita(String aceitas, String codificacao) {
+        if (aceitas == null) {
+            return false;
+        }
+        for (String item : aceitas.split(",")) {
+            String[] partes = item.trim().split(";");
+            if (!partes[0].trim().equalsIgnoreCase(codificacao)) {
+                continue;
+            }
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim().toLowerCase(Locale.ROOT);
+                if (parametro.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parametro.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private record Variantes(byte[] original, byte[] gzip, byte[] brotli) {
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indicadores de agendamento já calculados. Imutável: o
+ * {@link EstatisticaAgendamentoCache} troca a instância inteira a cada
+ * atualização, e as telas apenas leem os valores.
+ */
+public final class PainelEstatisticas implements Serializable {
+
+    private final LocalDate dia;
+    private final Map<StatusAgendamento, Long> totaisPorStatus;
+    private final Map<StatusAgendamento, Long> hojePorStatus;
+    private final List<Ponto> concluidosPorDia;
+    private final List<Ponto> porServico;
+    private final List<Ponto> porLocalizacao;
+    private final Instant geradoEm;
+
+    private final long total;
+    private final long hoje;
+
+    public PainelEstatisticas(LocalDate dia, Map<StatusAgendamento, Long> totaisPorStatus,
+            Map<StatusAgendamento, Long> hojePorStatus, List<Ponto> concluidosPorDia,
+            List<Ponto> porServico, List<Ponto> porLocalizacao) {
+        this.dia = dia;
+        this.totaisPorStatus = Collections.unmodifiableMap(new EnumMap<>(totaisPorStatus));
+        this.hojePorStatus = Collections.unmodifiableMap(new EnumMap<>(hojePorStatus));
+        this.concluidosPorDia = List.copyOf(concluidosPorDia);
+        this.porServico = List.copyOf(porServico);
+        this.porLocalizacao = List.copyOf(porLocalizacao);
+        this.geradoEm = Instant.now();
+        this.total = somar(totaisPorStatus);
+        this.hoje = somar(hojePorStatus);
+    }
+
+    public static PainelEstatisticas vazio() {
+        Map<StatusAgendamento, Long> semDados = new EnumMap<>(StatusAgendamento.class);
+        return new PainelEstatisticas(LocalDate.now(), semDados, semDados, List.of(), List.of(), List.of());
+    }
+
+    private static long somar(Map<StatusAgendamento, Long> totais) {
+        long soma = 0;
+        for (long valor : totais.values()) {
+            soma += valor;
+        }
+        return soma;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getHoje() {
+        return hoje;
+    }
+
+    public long getPendentes() {
+        return getTotal(StatusAgendamento.AGENDADO) + getTotal(StatusAgendamento.CONFIRMADO);
+    }
+
+    public long getConcluidos() {
+        return getTotal(StatusAgendamento.CONCLUIDO);
+    }
+
+    public long getTotal(StatusAgendamento status) {
+        return totaisPorStatus.getOrDefault(status, 0L);
+    }
+
+    public long getHoje(StatusAgendamento status) {
+        return hojePorStatus.getOrDefault(status, 0L);
+    }
+
+    public long getHojeConcluidos() {
+        return getHoje(StatusAgendamento.CONCLUIDO);
+    }
+
+    public long getHojePendentes() {
+        return getHoje(StatusAgendamento.AGENDADO) + getHoje(StatusAgendamento.CONFIRMADO);
+    }
+
+    public long getHojeNaoComparecimentos() {
+        return getHoje(StatusAgendamento.NAO_COMPARECEU);
+    }
+
+    /**
+     * Atendimentos concluídos por dia, do mais antigo ao mais recente
+     */
+    public List<Ponto> getConcluidosPorDia() {
+        return concluidosPorDia;
+    }
+
+    public List<Ponto> getPorServico() {
+        return porServico;
+    }
+
+    public List<Ponto> getPorLocalizacao() {
+        return porLocalizacao;
+    }
+
+    public Instant getGeradoEm() {
+        return geradoEm;
+    }
+
+    /**
+     * Valor de uma série, com o percentual em relação ao maior valor da
+     * série (para desenhar barras)
+     */
+    public static final class Ponto implements Serializable {
+
+        private final String rotulo;
+        private final long quantidade;
+        private final int percentual;
+
+        public Ponto(String rotulo, long quantidade, long maximo) {
+            this.rotulo = rotulo;
+            this.quantidade = quantidade;
+            this.percentual = maximo == 0 ? 0 : (int) Math.round(100.0 * quantidade / maximo);
+        }
+
+        public String getRotulo() {
+            return rotulo;
+        }
+
+        public long getQuantidade() {
+            return quantidade;
+        }
+
+        public int getPercentual() {
+            return percentual;
+        }
+    }
+}
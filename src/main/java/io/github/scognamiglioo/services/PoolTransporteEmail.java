@@ -0,0 +1,273 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pool de conexões SMTP autenticadas.
+ *
+ * Transport.send abre uma conexão, faz STARTTLS e autentica a cada mensagem.
+ * Aqui as conexões ficam abertas entre envios e são reaproveitadas; o número
+ * de conexões simultâneas é limitado para não ultrapassar o que o provedor
+ * aceita. Conexões ociosas além do tempo configurado são descartadas, pois
+ * servidores SMTP costumam encerrá-las.
+ *
+ * A classe não depende do container: basta uma Session, o que permite
+ * exercitá-la contra um servidor SMTP local.
+ */
+public class PoolTransporteEmail implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(PoolTransporteEmail.class.getName());
+
+    private final Session session;
+    private final int maxConexoes;
+    private final long maxOciosoMs;
+    private final Semaphore permissoes;
+    private final Deque<Conexao> ociosas = new ConcurrentLinkedDeque<>();
+
+    // Conexões SMTP conectadas agora (em uso ou ociosas)
+    private final AtomicLong conexoesAbertas = new AtomicLong();
+    private final AtomicLong mensagensEnviadas = new AtomicLong();
+
+    private volatile boolean fechado;
+
+    public PoolTransporteEmail(Session session, int maxConexoes, long maxOciosoMs) {
+        this.session = session;
+        this.maxConexoes = Math.max(1, maxConexoes);
+        this.maxOciosoMs = maxOciosoMs;
+        this.permissoes = new Semaphore(this.maxConexoes, true);
+    }
+
+    /**
+     * Envia uma mensagem usando uma conexão do pool
+     */
+    public void enviar(MimeMessage mensagem) throws MessagingException {
+        Conexao conexao = adquirir();
+        try {
+            enviar(conexao, mensagem);
+        } finally {
+            devolver(conexao);
+        }
+    }
+
+    /**
+     * Prepara um lote de mensagens para no máximo maxConexoes envios em
+     * paralelo; as threads que o executam ficam a cargo do chamador
+     */
+    public Lote novoLote(List<MimeMessage> mensagens) {
+        return new Lote(mensagens);
+    }
+
+    /**
+     * Mensagens de um lote e as que falharam. O chamador executa
+     * {@link #trabalhar} em {@link #getTrabalhadores} threads e, depois que
+     * todas pararem, lê {@link #getFalhas}.
+     */
+    public final class Lote {
+
+        private final Queue<MimeMessage> fila;
+        private final List<MimeMessage> falhas = Collections.synchronizedList(new ArrayList<>());
+        private final int trabalhadores;
+
+        private Lote(List<MimeMessage> mensagens) {
+            this.fila = new ConcurrentLinkedQueue<>(mensagens);
+            this.trabalhadores = Math.min(maxConexoes, mensagens.size());
+        }
+
+        public int getTrabalhadores() {
+            return trabalhadores;
+        }
+
+        /**
+         * Envia mensagens da fila até ela acabar ou a thread ser
+         * interrompida, mantendo uma conexão durante todo o lote
+         */
+        public void trabalhar() {
+            esvaziar(fila, falhas);
+        }
+
+        /**
+         * Mensagens que falharam ou não chegaram a ser enviadas (sobram na
+         * fila se nenhum trabalhador conectou ou se o lote foi cancelado)
+         */
+        public List<MimeMessage> getFalhas() {
+            List<MimeMessage> todas = new ArrayList<>(falhas);
+            todas.addAll(fila);
+            return todas;
+        }
+    }
+
+    private void esvaziar(Queue<MimeMessage> fila, List<MimeMessage> falhas) {
+        Conexao conexao;
+        try {
+            conexao = adquirir();
+        } catch (MessagingException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível abrir conexão SMTP para o lote", e);
+            return;
+        }
+        try {
+            MimeMessage mensagem;
+            while (!Thread.currentThread().isInterrupted() && (mensagem = fila.poll()) != null) {
+                try {
+                    enviar(conexao, mensagem);
+                } catch (MessagingException | RuntimeException e) {
+                    // Inclui o IllegalStateException de um Transport desconectado
+                    LOGGER.log(Level.WARNING, "Falha ao enviar mensagem do lote", e);
+                    falhas.add(mensagem);
+                    // Cancelado, ou sem conexão: o que sobrar na fila é devolvido como falha pelo Lote
+                    if (Thread.currentThread().isInterrupted()
+                            || (!conexao.transport.isConnected() && !reconectar(conexao))) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            devolver(conexao);
+        }
+    }
+
+    private static boolean reconectar(Conexao conexao) {
+        try {
+            conexao.reabrir();
+            return true;
+        } catch (MessagingException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Não foi possível reabrir conexão SMTP; trabalhador do lote encerrado", e);
+            return false;
+        }
+    }
+
+    private void enviar(Conexao conexao, MimeMessage mensagem) throws MessagingException {
+        mensagem.saveChanges();
+        try {
+            conexao.transport.sendMessage(mensagem, mensagem.getAllRecipients());
+        } catch (SendFailedException e) {
+            // Destinatário recusado: a conexão continua válida
+            throw e;
+        } catch (MessagingException e) {
+            // Conexão derrubada pelo servidor: tenta uma vez com uma nova
+            LOGGER.log(Level.FINE, "Reabrindo conexão SMTP após falha", e);
+            conexao.reabrir();
+            conexao.transport.sendMessage(mensagem, mensagem.getAllRecipients());
+        }
+        conexao.ultimoUso = System.currentTimeMillis();
+        mensagensEnviadas.incrementAndGet();
+    }
+
+    private Conexao adquirir() throws MessagingException {
+        if (fechado) {
+            throw new MessagingException("Pool de conexões SMTP encerrado");
+        }
+        try {
+            permissoes.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrompido aguardando conexão SMTP", e);
+        }
+
+        try {
+            Conexao conexao;
+            while ((conexao = ociosas.pollFirst()) != null) {
+                if (conexao.utilizavel()) {
+                    return conexao;
+                }
+                conexao.fechar();
+            }
+            return new Conexao();
+        } catch (MessagingException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    private void devolver(Conexao conexao) {
+        if (!fechado && conexao.transport.isConnected()) {
+            ociosas.offerFirst(conexao);
+        } else {
+            conexao.fechar();
+        }
+        permissoes.release();
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public long getConexoesAbertas() {
+        return conexoesAbertas.get();
+    }
+
+    public long getMensagensEnviadas() {
+        return mensagensEnviadas.get();
+    }
+
+    public int getConexoesOciosas() {
+        return ociosas.size();
+    }
+
+    /**
+     * Fecha as conexões ociosas; as que estão em uso são fechadas ao serem devolvidas
+     */
+    @Override
+    public void close() {
+        fechado = true;
+        Conexao conexao;
+        while ((conexao = ociosas.pollFirst()) != null) {
+            conexao.fechar();
+        }
+    }
+
+    private final class Conexao {
+
+        private Transport transport;
+        private long ultimoUso;
+        private boolean aberta;
+
+        private Conexao() throws MessagingException {
+            abrir();
+        }
+
+        private void abrir() throws MessagingException {
+            String protocolo = session.getProperty("mail.transport.protocol");
+            transport = session.getTransport(protocolo != null ? protocolo : "smtp");
+            transport.connect();
+            ultimoUso = System.currentTimeMillis();
+            aberta = true;
+            conexoesAbertas.incrementAndGet();
+        }
+
+        private void reabrir() throws MessagingException {
+            fechar();
+            abrir();
+        }
+
+        private boolean utilizavel() {
+            return System.currentTimeMillis() - ultimoUso <= maxOciosoMs && transport.isConnected();
+        }
+
+        private void fechar() {
+            if (aberta) {
+                aberta = false;
+                conexoesAbertas.decrementAndGet();
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                LOGGER.log(Level.FINE, "Erro ao fechar conexão SMTP", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import jakarta.ejb.EJB;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serviço EJB de produtividade dos atendentes.
+ *
+ * Cada mudança de status encerra o intervalo da situação anterior; esse
+ * intervalo, dividido na virada dos dias, é somado à tabela
+ * tempo_situacao_atendente com um upsert. Os relatórios leem apenas esses
+ * totais, uma linha por atendente, dia e situação, e acrescentam o intervalo
+ * ainda em curso a partir do {@link CacheStatusAtendentes}.
+ */
+@Stateless
+@LocalBean
+public class ProdutividadeAtendenteService implements ProdutividadeAtendenteServiceLocal {
+
+    private static final ZoneId ZONA = ZoneId.systemDefault();
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @EJB
+    private CacheStatusAtendentes cacheStatus;
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.MANDATORY)
+    public void acumular(List<StatusAtendenteAlterado> mudancas) {
+        Map<ChaveTempo, Long> totais = new LinkedHashMap<>();
+        for (StatusAtendenteAlterado mudanca : mudancas) {
+            if (mudanca.getSituacaoAnterior() == null) {
+                continue;
+            }
+            distribuir(mudanca.getInicioAnterior(), mudanca.getAtualizacao(), (dia, segundos) ->
+                    totais.merge(new ChaveTempo(mudanca.getFuncionarioId(), dia, mudanca.getSituacaoAnterior()),
+                            segundos, Long::sum));
+        }
+        if (totais.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO tempo_situacao_atendente (id_funcionario, dia, situacao, segundos) VALUES ");
+        int i = 0;
+        for (int n = 0; n < totais.size(); n++) {
+            sql.append(n == 0 ? "" : ", ")
+                    .append("(?").append(++i)
+                    .append(", ?").append(++i)
+                    .append(", ?").append(++i)
+                    .append(", ?").append(++i).append(')');
+        }
+        sql.append(" ON CONFLICT (dia, id_funcionario, situacao) "
+                + "DO UPDATE SET segundos = tempo_situacao_atendente.segundos + EXCLUDED.segundos");
+
+        Query upsert = em.createNativeQuery(sql.toString());
+        i = 0;
+        for (Map.Entry<ChaveTempo, Long> total : totais.entrySet()) {
+            upsert.setParameter(++i, total.getKey().funcionarioId());
+            upsert.setParameter(++i, total.getKey().dia());
+            upsert.setParameter(++i, total.getKey().situacao().name());
+            upsert.setParameter(++i, total.getValue());
+        }
+        upsert.executeUpdate();
+    }
+
+    @Override
+    public List<ResumoProdutividade> resumoPorPeriodo(LocalDate inicio, LocalDate fim) {
+        validarPeriodo(inicio, fim);
+
+        Map<Long, ResumoProdutividade> resumos = new HashMap<>();
+        List<Object[]> totais = em.createNamedQuery("TempoSituacaoAtendente.totaisPorPeriodo", Object[].class)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", fim)
+                .getResultList();
+        for (Object[] linha : totais) {
+            Long funcionarioId = (Long) linha[0];
+            resumos.computeIfAbsent(funcionarioId, id -> new ResumoProdutividade(id, nome(id), null))
+                    .somar((StatusAtendente.Situacao) linha[1], ((Number) linha[2]).longValue());
+        }
+
+        for (SituacaoAtendente situacao : cacheStatus.listar()) {
+            somarEmCurso(situacao, inicio, fim, (dia, segundos) ->
+                    resumos.computeIfAbsent(situacao.getFuncionarioId(),
+                            id -> new ResumoProdutividade(id, situacao.getNome(), null))
+                            .somar(situacao.getSituacao(), segundos));
+        }
+
+        List<ResumoProdutividade> lista = new ArrayList<>(resumos.values());
+        lista.sort(Comparator.comparing(ResumoProdutividade::getNome, String.CASE_INSENSITIVE_ORDER));
+        return lista;
+    }
+
+    @Override
+    public List<ResumoProdutividade> resumoDiario(Long funcionarioId, LocalDate inicio, LocalDate fim) {
+        if (funcionarioId == null) {
+            throw new IllegalArgumentException("ID do funcionário é obrigatório");
+        }
+        validarPeriodo(inicio, fim);
+
+        String nome = nome(funcionarioId);
+        Map<LocalDate, ResumoProdutividade> dias = new TreeMap<>();
+        List<Object[]> linhas = em.createNamedQuery("TempoSituacaoAtendente.diasPorFuncionario", Object[].class)
+                .setParameter("funcionarioId", funcionarioId)
+                .setParameter("inicio", inicio)
+                .setParameter("fim", fim)
+                .getResultList();
+        for (Object[] linha : linhas) {
+            LocalDate dia = (LocalDate) linha[0];
+            dias.computeIfAbsent(dia, d -> new ResumoProdutividade(funcionarioId, nome, d))
+                    .somar((StatusAtendente.Situacao) linha[1], ((Number) linha[2]).longValue());
+        }
+
+        SituacaoAtendente atual = cacheStatus.obter(funcionarioId);
+        if (atual != null) {
+            somarEmCurso(atual, inicio, fim, (dia, segundos) ->
+                    dias.computeIfAbsent(dia, d -> new ResumoProdutividade(funcionarioId, nome, d))
+                            .somar(atual.getSituacao(), segundos));
+        }
+        return new ArrayList<>(dias.values());
+    }
+
+    /**
+     * Intervalo da situação atual, que só entra nos totais na próxima mudança
+     */
+    private static void somarEmCurso(SituacaoAtendente situacao, LocalDate inicio, LocalDate fim,
+            AcumuladorDia acumulador) {
+        Instant agora = Instant.now();
+        if (situacao.getAtualizacao() == null || situacao.getAtualizacao().isAfter(agora)) {
+            return;
+        }
+        distribuir(situacao.getAtualizacao(), agora, (dia, segundos) -> {
+            if (!dia.isBefore(inicio) && !dia.isAfter(fim)) {
+                acumulador.somar(dia, segundos);
+            }
+        });
+    }
+
+    /**
+     * Divide o intervalo [de, ate) em partes de um dia civil
+     */
+    private static void distribuir(Instant de, Instant ate, AcumuladorDia acumulador) {
+        if (de == null || ate == null || !ate.isAfter(de)) {
+            return;
+        }
+        LocalDate dia = LocalDate.ofInstant(de, ZONA);
+        Instant inicioParte = de;
+        while (inicioParte.isBefore(ate)) {
+            Instant fimDia = dia.plusDays(1).atStartOfDay(ZONA).toInstant();
+            Instant fimParte = fimDia.isBefore(ate) ? fimDia : ate;
+            long segundos = fimParte.getEpochSecond() - inicioParte.getEpochSecond();
+            if (segundos > 0) {
+                acumulador.somar(dia, segundos);
+            }
+            inicioParte = fimParte;
+            dia = dia.plusDays(1);
+        }
+    }
+
+    private String nome(Long funcionarioId) {
+        SituacaoAtendente situacao = cacheStatus.obter(funcionarioId);
+        if (situacao != null) {
+            return situacao.getNome();
+        }
+        return em.createQuery("SELECT f.user.nome FROM Funcionario f WHERE f.id = :id", String.class)
+                .setParameter("id", funcionarioId)
+                .getResultStream()
+                .findFirst()
+                .orElse("");
+    }
+
+    private static void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null) {
+            throw new IllegalArgumentException("Datas de início e fim são obrigatórias");
+        }
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Data fim não pode ser anterior à data início");
+        }
+    }
+
+    @FunctionalInterface
+    private interface AcumuladorDia {
+        void somar(LocalDate dia, long segundos);
+    }
+
+    private record ChaveTempo(Long funcionarioId, LocalDate dia, StatusAtendente.Situacao situacao) {
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.Local;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface local para os relatórios de produtividade dos atendentes
+ */
+@Local
+public interface ProdutividadeAtendenteServiceLocal {
+
+    /**
+     * Soma aos totais diários os intervalos encerrados por essas mudanças.
+     * Deve ser chamado na transação que grava o histórico.
+     */
+    void acumular(List<StatusAtendenteAlterado> mudancas);
+
+    /**
+     * Totais por atendente no período, incluindo a situação em curso quando
+     * o período chega até hoje
+     */
+    List<ResumoProdutividade> resumoPorPeriodo(LocalDate inicio, LocalDate fim);
+
+    /**
+     * Totais dia a dia de um atendente no período
+     */
+    List<ResumoProdutividade> resumoDiario(Long funcionarioId, LocalDate inicio, LocalDate fim);
+}
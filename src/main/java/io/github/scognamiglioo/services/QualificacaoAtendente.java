@@ -0,0 +1,45 @@
+package io.github.scognamiglioo.services;
+
+import java.io.Serializable;
+
+/**
+ * Associação ativa funcionário/serviço/localização, apenas com os dados
+ * usados no roteamento de atendimentos
+ */
+public final class QualificacaoAtendente implements Serializable {
+
+    private final Long servicoId;
+    private final Long funcionarioId;
+    private final String nome;
+    private final Long localizacaoId;
+    private final String localizacaoNome;
+
+    public QualificacaoAtendente(Long servicoId, Long funcionarioId, String nome,
+            Long localizacaoId, String localizacaoNome) {
+        this.servicoId = servicoId;
+        this.funcionarioId = funcionarioId;
+        this.nome = nome;
+        this.localizacaoId = localizacaoId;
+        this.localizacaoNome = localizacaoNome;
+    }
+
+    public Long getServicoId() {
+        return servicoId;
+    }
+
+    public Long getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public Long getLocalizacaoId() {
+        return localizacaoId;
+    }
+
+    public String getLocalizacaoNome() {
+        return localizacaoNome;
+    }
+}
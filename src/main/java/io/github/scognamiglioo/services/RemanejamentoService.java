@@ -0,0 +1,239 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Agendamento;
+import io.github.scognamiglioo.entities.Funcionario;
+import io.github.scognamiglioo.entities.StatusAgendamento;
+import jakarta.ejb.LocalBean;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serviço EJB para remanejar os agendamentos de um funcionário ausente.
+ *
+ * Em vez de verificar disponibilidade agendamento a agendamento, carrega de
+ * uma vez os agendamentos afetados, os substitutos de cada serviço e os
+ * horários já ocupados desses substitutos. A escolha é feita em memória e o
+ * resultado é gravado com um UPDATE por substituto e um para os cancelamentos.
+ *
+ * O local do atendimento vem da associação funcionário/serviço; por isso o
+ * substituto precisa prestar o serviço no mesmo local que o ausente, e o
+ * paciente não é levado para outra unidade sem aviso.
+ */
+@Stateless
+@LocalBean
+public class RemanejamentoService implements RemanejamentoServiceLocal {
+
+    private static final Logger LOGGER = Logger.getLogger(RemanejamentoService.class.getName());
+
+    private static final Set<StatusAgendamento> ATIVOS =
+            EnumSet.of(StatusAgendamento.AGENDADO, StatusAgendamento.CONFIRMADO);
+
+    // Limite de parâmetros por cláusula IN
+    private static final int TAMANHO_LOTE = 1000;
+
+    @PersistenceContext(unitName = "SecureAppPU")
+    private EntityManager em;
+
+    @Inject
+    private Event<AgendamentosAlterados> alteradosEvent;
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public ResultadoRemanejamento remanejarAgendamentos(Long funcionarioId, LocalDate dataInicio, LocalDate dataFim) {
+        if (funcionarioId == null) {
+            throw new IllegalArgumentException("ID do funcionário é obrigatório");
+        }
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Datas de início e fim são obrigatórias");
+        }
+        if (dataFim.isBefore(dataInicio)) {
+            throw new IllegalArgumentException("Data fim não pode ser anterior à data início");
+        }
+
+        ResultadoRemanejamento resultado = new ResultadoRemanejamento();
+
+        List<Agendamento> afetados = em.createQuery(
+                "SELECT a FROM Agendamento a WHERE a.funcionario.id = :funcionarioId " +
+                "AND a.data BETWEEN :dataInicio AND :dataFim AND a.status IN :ativos " +
+                "ORDER BY a.data, a.hora", Agendamento.class)
+                .setParameter("funcionarioId", funcionarioId)
+                .setParameter("dataInicio", dataInicio)
+                .setParameter("dataFim", dataFim)
+                .setParameter("ativos", ATIVOS)
+                .getResultList();
+
+        if (afetados.isEmpty()) {
+            return resultado;
+        }
+
+        Set<Long> servicoIds = new HashSet<>();
+        for (Agendamento agendamento : afetados) {
+            servicoIds.add(agendamento.getServico().getId());
+        }
+
+        // Locais onde o ausente presta cada serviço
+        Set<Long> servicosComLocal = new HashSet<>();
+        Set<String> locaisOriginais = new HashSet<>();
+        List<Object[]> locais = em.createQuery(
+                "SELECT fs.servico.id, fs.localizacao.id FROM FuncionarioServico fs " +
+                "WHERE fs.funcionario.id = :funcionarioId AND fs.servico.id IN :servicoIds", Object[].class)
+                .setParameter("funcionarioId", funcionarioId)
+                .setParameter("servicoIds", servicoIds)
+                .getResultList();
+        for (Object[] linha : locais) {
+            servicosComLocal.add((Long) linha[0]);
+            locaisOriginais.add(linha[0] + "|" + linha[1]);
+        }
+
+        // Substitutos de cada serviço, no mesmo local do ausente
+        Map<Long, List<Funcionario>> substitutosPorServico = new HashMap<>();
+        Set<String> incluidos = new HashSet<>();
+        Set<Long> substitutoIds = new HashSet<>();
+        List<Object[]> qualificados = em.createQuery(
+                "SELECT fs.servico.id, fs.localizacao.id, fs.funcionario FROM FuncionarioServico fs " +
+                "WHERE fs.servico.id IN :servicoIds AND fs.funcionario.id <> :funcionarioId " +
+                "AND fs.funcionario.ativo = true", Object[].class)
+                .setParameter("servicoIds", servicoIds)
+                .setParameter("funcionarioId", funcionarioId)
+                .getResultList();
+        for (Object[] linha : qualificados) {
+            Long servicoId = (Long) linha[0];
+            Funcionario substituto = (Funcionario) linha[2];
+            // Sem associação do ausente com o serviço o local do agendamento é desconhecido: vale qualquer um
+            if (servicosComLocal.contains(servicoId) && !locaisOriginais.contains(servicoId + "|" + linha[1])) {
+                continue;
+            }
+            if (incluidos.add(servicoId + "|" + substituto.getId())) {
+                substitutosPorServico.computeIfAbsent(servicoId, id -> new ArrayList<>()).add(substituto);
+                substitutoIds.add(substituto.getId());
+            }
+        }
+
+        // Horários ocupados e carga diária dos substitutos no período
+        Set<String> ocupados = new HashSet<>();
+        Map<String, Integer> cargaDiaria = new HashMap<>();
+        if (!substitutoIds.isEmpty()) {
+            List<Object[]> horarios = em.createQuery(
+                    "SELECT a.funcionario.id, a.data, a.hora FROM Agendamento a " +
+                    "WHERE a.funcionario.id IN :substitutoIds AND a.data BETWEEN :dataInicio AND :dataFim " +
+                    "AND a.status <> :cancelado", Object[].class)
+                    .setParameter("substitutoIds", substitutoIds)
+                    .setParameter("dataInicio", dataInicio)
+                    .setParameter("dataFim", dataFim)
+                    .setParameter("cancelado", StatusAgendamento.CANCELADO)
+                    .getResultList();
+            for (Object[] linha : horarios) {
+                Long id = (Long) linha[0];
+                LocalDate data = (LocalDate) linha[1];
+                ocupados.add(chaveHorario(id, data, (LocalTime) linha[2]));
+                cargaDiaria.merge(chaveDia(id, data), 1, Integer::sum);
+            }
+        }
+
+        // A partir daqui as entidades servem apenas para montar o resultado;
+        // desanexá-las evita que alterações em memória gerem UPDATEs extras
+        afetados.forEach(em::detach);
+
+        Map<Long, List<Long>> idsPorSubstituto = new LinkedHashMap<>();
+        List<Long> idsCancelados = new ArrayList<>();
+
+        for (Agendamento agendamento : afetados) {
+            Funcionario escolhido = null;
+            int menorCarga = Integer.MAX_VALUE;
+            for (Funcionario candidato : substitutosPorServico.getOrDefault(agendamento.getServico().getId(), List.of())) {
+                if (ocupados.contains(chaveHorario(candidato.getId(), agendamento.getData(), agendamento.getHora()))) {
+                    continue;
+                }
+                int carga = cargaDiaria.getOrDefault(chaveDia(candidato.getId(), agendamento.getData()), 0);
+                if (carga < menorCarga) {
+                    escolhido = candidato;
+                    menorCarga = carga;
+                }
+            }
+
+            if (escolhido != null) {
+                ocupados.add(chaveHorario(escolhido.getId(), agendamento.getData(), agendamento.getHora()));
+                cargaDiaria.merge(chaveDia(escolhido.getId(), agendamento.getData()), 1, Integer::sum);
+                idsPorSubstituto.computeIfAbsent(escolhido.getId(), id -> new ArrayList<>()).add(agendamento.getId());
+                agendamento.setFuncionario(escolhido);
+                resultado.registrarReatribuicao(agendamento);
+            } else {
+                idsCancelados.add(agendamento.getId());
+                agendamento.setStatus(StatusAgendamento.CANCELADO);
+                resultado.registrarCancelamento(agendamento);
+            }
+        }
+
+        LocalDate hoje = LocalDate.now();
+        int esperados = afetados.size();
+        int gravados = 0;
+
+        for (Map.Entry<Long, List<Long>> entrada : idsPorSubstituto.entrySet()) {
+            Funcionario substituto = em.getReference(Funcionario.class, entrada.getKey());
+            for (List<Long> lote : lotes(entrada.getValue())) {
+                gravados += em.createNamedQuery("Agendamento.reatribuirFuncionarioEmLote")
+                        .setParameter("funcionario", substituto)
+                        .setParameter("atualizadoEm", hoje)
+                        .setParameter("ids", lote)
+                        .setParameter("funcionarioAtualId", funcionarioId)
+                        .setParameter("origens", ATIVOS)
+                        .executeUpdate();
+            }
+        }
+
+        for (List<Long> lote : lotes(idsCancelados)) {
+            gravados += em.createNamedQuery("Agendamento.transicionarStatusEmLote")
+                    .setParameter("status", StatusAgendamento.CANCELADO)
+                    .setParameter("atualizadoEm", hoje)
+                    .setParameter("ids", lote)
+                    .setParameter("origens", ATIVOS)
+                    .executeUpdate();
+        }
+
+        // Algum agendamento mudou entre a leitura e a escrita: desfaz tudo
+        if (gravados != esperados) {
+            throw new IllegalStateException("Os agendamentos foram alterados durante o remanejamento. Tente novamente.");
+        }
+
+        List<Long> ids = new ArrayList<>(esperados);
+        afetados.forEach(agendamento -> ids.add(agendamento.getId()));
+        alteradosEvent.fire(AgendamentosAlterados.porIds(ids));
+
+        LOGGER.log(Level.INFO, "Remanejamento do funcionário {0} ({1} a {2}): {3}",
+                new Object[]{funcionarioId, dataInicio, dataFim, resultado});
+        return resultado;
+    }
+
+    private static List<List<Long>> lotes(List<Long> ids) {
+        List<List<Long>> lotes = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += TAMANHO_LOTE) {
+            lotes.add(ids.subList(i, Math.min(i + TAMANHO_LOTE, ids.size())));
+        }
+        return lotes;
+    }
+
+    private static String chaveHorario(Long funcionarioId, LocalDate data, LocalTime hora) {
+        return funcionarioId + "|" + data + "|" + hora;
+    }
+
+    private static String chaveDia(Long funcionarioId, LocalDate data) {
+        return funcionarioId + "|" + data;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.ejb.Local;
+import java.time.LocalDate;
+
+/**
+ * Interface local para o remanejamento de agendamentos de funcionários ausentes
+ */
+@Local
+public interface RemanejamentoServiceLocal {
+
+    /**
+     * Em uma única transação, reatribui cada agendamento ativo do funcionário
+     * no período a outro profissional que presta o serviço no mesmo local e
+     * está livre no mesmo horário; os que não têm substituto são cancelados.
+     */
+    ResultadoRemanejamento remanejarAgendamentos(Long funcionarioId, LocalDate dataInicio, LocalDate dataFim);
+}
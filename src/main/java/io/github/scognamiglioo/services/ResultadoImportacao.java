@@ -0,0 +1,78 @@
+package io.github.scognamiglioo.services;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumo de uma importação em lote de agendamentos.
+ * Guarda apenas contadores e as primeiras mensagens de erro, para que
+ * arquivos grandes não acumulem memória proporcional ao número de linhas.
+ */
+public class ResultadoImportacao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_ERROS = 100;
+
+    private long registrosLidos;
+    private long inseridos;
+    private long rejeitados;
+    private long conflitos;
+    private final List<String> erros = new ArrayList<>();
+
+    void registrarLeitura() {
+        registrosLidos++;
+    }
+
+    void registrarInseridos(int quantidade) {
+        inseridos += quantidade;
+    }
+
+    void registrarRejeicao(long linha, String motivo) {
+        rejeitados++;
+        adicionarErro(linha, motivo);
+    }
+
+    void registrarConflito(long linha, String motivo) {
+        conflitos++;
+        adicionarErro(linha, motivo);
+    }
+
+    private void adicionarErro(long linha, String motivo) {
+        if (erros.size() < MAX_ERROS) {
+            erros.add("Linha " + linha + ": " + motivo);
+        }
+    }
+
+    public long getRegistrosLidos() {
+        return registrosLidos;
+    }
+
+    public long getInseridos() {
+        return inseridos;
+    }
+
+    public long getRejeitados() {
+        return rejeitados;
+    }
+
+    public long getConflitos() {
+        return conflitos;
+    }
+
+    public List<String> getErros() {
+        return Collections.unmodifiableList(erros);
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoImportacao{" +
+                "registrosLidos=" + registrosLidos +
+                ", inseridos=" + inseridos +
+                ", rejeitados=" + rejeitados +
+                ", conflitos=" + conflitos +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.Agendamento;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado do remanejamento em lote dos agendamentos de um funcionário
+ * ausente. Os agendamentos já refletem o novo profissional ou o
+ * cancelamento, prontos para a notificação.
+ */
+public class ResultadoRemanejamento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Agendamento> reatribuidos = new ArrayList<>();
+    private final List<Agendamento> cancelados = new ArrayList<>();
+
+    void registrarReatribuicao(Agendamento agendamento) {
+        reatribuidos.add(agendamento);
+    }
+
+    void registrarCancelamento(Agendamento agendamento) {
+        cancelados.add(agendamento);
+    }
+
+    public List<Agendamento> getReatribuidos() {
+        return Collections.unmodifiableList(reatribuidos);
+    }
+
+    public List<Agendamento> getCancelados() {
+        return Collections.unmodifiableList(cancelados);
+    }
+
+    public int getTotal() {
+        return reatribuidos.size() + cancelados.size();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoRemanejamento{" +
+                "reatribuidos=" + reatribuidos.size() +
+                ", cancelados=" + cancelados.size() +
+                '}';
+    }
+}
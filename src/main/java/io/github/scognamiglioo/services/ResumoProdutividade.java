@@ -0,0 +1,69 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tempo de um atendente em cada situação, em um dia ou em um período
+ */
+public class ResumoProdutividade implements Serializable {
+
+    private final Long funcionarioId;
+    private final String nome;
+    private final LocalDate dia;
+    private final Map<StatusAtendente.Situacao, Long> segundos = new EnumMap<>(StatusAtendente.Situacao.class);
+
+    public ResumoProdutividade(Long funcionarioId, String nome, LocalDate dia) {
+        this.funcionarioId = funcionarioId;
+        this.nome = nome;
+        this.dia = dia;
+    }
+
+    public void somar(StatusAtendente.Situacao situacao, long quantidade) {
+        segundos.merge(situacao, quantidade, Long::sum);
+    }
+
+    public long getSegundos(StatusAtendente.Situacao situacao) {
+        return segundos.getOrDefault(situacao, 0L);
+    }
+
+    public Long getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public String getDisponivel() {
+        return formatar(getSegundos(StatusAtendente.Situacao.DISPONIVEL));
+    }
+
+    public String getOcupado() {
+        return formatar(getSegundos(StatusAtendente.Situacao.OCUPADO));
+    }
+
+    public String getPausa() {
+        return formatar(getSegundos(StatusAtendente.Situacao.PAUSA));
+    }
+
+    /**
+     * Percentual do tempo em serviço (disponível + ocupado) gasto em atendimento
+     */
+    public int getTaxaOcupacao() {
+        long ocupado = getSegundos(StatusAtendente.Situacao.OCUPADO);
+        long emServico = ocupado + getSegundos(StatusAtendente.Situacao.DISPONIVEL);
+        return emServico == 0 ? 0 : (int) Math.round(100.0 * ocupado / emServico);
+    }
+
+    private static String formatar(long totalSegundos) {
+        return String.format("%02d:%02d", totalSegundos / 3600, (totalSegundos % 3600) / 60);
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Escolhe o atendente para um atendimento walk-in.
+ *
+ * Para cada serviço mantém em memória a lista de atendentes qualificados
+ * (associações funcionário/serviço) já ordenada por situação
+ * ({@link CacheStatusAtendentes}) e pelo tempo até ficarem livres
+ * ({@link EstimativaEsperaService}); a sugestão é o primeiro da lista. A
+ * ordenação é refeita apenas quando algo muda (status de atendente, fila,
+ * nova estimativa) e na leitura seguinte. Atendentes indisponíveis ficam
+ * de fora.
+ *
+ * Uma atribuição soma a duração esperada à carga do atendente até que uma
+ * estimativa calculada com a fila lida depois dela (que já traz o walk-in)
+ * a inclua, para que walk-ins seguidos não caiam todos no mesmo atendente.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class RoteamentoAtendimentoService {
+
+    private static final Logger LOGGER = Logger.getLogger(RoteamentoAtendimentoService.class.getName());
+
+    @EJB
+    private FuncionarioServicoServiceLocal funcionarioServicoService;
+
+    @EJB
+    private CacheStatusAtendentes cacheStatus;
+
+    @EJB
+    private EstimativaEsperaService estimativaEspera;
+
+    // Serviço -> uma qualificação por funcionário
+    private volatile Map<Long, List<QualificacaoAtendente>> qualificacoes = Map.of();
+
+    // Serviço -> candidatos do melhor para o pior
+    private volatile Map<Long, List<CandidatoAtendimento>> ranking = Map.of();
+    private volatile Instant estimativaDoRanking;
+
+    private final Map<Long, Reserva> reservas = new ConcurrentHashMap<>();
+    private final AtomicBoolean desatualizado = new AtomicBoolean(true);
+
+    @PostConstruct
+    public void init() {
+        recarregarQualificacoes();
+    }
+
+    @Schedule(hour = "*", minute = "*/10", persistent = false)
+    public void recarregarQualificacoes() {
+        try {
+            Map<Long, List<QualificacaoAtendente>> porServico = new HashMap<>();
+            Map<String, Boolean> vistos = new HashMap<>();
+            for (QualificacaoAtendente qualificacao : funcionarioServicoService.findQualificacoesAtivas()) {
+                // A consulta vem ordenada por localização: fica a primeira de cada funcionário
+                if (vistos.putIfAbsent(qualificacao.getServicoId() + "|" + qualificacao.getFuncionarioId(), true) == null) {
+                    porServico.computeIfAbsent(qualificacao.getServicoId(), id -> new ArrayList<>()).add(qualificacao);
+                }
+            }
+            porServico.replaceAll((id, lista) -> List.copyOf(lista));
+            qualificacoes = porServico;
+            desatualizado.set(true);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Erro ao carregar qualificações dos atendentes", e);
+        }
+    }
+
+    public void aoAlterarStatus(@Observes(during = TransactionPhase.AFTER_SUCCESS) StatusAtendenteAlterado evento) {
+        desatualizado.set(true);
+    }
+
+    /**
+     * Melhor atendente para o serviço, se algum estiver apto
+     */
+    public Optional<CandidatoAtendimento> sugerir(Long servicoId) {
+        List<CandidatoAtendimento> candidatos = candidatos(servicoId);
+        return candidatos.isEmpty() ? Optional.empty() : Optional.of(candidatos.get(0));
+    }
+
+    /**
+     * Atendentes aptos para o serviço, do melhor para o pior
+     */
+    public List<CandidatoAtendimento> candidatos(Long servicoId) {
+        if (servicoId == null) {
+            throw new IllegalArgumentException("Serviço é obrigatório");
+        }
+        if (desatualizado.get() || !estimativaEspera.getEstimativa().getGeradaEm().equals(estimativaDoRanking)) {
+            reordenar();
+        }
+        return ranking.getOrDefault(servicoId, List.of());
+    }
+
+    /**
+     * Registra que o atendente recebeu um atendimento do serviço
+     */
+    public void registrarAtribuicao(Long funcionarioId, Long servicoId) {
+        if (funcionarioId == null || servicoId == null) {
+            return;
+        }
+        int minutos = (int) Math.round(estimativaEspera.duracaoEsperada(servicoId, funcionarioId));
+        reservas.merge(funcionarioId, new Reserva(minutos, Instant.now()),
+                (atual, nova) -> new Reserva(atual.minutos + nova.minutos, nova.registradaEm));
+        desatualizado.set(true);
+    }
+
+    private synchronized void reordenar() {
+        desatualizado.set(false);
+        EstimativaFila estimativa = estimativaEspera.getEstimativa();
+
+        // Reservas anteriores à leitura da fila já estão refletidas nela
+        reservas.values().removeIf(reserva -> reserva.registradaEm.isBefore(estimativa.getFilaLidaEm()));
+
+        Map<Long, List<CandidatoAtendimento>> novo = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<QualificacaoAtendente>> entrada : qualificacoes.entrySet()) {
+            List<CandidatoAtendimento> candidatos = new ArrayList<>(entrada.getValue().size());
+            for (QualificacaoAtendente qualificacao : entrada.getValue()) {
+                // Sem status registrado o atendente continua elegível, depois dos ocupados
+                SituacaoAtendente atual = cacheStatus.obter(qualificacao.getFuncionarioId());
+                StatusAtendente.Situacao situacao = atual != null ? atual.getSituacao() : null;
+                if (!CandidatoAtendimento.apto(situacao)) {
+                    continue;
+                }
+                Reserva reserva = reservas.get(qualificacao.getFuncionarioId());
+                int minutos = estimativa.getMinutosParaLivre(qualificacao.getFuncionarioId())
+                        + (reserva != null ? reserva.minutos : 0);
+                candidatos.add(new CandidatoAtendimento(qualificacao, situacao, minutos));
+            }
+            candidatos.sort(CandidatoAtendimento.MELHOR_PRIMEIRO);
+            novo.put(entrada.getKey(), List.copyOf(candidatos));
+        }
+        ranking = novo;
+        estimativaDoRanking = estimativa.getGeradaEm();
+    }
+
+    private static final class Reserva {
+
+        private final int minutos;
+        private final Instant registradaEm;
+
+        private Reserva(int minutos, Instant registradaEm) {
+            this.minutos = minutos;
+            this.registradaEm = registradaEm;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.servlet.annotation.WebListener;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantém a relação das sessões HTTP ativas, usada por
+ * {@link TamanhoSessaoServlet} para medir o que cada uma guarda
+ */
+@WebListener
+public class SessoesAtivasListener implements HttpSessionListener {
+
+    private static final Set<HttpSession> SESSOES = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void sessionCreated(HttpSessionEvent evento) {
+        SESSOES.add(evento.getSession());
+    }
+
+    @Override
+    public void sessionDestroyed(HttpSessionEvent evento) {
+        SESSOES.remove(evento.getSession());
+    }
+
+    static Collection<HttpSession> getSessoes() {
+        return Collections.unmodifiableSet(SESSOES);
+    }
+}
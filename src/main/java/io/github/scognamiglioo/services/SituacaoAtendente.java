@@ -0,0 +1,78 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import io.github.scognamiglioo.entities.StatusAtendenteAtual;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Situação atual de um atendente, como mantida no
+ * {@link CacheStatusAtendentes}. Imutável: cada mudança gera uma nova
+ * instância, o que permite lê-la sem sincronização.
+ */
+public final class SituacaoAtendente implements Serializable {
+
+    private static final DateTimeFormatter FORMATO =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final Long funcionarioId;
+    private final String nome;
+    private final String cargo;
+    private final StatusAtendente.Situacao situacao;
+    private final Instant atualizacao;
+
+    public SituacaoAtendente(Long funcionarioId, String nome, String cargo,
+            StatusAtendente.Situacao situacao, Instant atualizacao) {
+        this.funcionarioId = funcionarioId;
+        this.nome = nome;
+        this.cargo = cargo;
+        this.situacao = situacao;
+        this.atualizacao = atualizacao;
+    }
+
+    public static SituacaoAtendente de(StatusAtendenteAtual status) {
+        return new SituacaoAtendente(
+                status.getFuncionario().getId(),
+                status.getFuncionario().getUser().getNome(),
+                status.getFuncionario().getCargo() != null ? status.getFuncionario().getCargo().getNome() : "",
+                status.getSituacao(),
+                status.getAtualizacao());
+    }
+
+    public SituacaoAtendente comSituacao(StatusAtendente.Situacao novaSituacao, Instant novaAtualizacao) {
+        return new SituacaoAtendente(funcionarioId, nome, cargo, novaSituacao, novaAtualizacao);
+    }
+
+    /**
+     * Se esta situação é mais recente que a outra (ou a outra não existe)
+     */
+    public boolean maisRecenteQue(SituacaoAtendente outra) {
+        return outra == null || !atualizacao.isBefore(outra.atualizacao);
+    }
+
+    public Long getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getCargo() {
+        return cargo;
+    }
+
+    public StatusAtendente.Situacao getSituacao() {
+        return situacao;
+    }
+
+    public Instant getAtualizacao() {
+        return atualizacao;
+    }
+
+    public String getAtualizacaoFormatada() {
+        return atualizacao == null ? "" : FORMATO.format(atualizacao);
+    }
+}
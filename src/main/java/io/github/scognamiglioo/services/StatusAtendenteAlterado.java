@@ -0,0 +1,54 @@
+package io.github.scognamiglioo.services;
+
+import io.github.scognamiglioo.entities.StatusAtendente;
+import java.time.Instant;
+
+/**
+ * Evento CDI disparado quando um atendente muda de situação. Os observadores
+ * usam TransactionPhase.AFTER_SUCCESS, de modo que só veem mudanças gravadas.
+ *
+ * Traz também a situação anterior e desde quando ela valia, o que permite
+ * acumular o tempo em cada situação sem consultar o histórico. Na primeira
+ * mudança do atendente esses campos são null.
+ */
+public class StatusAtendenteAlterado {
+
+    private final Long funcionarioId;
+    private final StatusAtendente.Situacao situacao;
+    private final Instant atualizacao;
+    private final StatusAtendente.Situacao situacaoAnterior;
+    private final Instant inicioAnterior;
+
+    public StatusAtendenteAlterado(Long funcionarioId, StatusAtendente.Situacao situacao, Instant atualizacao) {
+        this(funcionarioId, situacao, atualizacao, null, null);
+    }
+
+    public StatusAtendenteAlterado(Long funcionarioId, StatusAtendente.Situacao situacao, Instant atualizacao,
+            StatusAtendente.Situacao situacaoAnterior, Instant inicioAnterior) {
+        this.funcionarioId = funcionarioId;
+        this.situacao = situacao;
+        this.atualizacao = atualizacao;
+        this.situacaoAnterior = situacaoAnterior;
+        this.inicioAnterior = inicioAnterior;
+    }
+
+    public Long getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public StatusAtendente.Situacao getSituacao() {
+        return situacao;
+    }
+
+    public Instant getAtualizacao() {
+        return atualizacao;
+    }
+
+    public StatusAtendente.Situacao getSituacaoAnterior() {
+        return situacaoAnterior;
+    }
+
+    public Instant getInicioAnterior() {
+        return inicioAnterior;
+    }
+}
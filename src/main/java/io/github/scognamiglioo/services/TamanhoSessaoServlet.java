@@ -0,0 +1,164 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mede quanto cada sessão HTTP ocupa quando serializada (replicação,
+ * passivação), para acompanhar o peso do estado das telas @ViewScoped.
+ *
+ * Cada atributo de cada sessão ativa é serializado num stream que apenas
+ * conta os bytes. Atributos que são mapas (como o mapa de views do JSF, onde
+ * ficam os controllers @ViewScoped) são detalhados por classe dos valores, em
+ * até dois níveis. O relatório soma todas as sessões; serializar todas pode
+ * ser custoso, por isso fica restrito à área administrativa.
+ */
+@WebServlet(name = "TamanhoSessao", urlPatterns = {"/app/admin/sessoes/tamanho"})
+public class TamanhoSessaoServlet extends HttpServlet {
+
+    private static final int PROFUNDIDADE_MAPAS = 2;
+    private static final long NAO_SERIALIZAVEL = -1;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Map<String, Medida> porChave = new HashMap<>();
+        List<Long> tamanhos = new ArrayList<>();
+
+        for (HttpSession sessao : SessoesAtivasListener.getSessoes()) {
+            List<String> nomes;
+            try {
+                nomes = Collections.list(sessao.getAttributeNames());
+            } catch (IllegalStateException e) {
+                // Sessão invalidada durante a medição
+                continue;
+            }
+            long totalSessao = 0;
+            for (String nome : nomes) {
+                Object valor;
+                try {
+                    valor = sessao.getAttribute(nome);
+                } catch (IllegalStateException e) {
+                    break;
+                }
+                if (valor != null) {
+                    totalSessao += Math.max(0, medir(nome, valor, 0, porChave));
+                }
+            }
+            tamanhos.add(totalSessao);
+        }
+
+        long total = 0;
+        long maior = 0;
+        for (long tamanho : tamanhos) {
+            total += tamanho;
+            maior = Math.max(maior, tamanho);
+        }
+
+        List<Map.Entry<String, Medida>> medidas = new ArrayList<>(porChave.entrySet());
+        medidas.sort((a, b) -> Long.compare(b.getValue().total, a.getValue().total));
+
+        response.setCharacterEncoding("UTF-8");
+        response.setContentType("text/plain");
+        PrintWriter out = response.getWriter();
+        out.printf("Sessões ativas: %d%n", tamanhos.size());
+        out.printf("Total serializado: %d bytes (média %d, maior %d)%n",
+                total, tamanhos.isEmpty() ? 0 : total / tamanhos.size(), maior);
+        out.println();
+        out.println("bytes totais\tocorrências\tmaior\tnão serializáveis\tatributo");
+        for (Map.Entry<String, Medida> entrada : medidas) {
+            Medida medida = entrada.getValue();
+            out.printf("%d\t%d\t%d\t%d\t%s%n", medida.total, medida.ocorrencias, medida.maior,
+                    medida.naoSerializaveis, entrada.getKey());
+        }
+    }
+
+    /**
+     * Registra o tamanho serializado do valor sob a chave e, se for um mapa,
+     * o de cada valor dele sob "chave → classe"
+     *
+     * @return bytes do valor, ou NAO_SERIALIZAVEL
+     */
+    private static long medir(String chave, Object valor, int profundidade, Map<String, Medida> porChave) {
+        long bytes = serializar(valor);
+        porChave.computeIfAbsent(chave, c -> new Medida()).registrar(bytes);
+
+        if (valor instanceof Map<?, ?> mapa && profundidade < PROFUNDIDADE_MAPAS) {
+            List<Object> valores;
+            try {
+                valores = new ArrayList<>(mapa.values());
+            } catch (RuntimeException e) {
+                // Mapa alterado por outra requisição durante a cópia
+                return bytes;
+            }
+            for (Object item : valores) {
+                if (item != null) {
+                    medir(chave + " → " + item.getClass().getName(), item, profundidade + 1, porChave);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long serializar(Object valor) {
+        ContadorBytes contador = new ContadorBytes();
+        try (ObjectOutputStream out = new ObjectOutputStream(contador)) {
+            out.writeObject(valor);
+        } catch (NotSerializableException e) {
+            return NAO_SERIALIZAVEL;
+        } catch (IOException | RuntimeException e) {
+            // Estado alterado durante a serialização: conta o que foi escrito
+        }
+        return contador.bytes;
+    }
+
+    private static final class Medida {
+
+        private long ocorrencias;
+        private long total;
+        private long maior;
+        private long naoSerializaveis;
+
+        private void registrar(long bytes) {
+            ocorrencias++;
+            if (bytes == NAO_SERIALIZAVEL) {
+                naoSerializaveis++;
+                return;
+            }
+            total += bytes;
+            maior = Math.max(maior, bytes);
+        }
+    }
+
+    /**
+     * OutputStream que descarta os dados e apenas conta os bytes
+     */
+    private static final class ContadorBytes extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.scognamiglioo.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template de e-mail pré-compilado.
+ *
+ * O texto é quebrado uma única vez em trechos literais intercalados com
+ * placeholders no formato ${nome}. A renderização apenas concatena os
+ * trechos e os valores escapados para HTML, sem reinterpretar o template.
+ */
+public final class TemplateEmail {
+
+    private final String nome;
+    private final String[] literais;
+    private final String[] chaves;
+
+    private TemplateEmail(String nome, String[] literais, String[] chaves) {
+        this.nome = nome;
+        this.literais = literais;
+        this.chaves = chaves;
+    }
+
+    /**
+     * Compila o texto do template. Há sempre um literal a mais que chaves:
+     * literal[0] chave[0] literal[1] ... chave[n-1] literal[n]
+     */
+    public static TemplateEmail compilar(String nome, String fonte) {
+        List<String> literais = new ArrayList<>();
+        List<String> chaves = new ArrayList<>();
+
+        int inicio = 0;
+        int abertura;
+        while ((abertura = fonte.indexOf("${", inicio)) >= 0) {
+            int fechamento = fonte.indexOf('}', abertura + 2);
+            if (fechamento < 0) {
+                throw new IllegalArgumentException("Placeholder sem fechamento no template " + nome
+                        + " (posição " + abertura + ")");
+            }
+            String chave = fonte.substring(abertura + 2, fechamento).trim();
+            if (chave.isEmpty()) {
+                throw new IllegalArgumentException("Placeholder vazio no template " + nome
+                        + " (posição " + abertura + ")");
+            }
+            literais.add(fonte.substring(inicio, abertura));
+            chaves.add(chave);
+            inicio = fechamento + 1;
+        }
+        literais.add(fonte.substring(inicio));
+
+        return new TemplateEmail(nome, literais.toArray(String[]::new), chaves.toArray(String[]::new));
+    }
+
+    /**
+     * Escreve o template no destino substituindo cada placeholder pelo valor
+     * correspondente, escapado para HTML. Valores ausentes viram texto vazio.
+     */
+    public void renderizar(Map<String, ?> valores, StringBuilder destino) {
+        for (int i = 0; i < chaves.length; i++) {
+            destino.append(literais[i]);
+            Object valor = valores.get(chaves[i]);
+            if (valor != null) {
+                escaparHtml(String.valueOf(valor), destino);
+            }
+        }
+        destino.append(literais[chaves.length]);
+    }
+
+    /**
+     * Tamanho aproximado do resultado, usado para dimensionar o buffer
+     */
+    public int getTamanhoEstimado() {
+        int tamanho = 0;
+        for (String literal : literais) {
+            tamanho += literal.length();
+        }
+        return tamanho + chaves.length * 32;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    static void escaparHtml(String texto, StringBuilder destino) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> destino.append("&amp;");
+                case '<' -> destino.append("&lt;");
+                case '>' -> destino.append("&gt;");
+                case '"' -> destino.append("&quot;");
+                case '\'' -> destino.append("&#39;");
+                default -> destino.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.scognamiglioo.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Carrega e mantém em cache os templates HTML de e-mail.
+ *
+ * Os templates ficam em src/main/resources/templates/email/&lt;nome&gt;.html e
+ * podem ter variantes por idioma (&lt;nome&gt;_en.html, &lt;nome&gt;_pt_BR.html).
+ * Se EMAIL_TEMPLATES_DIR estiver configurado, arquivos desse diretório têm
+ * prioridade sobre os empacotados, permitindo alterar textos sem recompilar.
+ *
+ * Os templates padrão são compilados na subida: um template inválido ou
+ * ausente impede o deploy em vez de falhar no primeiro envio.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class TemplateEmailService {
+
+    private static final Logger LOGGER = Logger.getLogger(TemplateEmailService.class.getName());
+
+    public static final String CONFIRMACAO = "confirmacao";
+    public static final String CANCELAMENTO = "cancelamento";
+    public static final String REAGENDAMENTO = "reagendamento";
+    public static final String LEMBRETE = "lembrete";
+    public static final String ATIVACAO = "ativacao";
+    public static final String RECUPERACAO_SENHA = "recuperacao_senha";
+
+    private static final List<String> TEMPLATES_PADRAO =
+            List.of(CONFIRMACAO, CANCELAMENTO, REAGENDAMENTO, LEMBRETE, ATIVACAO, RECUPERACAO_SENHA);
+
+    private static final String PASTA_CLASSPATH = "templates/email/";
+
+    // Buffers maiores que isso não são reaproveitados, para não reter memória
+    private static final int CAPACIDADE_MAXIMA_REUSO = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(8 * 1024));
+
+    @Inject
+    private ConfiguracaoAplicacao configuracao;
+
+    private Path diretorioExterno;
+    private Locale localePadrao;
+
+    // Chave: nome + "|" + locale pedido; valor: template resolvido com fallback
+    private final Map<String, TemplateEmail> cache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        String diretorio = configuracao.get("EMAIL_TEMPLATES_DIR", null);
+        diretorioExterno = diretorio != null ? Path.of(diretorio) : null;
+        localePadrao = Locale.forLanguageTag(configuracao.get("EMAIL_LOCALE", "pt-BR"));
+        carregarPadrao();
+    }
+
+    /**
+     * Descarta o cache e recompila os templates, lendo novamente o diretório
+     * externo se houver
+     */
+    public void recarregar() {
+        cache.clear();
+        carregarPadrao();
+        LOGGER.log(Level.INFO, "Templates de e-mail recarregados");
+    }
+
+    public String renderizar(String nome, Map<String, ?> valores) {
+        return renderizar(nome, localePadrao, valores);
+    }
+
+    public String renderizar(String nome, Locale locale, Map<String, ?> valores) {
+        TemplateEmail template = obter(nome, locale != null ? locale : localePadrao);
+
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.getTamanhoEstimado());
+        template.renderizar(valores, buffer);
+        String resultado = buffer.toString();
+
+        if (buffer.capacity() > CAPACIDADE_MAXIMA_REUSO) {
+            BUFFER.remove();
+        }
+        return resultado;
+    }
+
+    private void carregarPadrao() {
+        for (String nome : TEMPLATES_PADRAO) {
+            obter(nome, localePadrao);
+        }
+        LOGGER.log(Level.INFO, "{0} template(s) de e-mail compilados (locale {1}{2})",
+                new Object[]{TEMPLATES_PADRAO.size(), localePadrao.toLanguageTag(),
+                        diretorioExterno != null ? ", diretório " + diretorioExterno : ""});
+    }
+
+    private TemplateEmail obter(String nome, Locale locale) {
+        return cache.computeIfAbsent(nome + "|" + locale.toLanguageTag(), chave -> compilar(nome, locale));
+    }
+
+    private TemplateEmail compilar(String nome, Locale locale) {
+        for (String candidato : candidatos(nome, locale)) {
+            Optional<String> fonte = ler(candidato);
+            if (fonte.isPresent()) {
+                return TemplateEmail.compilar(candidato, fonte.get());
+            }
+        }
+        throw new IllegalStateException("Template de e-mail não encontrado: " + nome);
+    }
+
+    /**
+     * Nomes de arquivo do mais específico ao genérico: nome_pt_BR, nome_pt, nome
+     */
+    private static List<String> candidatos(String nome, Locale locale) {
+        List<String> candidatos = new ArrayList<>(3);
+        if (!locale.getLanguage().isEmpty()) {
+            if (!locale.getCountry().isEmpty()) {
+                candidatos.add(nome + "_" + locale.getLanguage() + "_" + locale.getCountry() + ".html");
+            }
+            candidatos.add(nome + "_" + locale.getLanguage() + ".html");
+        }
+        candidatos.add(nome + ".html");
+        return candidatos;
+    }
+
+    private Optional<String> ler(String arquivo) {
+        try {
+            if (diretorioExterno != null) {
+                Path caminho = diretorioExterno.resolve(arquivo);
+                if (Files.isRegularFile(caminho)) {
+                    return Optional.of(Files.readString(caminho, StandardCharsets.UTF_8));
+                }
+            }
+            try (InputStream in = Thread.currentThread().getContextClassLoader()
+                    .getResourceAsStream(PASTA_CLASSPATH + arquivo)) {
+                if (in == null) {
+                    return Optional.empty();
+                }
+                return Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler template de e-mail " + arquivo, e);
+        }
+    }
+}
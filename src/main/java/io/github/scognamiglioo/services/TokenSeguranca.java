@@ -0,0 +1,44 @@
+package io.github.scognamiglioo.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Tokens de ativação e de redefinição de senha.
+ *
+ * O token enviado por e-mail nunca é gravado: o banco guarda apenas o seu
+ * SHA-256, que é o valor indexado e comparado nas consultas. Um vazamento da
+ * tabela users não expõe links válidos.
+ */
+public final class TokenSeguranca {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TokenSeguranca() {
+    }
+
+    /**
+     * Gera um token aleatório de 256 bits, seguro para uso em URL
+     */
+    public static String gerar() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * SHA-256 do token em hexadecimal (64 caracteres)
+     */
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
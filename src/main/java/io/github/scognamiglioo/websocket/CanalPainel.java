@@ -0,0 +1,296 @@
+package io.github.scognamiglioo.websocket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+
+/**
+ * Um canal do painel público: as TVs de uma localização (ou do canal
+ * "todos"), com a chamada atual e o histórico próprios.
+ *
+ * Cada chamada publicada recebe um número de sequência crescente e fica num
+ * buffer circular com os últimos eventos do canal. Um painel que reconecta
+ * informa a última sequência recebida (?ultimoSeq=N&amp;epoca=E) e recebe só
+ * o que perdeu; se estiver atrasado além do buffer, se a época não bater
+ * (canal recriado ou servidor reiniciado) ou se for a primeira conexão,
+ * recebe o estado completo: histórico, chamada atual e fila.
+ *
+ * O estado é um {@link EstadoCanal} imutável trocado por compare-and-set:
+ * publicar não bloqueia nem espera pelas TVs. Cada sessão envia de forma
+ * assíncrona, uma mensagem por vez, tudo o que o estado mais recente tem
+ * além do que ela já enviou; assim as chamadas chegam em ordem e sem
+ * repetição mesmo com publicações simultâneas, e uma TV lenta não atrasa as
+ * outras.
+ *
+ * O painel escolhe o formato das mensagens com ?v=2 (ver
+ * {@link ProtocoloPainel}); sem o parâmetro recebe o formato legado.
+ *
+ * Para cada sessão guarda-se o instante do último sinal de vida (conexão ou
+ * pong); {@link #verificar} envia pings e encerra as que pararam de responder.
+ */
+class CanalPainel {
+
+    private static final Logger LOGGER = Logger.getLogger(CanalPainel.class.getName());
+
+    private final String nome;
+    private final long epoca = System.currentTimeMillis();
+    private final AtomicReference<EstadoCanal> estado;
+    private final Map<Session, SessaoPainel> sessoes = new ConcurrentHashMap<>();
+    private final AtomicReference<InfoFila> fila;
+    private final AtomicLong falhasEnvio;
+
+    CanalPainel(String nome, AtomicReference<InfoFila> fila, AtomicLong falhasEnvio) {
+        this.nome = nome;
+        this.fila = fila;
+        this.falhasEnvio = falhasEnvio;
+        this.estado = new AtomicReference<>(EstadoCanal.inicial(epoca));
+    }
+
+    void registrar(Session sessao) {
+        SessaoPainel conexao = new SessaoPainel(sessao,
+                parametro(sessao, "v") >= ProtocoloPainel.VERSAO_COMPACTO);
+        long ultimoSeq = parametro(sessao, "ultimoSeq");
+        if (ultimoSeq > 0 && parametro(sessao, "epoca") == epoca
+                && estado.get().perdidosDesde(ultimoSeq) != null) {
+            conexao.seqEnviado = ultimoSeq;
+        } else {
+            conexao.snapshotPendente = true;
+        }
+        sessoes.put(sessao, conexao);
+        conexao.drenar();
+    }
+
+    void remover(Session sessao) {
+        sessoes.remove(sessao);
+    }
+
+    /**
+     * Pong (ou qualquer mensagem) recebido da TV
+     */
+    void registrarAtividade(Session sessao) {
+        SessaoPainel conexao = sessoes.get(sessao);
+        if (conexao != null) {
+            conexao.ultimaAtividade = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Encerra as sessões sem sinal de vida há mais de timeoutMs e envia um
+     * ping às demais
+     *
+     * @return quantidade de sessões removidas
+     */
+    int verificar(long agora, long timeoutMs, ByteBuffer ping) {
+        int removidas = 0;
+        Iterator<SessaoPainel> it = sessoes.values().iterator();
+        while (it.hasNext()) {
+            SessaoPainel conexao = it.next();
+            if (!conexao.sessao.isOpen() || agora - conexao.ultimaAtividade > timeoutMs) {
+                it.remove();
+                removidas++;
+                fechar(conexao.sessao);
+                continue;
+            }
+            conexao.ping = ping;
+            conexao.drenar();
+        }
+        return removidas;
+    }
+
+    /**
+     * Torna a chamada a atual do canal, move a anterior para o histórico e
+     * avisa as TVs do canal
+     */
+    void publicar(Chamada chamada) {
+        EstadoCanal atual;
+        EstadoCanal novo;
+        do {
+            atual = estado.get();
+            Chamada sequenciada = chamada.copia();
+            sequenciada.setSeq(atual.getSeq() + 1);
+            sequenciada.setEpoca(epoca);
+            novo = atual.comChamada(sequenciada);
+        } while (!estado.compareAndSet(atual, novo));
+        notificar();
+    }
+
+    /**
+     * Faz cada sessão enviar o que ainda não enviou (chamadas e fila)
+     */
+    void notificar() {
+        for (SessaoPainel conexao : sessoes.values()) {
+            conexao.drenar();
+        }
+    }
+
+    /**
+     * Canal sem TVs e sem chamada pode ser descartado
+     */
+    boolean isVazio() {
+        return sessoes.isEmpty() && estado.get().getChamadaAtual() == null;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    int getQuantidadeConectados() {
+        return sessoes.size();
+    }
+
+    Chamada getChamadaAtual() {
+        return estado.get().getChamadaAtual();
+    }
+
+    List<Chamada> getHistorico() {
+        return estado.get().getHistorico();
+    }
+
+    private void falhou(SessaoPainel conexao, Throwable erro) {
+        falhasEnvio.incrementAndGet();
+        remover(conexao.sessao);
+        LOGGER.log(Level.WARNING, "Erro ao enviar (canal " + nome + ")", erro);
+    }
+
+    private static void fechar(Session sessao) {
+        try {
+            if (sessao.isOpen()) {
+                sessao.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "Sem resposta ao heartbeat"));
+            }
+        } catch (IOException e) {
+            // Conexão já perdida: basta tirá-la do canal
+        }
+    }
+
+    private static long parametro(Session sessao, String nome) {
+        Map<String, List<String>> parametros = sessao.getRequestParameterMap();
+        List<String> valores = parametros != null ? parametros.get(nome) : null;
+        if (valores == null || valores.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(valores.get(0));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Uma TV conectada. Só a thread que detém {@code enviando} envia e mexe
+     * no lote; as demais apenas pedem uma nova drenagem.
+     */
+    private final class SessaoPainel {
+
+        private final Session sessao;
+        private final boolean compacto;
+        private final AtomicBoolean enviando = new AtomicBoolean(false);
+        private final Deque<String> lote = new ArrayDeque<>();
+        private volatile long ultimaAtividade = System.currentTimeMillis();
+        private volatile long seqEnviado;
+        private volatile long filaEnviada = -1;
+        private volatile boolean snapshotPendente;
+        private volatile ByteBuffer ping;
+
+        private SessaoPainel(Session sessao, boolean compacto) {
+            this.sessao = sessao;
+            this.compacto = compacto;
+        }
+
+        private void drenar() {
+            if (enviando.compareAndSet(false, true)) {
+                enviarProxima();
+            }
+        }
+
+        private void enviarProxima() {
+            while (true) {
+                if (!sessao.isOpen()) {
+                    remover(sessao);
+                    return;
+                }
+
+                ByteBuffer pingPendente = ping;
+                if (pingPendente != null) {
+                    ping = null;
+                    try {
+                        sessao.getAsyncRemote().sendPing(pingPendente.duplicate());
+                    } catch (IOException | RuntimeException e) {
+                        falhou(this, e);
+                        return;
+                    }
+                    continue;
+                }
+
+                String proxima = proxima();
+                if (proxima == null) {
+                    enviando.set(false);
+                    // Algo pode ter chegado entre a última verificação e a liberação
+                    if (temPendencias() && enviando.compareAndSet(false, true)) {
+                        continue;
+                    }
+                    return;
+                }
+
+                try {
+                    sessao.getAsyncRemote().sendText(proxima, resultado -> {
+                        if (resultado.isOK()) {
+                            enviarProxima();
+                        } else {
+                            falhou(this, resultado.getException());
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    falhou(this, e);
+                }
+                return;
+            }
+        }
+
+        private String proxima() {
+            if (!lote.isEmpty()) {
+                return lote.pollFirst();
+            }
+
+            EstadoCanal atual = estado.get();
+            if (snapshotPendente || atual.getSeq() > seqEnviado) {
+                List<MensagemPainel> perdidos = snapshotPendente ? null : atual.perdidosDesde(seqEnviado);
+                if (perdidos != null) {
+                    for (MensagemPainel mensagem : perdidos) {
+                        lote.addLast(mensagem.texto(compacto));
+                    }
+                } else {
+                    // Primeira conexão ou atraso além do buffer: envia o estado completo
+                    lote.addAll(atual.snapshot(compacto));
+                }
+                snapshotPendente = false;
+                seqEnviado = atual.getSeq();
+                return lote.pollFirst();
+            }
+
+            InfoFila infoFila = fila.get();
+            if (infoFila.getVersao() != filaEnviada) {
+                filaEnviada = infoFila.getVersao();
+                return infoFila.texto(compacto);
+            }
+            return null;
+        }
+
+        private boolean temPendencias() {
+            return ping != null || snapshotPendente
+                    || estado.get().getSeq() > seqEnviado
+                    || fila.get().getVersao() != filaEnviada;
+        }
+    }
+}
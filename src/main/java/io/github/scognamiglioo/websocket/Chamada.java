@@ -12,6 +12,10 @@ public class Chamada {
     private String dataHora;
     private boolean ativo; // true se é a chamada atual
     private int quantidadeFila;
+    private int esperaEstimada; // minutos até o próximo atendimento livre
+    private long seq; // posição no canal; 0 para informações da fila, que não são reenviadas
+    private long epoca; // identifica a instância do canal: se mudar, a sequência recomeçou
+    private boolean snapshot; // primeira mensagem de um estado completo: o painel descarta o que tinha
 
     public Chamada() {}
 
@@ -63,6 +67,61 @@ public class Chamada {
         this.quantidadeFila = quantidadeFila;
     }
 
+    public int getEsperaEstimada() {
+        return esperaEstimada;
+    }
+
+    public void setEsperaEstimada(int esperaEstimada) {
+        this.esperaEstimada = esperaEstimada;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getEpoca() {
+        return epoca;
+    }
+
+    public void setEpoca(long epoca) {
+        this.epoca = epoca;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Cópia para o histórico; a instância original continua no buffer de
+     * eventos do canal e não pode mudar depois de enviada
+     */
+    public Chamada copiaInativa() {
+        Chamada copia = copia();
+        copia.ativo = false;
+        return copia;
+    }
+
+    public Chamada copia() {
+        Chamada copia = new Chamada();
+        copia.nomeUsuario = nomeUsuario;
+        copia.localizacao = localizacao;
+        copia.dataHora = dataHora;
+        copia.ativo = ativo;
+        copia.quantidadeFila = quantidadeFila;
+        copia.esperaEstimada = esperaEstimada;
+        copia.seq = seq;
+        copia.epoca = epoca;
+        return copia;
+    }
+
     @Override
     public String toString() {
         return "Chamada{" +
@@ -71,6 +130,8 @@ public class Chamada {
             ", dataHora='" + dataHora + '\'' +
             ", ativo=" + ativo +
             ", quantidadeFila=" + quantidadeFila +
+            ", esperaEstimada=" + esperaEstimada +
+            ", seq=" + seq +
             '}';
     }
 }
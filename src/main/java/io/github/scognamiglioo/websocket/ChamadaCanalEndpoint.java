@@ -0,0 +1,59 @@
+package io.github.scognamiglioo.websocket;
+
+import java.io.IOException;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnError;
+import jakarta.websocket.OnMessage;
+import jakarta.websocket.OnOpen;
+import jakarta.websocket.PongMessage;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.PathParam;
+import jakarta.websocket.server.ServerEndpoint;
+
+/**
+ * Endpoint WebSocket do painel público de uma localização
+ * (/painel-chamadas/{localizacaoId}) ou de todas (/painel-chamadas/todos).
+ */
+@ServerEndpoint(
+    value = "/painel-chamadas/{canal}",
+    encoders = {ChamadaEncoder.class},
+    decoders = {ChamadaDecoder.class},
+    configurator = LimiteTaxaConfigurator.class
+)
+public class ChamadaCanalEndpoint {
+
+    private final PainelChamadaService service = PainelChamadaService.getInstance();
+
+    @OnOpen
+    public void onOpen(Session session, @PathParam("canal") String canal) throws IOException {
+        if (!PainelChamadaService.canalValido(canal)) {
+            session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, "Canal inválido"));
+            return;
+        }
+        service.registrarSessao(canal, session);
+    }
+
+    @OnMessage
+    public void onMessage(Chamada chamada, Session session) {
+        // Atualmente servidor não processa mensagens dos clientes
+    }
+
+    /**
+     * Resposta ao ping do heartbeat
+     */
+    @OnMessage
+    public void onPong(PongMessage pong, Session session, @PathParam("canal") String canal) {
+        service.registrarAtividade(canal, session);
+    }
+
+    @OnClose
+    public void onClose(Session session, @PathParam("canal") String canal) {
+        service.removerSessao(canal, session);
+    }
+
+    @OnError
+    public void onError(Session session, Throwable t, @PathParam("canal") String canal) {
+        service.removerSessao(canal, session);
+    }
+}
@@ -22,6 +22,14 @@ public class ChamadaDecoder implements Decoder.Text<Chamada> {
             chamada.setDataHora(jsonObject.getString("dataHora", ""));
             chamada.setAtivo(jsonObject.getBoolean("ativo", false));
             chamada.setQuantidadeFila(jsonObject.getInt("quantidadeFila", 0));
+            chamada.setEsperaEstimada(jsonObject.getInt("esperaEstimada", 0));
+            if (jsonObject.containsKey("seq")) {
+                chamada.setSeq(jsonObject.getJsonNumber("seq").longValue());
+            }
+            if (jsonObject.containsKey("epoca")) {
+                chamada.setEpoca(jsonObject.getJsonNumber("epoca").longValue());
+            }
+            chamada.setSnapshot(jsonObject.getBoolean("snapshot", false));
             return chamada;
         } catch (Exception e) {
             throw new DecodeException(json, "Erro ao decodificar Chamada", e);
@@ -19,6 +19,10 @@ public class ChamadaEncoder implements Encoder.Text<Chamada> {
             .add("dataHora", chamada.getDataHora() == null ? "" : chamada.getDataHora())
             .add("ativo", chamada.isAtivo())
             .add("quantidadeFila", chamada.getQuantidadeFila())
+            .add("esperaEstimada", chamada.getEsperaEstimada())
+            .add("seq", chamada.getSeq())
+            .add("epoca", chamada.getEpoca())
+            .add("snapshot", chamada.isSnapshot())
             .build();
         return json.toString();
     }
@@ -4,16 +4,19 @@ import jakarta.websocket.OnClose;
 import jakarta.websocket.OnError;
 import jakarta.websocket.OnMessage;
 import jakarta.websocket.OnOpen;
+import jakarta.websocket.PongMessage;
 import jakarta.websocket.Session;
 import jakarta.websocket.server.ServerEndpoint;
 
 /**
- * Endpoint WebSocket para o painel público.
+ * Endpoint WebSocket para o painel público (canal "todos": chamadas de
+ * todas as localizações). Ver {@link ChamadaCanalEndpoint}.
  */
 @ServerEndpoint(
     value = "/painel-chamadas",
     encoders = {ChamadaEncoder.class},
-    decoders = {ChamadaDecoder.class}
+    decoders = {ChamadaDecoder.class},
+    configurator = LimiteTaxaConfigurator.class
 )
 public class ChamadaEndpoint {
 
@@ -21,7 +24,7 @@ public class ChamadaEndpoint {
 
     @OnOpen
     public void onOpen(Session session) {
-        service.registrarSessao(session);
+        service.registrarSessao(PainelChamadaService.CANAL_TODOS, session);
     }
 
     @OnMessage
@@ -29,13 +32,21 @@ public class ChamadaEndpoint {
         // Atualmente servidor não processa mensagens dos clientes
     }
 
+    /**
+     * Resposta ao ping do heartbeat
+     */
+    @OnMessage
+    public void onPong(PongMessage pong, Session session) {
+        service.registrarAtividade(PainelChamadaService.CANAL_TODOS, session);
+    }
+
     @OnClose
     public void onClose(Session session) {
-        service.removerSessao(session);
+        service.removerSessao(PainelChamadaService.CANAL_TODOS, session);
     }
 
     @OnError
     public void onError(Session session, Throwable t) {
-        service.removerSessao(session);
+        service.removerSessao(PainelChamadaService.CANAL_TODOS, session);
     }
 }
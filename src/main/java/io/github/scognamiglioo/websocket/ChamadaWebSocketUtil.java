@@ -10,26 +10,19 @@ public class ChamadaWebSocketUtil {
     /**
      * Envia chamada para o painel público.
      *
+     * @param localizacaoId ID da localização (canal do painel); null envia só para "todos"
      * @param nomeUsuario Nome do usuário chamado
      * @param localizacao Localização do atendimento
-     * @param quantidadeFila Quantidade de pessoas na fila de espera
      */
-    public static void enviarChamada(String nomeUsuario, String localizacao, int quantidadeFila) {
-        PainelChamadaService.getInstance().enviarChamada(nomeUsuario, localizacao, quantidadeFila);
+    public static void enviarChamada(Long localizacaoId, String nomeUsuario, String localizacao) {
+        PainelChamadaService.getInstance().enviarChamada(localizacaoId, nomeUsuario, localizacao);
     }
 
     /**
      * Envia chamada de walk-in mascarando horário exibido.
      */
-    public static void enviarChamadaWalkin(String nomeUsuario, String localizacao, int quantidadeFila) {
-        PainelChamadaService.getInstance().enviarChamadaWalkin(nomeUsuario, localizacao, quantidadeFila);
-    }
-
-    /**
-     * Atualiza apenas a quantidade de pessoas na fila.
-     */
-    public static void atualizarQuantidadeFila(int quantidadeFila) {
-        PainelChamadaService.getInstance().atualizarQuantidadeNaFila(quantidadeFila);
+    public static void enviarChamadaWalkin(Long localizacaoId, String nomeUsuario, String localizacao) {
+        PainelChamadaService.getInstance().enviarChamadaWalkin(localizacaoId, nomeUsuario, localizacao);
     }
 
     /**
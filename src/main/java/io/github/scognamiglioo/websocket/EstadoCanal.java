@@ -0,0 +1,145 @@
+package io.github.scognamiglioo.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado imutável de um canal do painel: última sequência, chamada atual,
+ * histórico e o buffer com os últimos eventos. Cada chamada publicada gera
+ * uma nova instância, trocada por compare-and-set em {@link CanalPainel}.
+ *
+ * As chamadas guardadas aqui não podem ser alteradas depois de publicadas:
+ * quem precisar de uma variação (histórico, snapshot) trabalha numa cópia.
+ * Por isso o estado completo de cada versão do protocolo é codificado uma
+ * única vez, na primeira TV que precisar dele.
+ */
+final class EstadoCanal {
+
+    static final int TAMANHO_HISTORICO = 5;
+    static final int TAMANHO_BUFFER = 50;
+
+    private final long epoca;
+    private final long seq;
+    private final Chamada chamadaAtual;
+    private final List<Chamada> historico; // mais antiga primeiro
+    private final List<MensagemPainel> eventos; // em ordem de sequência
+
+    private volatile List<String> snapshotLegado;
+    private volatile String snapshotCompacto;
+
+    private EstadoCanal(long epoca, long seq, Chamada chamadaAtual, List<Chamada> historico,
+            List<MensagemPainel> eventos) {
+        this.epoca = epoca;
+        this.seq = seq;
+        this.chamadaAtual = chamadaAtual;
+        this.historico = historico;
+        this.eventos = eventos;
+    }
+
+    static EstadoCanal inicial(long epoca) {
+        return new EstadoCanal(epoca, 0, null, List.of(), List.of());
+    }
+
+    /**
+     * Novo estado com a chamada (já sequenciada) como atual e a anterior no histórico
+     */
+    EstadoCanal comChamada(Chamada chamada) {
+        List<Chamada> novoHistorico = historico;
+        if (chamadaAtual != null) {
+            novoHistorico = anexar(historico, chamadaAtual.copiaInativa(), TAMANHO_HISTORICO);
+        }
+        return new EstadoCanal(epoca, chamada.getSeq(), chamada, novoHistorico,
+                anexar(eventos, new MensagemPainel(chamada), TAMANHO_BUFFER));
+    }
+
+    /**
+     * Eventos com sequência maior que ultimoSeq, ou null se algum já saiu do buffer
+     */
+    List<MensagemPainel> perdidosDesde(long ultimoSeq) {
+        if (ultimoSeq > seq) {
+            return null;
+        }
+        if (ultimoSeq == seq) {
+            return List.of();
+        }
+        if (eventos.isEmpty() || eventos.get(0).getSeq() > ultimoSeq + 1) {
+            return null;
+        }
+        List<MensagemPainel> perdidos = new ArrayList<>();
+        for (MensagemPainel evento : eventos) {
+            if (evento.getSeq() > ultimoSeq) {
+                perdidos.add(evento);
+            }
+        }
+        return perdidos;
+    }
+
+    /**
+     * Estado completo para um painel que não pode retomar
+     *
+     * @return mensagens a enviar, em ordem (uma só no protocolo compacto)
+     */
+    List<String> snapshot(boolean versaoCompacta) {
+        if (versaoCompacta) {
+            String texto = snapshotCompacto;
+            if (texto == null) {
+                texto = ProtocoloPainel.snapshot(epoca, seq, historico, chamadaAtual);
+                snapshotCompacto = texto;
+            }
+            return List.of(texto);
+        }
+        List<String> textos = snapshotLegado;
+        if (textos == null) {
+            List<String> codificados = new ArrayList<>();
+            for (Chamada chamada : snapshotLegado()) {
+                codificados.add(ProtocoloPainel.legado(chamada));
+            }
+            textos = List.copyOf(codificados);
+            snapshotLegado = textos;
+        }
+        return textos;
+    }
+
+    /**
+     * Histórico e chamada atual como Chamadas completas, com a primeira
+     * marcada como snapshot
+     */
+    private List<Chamada> snapshotLegado() {
+        List<Chamada> estado = new ArrayList<>(historico.size() + 1);
+        estado.addAll(historico);
+        if (chamadaAtual != null) {
+            estado.add(chamadaAtual);
+        }
+        if (estado.isEmpty()) {
+            // Canal sem chamadas: um marcador basta para o painel limpar a tela
+            Chamada vazio = new Chamada("", "", false);
+            vazio.setSeq(seq);
+            vazio.setEpoca(epoca);
+            estado.add(vazio);
+        }
+        Chamada primeiro = estado.get(0).copia();
+        primeiro.setSnapshot(true);
+        estado.set(0, primeiro);
+        return estado;
+    }
+
+    long getSeq() {
+        return seq;
+    }
+
+    Chamada getChamadaAtual() {
+        return chamadaAtual;
+    }
+
+    List<Chamada> getHistorico() {
+        return historico;
+    }
+
+    private static <T> List<T> anexar(List<T> lista, T item, int limite) {
+        int inicio = lista.size() >= limite ? lista.size() - limite + 1 : 0;
+        List<T> nova = new ArrayList<>(Math.min(lista.size() + 1, limite));
+        nova.addAll(lista.subList(inicio, lista.size()));
+        nova.add(item);
+        return List.copyOf(nova);
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.scognamiglioo.websocket;
+
+/**
+ * Quantidade na fila e espera estimada publicadas no painel, trocadas
+ * juntas para que um painel nunca veja uma sem a outra. A versão aumenta a
+ * cada troca e indica às sessões se ainda precisam receber a informação.
+ * O texto de cada versão do protocolo é codificado uma vez por troca.
+ */
+final class InfoFila {
+
+    static final InfoFila INICIAL = new InfoFila(0, 0, 0);
+
+    private final int quantidade;
+    private final int esperaEstimada;
+    private final long versao;
+
+    private volatile String legado;
+    private volatile String compacto;
+
+    private InfoFila(int quantidade, int esperaEstimada, long versao) {
+        this.quantidade = quantidade;
+        this.esperaEstimada = esperaEstimada;
+        this.versao = versao;
+    }
+
+    InfoFila com(int quantidade, int esperaEstimada) {
+        return new InfoFila(quantidade, esperaEstimada, versao + 1);
+    }
+
+    /**
+     * No protocolo legado, uma Chamada sem nome: o painel atualiza só os contadores
+     */
+    String texto(boolean versaoCompacta) {
+        if (versaoCompacta) {
+            String texto = compacto;
+            if (texto == null) {
+                texto = ProtocoloPainel.fila(quantidade, esperaEstimada);
+                compacto = texto;
+            }
+            return texto;
+        }
+        String texto = legado;
+        if (texto == null) {
+            Chamada fila = new Chamada("", "", false);
+            fila.setQuantidadeFila(quantidade);
+            fila.setEsperaEstimada(esperaEstimada);
+            texto = ProtocoloPainel.legado(fila);
+            legado = texto;
+        }
+        return texto;
+    }
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    int getEsperaEstimada() {
+        return esperaEstimada;
+    }
+
+    long getVersao() {
+        return versao;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.scognamiglioo.websocket;
+
+import io.github.scognamiglioo.services.LimitadorTaxa;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.websocket.server.ServerEndpointConfig;
+
+/**
+ * Limita a taxa global de novas conexões ao painel público.
+ *
+ * O handshake é recusado (403) quando chegam mais conexões por segundo do
+ * que o configurado, antes de criar a instância do endpoint.
+ *
+ * Não há limite por IP para a conexão: a API de WebSocket não expõe o
+ * endereço do cliente no handshake, e o Undertow faz o upgrade antes dos
+ * filtros da aplicação, então o LimiteTaxaFilter não é executado. Um único
+ * cliente pode esgotar este limite global e fazer os painéis legítimos
+ * receberem 403 enquanto insistir; o limite de conexões por IP em
+ * /painel-chamadas precisa ficar no proxy reverso à frente do WildFly.
+ */
+public class LimiteTaxaConfigurator extends ServerEndpointConfig.Configurator {
+
+    private volatile LimitadorTaxa limitador;
+
+    @Override
+    public boolean checkOrigin(String originHeaderValue) {
+        return super.checkOrigin(originHeaderValue) && limitador().permitirConexaoPainel();
+    }
+
+    private LimitadorTaxa limitador() {
+        LimitadorTaxa atual = limitador;
+        if (atual == null) {
+            atual = CDI.current().select(LimitadorTaxa.class).get();
+            limitador = atual;
+        }
+        return atual;
+    }
+}
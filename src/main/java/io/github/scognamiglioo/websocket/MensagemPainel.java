@@ -0,0 +1,42 @@
+package io.github.scognamiglioo.websocket;
+
+/**
+ * Uma chamada publicada num canal, com o texto já codificado em cada
+ * versão do protocolo. A codificação é feita na primeira TV que precisar
+ * dela e reaproveitada pelas demais.
+ */
+final class MensagemPainel {
+
+    private final Chamada chamada;
+    private volatile String legado;
+    private volatile String compacto;
+
+    MensagemPainel(Chamada chamada) {
+        this.chamada = chamada;
+    }
+
+    long getSeq() {
+        return chamada.getSeq();
+    }
+
+    Chamada getChamada() {
+        return chamada;
+    }
+
+    String texto(boolean versaoCompacta) {
+        if (versaoCompacta) {
+            String texto = compacto;
+            if (texto == null) {
+                texto = ProtocoloPainel.chamada(chamada);
+                compacto = texto;
+            }
+            return texto;
+        }
+        String texto = legado;
+        if (texto == null) {
+            texto = ProtocoloPainel.legado(chamada);
+            legado = texto;
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.scognamiglioo.websocket;
+
+import io.github.scognamiglioo.services.CacheStatusAtendentes;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.websocket.OnClose;
+import jakarta.websocket.OnError;
+import jakarta.websocket.OnOpen;
+import jakarta.websocket.Session;
+import jakarta.websocket.server.ServerEndpoint;
+
+/**
+ * Endpoint WebSocket da tela de disponibilidade dos atendentes. Fica sob
+ * /app/recepcionista, portanto protegido pelas mesmas regras de acesso da tela.
+ */
+@ServerEndpoint("/app/recepcionista/painel-atendentes")
+public class PainelAtendentesEndpoint {
+
+    private final PainelAtendentesService service = PainelAtendentesService.getInstance();
+
+    @OnOpen
+    public void onOpen(Session session) {
+        CacheStatusAtendentes cache = CDI.current().select(CacheStatusAtendentes.class).get();
+        service.registrarSessao(session, cache.listar());
+    }
+
+    @OnClose
+    public void onClose(Session session) {
+        service.removerSessao(session);
+    }
+
+    @OnError
+    public void onError(Session session, Throwable t) {
+        service.removerSessao(session);
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.scognamiglioo.websocket;
+
+import io.github.scognamiglioo.services.SituacaoAtendente;
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.websocket.Session;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Serviço singleton que envia à tela de disponibilidade da recepção as
+ * mudanças de situação dos atendentes.
+ *
+ * Ao conectar, o cliente recebe a lista completa ("snapshot"); depois,
+ * uma mensagem "status" por mudança.
+ */
+public class PainelAtendentesService {
+
+    private static PainelAtendentesService instancia;
+    private final Set<Session> sessoes = new CopyOnWriteArraySet<>();
+
+    public static synchronized PainelAtendentesService getInstance() {
+        if (instancia == null) {
+            instancia = new PainelAtendentesService();
+        }
+        return instancia;
+    }
+
+    public void registrarSessao(Session sessao, Collection<SituacaoAtendente> estadoAtual) {
+        sessoes.add(sessao);
+        JsonArrayBuilder atendentes = Json.createArrayBuilder();
+        for (SituacaoAtendente situacao : estadoAtual) {
+            atendentes.add(json(situacao));
+        }
+        String snapshot = Json.createObjectBuilder()
+                .add("tipo", "snapshot")
+                .add("atendentes", atendentes)
+                .build()
+                .toString();
+        try {
+            if (sessao.isOpen()) {
+                sessao.getBasicRemote().sendText(snapshot);
+            }
+        } catch (IOException e) {
+            removerSessao(sessao);
+        }
+    }
+
+    public void removerSessao(Session sessao) {
+        sessoes.remove(sessao);
+    }
+
+    /**
+     * Envia a mudança a todas as telas conectadas sem bloquear quem a publicou
+     */
+    public void publicar(SituacaoAtendente situacao) {
+        if (sessoes.isEmpty()) {
+            return;
+        }
+        String mensagem = json(situacao).add("tipo", "status").build().toString();
+        for (Session sessao : sessoes) {
+            if (sessao.isOpen()) {
+                sessao.getAsyncRemote().sendText(mensagem);
+            } else {
+                removerSessao(sessao);
+            }
+        }
+    }
+
+    public int obterQuantidadeConectados() {
+        return sessoes.size();
+    }
+
+    private static JsonObjectBuilder json(SituacaoAtendente situacao) {
+        return Json.createObjectBuilder()
+                .add("funcionarioId", situacao.getFuncionarioId())
+                .add("nome", situacao.getNome() == null ? "" : situacao.getNome())
+                .add("cargo", situacao.getCargo() == null ? "" : situacao.getCargo())
+                .add("situacao", situacao.getSituacao().name())
+                .add("atualizacao", situacao.getAtualizacaoFormatada());
+    }
+}
@@ -1,26 +1,58 @@
 package io.github.scognamiglioo.websocket;
 
 import java.io.IOException;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import jakarta.websocket.EncodeException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jakarta.websocket.CloseReason;
 import jakarta.websocket.Session;
 
 /**
  * Serviço singleton para gerenciar o broadcast de chamadas
  * para o painel público.
+ *
+ * Cada localização tem o seu canal (/painel-chamadas/{localizacaoId}), com
+ * as próprias TVs, chamada atual e histórico: uma chamada vai só para as
+ * TVs da sala em que o paciente será atendido e para o canal "todos"
+ * (/painel-chamadas ou /painel-chamadas/todos). Quantidade na fila e
+ * espera estimada são da clínica inteira e vão para todos os canais.
+ *
+ * O HeartbeatPainelScheduler chama {@link #verificarSessoes()}
+ * periodicamente: TVs que não respondem ao ping dentro do timeout (conexões
+ * meio abertas, Wi-Fi caído) são removidas, para não pesarem nos broadcasts
+ * nem na contagem de conectados. Acima de maxSessoes novas conexões são
+ * recusadas com TRY_AGAIN_LATER.
+ *
+ * Nenhum método usa lock: o estado de cada canal e a informação da fila são
+ * objetos imutáveis trocados por compare-and-set, e o envio às TVs é
+ * assíncrono. Chamadas simultâneas de dois atendentes entram as duas, em
+ * alguma ordem, e ninguém espera por uma TV lenta.
  */
 public class PainelChamadaService {
 
+    public static final String CANAL_TODOS = "todos";
+
+    private static final Logger LOGGER = Logger.getLogger(PainelChamadaService.class.getName());
+
+    private static final ByteBuffer PING = ByteBuffer.wrap("painel".getBytes(StandardCharsets.US_ASCII));
+
     private static PainelChamadaService instancia;
-    private final Set<Session> sessoes = new CopyOnWriteArraySet<>();
-    private final Deque<Chamada> historico = new ArrayDeque<>(5);
-    private Chamada chamadaAtual = null;
-    private int quantidadeFilaEspera = 0;
+    private final Map<String, CanalPainel> canais = new ConcurrentHashMap<>();
+    private final AtomicReference<InfoFila> fila = new AtomicReference<>(InfoFila.INICIAL);
+
+    private volatile int maxSessoes = 200;
+    private volatile long timeoutMs = 45_000;
+
+    private final AtomicLong conexoesAceitas = new AtomicLong();
+    private final AtomicLong conexoesRecusadas = new AtomicLong();
+    private final AtomicLong sessoesExpiradas = new AtomicLong();
+    private final AtomicLong falhasEnvio = new AtomicLong();
 
     public static synchronized PainelChamadaService getInstance() {
         if (instancia == null) {
@@ -29,122 +61,178 @@ public class PainelChamadaService {
         return instancia;
     }
 
-    public void registrarSessao(Session sessao) {
-        sessoes.add(sessao);
-        enviarEstadoAtual(sessao);
+    /**
+     * Nome do canal de uma localização
+     */
+    public static String canal(Long localizacaoId) {
+        return localizacaoId != null ? localizacaoId.toString() : CANAL_TODOS;
     }
 
-    public void removerSessao(Session sessao) {
-        sessoes.remove(sessao);
+    /**
+     * Valida o canal pedido na URL: "todos" ou o ID numérico de uma localização
+     */
+    public static boolean canalValido(String canal) {
+        return CANAL_TODOS.equals(canal) || (canal != null && canal.matches("\\d{1,18}"));
     }
 
-    public void enviarChamada(String nomeUsuario, String localizacao, int quantidadeFila) {
-        try {
-            if (quantidadeFila >= 0) {
-                this.quantidadeFilaEspera = quantidadeFila;
+    /**
+     * Define o limite de conexões e o tempo sem pong após o qual uma TV é
+     * considerada desconectada
+     */
+    public void configurar(int maxSessoes, long timeoutMs) {
+        this.maxSessoes = maxSessoes;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public void registrarSessao(String canal, Session sessao) {
+        if (obterQuantidadeConectados() >= maxSessoes) {
+            conexoesRecusadas.incrementAndGet();
+            try {
+                sessao.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Limite de painéis conectados"));
+            } catch (IOException e) {
+                // Cliente já desconectou
             }
+            return;
+        }
+        conexoesAceitas.incrementAndGet();
+        // Dentro do compute: a limpeza de canais vazios não remove o canal entre a busca e o registro
+        canais.compute(canal, (nome, existente) -> {
+            CanalPainel destino = existente != null ? existente : new CanalPainel(nome, fila, falhasEnvio);
+            destino.registrar(sessao);
+            return destino;
+        });
+    }
 
-            Chamada chamada = new Chamada(nomeUsuario, localizacao, true);
-            chamada.setQuantidadeFila(this.quantidadeFilaEspera);
+    public void registrarAtividade(String canal, Session sessao) {
+        CanalPainel existente = canais.get(canal);
+        if (existente != null) {
+            existente.registrarAtividade(sessao);
+        }
+    }
 
-            if (chamadaAtual != null) {
-                chamadaAtual.setAtivo(false);
-                adicionarAoHistorico(chamadaAtual);
+    /**
+     * Pinga todas as TVs e remove as que passaram do timeout
+     *
+     * @return quantidade de sessões removidas
+     */
+    public int verificarSessoes() {
+        long agora = System.currentTimeMillis();
+        int removidas = 0;
+        for (String canal : canais.keySet()) {
+            CanalPainel existente = canais.get(canal);
+            if (existente != null) {
+                removidas += existente.verificar(agora, timeoutMs, PING);
             }
+            canais.computeIfPresent(canal, (nome, c) -> c.isVazio() ? null : c);
+        }
+        sessoesExpiradas.addAndGet(removidas);
+        return removidas;
+    }
 
-            chamadaAtual = chamada;
-            broadcast(chamada);
+    public void removerSessao(String canal, Session sessao) {
+        canais.computeIfPresent(canal, (nome, existente) -> {
+            existente.remover(sessao);
+            return existente.isVazio() ? null : existente;
+        });
+    }
+
+    public void enviarChamada(Long localizacaoId, String nomeUsuario, String localizacao) {
+        try {
+            publicar(localizacaoId, nomeUsuario, localizacao);
         } catch (Exception e) {
-            System.err.println("[PAINEL-SERVICE] Erro ao enviar chamada: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Erro ao enviar chamada", e);
         }
     }
 
     /**
      * Envia chamada para walk-in mascarando o horário exibido no painel.
      */
-    public void enviarChamadaWalkin(String nomeUsuario, String localizacao, int quantidadeFila) {
+    public void enviarChamadaWalkin(Long localizacaoId, String nomeUsuario, String localizacao) {
         try {
-            if (quantidadeFila >= 0) {
-                this.quantidadeFilaEspera = quantidadeFila;
-            }
-
-            Chamada chamada = new Chamada(nomeUsuario, localizacao, true);
-            chamada.setQuantidadeFila(this.quantidadeFilaEspera);
-            
-
-            if (chamadaAtual != null) {
-                chamadaAtual.setAtivo(false);
-                adicionarAoHistorico(chamadaAtual);
-            }
-
-            chamadaAtual = chamada;
-            broadcast(chamada);
+            publicar(localizacaoId, nomeUsuario, localizacao);
         } catch (Exception e) {
-            System.err.println("[PAINEL-SERVICE] Erro ao enviar chamada walk-in: " + e.getMessage());
+            LOGGER.log(Level.WARNING, "Erro ao enviar chamada walk-in", e);
         }
     }
 
-    public void atualizarQuantidadeNaFila(int quantidade) {
-        this.quantidadeFilaEspera = quantidade;
-        broadcastQuantidadeFila();
+    /**
+     * Atualiza a quantidade na fila e a espera estimada (em minutos) para
+     * quem chega agora; chamado só pelo EstimativaEsperaService, que é a
+     * única fonte desses valores
+     */
+    public void atualizarFila(int quantidade, int esperaEstimada) {
+        fila.updateAndGet(atual -> atual.com(quantidade, esperaEstimada));
+        notificarTodos();
+    }
+
+    public int obterEsperaEstimada() {
+        return fila.get().getEsperaEstimada();
     }
 
     public int obterQuantidadeNaFila() {
-        return quantidadeFilaEspera;
+        return fila.get().getQuantidade();
     }
 
     public int obterQuantidadeConectados() {
-        return sessoes.size();
+        int total = 0;
+        for (CanalPainel canal : canais.values()) {
+            total += canal.getQuantidadeConectados();
+        }
+        return total;
     }
 
-    public List<Chamada> obterHistorico() {
-        return new ArrayList<>(historico);
+    public int obterQuantidadeConectados(String canal) {
+        CanalPainel existente = canais.get(canal);
+        return existente != null ? existente.getQuantidadeConectados() : 0;
     }
 
-    public Chamada obterChamadaAtual() {
-        return chamadaAtual;
+    public long getConexoesAceitas() {
+        return conexoesAceitas.get();
     }
 
-    private void enviarEstadoAtual(Session sessao) {
-        try {
-            if (!sessao.isOpen()) {
-                return;
-            }
+    public long getConexoesRecusadas() {
+        return conexoesRecusadas.get();
+    }
 
-            if (chamadaAtual != null) {
-                sessao.getBasicRemote().sendObject(chamadaAtual);
-            }
-            // Sempre enviar a quantidade de fila ao conectar
-            Chamada fila = new Chamada("", "", false);
-            fila.setQuantidadeFila(quantidadeFilaEspera);
-            sessao.getBasicRemote().sendObject(fila);
-        } catch (EncodeException | IOException e) {
-            System.err.println("[PAINEL-SERVICE] Erro ao enviar estado: " + e.getMessage());
-        }
+    public long getSessoesExpiradas() {
+        return sessoesExpiradas.get();
     }
 
-    private void broadcast(Chamada chamada) {
-        for (Session sessao : sessoes) {
-            if (sessao.isOpen()) {
-                try {
-                    sessao.getBasicRemote().sendObject(chamada);
-                } catch (EncodeException | IOException e) {
-                    removerSessao(sessao);
-                }
-            }
+    public long getFalhasEnvio() {
+        return falhasEnvio.get();
+    }
+
+    public List<Chamada> obterHistorico(String canal) {
+        CanalPainel existente = canais.get(canal);
+        return existente != null ? existente.getHistorico() : List.of();
+    }
+
+    public Chamada obterChamadaAtual(String canal) {
+        CanalPainel existente = canais.get(canal);
+        return existente != null ? existente.getChamadaAtual() : null;
+    }
+
+    private void publicar(Long localizacaoId, String nomeUsuario, String localizacao) {
+        InfoFila infoFila = fila.get();
+
+        Chamada chamada = new Chamada(nomeUsuario, localizacao, true);
+        chamada.setQuantidadeFila(infoFila.getQuantidade());
+        chamada.setEsperaEstimada(infoFila.getEsperaEstimada());
+
+        // Cada canal sequencia a sua própria cópia
+        if (localizacaoId != null) {
+            canalOuNovo(canal(localizacaoId)).publicar(chamada);
         }
+        canalOuNovo(CANAL_TODOS).publicar(chamada);
     }
 
-    private void broadcastQuantidadeFila() {
-        Chamada infoFila = new Chamada("", "", false);
-        infoFila.setQuantidadeFila(quantidadeFilaEspera);
-        broadcast(infoFila);
+    private CanalPainel canalOuNovo(String canal) {
+        return canais.computeIfAbsent(canal, nome -> new CanalPainel(nome, fila, falhasEnvio));
     }
 
-    private void adicionarAoHistorico(Chamada chamada) {
-        if (historico.size() >= 5) {
-            historico.removeFirst();
+    private void notificarTodos() {
+        for (CanalPainel canal : canais.values()) {
+            canal.notificar();
         }
-        historico.addLast(chamada);
     }
 }
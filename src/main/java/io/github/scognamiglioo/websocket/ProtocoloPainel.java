@@ -0,0 +1,80 @@
+package io.github.scognamiglioo.websocket;
+
+import java.util.List;
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.websocket.EncodeException;
+
+/**
+ * Formatos das mensagens enviadas ao painel público.
+ *
+ * Legado (v1): cada mensagem é uma {@link Chamada} completa, via
+ * {@link ChamadaEncoder}; é o que recebe um painel que não informa versão.
+ *
+ * Compacto (v2, pedido com ?v=2): mensagens tipadas só com o que mudou.
+ * <pre>
+ * {"t":"C","s":12,"n":"MARIA","l":"Sala 3","h":"19/10/2026 14:05:33"}   chamada
+ * {"t":"Q","q":4,"w":18}                                               fila
+ * {"t":"S","v":2,"e":1729350000000,"s":12,"hist":[...],"c":{...}}      estado completo
+ * </pre>
+ * Nos itens de "hist" e em "c" vão apenas s, n, l e h. Quantidade na fila e
+ * espera só viajam em mensagens "Q".
+ *
+ * As mensagens são codificadas uma vez e o texto é reaproveitado para todas
+ * as TVs (ver {@link MensagemPainel}, {@link EstadoCanal} e {@link InfoFila}).
+ */
+final class ProtocoloPainel {
+
+    static final int VERSAO_LEGADO = 1;
+    static final int VERSAO_COMPACTO = 2;
+
+    private static final ChamadaEncoder ENCODER = new ChamadaEncoder();
+
+    private ProtocoloPainel() {}
+
+    static String legado(Chamada chamada) {
+        try {
+            return ENCODER.encode(chamada);
+        } catch (EncodeException e) {
+            throw new IllegalStateException("Erro ao codificar chamada", e);
+        }
+    }
+
+    static String chamada(Chamada chamada) {
+        return campos(chamada).add("t", "C").build().toString();
+    }
+
+    static String fila(int quantidade, int esperaEstimada) {
+        return Json.createObjectBuilder()
+                .add("t", "Q")
+                .add("q", quantidade)
+                .add("w", esperaEstimada)
+                .build().toString();
+    }
+
+    static String snapshot(long epoca, long seq, List<Chamada> historico, Chamada atual) {
+        JsonArrayBuilder hist = Json.createArrayBuilder();
+        for (Chamada chamada : historico) {
+            hist.add(campos(chamada));
+        }
+        JsonObjectBuilder json = Json.createObjectBuilder()
+                .add("t", "S")
+                .add("v", VERSAO_COMPACTO)
+                .add("e", epoca)
+                .add("s", seq)
+                .add("hist", hist);
+        if (atual != null) {
+            json.add("c", campos(atual));
+        }
+        return json.build().toString();
+    }
+
+    private static JsonObjectBuilder campos(Chamada chamada) {
+        return Json.createObjectBuilder()
+                .add("s", chamada.getSeq())
+                .add("n", chamada.getNomeUsuario() == null ? "" : chamada.getNomeUsuario())
+                .add("l", chamada.getLocalizacao() == null ? "" : chamada.getLocalizacao())
+                .add("h", chamada.getDataHora() == null ? "" : chamada.getDataHora());
+    }
+}